@@ -65,6 +65,7 @@ public final class SystemSessionProperties
     public static final String JOIN_MAX_BROADCAST_TABLE_SIZE = "join_max_broadcast_table_size";
     public static final String JOIN_MULTI_CLAUSE_INDEPENDENCE_FACTOR = "join_multi_clause_independence_factor";
     public static final String DETERMINE_PARTITION_COUNT_FOR_WRITE_ENABLED = "determine_partition_count_for_write_enabled";
+    public static final String QUERY_RESULT_CACHE_ENABLED = "query_result_cache_enabled";
     public static final String MAX_HASH_PARTITION_COUNT = "max_hash_partition_count";
     public static final String MIN_HASH_PARTITION_COUNT = "min_hash_partition_count";
     public static final String MIN_HASH_PARTITION_COUNT_FOR_WRITE = "min_hash_partition_count_for_write";
@@ -73,6 +74,7 @@ public final class SystemSessionProperties
     public static final String TASK_MAX_WRITER_COUNT = "task_max_writer_count";
     public static final String TASK_CONCURRENCY = "task_concurrency";
     public static final String TASK_SHARE_INDEX_LOADING = "task_share_index_loading";
+    public static final String TASK_SHARE_TABLE_SCANS = "task_share_table_scans";
     public static final String QUERY_MAX_MEMORY = "query_max_memory";
     public static final String QUERY_MAX_TOTAL_MEMORY = "query_max_total_memory";
     public static final String QUERY_MAX_EXECUTION_TIME = "query_max_execution_time";
@@ -143,6 +145,8 @@ public final class SystemSessionProperties
     public static final String ENABLE_LARGE_DYNAMIC_FILTERS = "enable_large_dynamic_filters";
     public static final String ENABLE_DYNAMIC_ROW_FILTERING = "enable_dynamic_row_filtering";
     public static final String DYNAMIC_ROW_FILTERING_SELECTIVITY_THRESHOLD = "dynamic_row_filtering_selectivity_threshold";
+    public static final String ENABLE_DYNAMIC_FILTERING_BLOOM_FILTERS = "enable_dynamic_filtering_bloom_filters";
+    public static final String DYNAMIC_FILTERING_BLOOM_FILTER_MAX_SIZE = "dynamic_filtering_bloom_filter_max_size";
     public static final String QUERY_MAX_MEMORY_PER_NODE = "query_max_memory_per_node";
     public static final String IGNORE_DOWNSTREAM_PREFERENCES = "ignore_downstream_preferences";
     public static final String FILTERING_SEMI_JOIN_TO_INNER = "rewrite_filtering_semi_join_to_inner_join";
@@ -193,6 +197,9 @@ public final class SystemSessionProperties
     public static final String FAULT_TOLERANT_EXECUTION_RUNTIME_ADAPTIVE_PARTITIONING_PARTITION_COUNT = "fault_tolerant_execution_runtime_adaptive_partitioning_partition_count";
     public static final String FAULT_TOLERANT_EXECUTION_RUNTIME_ADAPTIVE_PARTITIONING_MAX_TASK_SIZE = "fault_tolerant_execution_runtime_adaptive_partitioning_max_task_size";
     public static final String FAULT_TOLERANT_EXECUTION_MIN_SOURCE_STAGE_PROGRESS = "fault_tolerant_execution_min_source_stage_progress";
+    public static final String FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_ENABLED = "fault_tolerant_execution_speculative_attempts_enabled";
+    public static final String FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_SLOWNESS_RATIO = "fault_tolerant_execution_speculative_attempts_slowness_ratio";
+    public static final String FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_MIN_TASK_DURATION = "fault_tolerant_execution_speculative_attempts_min_task_duration";
     private static final String FAULT_TOLERANT_EXECUTION_SMALL_STAGE_ESTIMATION_ENABLED = "fault_tolerant_execution_small_stage_estimation_enabled";
     private static final String FAULT_TOLERANT_EXECUTION_SMALL_STAGE_ESTIMATION_THRESHOLD = "fault_tolerant_execution_small_stage_estimation_threshold";
     private static final String FAULT_TOLERANT_EXECUTION_SMALL_STAGE_SOURCE_SIZE_MULTIPLIER = "fault_tolerant_execution_small_stage_source_size_multiplier";
@@ -212,6 +219,8 @@ public final class SystemSessionProperties
     public static final String MIN_INPUT_SIZE_PER_TASK = "min_input_size_per_task";
     public static final String MIN_INPUT_ROWS_PER_TASK = "min_input_rows_per_task";
     public static final String USE_EXACT_PARTITIONING = "use_exact_partitioning";
+    public static final String USE_HISTORY_BASED_STATISTICS = "use_history_based_statistics";
+    public static final String PLAN_CACHE_ENABLED = "plan_cache_enabled";
     public static final String USE_COST_BASED_PARTITIONING = "use_cost_based_partitioning";
     public static final String PUSH_FILTER_INTO_VALUES_MAX_ROW_COUNT = "push_filter_into_values_max_row_count";
     public static final String FORCE_SPILLING_JOIN = "force_spilling_join";
@@ -282,6 +291,11 @@ public final class SystemSessionProperties
                         "Determine the number of partitions based on amount of data read and processed by the query for write queries",
                         queryManagerConfig.isDeterminePartitionCountForWriteEnabled(),
                         false),
+                booleanProperty(
+                        QUERY_RESULT_CACHE_ENABLED,
+                        "Reuse the results of queries reading the same versions of tables",
+                        queryManagerConfig.isResultCacheEnabled(),
+                        false),
                 integerProperty(
                         MAX_HASH_PARTITION_COUNT,
                         "Maximum number of partitions for distributed joins and aggregations",
@@ -373,6 +387,11 @@ public final class SystemSessionProperties
                         "Share index join lookups and caching within a task",
                         taskManagerConfig.isShareIndexLoading(),
                         false),
+                booleanProperty(
+                        TASK_SHARE_TABLE_SCANS,
+                        "Share the pages read from a split among concurrent queries scanning the same split",
+                        taskManagerConfig.isShareTableScans(),
+                        false),
                 durationProperty(
                         QUERY_MAX_RUN_TIME,
                         "Maximum run time of a query (includes the queueing time)",
@@ -702,6 +721,16 @@ public final class SystemSessionProperties
                             }
                         },
                         false),
+                booleanProperty(
+                        ENABLE_DYNAMIC_FILTERING_BLOOM_FILTERS,
+                        "Collect bloom filters of the join build side values which exceed the distinct values limits of dynamic filters",
+                        dynamicFilterConfig.isEnableBloomFilters(),
+                        false),
+                dataSizeProperty(
+                        DYNAMIC_FILTERING_BLOOM_FILTER_MAX_SIZE,
+                        "Maximum size of a bloom filter collected by a driver",
+                        dynamicFilterConfig.getBloomFilterMaxSize(),
+                        false),
                 dataSizeProperty(
                         QUERY_MAX_MEMORY_PER_NODE,
                         "Maximum amount of memory a query can use per node",
@@ -981,6 +1010,28 @@ public final class SystemSessionProperties
                         "Minimal progress of source stage to consider scheduling of parent stage",
                         queryManagerConfig.getFaultTolerantExecutionMinSourceStageProgress(),
                         true),
+                booleanProperty(
+                        FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_ENABLED,
+                        "Start an additional attempt on another node for tasks running much longer than the other tasks of the stage",
+                        queryManagerConfig.isFaultTolerantExecutionSpeculativeAttemptsEnabled(),
+                        true),
+                doubleProperty(
+                        FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_SLOWNESS_RATIO,
+                        "How many times longer than the median duration of finished tasks of the stage a task must run to get a speculative attempt",
+                        queryManagerConfig.getFaultTolerantExecutionSpeculativeAttemptsSlownessRatio(),
+                        value -> {
+                            if (value < 1.0) {
+                                throw new TrinoException(
+                                        INVALID_SESSION_PROPERTY,
+                                        format("%s must be greater than or equal to 1.0", FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_SLOWNESS_RATIO));
+                            }
+                        },
+                        true),
+                durationProperty(
+                        FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_MIN_TASK_DURATION,
+                        "Minimum time a task must run to get a speculative attempt",
+                        queryManagerConfig.getFaultTolerantExecutionSpeculativeAttemptsMinTaskDuration(),
+                        true),
                 booleanProperty(
                         FAULT_TOLERANT_EXECUTION_SMALL_STAGE_ESTIMATION_ENABLED,
                         "Enable small stage estimation heuristic, used for more aggresive speculative stage scheduling",
@@ -1092,6 +1143,16 @@ public final class SystemSessionProperties
                         "When enabled this forces data repartitioning unless the partitioning of upstream stage matches exactly what downstream stage expects",
                         optimizerConfig.isUseExactPartitioning(),
                         false),
+                booleanProperty(
+                        USE_HISTORY_BASED_STATISTICS,
+                        "Record the output of plan nodes of finished queries and use it in place of the estimates when the same plan nodes are planned again",
+                        optimizerConfig.isUseHistoryBasedStatistics(),
+                        false),
+                booleanProperty(
+                        PLAN_CACHE_ENABLED,
+                        "Reuse the optimized plan of a query executed again with the same parameters, session and table versions",
+                        optimizerConfig.isPlanCacheEnabled(),
+                        false),
                 booleanProperty(
                         USE_COST_BASED_PARTITIONING,
                         "When enabled the cost based optimizer is used to determine if repartitioning the output of an already partitioned stage is necessary",
@@ -1167,6 +1228,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(DETERMINE_PARTITION_COUNT_FOR_WRITE_ENABLED, Boolean.class);
     }
 
+    public static boolean isQueryResultCacheEnabled(Session session)
+    {
+        return session.getSystemProperty(QUERY_RESULT_CACHE_ENABLED, Boolean.class);
+    }
+
     public static int getMaxHashPartitionCount(Session session)
     {
         return session.getSystemProperty(MAX_HASH_PARTITION_COUNT, Integer.class);
@@ -1252,6 +1318,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(TASK_SHARE_INDEX_LOADING, Boolean.class);
     }
 
+    public static boolean isShareTableScans(Session session)
+    {
+        return session.getSystemProperty(TASK_SHARE_TABLE_SCANS, Boolean.class);
+    }
+
     public static boolean isDictionaryAggregationEnabled(Session session)
     {
         return session.getSystemProperty(DICTIONARY_AGGREGATION, Boolean.class);
@@ -1638,6 +1709,16 @@ public final class SystemSessionProperties
         return session.getSystemProperty(DYNAMIC_ROW_FILTERING_SELECTIVITY_THRESHOLD, Double.class);
     }
 
+    public static boolean isEnableDynamicFilteringBloomFilters(Session session)
+    {
+        return session.getSystemProperty(ENABLE_DYNAMIC_FILTERING_BLOOM_FILTERS, Boolean.class);
+    }
+
+    public static DataSize getDynamicFilteringBloomFilterMaxSize(Session session)
+    {
+        return session.getSystemProperty(DYNAMIC_FILTERING_BLOOM_FILTER_MAX_SIZE, DataSize.class);
+    }
+
     public static DataSize getQueryMaxMemoryPerNode(Session session)
     {
         return session.getSystemProperty(QUERY_MAX_MEMORY_PER_NODE, DataSize.class);
@@ -1888,6 +1969,21 @@ public final class SystemSessionProperties
         return session.getSystemProperty(FAULT_TOLERANT_EXECUTION_MIN_SOURCE_STAGE_PROGRESS, Double.class);
     }
 
+    public static boolean isFaultTolerantExecutionSpeculativeAttemptsEnabled(Session session)
+    {
+        return session.getSystemProperty(FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_ENABLED, Boolean.class);
+    }
+
+    public static double getFaultTolerantExecutionSpeculativeAttemptsSlownessRatio(Session session)
+    {
+        return session.getSystemProperty(FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_SLOWNESS_RATIO, Double.class);
+    }
+
+    public static Duration getFaultTolerantExecutionSpeculativeAttemptsMinTaskDuration(Session session)
+    {
+        return session.getSystemProperty(FAULT_TOLERANT_EXECUTION_SPECULATIVE_ATTEMPTS_MIN_TASK_DURATION, Duration.class);
+    }
+
     public static boolean isFaultTolerantExecutionSmallStageEstimationEnabled(Session session)
     {
         return session.getSystemProperty(FAULT_TOLERANT_EXECUTION_SMALL_STAGE_ESTIMATION_ENABLED, Boolean.class);
@@ -1983,6 +2079,16 @@ public final class SystemSessionProperties
         return session.getSystemProperty(USE_EXACT_PARTITIONING, Boolean.class);
     }
 
+    public static boolean isUseHistoryBasedStatistics(Session session)
+    {
+        return session.getSystemProperty(USE_HISTORY_BASED_STATISTICS, Boolean.class);
+    }
+
+    public static boolean isPlanCacheEnabled(Session session)
+    {
+        return session.getSystemProperty(PLAN_CACHE_ENABLED, Boolean.class);
+    }
+
     public static boolean isUseCostBasedPartitioning(Session session)
     {
         return session.getSystemProperty(USE_COST_BASED_PARTITIONING, Boolean.class);
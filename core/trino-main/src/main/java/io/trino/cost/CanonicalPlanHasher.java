@@ -0,0 +1,328 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.cost;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.json.JsonCodec;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorTableHandle;
+import io.trino.sql.ir.Expression;
+import io.trino.sql.ir.ExpressionFormatter;
+import io.trino.sql.ir.Reference;
+import io.trino.sql.planner.PlanFragment;
+import io.trino.sql.planner.Symbol;
+import io.trino.sql.planner.iterative.Lookup;
+import io.trino.sql.planner.plan.AggregationNode;
+import io.trino.sql.planner.plan.AggregationNode.Aggregation;
+import io.trino.sql.planner.plan.ExchangeNode;
+import io.trino.sql.planner.plan.FilterNode;
+import io.trino.sql.planner.plan.JoinNode;
+import io.trino.sql.planner.plan.PlanFragmentId;
+import io.trino.sql.planner.plan.PlanNode;
+import io.trino.sql.planner.plan.PlanVisitor;
+import io.trino.sql.planner.plan.ProjectNode;
+import io.trino.sql.planner.plan.RemoteSourceNode;
+import io.trino.sql.planner.plan.TableScanNode;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import static com.google.common.hash.Hashing.sha256;
+import static io.trino.sql.DynamicFilters.extractDynamicFilters;
+import static io.trino.sql.planner.plan.JoinType.INNER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Computes hashes of plan nodes which are equal for plan nodes producing the same rows in different queries, so
+ * that the statistics observed during execution of a query can be used for planning of the following ones.
+ * <p>
+ * The hashes do not depend on symbol names and plan node ids, on the order of sides of inner joins, nor on nodes
+ * which do not change the output rows, like projections and exchanges. Partial and final aggregations have the
+ * same hash as the equivalent single step aggregation, so plans can be matched before and after they are fragmented.
+ * Nodes of other types, and the nodes above them, have no hash.
+ * <p>
+ * Tables and columns are identified by the JSON representation of their handles, which is also used to send them
+ * to workers, so it includes everything pushed down into the table scan and does not depend on the transaction.
+ * <p>
+ * The canonical forms of plan nodes are cached for as long as the nodes are in use, so hashing all nodes of a plan
+ * is linear in the size of the plan. A node whose sources are group references keeps the canonical form computed
+ * for the members of the groups at the time, which produce the same rows as the members replacing them later.
+ */
+public final class CanonicalPlanHasher
+{
+    private final JsonCodec<ConnectorTableHandle> tableHandleCodec;
+    private final JsonCodec<ColumnHandle> columnHandleCodec;
+    private final Map<PlanFragmentId, PlanFragment> fragments;
+    private final Map<PlanNode, Optional<CanonicalNode>> canonicalNodes = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Visitor visitor = new Visitor();
+
+    public CanonicalPlanHasher(JsonCodec<ConnectorTableHandle> tableHandleCodec, JsonCodec<ColumnHandle> columnHandleCodec)
+    {
+        this(tableHandleCodec, columnHandleCodec, ImmutableMap.of());
+    }
+
+    /**
+     * Creates a hasher of the nodes of fragmented plans. Remote sources are replaced with the roots of their fragments.
+     */
+    public CanonicalPlanHasher(JsonCodec<ConnectorTableHandle> tableHandleCodec, JsonCodec<ColumnHandle> columnHandleCodec, Map<PlanFragmentId, PlanFragment> fragments)
+    {
+        this.tableHandleCodec = requireNonNull(tableHandleCodec, "tableHandleCodec is null");
+        this.columnHandleCodec = requireNonNull(columnHandleCodec, "columnHandleCodec is null");
+        this.fragments = ImmutableMap.copyOf(requireNonNull(fragments, "fragments is null"));
+    }
+
+    public Optional<String> hash(PlanNode node, Lookup lookup)
+    {
+        return canonicalize(node, lookup).flatMap(CanonicalNode::hash);
+    }
+
+    private Optional<CanonicalNode> canonicalize(PlanNode node, Lookup lookup)
+    {
+        PlanNode resolved = lookup.resolve(node);
+        Optional<CanonicalNode> canonicalNode = canonicalNodes.get(resolved);
+        if (canonicalNode == null) {
+            // the map is not locked while the sources are canonicalized, so concurrent callers may compute the same canonical form
+            canonicalNode = resolved.accept(visitor, lookup);
+            canonicalNodes.put(resolved, canonicalNode);
+        }
+        return canonicalNode;
+    }
+
+    private Optional<CanonicalNode> canonicalizeWithHash(PlanNode node, Lookup lookup)
+    {
+        return canonicalize(node, lookup).filter(canonicalNode -> canonicalNode.hash().isPresent());
+    }
+
+    private class Visitor
+            extends PlanVisitor<Optional<CanonicalNode>, Lookup>
+    {
+        @Override
+        protected Optional<CanonicalNode> visitPlan(PlanNode node, Lookup lookup)
+        {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<CanonicalNode> visitTableScan(TableScanNode node, Lookup lookup)
+        {
+            String table;
+            ImmutableMap.Builder<Symbol, String> symbols = ImmutableMap.builder();
+            try {
+                table = node.getTable().catalogHandle().getCatalogName() + ":" + tableHandleCodec.toJson(node.getTable().connectorHandle());
+                // columns are qualified with the table, so that the columns of different tables with the same handles are distinguished
+                String tableHash = hash(table).substring(0, 16);
+                node.getAssignments().forEach((symbol, column) -> symbols.put(symbol, tableHash + "." + hash(columnHandleCodec.toJson(column)).substring(0, 16)));
+            }
+            catch (IllegalArgumentException _) {
+                // the handles cannot be serialized
+                return Optional.empty();
+            }
+            Map<Symbol, String> columns = symbols.buildOrThrow();
+            return Optional.of(CanonicalNode.create(
+                    "TableScan[%s; %s]".formatted(table, columns.values().stream().sorted().toList()),
+                    columns));
+        }
+
+        @Override
+        public Optional<CanonicalNode> visitFilter(FilterNode node, Lookup lookup)
+        {
+            return canonicalizeWithHash(node.getSource(), lookup).map(source -> {
+                // dynamic filters only remove the rows which are removed by their join anyway
+                List<String> conjuncts = extractDynamicFilters(node.getPredicate()).getStaticConjuncts().stream()
+                        .map(conjunct -> formatExpression(conjunct, source.symbols()))
+                        .sorted()
+                        .toList();
+                if (conjuncts.isEmpty()) {
+                    return source;
+                }
+                return CanonicalNode.create(
+                        "Filter[%s](%s)".formatted(String.join(" AND ", conjuncts), source.hash().orElseThrow()),
+                        source.symbols());
+            });
+        }
+
+        @Override
+        public Optional<CanonicalNode> visitProject(ProjectNode node, Lookup lookup)
+        {
+            // projections do not change the output rows, so they have the hash of their source
+            return canonicalize(node.getSource(), lookup).map(source -> {
+                Map<Symbol, String> symbols = new HashMap<>(source.symbols());
+                node.getAssignments().forEach((symbol, expression) -> symbols.put(symbol, expression instanceof Reference reference
+                        ? name(Symbol.from(reference), source.symbols())
+                        : "(" + formatExpression(expression, source.symbols()) + ")"));
+                return new CanonicalNode(source.hash(), symbols, source.partialAggregation());
+            });
+        }
+
+        @Override
+        public Optional<CanonicalNode> visitExchange(ExchangeNode node, Lookup lookup)
+        {
+            if (node.getSources().size() != 1) {
+                return Optional.empty();
+            }
+            return canonicalize(node.getSources().getFirst(), lookup)
+                    .flatMap(source -> renameOutputs(source, node.getOutputSymbols(), node.getInputs().getFirst()));
+        }
+
+        @Override
+        public Optional<CanonicalNode> visitRemoteSource(RemoteSourceNode node, Lookup lookup)
+        {
+            if (node.getSourceFragmentIds().size() != 1) {
+                return Optional.empty();
+            }
+            PlanFragment fragment = fragments.get(node.getSourceFragmentIds().getFirst());
+            if (fragment == null) {
+                return Optional.empty();
+            }
+            return canonicalize(fragment.getRoot(), lookup)
+                    .flatMap(source -> renameOutputs(source, node.getOutputSymbols(), fragment.getOutputPartitioningScheme().getOutputLayout()));
+        }
+
+        @Override
+        public Optional<CanonicalNode> visitJoin(JoinNode node, Lookup lookup)
+        {
+            Optional<CanonicalNode> left = canonicalizeWithHash(node.getLeft(), lookup);
+            Optional<CanonicalNode> right = canonicalizeWithHash(node.getRight(), lookup);
+            if (left.isEmpty() || right.isEmpty()) {
+                return Optional.empty();
+            }
+            String leftHash = left.get().hash().orElseThrow();
+            String rightHash = right.get().hash().orElseThrow();
+            // sides of inner joins are ordered by their hashes, as reordering them does not change the output rows
+            boolean flipped = node.getType() == INNER && leftHash.compareTo(rightHash) > 0;
+
+            Map<Symbol, String> symbols = new HashMap<>(left.get().symbols());
+            symbols.putAll(right.get().symbols());
+            List<String> criteria = node.getCriteria().stream()
+                    .map(clause -> flipped
+                            ? name(clause.getRight(), symbols) + " = " + name(clause.getLeft(), symbols)
+                            : name(clause.getLeft(), symbols) + " = " + name(clause.getRight(), symbols))
+                    .sorted()
+                    .toList();
+            return Optional.of(CanonicalNode.create(
+                    "Join[%s; %s; %s](%s, %s)".formatted(
+                            node.getType(),
+                            criteria,
+                            node.getFilter().map(filter -> formatExpression(filter, symbols)).orElse(""),
+                            flipped ? rightHash : leftHash,
+                            flipped ? leftHash : rightHash),
+                    symbols));
+        }
+
+        @Override
+        public Optional<CanonicalNode> visitAggregation(AggregationNode node, Lookup lookup)
+        {
+            Optional<CanonicalNode> source = canonicalize(node.getSource(), lookup);
+            if (source.isEmpty()) {
+                return Optional.empty();
+            }
+            Map<Symbol, String> symbols = new HashMap<>(source.get().symbols());
+
+            if (node.getStep().isInputRaw()) {
+                if (source.get().hash().isEmpty()) {
+                    return Optional.empty();
+                }
+                node.getAggregations().forEach((symbol, aggregation) -> symbols.put(symbol, formatAggregation(aggregation, source.get().symbols())));
+                String aggregation = "Aggregation[%s; %s; %s; %s](%s)".formatted(
+                        node.getGroupingKeys().stream().map(key -> name(key, symbols)).sorted().toList(),
+                        node.getGroupingSetCount(),
+                        node.getGlobalGroupingSets(),
+                        node.getAggregations().keySet().stream().map(symbols::get).sorted().toList(),
+                        source.get().hash().get());
+                if (node.getStep().isOutputPartial()) {
+                    return Optional.of(new CanonicalNode(Optional.empty(), symbols, Optional.of(aggregation)));
+                }
+                return Optional.of(CanonicalNode.create(aggregation, symbols));
+            }
+
+            // intermediate and final aggregations take the partial results as their only argument
+            if (source.get().partialAggregation().isEmpty()) {
+                return Optional.empty();
+            }
+            node.getAggregations().forEach((symbol, aggregation) -> symbols.put(symbol, formatExpression(aggregation.getArguments().getFirst(), source.get().symbols())));
+            if (node.getStep().isOutputPartial()) {
+                return Optional.of(new CanonicalNode(Optional.empty(), symbols, source.get().partialAggregation()));
+            }
+            return Optional.of(CanonicalNode.create(source.get().partialAggregation().get(), symbols));
+        }
+    }
+
+    private static Optional<CanonicalNode> renameOutputs(CanonicalNode source, List<Symbol> outputs, List<Symbol> inputs)
+    {
+        ImmutableMap.Builder<Symbol, String> symbols = ImmutableMap.builder();
+        for (int i = 0; i < outputs.size(); i++) {
+            String name = source.symbols().get(inputs.get(i));
+            if (name == null) {
+                return Optional.empty();
+            }
+            symbols.put(outputs.get(i), name);
+        }
+        return Optional.of(new CanonicalNode(source.hash(), symbols.buildKeepingLast(), source.partialAggregation()));
+    }
+
+    private static String formatAggregation(Aggregation aggregation, Map<Symbol, String> symbols)
+    {
+        return "%s(%s%s)%s%s".formatted(
+                aggregation.getResolvedFunction().signature(),
+                aggregation.isDistinct() ? "DISTINCT " : "",
+                aggregation.getArguments().stream()
+                        .map(argument -> formatExpression(argument, symbols))
+                        .collect(joining(", ")),
+                aggregation.getFilter().map(filter -> " FILTER " + name(filter, symbols)).orElse(""),
+                aggregation.getMask().map(mask -> " MASK " + name(mask, symbols)).orElse(""));
+    }
+
+    private static String formatExpression(Expression expression, Map<Symbol, String> symbols)
+    {
+        // symbols which are not known, like lambda arguments, keep their names
+        return new ExpressionFormatter.Formatter(Optional.empty(), Optional.of(reference -> name(Symbol.from(reference), symbols)))
+                .process(expression, null);
+    }
+
+    private static String name(Symbol symbol, Map<Symbol, String> symbols)
+    {
+        return symbols.getOrDefault(symbol, symbol.name());
+    }
+
+    private static String hash(String plan)
+    {
+        return sha256().hashString(plan, UTF_8).toString();
+    }
+
+    /**
+     * @param hash hash of the node, which is empty for partial and intermediate aggregations
+     * @param symbols canonical names of the symbols produced by the node and its sources
+     * @param partialAggregation canonical form of the aggregation whose partial results are produced by the node
+     */
+    private record CanonicalNode(Optional<String> hash, Map<Symbol, String> symbols, Optional<String> partialAggregation)
+    {
+        CanonicalNode
+        {
+            requireNonNull(hash, "hash is null");
+            symbols = ImmutableMap.copyOf(requireNonNull(symbols, "symbols is null"));
+            requireNonNull(partialAggregation, "partialAggregation is null");
+        }
+
+        static CanonicalNode create(String plan, Map<Symbol, String> symbols)
+        {
+            return new CanonicalNode(Optional.of(hash(plan)), symbols, Optional.empty());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.cost;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import io.airlift.json.JsonCodec;
+import io.airlift.log.Logger;
+import io.airlift.units.Duration;
+import io.trino.cache.NonEvictableCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.json.JsonCodec.mapJsonCodec;
+import static io.trino.cache.SafeCaches.buildNonEvictableCache;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps the statistics of the most recently executed plan nodes in memory, and periodically persists them
+ * to a JSON file, which is loaded when the coordinator starts.
+ */
+public class FileHistoryBasedStatisticsStore
+        implements HistoryBasedStatisticsStore
+{
+    private static final Logger log = Logger.get(FileHistoryBasedStatisticsStore.class);
+    private static final JsonCodec<Map<String, HistoricalPlanNodeStatistics>> CODEC = mapJsonCodec(String.class, HistoricalPlanNodeStatistics.class);
+
+    private final Optional<File> file;
+    private final Duration flushInterval;
+    private final NonEvictableCache<String, HistoricalPlanNodeStatistics> statistics;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ScheduledExecutorService flushExecutor = newSingleThreadScheduledExecutor(daemonThreadsNamed("history-based-statistics-flush"));
+
+    @Inject
+    public FileHistoryBasedStatisticsStore(HistoryBasedStatisticsConfig config)
+    {
+        this.file = Optional.ofNullable(config.getFile());
+        this.flushInterval = config.getFlushInterval();
+        this.statistics = buildNonEvictableCache(CacheBuilder.newBuilder()
+                .maximumSize(config.getMaxEntries()));
+        file.filter(File::exists).ifPresent(this::load);
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        if (file.isEmpty()) {
+            return;
+        }
+        flushExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            }
+            catch (Exception e) {
+                log.error(e, "Error persisting history based statistics");
+            }
+        }, flushInterval.toMillis(), flushInterval.toMillis(), MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        flushExecutor.shutdownNow();
+        try {
+            flush();
+        }
+        catch (Exception e) {
+            log.error(e, "Error persisting history based statistics");
+        }
+    }
+
+    @Override
+    public Optional<HistoricalPlanNodeStatistics> getStatistics(String planNodeHash)
+    {
+        return Optional.ofNullable(statistics.getIfPresent(planNodeHash));
+    }
+
+    @Override
+    public void putStatistics(Map<String, HistoricalPlanNodeStatistics> statistics)
+    {
+        this.statistics.putAll(statistics);
+        dirty.set(true);
+    }
+
+    @VisibleForTesting
+    void flush()
+    {
+        if (file.isEmpty() || !dirty.getAndSet(false)) {
+            return;
+        }
+        byte[] json = CODEC.toJsonBytes(Map.copyOf(statistics.asMap()));
+        File temporary = new File(file.get().getPath() + ".tmp");
+        try {
+            if (temporary.getParentFile() != null) {
+                createDirectories(temporary.getParentFile().toPath());
+            }
+            try (FileOutputStream out = new FileOutputStream(temporary)) {
+                out.write(json);
+                out.getFD().sync();
+            }
+            Files.move(temporary.toPath(), file.get().toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            dirty.set(true);
+            throw new UncheckedIOException("Failed to write history based statistics to " + file.get(), e);
+        }
+    }
+
+    private void load(File file)
+    {
+        try {
+            statistics.putAll(CODEC.fromJson(Files.readAllBytes(file.toPath())));
+        }
+        catch (IOException | IllegalArgumentException e) {
+            // the statistics are only a hint for the optimizer, so a corrupted file must not prevent the coordinator from starting
+            log.warn(e, "Failed to load history based statistics from %s", file);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.cost;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.Duration;
+import io.airlift.units.MinDuration;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.File;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+public class HistoryBasedStatisticsConfig
+{
+    private File file;
+    private int maxEntries = 100_000;
+    private Duration flushInterval = new Duration(1, MINUTES);
+
+    public File getFile()
+    {
+        return file;
+    }
+
+    @Config("history-based-statistics.file")
+    @ConfigDescription("File the observed plan node statistics are persisted to. When not set, the statistics are only kept in memory")
+    public HistoryBasedStatisticsConfig setFile(File file)
+    {
+        this.file = file;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxEntries()
+    {
+        return maxEntries;
+    }
+
+    @Config("history-based-statistics.max-entries")
+    @ConfigDescription("Maximum number of plan nodes with observed statistics")
+    public HistoryBasedStatisticsConfig setMaxEntries(int maxEntries)
+    {
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("1s")
+    public Duration getFlushInterval()
+    {
+        return flushInterval;
+    }
+
+    @Config("history-based-statistics.flush-interval")
+    @ConfigDescription("Interval of persisting the observed plan node statistics to the file")
+    public HistoryBasedStatisticsConfig setFlushInterval(Duration flushInterval)
+    {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.cost;
+
+import com.google.inject.Inject;
+import io.airlift.json.JsonCodec;
+import io.airlift.log.Logger;
+import io.trino.execution.QueryInfo;
+import io.trino.execution.StageInfo;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorTableHandle;
+import io.trino.sql.planner.PlanFragment;
+import io.trino.sql.planner.plan.DistinctLimitNode;
+import io.trino.sql.planner.plan.JoinNode;
+import io.trino.sql.planner.plan.LimitNode;
+import io.trino.sql.planner.plan.PlanFragmentId;
+import io.trino.sql.planner.plan.PlanNode;
+import io.trino.sql.planner.plan.PlanNodeId;
+import io.trino.sql.planner.plan.RemoteSourceNode;
+import io.trino.sql.planner.plan.SemiJoinNode;
+import io.trino.sql.planner.planprinter.PlanNodeStats;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static io.trino.execution.QueryState.FINISHED;
+import static io.trino.execution.StageInfo.getAllStages;
+import static io.trino.sql.planner.iterative.Lookup.noLookup;
+import static io.trino.sql.planner.plan.JoinType.INNER;
+import static io.trino.sql.planner.plan.JoinType.RIGHT;
+import static io.trino.sql.planner.planprinter.PlanNodeStatsSummarizer.aggregateStageStats;
+import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
+
+/**
+ * Records the output of the plan nodes of finished queries in the {@link HistoryBasedStatisticsStore}.
+ * <p>
+ * Plan nodes which may not have produced all their rows are skipped: the sources of limits, which are
+ * finished early, and the probe sides of joins producing dynamic filters, or with an empty build side.
+ */
+public class HistoryBasedStatisticsRecorder
+{
+    private static final Logger log = Logger.get(HistoryBasedStatisticsRecorder.class);
+
+    private final HistoryBasedStatisticsStore store;
+    private final JsonCodec<ConnectorTableHandle> tableHandleCodec;
+    private final JsonCodec<ColumnHandle> columnHandleCodec;
+
+    @Inject
+    public HistoryBasedStatisticsRecorder(HistoryBasedStatisticsStore store, JsonCodec<ConnectorTableHandle> tableHandleCodec, JsonCodec<ColumnHandle> columnHandleCodec)
+    {
+        this.store = requireNonNull(store, "store is null");
+        this.tableHandleCodec = requireNonNull(tableHandleCodec, "tableHandleCodec is null");
+        this.columnHandleCodec = requireNonNull(columnHandleCodec, "columnHandleCodec is null");
+    }
+
+    public void queryCompleted(QueryInfo queryInfo)
+    {
+        if (queryInfo.getState() != FINISHED || queryInfo.getOutputStage().isEmpty() || queryInfo.getOutputStage().get().getPlan() == null) {
+            return;
+        }
+        try {
+            List<StageInfo> stages = getAllStages(queryInfo.getOutputStage());
+            Map<PlanFragmentId, PlanFragment> fragments = stages.stream()
+                    .map(StageInfo::getPlan)
+                    .filter(Objects::nonNull)
+                    .collect(toImmutableMap(PlanFragment::getId, identity()));
+            Collector collector = new Collector(new CanonicalPlanHasher(tableHandleCodec, columnHandleCodec, fragments), fragments, aggregateStageStats(stages));
+            collector.collect(queryInfo.getOutputStage().get().getPlan().getRoot(), true);
+            if (!collector.statistics.isEmpty()) {
+                store.putStatistics(collector.statistics);
+            }
+        }
+        catch (RuntimeException e) {
+            log.warn(e, "Failed to record history based statistics of query %s", queryInfo.getQueryId());
+        }
+    }
+
+    private static class Collector
+    {
+        private final CanonicalPlanHasher hasher;
+        private final Map<PlanFragmentId, PlanFragment> fragments;
+        private final Map<PlanNodeId, PlanNodeStats> planNodeStats;
+        private final Map<String, HistoricalPlanNodeStatistics> statistics = new HashMap<>();
+
+        private Collector(CanonicalPlanHasher hasher, Map<PlanFragmentId, PlanFragment> fragments, Map<PlanNodeId, PlanNodeStats> planNodeStats)
+        {
+            this.hasher = requireNonNull(hasher, "hasher is null");
+            this.fragments = requireNonNull(fragments, "fragments is null");
+            this.planNodeStats = requireNonNull(planNodeStats, "planNodeStats is null");
+        }
+
+        /**
+         * @param complete whether the node produced all its rows
+         */
+        private void collect(PlanNode node, boolean complete)
+        {
+            PlanNodeStats stats = planNodeStats.get(node.getId());
+            if (complete && stats != null) {
+                hasher.hash(node, noLookup()).ifPresent(hash -> statistics.put(hash, new HistoricalPlanNodeStatistics(
+                        stats.getPlanNodeOutputPositions(),
+                        stats.getPlanNodeOutputDataSize().toBytes())));
+            }
+
+            switch (node) {
+                case LimitNode limit -> collect(limit.getSource(), false);
+                case DistinctLimitNode limit -> collect(limit.getSource(), false);
+                case JoinNode join -> {
+                    // the probe side is not read when the build side is empty
+                    boolean mayBeEmpty = (join.getType() == INNER || join.getType() == RIGHT) && (stats == null || stats.getPlanNodeOutputPositions() == 0);
+                    collect(join.getLeft(), complete && join.getDynamicFilters().isEmpty() && !mayBeEmpty);
+                    collect(join.getRight(), complete);
+                }
+                case SemiJoinNode semiJoin -> {
+                    collect(semiJoin.getSource(), complete && semiJoin.getDynamicFilterId().isEmpty());
+                    collect(semiJoin.getFilteringSource(), complete);
+                }
+                case RemoteSourceNode remoteSource -> {
+                    for (PlanFragmentId fragmentId : remoteSource.getSourceFragmentIds()) {
+                        PlanFragment fragment = fragments.get(fragmentId);
+                        if (fragment != null) {
+                            collect(fragment.getRoot(), complete);
+                        }
+                    }
+                }
+                default -> node.getSources().forEach(source -> collect(source, complete));
+            }
+        }
+    }
+}
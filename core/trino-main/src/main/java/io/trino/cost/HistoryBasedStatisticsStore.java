@@ -0,0 +1,30 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.cost;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores the statistics observed during execution of queries, keyed by the hashes computed by {@link CanonicalPlanHasher}.
+ */
+public interface HistoryBasedStatisticsStore
+{
+    Optional<HistoricalPlanNodeStatistics> getStatistics(String planNodeHash);
+
+    /**
+     * Records the statistics of the plan nodes of a completed query, replacing the statistics previously recorded for the same hashes.
+     */
+    void putStatistics(Map<String, HistoricalPlanNodeStatistics> statistics);
+}
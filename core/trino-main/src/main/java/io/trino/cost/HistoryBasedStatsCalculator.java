@@ -0,0 +1,70 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.cost;
+
+import com.google.inject.Inject;
+import io.airlift.json.JsonCodec;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorTableHandle;
+import io.trino.sql.planner.plan.PlanNode;
+
+import java.util.Optional;
+
+import static io.trino.SystemSessionProperties.isUseHistoryBasedStatistics;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Replaces the estimated output row count of plan nodes with the row count observed when the same plan node
+ * was executed by a previous query. The estimates of the other nodes are derived from the replaced ones by
+ * the rules of the delegate calculator.
+ */
+public class HistoryBasedStatsCalculator
+        implements StatsCalculator
+{
+    private final StatsCalculator delegate;
+    private final HistoryBasedStatisticsStore store;
+    private final StatsNormalizer normalizer;
+    // shared by all calculations, so that the canonical forms of the sources are not computed again for every node
+    private final CanonicalPlanHasher hasher;
+
+    @Inject
+    public HistoryBasedStatsCalculator(
+            ComposableStatsCalculator delegate,
+            HistoryBasedStatisticsStore store,
+            StatsNormalizer normalizer,
+            JsonCodec<ConnectorTableHandle> tableHandleCodec,
+            JsonCodec<ColumnHandle> columnHandleCodec)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+        this.store = requireNonNull(store, "store is null");
+        this.normalizer = requireNonNull(normalizer, "normalizer is null");
+        this.hasher = new CanonicalPlanHasher(tableHandleCodec, columnHandleCodec);
+    }
+
+    @Override
+    public PlanNodeStatsEstimate calculateStats(PlanNode node, Context context)
+    {
+        PlanNodeStatsEstimate estimate = delegate.calculateStats(node, context);
+        if (!isUseHistoryBasedStatistics(context.session())) {
+            return estimate;
+        }
+        Optional<HistoricalPlanNodeStatistics> statistics = hasher.hash(node, context.lookup())
+                .flatMap(store::getStatistics);
+        if (statistics.isEmpty()) {
+            return estimate;
+        }
+        // the symbol statistics are kept, and their distinct values are capped by the new row count
+        return normalizer.normalize(estimate.mapOutputRowCount(_ -> statistics.get().outputRowCount()), node.getOutputSymbols());
+    }
+}
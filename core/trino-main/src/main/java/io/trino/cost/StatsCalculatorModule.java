@@ -20,10 +20,14 @@ import com.google.inject.Module;
 import com.google.inject.Provider;
 import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorTableHandle;
 
 import java.util.List;
 
 import static com.google.inject.multibindings.OptionalBinder.newOptionalBinder;
+import static io.airlift.configuration.ConfigBinder.configBinder;
+import static io.airlift.json.JsonCodecBinder.jsonCodecBinder;
 import static java.util.Objects.requireNonNull;
 
 public class StatsCalculatorModule
@@ -37,7 +41,16 @@ public class StatsCalculatorModule
         binder.bind(FilterStatsCalculator.class).in(Scopes.SINGLETON);
         newOptionalBinder(binder, new TypeLiteral<List<ComposableStatsCalculator.Rule<?>>>() {})
                 .setDefault().toProvider(StatsRulesProvider.class).in(Scopes.SINGLETON);
-        binder.bind(StatsCalculator.class).to(ComposableStatsCalculator.class).in(Scopes.SINGLETON);
+        binder.bind(ComposableStatsCalculator.class).in(Scopes.SINGLETON);
+        binder.bind(StatsCalculator.class).to(HistoryBasedStatsCalculator.class).in(Scopes.SINGLETON);
+
+        configBinder(binder).bindConfig(HistoryBasedStatisticsConfig.class);
+        newOptionalBinder(binder, HistoryBasedStatisticsStore.class)
+                .setDefault().to(FileHistoryBasedStatisticsStore.class).in(Scopes.SINGLETON);
+        binder.bind(HistoryBasedStatisticsRecorder.class).in(Scopes.SINGLETON);
+        // plan nodes are hashed with the handles of the tables they read
+        jsonCodecBinder(binder).bindJsonCodec(ConnectorTableHandle.class);
+        jsonCodecBinder(binder).bindJsonCodec(ColumnHandle.class);
     }
 
     public static class StatsRulesProvider
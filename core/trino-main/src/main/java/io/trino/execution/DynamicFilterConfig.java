@@ -44,6 +44,8 @@ public class DynamicFilterConfig
     private boolean enableLargeDynamicFilters;
     private boolean enableDynamicRowFiltering = true;
     private double dynamicRowFilterSelectivityThreshold = 0.7;
+    private boolean enableBloomFilters;
+    private DataSize bloomFilterMaxSize = DataSize.of(4, MEGABYTE);
 
     /*
      * dynamic-filtering.small.* and dynamic-filtering.large.* limits are applied when
@@ -129,6 +131,34 @@ public class DynamicFilterConfig
         return this;
     }
 
+    public boolean isEnableBloomFilters()
+    {
+        return enableBloomFilters;
+    }
+
+    @Config("enable-dynamic-filtering-bloom-filters")
+    @ConfigDescription("Collect bloom filters of the join build side values which exceed the distinct values limits of dynamic filters")
+    public DynamicFilterConfig setEnableBloomFilters(boolean enableBloomFilters)
+    {
+        this.enableBloomFilters = enableBloomFilters;
+        return this;
+    }
+
+    @NotNull
+    @MaxDataSize("64MB")
+    public DataSize getBloomFilterMaxSize()
+    {
+        return bloomFilterMaxSize;
+    }
+
+    @Config("dynamic-filtering.bloom-filter-max-size")
+    @ConfigDescription("Maximum size of a bloom filter collected by a driver")
+    public DynamicFilterConfig setBloomFilterMaxSize(DataSize bloomFilterMaxSize)
+    {
+        this.bloomFilterMaxSize = bloomFilterMaxSize;
+        return this;
+    }
+
     @Min(0)
     public int getSmallMaxDistinctValuesPerDriver()
     {
@@ -17,11 +17,13 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.sql.planner.plan.DynamicFilterId;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static java.lang.Math.max;
@@ -45,6 +47,11 @@ public class DynamicFiltersCollector
     }
 
     public void updateDomains(Map<DynamicFilterId, Domain> newDynamicFilterDomains)
+    {
+        updateDomains(newDynamicFilterDomains, ImmutableMap.of());
+    }
+
+    public void updateDomains(Map<DynamicFilterId, Domain> newDynamicFilterDomains, Map<DynamicFilterId, BloomFilter> newDynamicFilterBloomFilters)
     {
         if (newDynamicFilterDomains.isEmpty()) {
             return;
@@ -55,10 +62,8 @@ public class DynamicFiltersCollector
             for (Map.Entry<DynamicFilterId, Domain> entry : newDynamicFilterDomains.entrySet()) {
                 dynamicFilterDomains.merge(
                         entry.getKey(),
-                        new VersionedDomain(currentVersion, entry.getValue()),
-                        (oldDomain, newDomain) -> new VersionedDomain(
-                                max(oldDomain.getVersion(), newDomain.getVersion()),
-                                oldDomain.getDomain().intersect(newDomain.getDomain())));
+                        new VersionedDomain(currentVersion, entry.getValue(), Optional.ofNullable(newDynamicFilterBloomFilters.get(entry.getKey()))),
+                        VersionedDomain::intersect);
             }
         }
 
@@ -86,22 +91,32 @@ public class DynamicFiltersCollector
 
     public synchronized VersionedDynamicFilterDomains getCurrentDynamicFilterDomains()
     {
+        ImmutableMap.Builder<DynamicFilterId, BloomFilter> bloomFilters = ImmutableMap.builder();
+        dynamicFilterDomains.forEach((filterId, domain) -> domain.getBloomFilter().ifPresent(bloomFilter -> bloomFilters.put(filterId, bloomFilter)));
         return new VersionedDynamicFilterDomains(
                 currentVersion,
                 dynamicFilterDomains.entrySet().stream()
-                        .collect(toImmutableMap(Map.Entry::getKey, entry -> entry.getValue().getDomain())));
+                        .collect(toImmutableMap(Map.Entry::getKey, entry -> entry.getValue().getDomain())),
+                bloomFilters.buildOrThrow());
     }
 
     public static class VersionedDynamicFilterDomains
     {
         private final long version;
         private final Map<DynamicFilterId, Domain> dynamicFilterDomains;
+        private final Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters;
 
-        @JsonCreator
         public VersionedDynamicFilterDomains(long version, Map<DynamicFilterId, Domain> dynamicFilterDomains)
+        {
+            this(version, dynamicFilterDomains, ImmutableMap.of());
+        }
+
+        @JsonCreator
+        public VersionedDynamicFilterDomains(long version, Map<DynamicFilterId, Domain> dynamicFilterDomains, Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters)
         {
             this.version = version;
             this.dynamicFilterDomains = ImmutableMap.copyOf(requireNonNull(dynamicFilterDomains, "dynamicFilterDomains is null"));
+            this.dynamicFilterBloomFilters = ImmutableMap.copyOf(requireNonNull(dynamicFilterBloomFilters, "dynamicFilterBloomFilters is null"));
         }
 
         @JsonProperty
@@ -115,17 +130,34 @@ public class DynamicFiltersCollector
         {
             return dynamicFilterDomains;
         }
+
+        @JsonProperty
+        public Map<DynamicFilterId, BloomFilter> getDynamicFilterBloomFilters()
+        {
+            return dynamicFilterBloomFilters;
+        }
     }
 
     private static class VersionedDomain
     {
         private final long version;
         private final Domain domain;
+        private final Optional<BloomFilter> bloomFilter;
 
-        private VersionedDomain(long version, Domain domain)
+        private VersionedDomain(long version, Domain domain, Optional<BloomFilter> bloomFilter)
         {
             this.version = version;
             this.domain = requireNonNull(domain, "domain is null");
+            this.bloomFilter = requireNonNull(bloomFilter, "bloomFilter is null");
+        }
+
+        private VersionedDomain intersect(VersionedDomain other)
+        {
+            Optional<BloomFilter> intersection = bloomFilter;
+            if (other.bloomFilter.isPresent()) {
+                intersection = Optional.of(bloomFilter.map(other.bloomFilter.get()::intersect).orElse(other.bloomFilter.get()));
+            }
+            return new VersionedDomain(max(version, other.version), domain.intersect(other.domain), intersection);
         }
 
         public long getVersion()
@@ -137,5 +169,10 @@ public class DynamicFiltersCollector
         {
             return domain;
         }
+
+        public Optional<BloomFilter> getBloomFilter()
+        {
+            return bloomFilter;
+        }
     }
 }
@@ -27,6 +27,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
+import java.io.File;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -68,6 +69,7 @@ public class QueryManagerConfig
     private int maxQueuedQueries = 5000;
 
     private boolean determinePartitionCountForWriteEnabled;
+    private boolean resultCacheEnabled;
     private int maxHashPartitionCount = 100;
     private int minHashPartitionCount = 4;
     private int minHashPartitionCountForWrite = 50;
@@ -134,6 +136,9 @@ public class QueryManagerConfig
     private DataSize faultTolerantExecutionStandardSplitSize = DataSize.of(64, MEGABYTE);
     private int faultTolerantExecutionMaxTaskSplitCount = 2048;
     private DataSize faultTolerantExecutionTaskDescriptorStorageMaxMemory = DataSize.ofBytes(round(AVAILABLE_HEAP_MEMORY * 0.15));
+    private boolean faultTolerantExecutionTaskDescriptorStorageSpillEnabled;
+    private File faultTolerantExecutionTaskDescriptorStorageSpillPath = new File(System.getProperty("java.io.tmpdir"), "trino-task-descriptors");
+    private DataSize faultTolerantExecutionTaskDescriptorStorageMaxSpillSize = DataSize.of(100, GIGABYTE);
     private int faultTolerantExecutionMaxPartitionCount = 50;
     private int faultTolerantExecutionMinPartitionCount = 4;
     private int faultTolerantExecutionMinPartitionCountForWrite = 50;
@@ -143,6 +148,9 @@ public class QueryManagerConfig
     // task OOM, max task size is set to 12GB such that tasks of stages below threshold will succeed within one retry.
     private DataSize faultTolerantExecutionRuntimeAdaptivePartitioningMaxTaskSize = DataSize.of(12, GIGABYTE);
     private double faultTolerantExecutionMinSourceStageProgress = 0.2;
+    private boolean faultTolerantExecutionSpeculativeAttemptsEnabled;
+    private double faultTolerantExecutionSpeculativeAttemptsSlownessRatio = 2.0;
+    private Duration faultTolerantExecutionSpeculativeAttemptsMinTaskDuration = new Duration(1, MINUTES);
 
     private boolean faultTolerantExecutionSmallStageEstimationEnabled = true;
     private DataSize faultTolerantExecutionSmallStageEstimationThreshold = DataSize.of(20, GIGABYTE);
@@ -230,6 +238,19 @@ public class QueryManagerConfig
         return this;
     }
 
+    public boolean isResultCacheEnabled()
+    {
+        return resultCacheEnabled;
+    }
+
+    @Config("query.result-cache-enabled")
+    @ConfigDescription("Reuse the results of queries reading the same versions of tables")
+    public QueryManagerConfig setResultCacheEnabled(boolean resultCacheEnabled)
+    {
+        this.resultCacheEnabled = resultCacheEnabled;
+        return this;
+    }
+
     @Min(1)
     public int getMaxHashPartitionCount()
     {
@@ -966,6 +987,47 @@ public class QueryManagerConfig
         return this;
     }
 
+    public boolean isFaultTolerantExecutionTaskDescriptorStorageSpillEnabled()
+    {
+        return faultTolerantExecutionTaskDescriptorStorageSpillEnabled;
+    }
+
+    @Config("fault-tolerant-execution-task-descriptor-storage-spill-enabled")
+    @ConfigDescription("Spill task descriptors to local disk when the task descriptor storage exceeds its memory limit, instead of failing queries")
+    public QueryManagerConfig setFaultTolerantExecutionTaskDescriptorStorageSpillEnabled(boolean faultTolerantExecutionTaskDescriptorStorageSpillEnabled)
+    {
+        this.faultTolerantExecutionTaskDescriptorStorageSpillEnabled = faultTolerantExecutionTaskDescriptorStorageSpillEnabled;
+        return this;
+    }
+
+    @NotNull
+    public File getFaultTolerantExecutionTaskDescriptorStorageSpillPath()
+    {
+        return faultTolerantExecutionTaskDescriptorStorageSpillPath;
+    }
+
+    @Config("fault-tolerant-execution-task-descriptor-storage-spill-path")
+    @ConfigDescription("Directory where task descriptors are spilled")
+    public QueryManagerConfig setFaultTolerantExecutionTaskDescriptorStorageSpillPath(File faultTolerantExecutionTaskDescriptorStorageSpillPath)
+    {
+        this.faultTolerantExecutionTaskDescriptorStorageSpillPath = faultTolerantExecutionTaskDescriptorStorageSpillPath;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getFaultTolerantExecutionTaskDescriptorStorageMaxSpillSize()
+    {
+        return faultTolerantExecutionTaskDescriptorStorageMaxSpillSize;
+    }
+
+    @Config("fault-tolerant-execution-task-descriptor-storage-max-spill-size")
+    @ConfigDescription("Maximum amount of disk space to be used for spilled task descriptors")
+    public QueryManagerConfig setFaultTolerantExecutionTaskDescriptorStorageMaxSpillSize(DataSize faultTolerantExecutionTaskDescriptorStorageMaxSpillSize)
+    {
+        this.faultTolerantExecutionTaskDescriptorStorageMaxSpillSize = faultTolerantExecutionTaskDescriptorStorageMaxSpillSize;
+        return this;
+    }
+
     @Min(1)
     @Max(FAULT_TOLERANT_EXECUTION_MAX_PARTITION_COUNT_LIMIT)
     public int getFaultTolerantExecutionMaxPartitionCount()
@@ -1065,6 +1127,47 @@ public class QueryManagerConfig
         return this;
     }
 
+    public boolean isFaultTolerantExecutionSpeculativeAttemptsEnabled()
+    {
+        return faultTolerantExecutionSpeculativeAttemptsEnabled;
+    }
+
+    @Config("fault-tolerant-execution-speculative-attempts-enabled")
+    @ConfigDescription("Start an additional attempt on another node for tasks running much longer than the other tasks of the stage")
+    public QueryManagerConfig setFaultTolerantExecutionSpeculativeAttemptsEnabled(boolean faultTolerantExecutionSpeculativeAttemptsEnabled)
+    {
+        this.faultTolerantExecutionSpeculativeAttemptsEnabled = faultTolerantExecutionSpeculativeAttemptsEnabled;
+        return this;
+    }
+
+    @DecimalMin("1.0")
+    public double getFaultTolerantExecutionSpeculativeAttemptsSlownessRatio()
+    {
+        return faultTolerantExecutionSpeculativeAttemptsSlownessRatio;
+    }
+
+    @Config("fault-tolerant-execution-speculative-attempts-slowness-ratio")
+    @ConfigDescription("How many times longer than the median duration of finished tasks of the stage a task must run to get a speculative attempt")
+    public QueryManagerConfig setFaultTolerantExecutionSpeculativeAttemptsSlownessRatio(double faultTolerantExecutionSpeculativeAttemptsSlownessRatio)
+    {
+        this.faultTolerantExecutionSpeculativeAttemptsSlownessRatio = faultTolerantExecutionSpeculativeAttemptsSlownessRatio;
+        return this;
+    }
+
+    @NotNull
+    public Duration getFaultTolerantExecutionSpeculativeAttemptsMinTaskDuration()
+    {
+        return faultTolerantExecutionSpeculativeAttemptsMinTaskDuration;
+    }
+
+    @Config("fault-tolerant-execution-speculative-attempts-min-task-duration")
+    @ConfigDescription("Minimum time a task must run to get a speculative attempt")
+    public QueryManagerConfig setFaultTolerantExecutionSpeculativeAttemptsMinTaskDuration(Duration faultTolerantExecutionSpeculativeAttemptsMinTaskDuration)
+    {
+        this.faultTolerantExecutionSpeculativeAttemptsMinTaskDuration = faultTolerantExecutionSpeculativeAttemptsMinTaskDuration;
+        return this;
+    }
+
     public boolean isFaultTolerantExecutionSmallStageEstimationEnabled()
     {
         return faultTolerantExecutionSmallStageEstimationEnabled;
@@ -0,0 +1,400 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import io.airlift.log.Logger;
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.SliceOutput;
+import io.airlift.stats.CounterStat;
+import io.trino.Session;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.cost.StatsAndCosts;
+import io.trino.execution.buffer.PageDeserializer;
+import io.trino.execution.buffer.PagesSerdeFactory;
+import io.trino.metadata.Metadata;
+import io.trino.server.protocol.spooling.SpoolingManagerRegistry;
+import io.trino.spi.Page;
+import io.trino.spi.QueryId;
+import io.trino.spi.block.BlockEncodingSerde;
+import io.trino.spi.protocol.SpooledSegmentHandle;
+import io.trino.spi.protocol.SpoolingContext;
+import io.trino.spi.protocol.SpoolingManager;
+import io.trino.spi.type.Type;
+import io.trino.sql.analyzer.Analysis;
+import io.trino.sql.analyzer.Field;
+import io.trino.sql.ir.Constant;
+import io.trino.sql.ir.Expression;
+import io.trino.sql.ir.Row;
+import io.trino.sql.planner.Plan;
+import io.trino.sql.planner.PlanCache.PlanCacheKey;
+import io.trino.sql.planner.PlanNodeIdAllocator;
+import io.trino.sql.planner.Symbol;
+import io.trino.sql.planner.SymbolAllocator;
+import io.trino.sql.planner.plan.OutputNode;
+import io.trino.sql.planner.plan.ValuesNode;
+import jakarta.annotation.PreDestroy;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.trino.execution.buffer.CompressionCodec.LZ4;
+import static io.trino.execution.buffer.PagesSerdeUtil.readPages;
+import static io.trino.execution.buffer.PagesSerdeUtil.writePages;
+import static io.trino.spi.type.TypeUtils.readNativeValue;
+import static io.trino.sql.planner.PlanCache.createCacheKey;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Caches the results of queries reading tables for which the connectors report the version of the data,
+ * so that a query executed again while the tables have the same versions returns the cached rows instead
+ * of scanning the tables.
+ * <p>
+ * The results are collected by the coordinator while they are returned to the client, and stored in
+ * segments created by the spooling manager. The pages collected for the running queries are limited
+ * by the configured size, and the results which do not fit are not cached. The segments are not removed when the results are evicted
+ * from the cache, but when they expire, like any other spooled segment.
+ */
+public class QueryResultCache
+{
+    private static final Logger log = Logger.get(QueryResultCache.class);
+
+    private static final String ENCODING = "query-result-cache";
+
+    private final Metadata metadata;
+    private final SpoolingManagerRegistry spoolingManagerRegistry;
+    private final PagesSerdeFactory serdeFactory;
+    private final long maxResultSizeInBytes;
+    private final long maxCollectedSizeInBytes;
+    private final AtomicLong collectedSizeInBytes = new AtomicLong();
+    private final Cache<QueryResultCacheKey, CachedResult> results;
+    private final Map<QueryId, ResultCollector> collectors = new ConcurrentHashMap<>();
+    private final ExecutorService executor = newSingleThreadExecutor(daemonThreadsNamed("query-result-cache"));
+
+    private final CounterStat storedResults = new CounterStat();
+    private final CounterStat oversizedResults = new CounterStat();
+    private final CounterStat failures = new CounterStat();
+
+    @Inject
+    public QueryResultCache(QueryResultCacheConfig config, Metadata metadata, SpoolingManagerRegistry spoolingManagerRegistry, BlockEncodingSerde blockEncodingSerde)
+    {
+        this.metadata = requireNonNull(metadata, "metadata is null");
+        this.spoolingManagerRegistry = requireNonNull(spoolingManagerRegistry, "spoolingManagerRegistry is null");
+        this.serdeFactory = new PagesSerdeFactory(blockEncodingSerde, LZ4);
+        this.maxResultSizeInBytes = config.getMaxResultSize().toBytes();
+        this.maxCollectedSizeInBytes = config.getMaxCollectedSize().toBytes();
+        this.results = EvictableCacheBuilder.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .expireAfterWrite(config.getTtl().toMillis(), MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the key of the result of the analyzed query, or empty if the result may change while the tables keep their versions.
+     */
+    public Optional<QueryResultCacheKey> createKey(Session session, Analysis analysis)
+    {
+        if (spoolingManagerRegistry.getSpoolingManager().isEmpty()) {
+            return Optional.empty();
+        }
+        // spooled results are written by the workers, and never returned through the coordinator
+        if (session.getQueryDataEncoding().isPresent()) {
+            return Optional.empty();
+        }
+        if (analysis.getResolvedFunctions().stream().anyMatch(function -> !function.deterministic())) {
+            return Optional.empty();
+        }
+        // the key of the query is only created when all tables report the versions of their data
+        return createCacheKey(session, analysis, metadata).map(QueryResultCacheKey::new);
+    }
+
+    /**
+     * Returns a plan producing the cached result of the analyzed query.
+     */
+    public Optional<Plan> getResultPlan(QueryResultCacheKey key, Analysis analysis)
+    {
+        CachedResult result = results.getIfPresent(key);
+        if (result == null) {
+            return Optional.empty();
+        }
+        Optional<SpoolingManager> spoolingManager = spoolingManagerRegistry.getSpoolingManager();
+        if (spoolingManager.isEmpty() || result.segment().expirationTime().isBefore(Instant.now())) {
+            results.invalidate(key);
+            return Optional.empty();
+        }
+
+        List<Page> pages;
+        try (InputStream input = spoolingManager.get().openInputStream(result.segment())) {
+            PageDeserializer deserializer = serdeFactory.createDeserializer(Optional.empty());
+            pages = ImmutableList.copyOf(readPages(deserializer, input));
+        }
+        catch (IOException | RuntimeException e) {
+            log.warn(e, "Failed to read cached result of query %s", result.segment().queryId());
+            failures.update(1);
+            results.invalidate(key);
+            return Optional.empty();
+        }
+
+        List<Field> fields = ImmutableList.copyOf(analysis.getOutputDescriptor().getVisibleFields());
+        SymbolAllocator symbolAllocator = new SymbolAllocator();
+        PlanNodeIdAllocator idAllocator = new PlanNodeIdAllocator();
+        ImmutableList.Builder<String> names = ImmutableList.builder();
+        ImmutableList.Builder<Symbol> symbols = ImmutableList.builder();
+        for (int column = 0; column < fields.size(); column++) {
+            Field field = fields.get(column);
+            String name = field.getName().orElse("_col" + column);
+            names.add(name);
+            symbols.add(symbolAllocator.newSymbol(name, field.getType()));
+        }
+
+        ImmutableList.Builder<Expression> rows = ImmutableList.builder();
+        for (Page page : pages) {
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                ImmutableList.Builder<Expression> values = ImmutableList.builder();
+                for (int channel = 0; channel < fields.size(); channel++) {
+                    Type type = fields.get(channel).getType();
+                    values.add(new Constant(type, readNativeValue(type, page.getBlock(channel), position)));
+                }
+                rows.add(new Row(values.build()));
+            }
+        }
+
+        ValuesNode values = new ValuesNode(idAllocator.getNextId(), symbols.build(), rows.build());
+        OutputNode output = new OutputNode(idAllocator.getNextId(), values, names.build(), values.getOutputSymbols());
+        return Optional.of(new Plan(output, StatsAndCosts.empty()));
+    }
+
+    /**
+     * Starts collecting the result of the query, which is stored in the cache when all of it was returned to the client.
+     */
+    public void collectResult(QueryId queryId, QueryResultCacheKey key)
+    {
+        collectors.put(queryId, new ResultCollector(key));
+    }
+
+    public void addPage(QueryId queryId, Page page)
+    {
+        ResultCollector collector = collectors.get(queryId);
+        if (collector != null && !collector.addPage(page)) {
+            collectors.remove(queryId);
+            oversizedResults.update(1);
+        }
+    }
+
+    public void resultFinished(QueryId queryId)
+    {
+        ResultCollector collector = collectors.remove(queryId);
+        if (collector != null) {
+            executor.execute(() -> storeResult(queryId, collector));
+        }
+    }
+
+    public void resultFailed(QueryId queryId)
+    {
+        ResultCollector collector = collectors.remove(queryId);
+        if (collector != null) {
+            collector.release();
+        }
+    }
+
+    private boolean reserveMemory(long bytes)
+    {
+        if (collectedSizeInBytes.addAndGet(bytes) > maxCollectedSizeInBytes) {
+            collectedSizeInBytes.addAndGet(-bytes);
+            return false;
+        }
+        return true;
+    }
+
+    private void storeResult(QueryId queryId, ResultCollector collector)
+    {
+        Optional<SpoolingManager> spoolingManager = spoolingManagerRegistry.getSpoolingManager();
+        if (spoolingManager.isEmpty()) {
+            collector.release();
+            return;
+        }
+        try {
+            SpooledSegmentHandle segment = spoolingManager.get().create(new SpoolingContext(ENCODING, queryId, collector.getRows(), collector.getSizeInBytes()));
+            try (SliceOutput output = new OutputStreamSliceOutput(spoolingManager.get().createOutputStream(segment))) {
+                writePages(serdeFactory.createSerializer(Optional.empty()), output, collector.getPages().iterator());
+            }
+            results.put(collector.getKey(), new CachedResult(segment));
+            storedResults.update(1);
+        }
+        catch (IOException | RuntimeException e) {
+            log.warn(e, "Failed to store result of query %s", queryId);
+            failures.update(1);
+        }
+        finally {
+            collector.release();
+        }
+    }
+
+    @Managed
+    public void invalidateAll()
+    {
+        results.invalidateAll();
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return results.stats().hitCount();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return results.stats().missCount();
+    }
+
+    @Managed
+    public long getCollectedSizeInBytes()
+    {
+        return collectedSizeInBytes.get();
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return new CacheStatsMBean(results);
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getStoredResults()
+    {
+        return storedResults;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getOversizedResults()
+    {
+        return oversizedResults;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getFailures()
+    {
+        return failures;
+    }
+
+    /**
+     * The key of the query includes the versions of the data of the tables, reported by the connectors in the transaction of the query.
+     */
+    public record QueryResultCacheKey(PlanCacheKey query)
+    {
+        public QueryResultCacheKey
+        {
+            requireNonNull(query, "query is null");
+        }
+    }
+
+    private record CachedResult(SpooledSegmentHandle segment)
+    {
+        private CachedResult
+        {
+            requireNonNull(segment, "segment is null");
+        }
+    }
+
+    private class ResultCollector
+    {
+        private final QueryResultCacheKey key;
+        private final List<Page> pages = new ArrayList<>();
+        private long rows;
+        private long sizeInBytes;
+        private long retainedSizeInBytes;
+        private boolean released;
+
+        public ResultCollector(QueryResultCacheKey key)
+        {
+            this.key = requireNonNull(key, "key is null");
+        }
+
+        /**
+         * Returns false if the page does not fit in the limits of the cache, and releases the collected pages.
+         */
+        public synchronized boolean addPage(Page page)
+        {
+            if (released) {
+                return true;
+            }
+            sizeInBytes += page.getSizeInBytes();
+            long pageRetainedSize = page.getRetainedSizeInBytes();
+            if (sizeInBytes > maxResultSizeInBytes || !reserveMemory(pageRetainedSize)) {
+                release();
+                return false;
+            }
+            pages.add(page);
+            retainedSizeInBytes += pageRetainedSize;
+            rows += page.getPositionCount();
+            return true;
+        }
+
+        public synchronized void release()
+        {
+            released = true;
+            pages.clear();
+            collectedSizeInBytes.addAndGet(-retainedSizeInBytes);
+            retainedSizeInBytes = 0;
+        }
+
+        public QueryResultCacheKey getKey()
+        {
+            return key;
+        }
+
+        public synchronized List<Page> getPages()
+        {
+            return ImmutableList.copyOf(pages);
+        }
+
+        public synchronized long getRows()
+        {
+            return rows;
+        }
+
+        public synchronized long getSizeInBytes()
+        {
+            return sizeInBytes;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.airlift.units.MaxDataSize;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.HOURS;
+
+public class QueryResultCacheConfig
+{
+    private int maxEntries = 1000;
+    private DataSize maxResultSize = DataSize.of(1, MEGABYTE);
+    private DataSize maxCollectedSize = DataSize.of(64, MEGABYTE);
+    private Duration ttl = new Duration(1, HOURS);
+
+    @Min(1)
+    public int getMaxEntries()
+    {
+        return maxEntries;
+    }
+
+    @Config("query-result-cache.max-entries")
+    @ConfigDescription("Maximum number of query results kept in the cache")
+    public QueryResultCacheConfig setMaxEntries(int maxEntries)
+    {
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    @NotNull
+    @MaxDataSize("128MB")
+    public DataSize getMaxResultSize()
+    {
+        return maxResultSize;
+    }
+
+    @Config("query-result-cache.max-result-size")
+    @ConfigDescription("Maximum size of the result of a query to be cached")
+    public QueryResultCacheConfig setMaxResultSize(DataSize maxResultSize)
+    {
+        this.maxResultSize = maxResultSize;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getMaxCollectedSize()
+    {
+        return maxCollectedSize;
+    }
+
+    @Config("query-result-cache.max-collected-size")
+    @ConfigDescription("Maximum memory used by the coordinator for the results of running queries collected for the cache")
+    public QueryResultCacheConfig setMaxCollectedSize(DataSize maxCollectedSize)
+    {
+        this.maxCollectedSize = maxCollectedSize;
+        return this;
+    }
+
+    @NotNull
+    public Duration getTtl()
+    {
+        return ttl;
+    }
+
+    @Config("query-result-cache.ttl")
+    @ConfigDescription("Duration after which cached query results are discarded")
+    public QueryResultCacheConfig setTtl(Duration ttl)
+    {
+        this.ttl = ttl;
+        return this;
+    }
+}
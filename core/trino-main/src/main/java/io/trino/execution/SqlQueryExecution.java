@@ -27,9 +27,11 @@ import io.trino.Session;
 import io.trino.SystemSessionProperties;
 import io.trino.cost.CachingTableStatsProvider;
 import io.trino.cost.CostCalculator;
+import io.trino.cost.HistoryBasedStatisticsRecorder;
 import io.trino.cost.StatsCalculator;
 import io.trino.exchange.ExchangeManagerRegistry;
 import io.trino.execution.QueryPreparer.PreparedQuery;
+import io.trino.execution.QueryResultCache.QueryResultCacheKey;
 import io.trino.execution.StateMachine.StateChangeListener;
 import io.trino.execution.querystats.PlanOptimizersStatsCollector;
 import io.trino.execution.scheduler.NodeScheduler;
@@ -66,6 +68,8 @@ import io.trino.sql.planner.InputExtractor;
 import io.trino.sql.planner.LogicalPlanner;
 import io.trino.sql.planner.NodePartitioningManager;
 import io.trino.sql.planner.Plan;
+import io.trino.sql.planner.PlanCache;
+import io.trino.sql.planner.PlanCache.PlanCacheKey;
 import io.trino.sql.planner.PlanFragment;
 import io.trino.sql.planner.PlanFragmenter;
 import io.trino.sql.planner.PlanNodeIdAllocator;
@@ -96,6 +100,9 @@ import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.units.DataSize.succinctBytes;
 import static io.trino.SystemSessionProperties.getRetryPolicy;
 import static io.trino.SystemSessionProperties.isEnableDynamicFiltering;
+import static io.trino.SystemSessionProperties.isPlanCacheEnabled;
+import static io.trino.SystemSessionProperties.isQueryResultCacheEnabled;
+import static io.trino.SystemSessionProperties.isUseHistoryBasedStatistics;
 import static io.trino.execution.ParameterExtractor.bindParameters;
 import static io.trino.execution.QueryState.FAILED;
 import static io.trino.execution.QueryState.PLANNING;
@@ -148,6 +155,8 @@ public class SqlQueryExecution
     private final EventDrivenTaskSourceFactory eventDrivenTaskSourceFactory;
     private final TaskDescriptorStorage taskDescriptorStorage;
     private final PlanOptimizersStatsCollector planOptimizersStatsCollector;
+    private final PlanCache planCache;
+    private final QueryResultCache queryResultCache;
 
     private SqlQueryExecution(
             PreparedQuery preparedQuery,
@@ -185,7 +194,10 @@ public class SqlQueryExecution
             SqlTaskManager coordinatorTaskManager,
             ExchangeManagerRegistry exchangeManagerRegistry,
             EventDrivenTaskSourceFactory eventDrivenTaskSourceFactory,
-            TaskDescriptorStorage taskDescriptorStorage)
+            TaskDescriptorStorage taskDescriptorStorage,
+            HistoryBasedStatisticsRecorder historyBasedStatisticsRecorder,
+            PlanCache planCache,
+            QueryResultCache queryResultCache)
     {
         try (SetThreadName _ = new SetThreadName("Query-%s", stateMachine.getQueryId())) {
             this.slug = requireNonNull(slug, "slug is null");
@@ -212,6 +224,8 @@ public class SqlQueryExecution
             this.costCalculator = requireNonNull(costCalculator, "costCalculator is null");
             this.dynamicFilterService = requireNonNull(dynamicFilterService, "dynamicFilterService is null");
             this.tableExecuteContextManager = requireNonNull(tableExecuteContextManager, "tableExecuteContextManager is null");
+            this.planCache = requireNonNull(planCache, "planCache is null");
+            this.queryResultCache = requireNonNull(queryResultCache, "queryResultCache is null");
 
             checkArgument(scheduleSplitBatchSize > 0, "scheduleSplitBatchSize must be greater than 0");
             this.scheduleSplitBatchSize = scheduleSplitBatchSize;
@@ -232,8 +246,16 @@ public class SqlQueryExecution
                         dynamicFilterService.getDynamicFilteringStats(stateMachine.getQueryId(), stateMachine.getSession()));
 
                 tableExecuteContextManager.unregisterTableExecuteContextForQuery(stateMachine.getQueryId());
+                // the result of a finished query is stored once the client received all of it
+                if (state == FAILED) {
+                    queryResultCache.resultFailed(stateMachine.getQueryId());
+                }
             });
 
+            if (isUseHistoryBasedStatistics(stateMachine.getSession())) {
+                stateMachine.addQueryInfoStateChangeListener(historyBasedStatisticsRecorder::queryCompleted);
+            }
+
             this.remoteTaskFactory = new MemoryTrackingRemoteTaskFactory(requireNonNull(remoteTaskFactory, "remoteTaskFactory is null"), stateMachine);
             this.coordinatorTaskManager = requireNonNull(coordinatorTaskManager, "coordinatorTaskManager is null");
             this.exchangeManagerRegistry = requireNonNull(exchangeManagerRegistry, "exchangeManagerRegistry is null");
@@ -500,7 +522,7 @@ public class SqlQueryExecution
                 stateMachine.getWarningCollector(),
                 planOptimizersStatsCollector,
                 tableStatsProvider);
-        Plan plan = logicalPlanner.plan(analysis);
+        Plan plan = planWithResultCache(logicalPlanner);
         queryPlan.set(plan);
 
         // fragment the plan
@@ -520,6 +542,45 @@ public class SqlQueryExecution
         return new PlanRoot(fragmentedPlan, !explainAnalyze);
     }
 
+    private Plan planWithResultCache(LogicalPlanner logicalPlanner)
+    {
+        Session session = stateMachine.getSession();
+        if (!isQueryResultCacheEnabled(session)) {
+            return planWithCache(logicalPlanner);
+        }
+
+        Optional<QueryResultCacheKey> key = queryResultCache.createKey(session, analysis);
+        if (key.isEmpty()) {
+            return planWithCache(logicalPlanner);
+        }
+        Optional<Plan> resultPlan = queryResultCache.getResultPlan(key.get(), analysis);
+        if (resultPlan.isPresent()) {
+            return resultPlan.get();
+        }
+        queryResultCache.collectResult(stateMachine.getQueryId(), key.get());
+        return planWithCache(logicalPlanner);
+    }
+
+    private Plan planWithCache(LogicalPlanner logicalPlanner)
+    {
+        Session session = stateMachine.getSession();
+        if (!isPlanCacheEnabled(session)) {
+            return logicalPlanner.plan(analysis);
+        }
+
+        Optional<PlanCacheKey> key = planCache.createKey(session, analysis);
+        if (key.isEmpty()) {
+            return logicalPlanner.plan(analysis);
+        }
+        Optional<Plan> cachedPlan = planCache.getPlan(key.get(), analysis);
+        if (cachedPlan.isPresent()) {
+            return cachedPlan.get();
+        }
+        Plan plan = logicalPlanner.plan(analysis);
+        planCache.putPlan(key.get(), plan);
+        return plan;
+    }
+
     private void planDistribution(PlanRoot plan, CachingTableStatsProvider tableStatsProvider)
     {
         // if query was canceled, skip creating scheduler
@@ -809,6 +870,9 @@ public class SqlQueryExecution
         private final ExchangeManagerRegistry exchangeManagerRegistry;
         private final EventDrivenTaskSourceFactory eventDrivenTaskSourceFactory;
         private final TaskDescriptorStorage taskDescriptorStorage;
+        private final HistoryBasedStatisticsRecorder historyBasedStatisticsRecorder;
+        private final PlanCache planCache;
+        private final QueryResultCache queryResultCache;
 
         @Inject
         SqlQueryExecutionFactory(
@@ -841,7 +905,10 @@ public class SqlQueryExecution
                 SqlTaskManager coordinatorTaskManager,
                 ExchangeManagerRegistry exchangeManagerRegistry,
                 EventDrivenTaskSourceFactory eventDrivenTaskSourceFactory,
-                TaskDescriptorStorage taskDescriptorStorage)
+                TaskDescriptorStorage taskDescriptorStorage,
+                HistoryBasedStatisticsRecorder historyBasedStatisticsRecorder,
+                PlanCache planCache,
+                QueryResultCache queryResultCache)
         {
             this.tracer = requireNonNull(tracer, "tracer is null");
             this.schedulerStats = requireNonNull(schedulerStats, "schedulerStats is null");
@@ -875,6 +942,9 @@ public class SqlQueryExecution
             this.exchangeManagerRegistry = requireNonNull(exchangeManagerRegistry, "exchangeManagerRegistry is null");
             this.eventDrivenTaskSourceFactory = requireNonNull(eventDrivenTaskSourceFactory, "eventDrivenTaskSourceFactory is null");
             this.taskDescriptorStorage = requireNonNull(taskDescriptorStorage, "taskDescriptorStorage is null");
+            this.historyBasedStatisticsRecorder = requireNonNull(historyBasedStatisticsRecorder, "historyBasedStatisticsRecorder is null");
+            this.planCache = requireNonNull(planCache, "planCache is null");
+            this.queryResultCache = requireNonNull(queryResultCache, "queryResultCache is null");
         }
 
         @Override
@@ -925,7 +995,10 @@ public class SqlQueryExecution
                     coordinatorTaskManager,
                     exchangeManagerRegistry,
                     eventDrivenTaskSourceFactory,
-                    taskDescriptorStorage);
+                    taskDescriptorStorage,
+                    historyBasedStatisticsRecorder,
+                    planCache,
+                    queryResultCache);
         }
     }
 }
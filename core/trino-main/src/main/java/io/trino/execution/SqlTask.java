@@ -14,6 +14,7 @@
 package io.trino.execution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -42,6 +43,7 @@ import io.trino.operator.PipelineStatus;
 import io.trino.operator.TaskContext;
 import io.trino.operator.TaskStats;
 import io.trino.spi.connector.CatalogHandle;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.sql.planner.PlanFragment;
 import io.trino.sql.planner.plan.DynamicFilterId;
@@ -492,6 +494,19 @@ public class SqlTask
             OutputBuffers outputBuffers,
             Map<DynamicFilterId, Domain> dynamicFilterDomains,
             boolean speculative)
+    {
+        return updateTask(session, stageSpan, fragment, splitAssignments, outputBuffers, dynamicFilterDomains, ImmutableMap.of(), speculative);
+    }
+
+    public TaskInfo updateTask(
+            Session session,
+            Span stageSpan,
+            Optional<PlanFragment> fragment,
+            List<SplitAssignment> splitAssignments,
+            OutputBuffers outputBuffers,
+            Map<DynamicFilterId, Domain> dynamicFilterDomains,
+            Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters,
+            boolean speculative)
     {
         try {
             // trace token must be set first to make sure failure injection for getTaskResults requests works as expected
@@ -515,7 +530,7 @@ public class SqlTask
             }
             // taskExecution can still be null if the creation was skipped
             if (taskExecution != null) {
-                taskExecution.getTaskContext().addDynamicFilter(dynamicFilterDomains);
+                taskExecution.getTaskContext().addDynamicFilter(dynamicFilterDomains, dynamicFilterBloomFilters);
                 taskExecution.addSplitAssignments(splitAssignments);
             }
 
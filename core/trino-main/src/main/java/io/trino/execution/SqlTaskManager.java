@@ -17,6 +17,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.inject.Inject;
@@ -54,6 +55,7 @@ import io.trino.spi.TrinoException;
 import io.trino.spi.VersionEmbedder;
 import io.trino.spi.catalog.CatalogProperties;
 import io.trino.spi.connector.CatalogHandle;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spiller.LocalSpillManager;
 import io.trino.spiller.NodeSpillConfig;
@@ -485,9 +487,27 @@ public class SqlTaskManager
             OutputBuffers outputBuffers,
             Map<DynamicFilterId, Domain> dynamicFilterDomains,
             boolean speculative)
+    {
+        return updateTask(session, taskId, stageSpan, fragment, splitAssignments, outputBuffers, dynamicFilterDomains, ImmutableMap.of(), speculative);
+    }
+
+    /**
+     * Updates the task plan, splitAssignments and output buffers, and adds the dynamic filters
+     * collected by other tasks.  If the task does not already exist, it is created and then updated.
+     */
+    public TaskInfo updateTask(
+            Session session,
+            TaskId taskId,
+            Span stageSpan,
+            Optional<PlanFragment> fragment,
+            List<SplitAssignment> splitAssignments,
+            OutputBuffers outputBuffers,
+            Map<DynamicFilterId, Domain> dynamicFilterDomains,
+            Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters,
+            boolean speculative)
     {
         try {
-            return versionEmbedder.embedVersion(() -> doUpdateTask(session, taskId, stageSpan, fragment, splitAssignments, outputBuffers, dynamicFilterDomains, speculative)).call();
+            return versionEmbedder.embedVersion(() -> doUpdateTask(session, taskId, stageSpan, fragment, splitAssignments, outputBuffers, dynamicFilterDomains, dynamicFilterBloomFilters, speculative)).call();
         }
         catch (Exception e) {
             throwIfUnchecked(e);
@@ -504,6 +524,7 @@ public class SqlTaskManager
             List<SplitAssignment> splitAssignments,
             OutputBuffers outputBuffers,
             Map<DynamicFilterId, Domain> dynamicFilterDomains,
+            Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters,
             boolean speculative)
     {
         requireNonNull(session, "session is null");
@@ -555,7 +576,7 @@ public class SqlTaskManager
                 .ifPresent(languageFunctions -> languageFunctionProvider.registerTask(taskId, languageFunctions));
 
         sqlTask.recordHeartbeat();
-        return sqlTask.updateTask(session, stageSpan, fragment, splitAssignments, outputBuffers, dynamicFilterDomains, speculative);
+        return sqlTask.updateTask(session, stageSpan, fragment, splitAssignments, outputBuffers, dynamicFilterDomains, dynamicFilterBloomFilters, speculative);
     }
 
     /**
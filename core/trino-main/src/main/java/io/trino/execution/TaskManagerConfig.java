@@ -59,6 +59,7 @@ public class TaskManagerConfig
     private DataSize maxLocalExchangeBufferSize = DataSize.of(128, Unit.MEGABYTE);
     private DataSize maxIndexMemoryUsage = DataSize.of(64, Unit.MEGABYTE);
     private boolean shareIndexLoading;
+    private boolean shareTableScans;
     private int maxWorkerThreads = Runtime.getRuntime().availableProcessors() * 2;
     private Integer minDrivers;
     private int initialSplitsPerNode = maxWorkerThreads;
@@ -267,6 +268,19 @@ public class TaskManagerConfig
         return this;
     }
 
+    public boolean isShareTableScans()
+    {
+        return shareTableScans;
+    }
+
+    @Config("task.share-table-scans")
+    @ConfigDescription("Share the pages read from a split among concurrent queries scanning the same split")
+    public TaskManagerConfig setShareTableScans(boolean shareTableScans)
+    {
+        this.shareTableScans = shareTableScans;
+        return this;
+    }
+
     @Min(0)
     public BigDecimal getLevelTimeMultiplier()
     {
@@ -893,6 +893,10 @@ public class BinPackingNodeAllocatorService
 
             List<InternalNode> candidates;
             Optional<HostAddress> address = requirements.getAddress();
+            if (address.isPresent() && requirements.isRemotelyAccessible() && requirements.getExcludedAddresses().contains(address.get())) {
+                // do not prefer the node the task is supposed to avoid
+                address = Optional.empty();
+            }
             if (address.isPresent() && (optimizedLocalScheduling || !requirements.isRemotelyAccessible())) {
                 Collection<InternalNode> preferred = allNodesByAddress.get(address.get());
                 if ((!preferred.isEmpty() && acquire.getNotEnoughResourcesPeriod().compareTo(exhaustedNodeWaitPeriod) < 0) || !requirements.isRemotelyAccessible()) {
@@ -913,6 +917,16 @@ public class BinPackingNodeAllocatorService
                 return ReserveResult.NONE_MATCHING;
             }
 
+            if (!requirements.getExcludedAddresses().isEmpty()) {
+                List<InternalNode> notExcludedCandidates = candidates.stream()
+                        .filter(node -> !requirements.getExcludedAddresses().contains(node.getHostAndPort()))
+                        .collect(toImmutableList());
+                // excluded nodes are used only if there is no other node matching the requirements
+                if (!notExcludedCandidates.isEmpty()) {
+                    candidates = notExcludedCandidates;
+                }
+            }
+
             candidates = candidates.stream().filter(node -> !nodesWithoutMemory.contains(node.getNodeIdentifier())).collect(toImmutableList());
             if (candidates.isEmpty()) {
                 return ReserveResult.NOT_ENOUGH_RESOURCES_NOW;
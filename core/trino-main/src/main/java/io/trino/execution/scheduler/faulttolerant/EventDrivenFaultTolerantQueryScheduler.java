@@ -14,6 +14,7 @@
 package io.trino.execution.scheduler.faulttolerant;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Ticker;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
@@ -84,6 +85,7 @@ import io.trino.metadata.Split;
 import io.trino.operator.RetryPolicy;
 import io.trino.server.DynamicFilterService;
 import io.trino.spi.ErrorCode;
+import io.trino.spi.HostAddress;
 import io.trino.spi.TrinoException;
 import io.trino.spi.exchange.Exchange;
 import io.trino.spi.exchange.ExchangeContext;
@@ -111,6 +113,8 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import jakarta.annotation.Nullable;
 
 import java.io.Closeable;
@@ -137,6 +141,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -149,9 +154,14 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.units.Duration.succinctNanos;
 import static io.trino.SystemSessionProperties.getFaultTolerantExecutionMaxPartitionCount;
 import static io.trino.SystemSessionProperties.getFaultTolerantExecutionRuntimeAdaptivePartitioningMaxTaskSize;
 import static io.trino.SystemSessionProperties.getFaultTolerantExecutionRuntimeAdaptivePartitioningPartitionCount;
+import static io.trino.SystemSessionProperties.getFaultTolerantExecutionSpeculativeAttemptsMinTaskDuration;
+import static io.trino.SystemSessionProperties.getFaultTolerantExecutionSpeculativeAttemptsSlownessRatio;
 import static io.trino.SystemSessionProperties.getMaxTasksWaitingForExecutionPerQuery;
 import static io.trino.SystemSessionProperties.getMaxTasksWaitingForNodePerQuery;
 import static io.trino.SystemSessionProperties.getRetryDelayScaleFactor;
@@ -161,6 +171,7 @@ import static io.trino.SystemSessionProperties.getRetryPolicy;
 import static io.trino.SystemSessionProperties.getTaskRetryAttemptsPerTask;
 import static io.trino.SystemSessionProperties.isFaultTolerantExecutionAdaptiveQueryPlanningEnabled;
 import static io.trino.SystemSessionProperties.isFaultTolerantExecutionRuntimeAdaptivePartitioningEnabled;
+import static io.trino.SystemSessionProperties.isFaultTolerantExecutionSpeculativeAttemptsEnabled;
 import static io.trino.SystemSessionProperties.isFaultTolerantExecutionStageEstimationForEagerParentEnabled;
 import static io.trino.execution.BasicStageStats.aggregateBasicStageStats;
 import static io.trino.execution.StageState.ABORTED;
@@ -169,6 +180,7 @@ import static io.trino.execution.resourcegroups.IndexedPriorityQueue.PriorityOrd
 import static io.trino.execution.scheduler.ErrorCodes.isOutOfMemoryError;
 import static io.trino.execution.scheduler.Exchanges.getAllSourceHandles;
 import static io.trino.execution.scheduler.SchedulingUtils.canStream;
+import static io.trino.execution.scheduler.faulttolerant.PartitionAttempts.getSpeculativeAttemptThresholdNanos;
 import static io.trino.execution.scheduler.faulttolerant.TaskExecutionClass.EAGER_SPECULATIVE;
 import static io.trino.execution.scheduler.faulttolerant.TaskExecutionClass.SPECULATIVE;
 import static io.trino.execution.scheduler.faulttolerant.TaskExecutionClass.STANDARD;
@@ -200,6 +212,7 @@ import static java.util.Map.Entry.comparingByKey;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class EventDrivenFaultTolerantQueryScheduler
@@ -372,6 +385,9 @@ public class EventDrivenFaultTolerantQueryScheduler
                     getFaultTolerantExecutionRuntimeAdaptivePartitioningPartitionCount(session),
                     getFaultTolerantExecutionRuntimeAdaptivePartitioningMaxTaskSize(session),
                     stageEstimationForEagerParentEnabled,
+                    isFaultTolerantExecutionSpeculativeAttemptsEnabled(session),
+                    getFaultTolerantExecutionSpeculativeAttemptsSlownessRatio(session),
+                    getFaultTolerantExecutionSpeculativeAttemptsMinTaskDuration(session),
                     adaptivePlanner);
             queryExecutor.submit(scheduler::run);
         }
@@ -682,6 +698,7 @@ public class EventDrivenFaultTolerantQueryScheduler
         private static final long SCHEDULER_STALLED_DURATION_ON_USER_CANCELED_THRESHOLD_MILLIS = MINUTES.toMillis(10);
         private static final int EVENTS_DEBUG_INFOS_PER_BUCKET = 10;
         private static final int TASK_FAILURES_LOG_SIZE = 5;
+        private static final long SPECULATIVE_ATTEMPTS_CHECK_INTERVAL_MILLIS = SECONDS.toMillis(5);
 
         private final QueryStateMachine queryStateMachine;
         private final Metadata metadata;
@@ -713,6 +730,9 @@ public class EventDrivenFaultTolerantQueryScheduler
         private final int runtimeAdaptivePartitioningPartitionCount;
         private final long runtimeAdaptivePartitioningMaxTaskSizeInBytes;
         private final boolean stageEstimationForEagerParentEnabled;
+        private final boolean speculativeAttemptsEnabled;
+        private final double speculativeAttemptsSlownessRatio;
+        private final Duration speculativeAttemptsMinTaskDuration;
 
         private final BlockingQueue<Event> eventQueue = new LinkedBlockingQueue<>();
         private final List<Event> eventBuffer = new ArrayList<>(EVENT_BUFFER_CAPACITY);
@@ -773,6 +793,9 @@ public class EventDrivenFaultTolerantQueryScheduler
                 int runtimeAdaptivePartitioningPartitionCount,
                 DataSize runtimeAdaptivePartitioningMaxTaskSize,
                 boolean stageEstimationForEagerParentEnabled,
+                boolean speculativeAttemptsEnabled,
+                double speculativeAttemptsSlownessRatio,
+                Duration speculativeAttemptsMinTaskDuration,
                 Optional<AdaptivePlanner> adaptivePlanner)
         {
             this.queryStateMachine = requireNonNull(queryStateMachine, "queryStateMachine is null");
@@ -808,6 +831,10 @@ public class EventDrivenFaultTolerantQueryScheduler
             this.runtimeAdaptivePartitioningMaxTaskSizeInBytes = requireNonNull(runtimeAdaptivePartitioningMaxTaskSize, "runtimeAdaptivePartitioningMaxTaskSize is null").toBytes();
             this.adaptivePlanner = requireNonNull(adaptivePlanner, "adaptivePlanner is null");
             this.stageEstimationForEagerParentEnabled = stageEstimationForEagerParentEnabled;
+            this.speculativeAttemptsEnabled = speculativeAttemptsEnabled;
+            checkArgument(speculativeAttemptsSlownessRatio >= 1, "speculativeAttemptsSlownessRatio is expected to be greater than or equal to 1: %s", speculativeAttemptsSlownessRatio);
+            this.speculativeAttemptsSlownessRatio = speculativeAttemptsSlownessRatio;
+            this.speculativeAttemptsMinTaskDuration = requireNonNull(speculativeAttemptsMinTaskDuration, "speculativeAttemptsMinTaskDuration is null");
             this.schedulerSpan = tracer.spanBuilder("scheduler")
                     .setParent(Context.current().with(queryStateMachine.getSession().getQuerySpan()))
                     .setAttribute(TrinoAttributes.QUERY_ID, queryStateMachine.getQueryId().toString())
@@ -835,6 +862,16 @@ public class EventDrivenFaultTolerantQueryScheduler
                 }
             });
 
+            // tasks are checked for being slow in schedule(), which otherwise runs only when events arrive
+            Optional<ScheduledFuture<?>> speculativeAttemptsCheck = Optional.empty();
+            if (speculativeAttemptsEnabled) {
+                speculativeAttemptsCheck = Optional.of(scheduledExecutorService.scheduleWithFixedDelay(
+                        () -> eventQueue.add(Event.WAKE_UP),
+                        SPECULATIVE_ATTEMPTS_CHECK_INTERVAL_MILLIS,
+                        SPECULATIVE_ATTEMPTS_CHECK_INTERVAL_MILLIS,
+                        MILLISECONDS));
+            }
+
             Optional<Throwable> failure = Optional.empty();
             try {
                 // schedule() is the main logic, but expensive, so we do not want to call it after every event.
@@ -853,6 +890,7 @@ public class EventDrivenFaultTolerantQueryScheduler
             catch (Throwable t) {
                 failure = Optional.of(t);
             }
+            speculativeAttemptsCheck.ifPresent(future -> future.cancel(false));
 
             for (StageExecution execution : stageExecutions.values()) {
                 failure = closeAndAddSuppressed(failure, execution::abort);
@@ -993,6 +1031,9 @@ public class EventDrivenFaultTolerantQueryScheduler
                     .add("runtimeAdaptivePartitioningPartitionCount", runtimeAdaptivePartitioningPartitionCount)
                     .add("runtimeAdaptivePartitioningMaxTaskSizeInBytes", runtimeAdaptivePartitioningMaxTaskSizeInBytes)
                     .add("stageEstimationForEagerParentEnabled", stageEstimationForEagerParentEnabled)
+                    .add("speculativeAttemptsEnabled", speculativeAttemptsEnabled)
+                    .add("speculativeAttemptsSlownessRatio", speculativeAttemptsSlownessRatio)
+                    .add("speculativeAttemptsMinTaskDuration", speculativeAttemptsMinTaskDuration)
                     .add("started", started)
                     .add("nextSchedulingPriority", nextSchedulingPriority)
                     .add("preSchedulingTaskContexts", preSchedulingTaskContexts)
@@ -1020,6 +1061,7 @@ public class EventDrivenFaultTolerantQueryScheduler
             }
             optimize();
             updateStageExecutions();
+            scheduleSpeculativeAttempts();
             scheduleTasks();
             processNodeAcquisitions();
             updateMemoryRequirements();
@@ -1542,6 +1584,17 @@ public class EventDrivenFaultTolerantQueryScheduler
             return StageId.create(queryStateMachine.getQueryId(), fragmentId);
         }
 
+        private void scheduleSpeculativeAttempts()
+        {
+            if (!speculativeAttemptsEnabled) {
+                return;
+            }
+            for (StageExecution stageExecution : stageExecutions.values()) {
+                stageExecution.getSpeculativeAttempts(speculativeAttemptsSlownessRatio, speculativeAttemptsMinTaskDuration.roundTo(NANOSECONDS))
+                        .forEach(schedulingQueue::addOrUpdate);
+            }
+        }
+
         private void scheduleTasks()
         {
             scheduleTasks(EAGER_SPECULATIVE);
@@ -1990,6 +2043,7 @@ public class EventDrivenFaultTolerantQueryScheduler
 
         private final IntSet runningPartitions = new IntOpenHashSet();
         private final IntSet remainingPartitions = new IntOpenHashSet();
+        private final LongList finishedPartitionDurations = new LongArrayList();
 
         private ExchangeSourceOutputSelector.Builder sinkOutputSelectorBuilder;
         private ExchangeSourceOutputSelector finalSinkOutputSelector;
@@ -2235,7 +2289,7 @@ public class EventDrivenFaultTolerantQueryScheduler
                 return Optional.empty();
             }
 
-            int attempt = maxTaskExecutionAttempts - partition.getRemainingAttempts();
+            int attempt = partition.nextAttemptId();
             return Optional.of(new GetExchangeSinkInstanceHandleResult(
                     exchange.instantiateSink(partition.getExchangeSinkHandle(), attempt),
                     attempt));
@@ -2263,6 +2317,12 @@ public class EventDrivenFaultTolerantQueryScheduler
                 return Optional.empty();
             }
 
+            if (partition.isRunningOn(node)) {
+                // no other node was available for the speculative attempt; running it next to the slow attempt does not help
+                partition.speculativeAttemptDropped();
+                return Optional.empty();
+            }
+
             Map<PlanNodeId, ExchangeSourceOutputSelector> outputSelectors = getSourceOutputSelectors();
 
             ListMultimap<PlanNodeId, Split> splits = ArrayListMultimap.create();
@@ -2301,6 +2361,42 @@ public class EventDrivenFaultTolerantQueryScheduler
             return task;
         }
 
+        /**
+         * Returns tasks for partitions whose only running attempt takes much longer than the median duration
+         * of the finished partitions of the stage. Each partition gets at most one speculative attempt, which is
+         * scheduled on a different node if possible. Whichever attempt finishes first is used, the other one is aborted.
+         */
+        public List<PrioritizedScheduledTask> getSpeculativeAttempts(double slownessRatio, long minTaskDurationNanos)
+        {
+            if (getState().isDone() || !noMorePartitions || remainingPartitions.isEmpty()) {
+                return ImmutableList.of();
+            }
+            // the median is only meaningful when most of the partitions are finished
+            if (finishedPartitionDurations.size() * 2 < partitions.size()) {
+                return ImmutableList.of();
+            }
+            for (int partitionId : remainingPartitions) {
+                if (!getStagePartition(partitionId).isRunning()) {
+                    // do not take nodes from partitions that are still waiting to run
+                    return ImmutableList.of();
+                }
+            }
+
+            long thresholdNanos = getSpeculativeAttemptThresholdNanos(finishedPartitionDurations.toLongArray(), slownessRatio, minTaskDurationNanos);
+
+            ImmutableList.Builder<PrioritizedScheduledTask> result = ImmutableList.builder();
+            for (int partitionId : remainingPartitions) {
+                StagePartition partition = getStagePartition(partitionId);
+                if (partition.isRunningLongerThan(thresholdNanos)) {
+                    partition.speculativeAttemptScheduled();
+                    stageExecutionStats.recordSpeculativeAttemptScheduled();
+                    log.debug("Scheduling speculative attempt for partition %s.%s running longer than %s", stage.getStageId(), partitionId, succinctNanos(thresholdNanos));
+                    result.add(PrioritizedScheduledTask.create(stage.getStageId(), partitionId, schedulingPriority));
+                }
+            }
+            return result.build();
+        }
+
         public boolean isEager()
         {
             return eager;
@@ -2425,6 +2521,11 @@ public class EventDrivenFaultTolerantQueryScheduler
                 return Optional.empty();
             }
 
+            finishedPartitionDurations.add(partition.getTaskDurationNanos(taskId));
+            if (partition.isSpeculativeAttempt(taskId)) {
+                stageExecutionStats.recordSpeculativeAttemptFinishedFirst();
+            }
+
             updateOutputSize(outputStats.orElseThrow());
 
             partitionMemoryEstimator.registerPartitionFinished(
@@ -2543,6 +2644,11 @@ public class EventDrivenFaultTolerantQueryScheduler
                         taskId);
             }
 
+            if (partition.isRunning()) {
+                // another attempt of this partition is still running; it takes over from the failed one
+                return ImmutableList.of();
+            }
+
             if (errorCode != null && isOutOfMemoryError(errorCode) && newMemoryLimits.getRequiredMemory().toBytes() * 0.99 <= taskStatus.getPeakMemoryReservation().toBytes()) {
                 String message = format(
                         "Cannot allocate enough memory for task %s. Reported peak memory reservation: %s. Maximum possible reservation: %s.",
@@ -2564,6 +2670,11 @@ public class EventDrivenFaultTolerantQueryScheduler
                 return ImmutableList.of();
             }
 
+            if (partition.isSpeculativeAttemptPending()) {
+                // the speculative attempt waiting for a node replaces the failed attempt
+                return ImmutableList.of();
+            }
+
             // TODO[https://github.com/trinodb/trino/issues/18025]: split into smaller partitions here if necessary (for example if a task for a given partition failed with out of memory)
 
             // reschedule a task
@@ -2742,11 +2853,10 @@ public class EventDrivenFaultTolerantQueryScheduler
         private Optional<OpenTaskDescriptor> openTaskDescriptor;
         private MemoryRequirements memoryRequirements;
         private boolean failureObserved;
-        private int remainingAttempts;
+        private final PartitionAttempts attempts;
 
         private final Map<TaskId, RemoteTask> tasks = new HashMap<>();
         private final Map<TaskId, SpoolingOutputBuffers> taskOutputBuffers = new HashMap<>();
-        private final Set<TaskId> runningTasks = new HashSet<>();
         private final Map<TaskId, NodeLease> taskNodeLeases = new HashMap<>();
         private final Set<PlanNodeId> finalSelectors = new HashSet<>();
         private final Set<PlanNodeId> noMoreSplits = new HashSet<>();
@@ -2771,7 +2881,7 @@ public class EventDrivenFaultTolerantQueryScheduler
             requireNonNull(nodeRequirements, "nodeRequirements is null");
             this.openTaskDescriptor = Optional.of(new OpenTaskDescriptor(SplitsMapping.EMPTY, ImmutableSet.of(), nodeRequirements));
             this.memoryRequirements = requireNonNull(memoryRequirements, "memoryRequirements is null");
-            this.remainingAttempts = maxTaskExecutionAttempts;
+            this.attempts = new PartitionAttempts(maxTaskExecutionAttempts, Ticker.systemTicker());
         }
 
         public ExchangeSinkHandle getExchangeSinkHandle()
@@ -2817,7 +2927,7 @@ public class EventDrivenFaultTolerantQueryScheduler
                 // update speculative flag for running tasks.
                 // Remote task is updated so we no longer prioritize non-longer speculative task if worker runs out of memory.
                 // Lease is updated as execution class plays a role in how NodeAllocator works.
-                for (TaskId runningTaskId : runningTasks) {
+                for (TaskId runningTaskId : attempts.getRunningAttempts()) {
                     RemoteTask runningTask = tasks.get(runningTaskId);
                     runningTask.setSpeculative(false);
                     taskNodeLeases.get(runningTaskId).setExecutionClass(STANDARD);
@@ -2860,15 +2970,38 @@ public class EventDrivenFaultTolerantQueryScheduler
                 return Optional.empty();
             }
             if (openTaskDescriptor.isPresent()) {
-                return openTaskDescriptor.map(OpenTaskDescriptor::getNodeRequirements);
+                return openTaskDescriptor.map(OpenTaskDescriptor::getNodeRequirements)
+                        .map(this::avoidRunningTaskNodes);
             }
             Optional<TaskDescriptor> taskDescriptor = taskDescriptorStorage.get(stageId, partitionId);
             if (taskDescriptor.isPresent()) {
-                return taskDescriptor.map(TaskDescriptor::getNodeRequirements);
+                return taskDescriptor.map(TaskDescriptor::getNodeRequirements)
+                        .map(this::avoidRunningTaskNodes);
             }
             return Optional.empty();
         }
 
+        private NodeRequirements avoidRunningTaskNodes(NodeRequirements nodeRequirements)
+        {
+            if (!attempts.isRunning()) {
+                return nodeRequirements;
+            }
+            // a speculative attempt should not run on the node of the attempt it races against
+            return nodeRequirements.withExcludedAddresses(getRunningTaskAddresses());
+        }
+
+        private Set<HostAddress> getRunningTaskAddresses()
+        {
+            return attempts.getRunningAttempts().stream()
+                    .map(taskId -> getFutureValue(taskNodeLeases.get(taskId).getNode()).getHostAndPort())
+                    .collect(toImmutableSet());
+        }
+
+        public boolean isRunningOn(InternalNode node)
+        {
+            return getRunningTaskAddresses().contains(node.getHostAndPort());
+        }
+
         public MemoryRequirements getMemoryRequirements()
         {
             return memoryRequirements;
@@ -2888,7 +3021,7 @@ public class EventDrivenFaultTolerantQueryScheduler
             this.memoryRequirements = memoryRequirements;
 
             // update memory requirements for running tasks (typically it should be just one)
-            for (TaskId runningTaskId : runningTasks) {
+            for (TaskId runningTaskId : attempts.getRunningAttempts()) {
                 taskNodeLeases.get(runningTaskId).setMemoryRequirement(memoryRequirements.getRequiredMemory());
             }
         }
@@ -2900,7 +3033,42 @@ public class EventDrivenFaultTolerantQueryScheduler
 
         public int getRemainingAttempts()
         {
-            return remainingAttempts;
+            return attempts.getRemainingAttempts();
+        }
+
+        public int nextAttemptId()
+        {
+            return attempts.nextAttemptId();
+        }
+
+        public boolean isRunningLongerThan(long durationNanos)
+        {
+            return !finished && isSealed() && attempts.isRunningLongerThan(durationNanos);
+        }
+
+        public void speculativeAttemptScheduled()
+        {
+            attempts.speculativeAttemptScheduled();
+        }
+
+        public void speculativeAttemptDropped()
+        {
+            attempts.speculativeAttemptDropped();
+        }
+
+        public boolean isSpeculativeAttemptPending()
+        {
+            return attempts.isSpeculativeAttemptPending();
+        }
+
+        public boolean isSpeculativeAttempt(TaskId taskId)
+        {
+            return attempts.isSpeculativeAttempt(taskId);
+        }
+
+        public long getTaskDurationNanos(TaskId taskId)
+        {
+            return attempts.getDurationNanos(taskId);
         }
 
         public void addTask(RemoteTask remoteTask, SpoolingOutputBuffers outputBuffers, NodeLease nodeLease)
@@ -2909,7 +3077,7 @@ public class EventDrivenFaultTolerantQueryScheduler
             tasks.put(taskId, remoteTask);
             taskOutputBuffers.put(taskId, outputBuffers);
             taskNodeLeases.put(taskId, nodeLease);
-            runningTasks.add(taskId);
+            attempts.attemptStarted(taskId);
         }
 
         public Optional<SpoolingOutputStats.Snapshot> taskFinished(TaskId taskId)
@@ -2926,7 +3094,7 @@ public class EventDrivenFaultTolerantQueryScheduler
                 // (see EventDrivenFaultTolerantQueryScheduler.StageExecution.taskFinished)
                 return outputStats;
             }
-            checkState(runningTasks.remove(taskId), "task %s already marked as finished", taskId);
+            attempts.attemptFinished(taskId);
 
             tasks.values().forEach(RemoteTask::abort);
             finished = true;
@@ -2939,9 +3107,8 @@ public class EventDrivenFaultTolerantQueryScheduler
 
         public void taskFailed(TaskId taskId)
         {
-            checkState(runningTasks.remove(taskId), "task %s already marked as finished", taskId);
+            attempts.attemptFailed(taskId);
             failureObserved = true;
-            remainingAttempts--;
         }
 
         public void updateExchangeSinkInstanceHandle(TaskId taskId, ExchangeSinkInstanceHandle handle)
@@ -2960,7 +3127,7 @@ public class EventDrivenFaultTolerantQueryScheduler
             if (selector.isFinal()) {
                 finalSelectors.add(planNodeId);
             }
-            for (TaskId taskId : runningTasks) {
+            for (TaskId taskId : attempts.getRunningAttempts()) {
                 RemoteTask task = tasks.get(taskId);
                 verify(task != null, "task is null: %s", taskId);
                 task.addSplits(ImmutableListMultimap.of(
@@ -2974,7 +3141,7 @@ public class EventDrivenFaultTolerantQueryScheduler
 
         public boolean isRunning()
         {
-            return !runningTasks.isEmpty();
+            return attempts.isRunning();
         }
 
         public boolean isTaskScheduled()
@@ -3003,10 +3170,9 @@ public class EventDrivenFaultTolerantQueryScheduler
                     .add("openTaskDescriptor", openTaskDescriptor)
                     .add("memoryRequirements", memoryRequirements)
                     .add("failureObserved", failureObserved)
-                    .add("remainingAttempts", remainingAttempts)
+                    .add("attempts", attempts)
                     .add("tasks", tasks)
                     .add("taskOutputBuffers", taskOutputBuffers)
-                    .add("runningTasks", runningTasks)
                     .add("taskNodeLeases", taskNodeLeases)
                     .add("finalSelectors", finalSelectors)
                     .add("noMoreSplits", noMoreSplits)
@@ -13,14 +13,17 @@
  */
 package io.trino.execution.scheduler.faulttolerant;
 
+import com.google.common.collect.ImmutableSet;
 import io.trino.spi.HostAddress;
 import io.trino.spi.connector.CatalogHandle;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.estimatedSizeOf;
 import static io.airlift.slice.SizeOf.instanceSize;
 import static io.airlift.slice.SizeOf.sizeOf;
 import static java.util.Objects.requireNonNull;
@@ -32,13 +35,20 @@ public class NodeRequirements
     private final Optional<CatalogHandle> catalogHandle;
     private final Optional<HostAddress> address;
     private final boolean remotelyAccessible;
+    private final Set<HostAddress> excludedAddresses;
 
     public NodeRequirements(Optional<CatalogHandle> catalogHandle, Optional<HostAddress> address, boolean remotelyAccessible)
+    {
+        this(catalogHandle, address, remotelyAccessible, ImmutableSet.of());
+    }
+
+    public NodeRequirements(Optional<CatalogHandle> catalogHandle, Optional<HostAddress> address, boolean remotelyAccessible, Set<HostAddress> excludedAddresses)
     {
         checkArgument(remotelyAccessible || address.isPresent(), "addresses is empty and node is not remotely accessible");
         this.catalogHandle = requireNonNull(catalogHandle, "catalogHandle is null");
         this.address = address;
         this.remotelyAccessible = remotelyAccessible;
+        this.excludedAddresses = ImmutableSet.copyOf(requireNonNull(excludedAddresses, "excludedAddresses is null"));
     }
 
     /*
@@ -62,6 +72,19 @@ public class NodeRequirements
         return remotelyAccessible;
     }
 
+    /*
+     * Avoid execution on these nodes, unless no other node matches the requirements
+     */
+    public Set<HostAddress> getExcludedAddresses()
+    {
+        return excludedAddresses;
+    }
+
+    public NodeRequirements withExcludedAddresses(Set<HostAddress> excludedAddresses)
+    {
+        return new NodeRequirements(catalogHandle, address, remotelyAccessible, excludedAddresses);
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -74,13 +97,14 @@ public class NodeRequirements
         NodeRequirements that = (NodeRequirements) o;
         return Objects.equals(catalogHandle, that.catalogHandle)
                 && Objects.equals(address, that.address)
-                && remotelyAccessible == that.remotelyAccessible;
+                && remotelyAccessible == that.remotelyAccessible
+                && Objects.equals(excludedAddresses, that.excludedAddresses);
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(catalogHandle, address, remotelyAccessible);
+        return Objects.hash(catalogHandle, address, remotelyAccessible, excludedAddresses);
     }
 
     @Override
@@ -90,6 +114,7 @@ public class NodeRequirements
                 .add("catalogHandle", catalogHandle)
                 .add("addresses", address)
                 .add("remotelyAccessible", remotelyAccessible)
+                .add("excludedAddresses", excludedAddresses)
                 .toString();
     }
 
@@ -97,6 +122,7 @@ public class NodeRequirements
     {
         return INSTANCE_SIZE
                 + sizeOf(catalogHandle, CatalogHandle::getRetainedSizeInBytes)
-                + sizeOf(address, HostAddress::getRetainedSizeInBytes);
+                + sizeOf(address, HostAddress::getRetainedSizeInBytes)
+                + estimatedSizeOf(excludedAddresses, HostAddress::getRetainedSizeInBytes);
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution.scheduler.faulttolerant;
+
+import com.google.common.base.Ticker;
+import io.trino.annotation.NotThreadSafe;
+import io.trino.execution.TaskId;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static java.lang.Math.max;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tracks the task attempts of a single partition of a fault tolerant stage: the running attempts, the remaining
+ * retries, and the speculative attempt started when the only running attempt is much slower than its peers.
+ */
+@NotThreadSafe
+public class PartitionAttempts
+{
+    private final Ticker ticker;
+    private int remainingAttempts;
+    private int nextAttemptId;
+
+    private final Set<TaskId> runningAttempts = new LinkedHashSet<>();
+    private final Map<TaskId, Long> startTimes = new HashMap<>();
+
+    private boolean speculativeAttemptScheduled;
+    private boolean speculativeAttemptPending;
+    private Optional<TaskId> speculativeAttempt = Optional.empty();
+
+    public PartitionAttempts(int maxAttempts, Ticker ticker)
+    {
+        checkArgument(maxAttempts > 0, "maxAttempts must be greater than zero: %s", maxAttempts);
+        this.remainingAttempts = maxAttempts;
+        this.ticker = requireNonNull(ticker, "ticker is null");
+    }
+
+    /**
+     * Returns the duration a running attempt has to exceed to get a speculative attempt: the median duration
+     * of the finished partitions times the slowness ratio, but not less than the minimum task duration.
+     */
+    public static long getSpeculativeAttemptThresholdNanos(long[] finishedDurationsNanos, double slownessRatio, long minTaskDurationNanos)
+    {
+        checkArgument(finishedDurationsNanos.length > 0, "finishedDurationsNanos is empty");
+        long[] durations = finishedDurationsNanos.clone();
+        Arrays.sort(durations);
+        long medianDuration = durations[durations.length / 2];
+        return max(minTaskDurationNanos, (long) (medianDuration * slownessRatio));
+    }
+
+    public int nextAttemptId()
+    {
+        return nextAttemptId++;
+    }
+
+    public int getRemainingAttempts()
+    {
+        return remainingAttempts;
+    }
+
+    public Set<TaskId> getRunningAttempts()
+    {
+        return Collections.unmodifiableSet(runningAttempts);
+    }
+
+    public boolean isRunning()
+    {
+        return !runningAttempts.isEmpty();
+    }
+
+    public void attemptStarted(TaskId taskId)
+    {
+        if (speculativeAttemptPending && !runningAttempts.isEmpty()) {
+            speculativeAttempt = Optional.of(taskId);
+        }
+        speculativeAttemptPending = false;
+        checkState(runningAttempts.add(taskId), "task %s is already running", taskId);
+        startTimes.put(taskId, ticker.read());
+    }
+
+    /**
+     * Returns true when the partition has a single running attempt, started more than the given duration ago,
+     * and no speculative attempt was scheduled for it yet.
+     */
+    public boolean isRunningLongerThan(long durationNanos)
+    {
+        if (speculativeAttemptScheduled || runningAttempts.size() != 1) {
+            return false;
+        }
+        return ticker.read() - startTimes.get(getOnlyElement(runningAttempts)) > durationNanos;
+    }
+
+    /**
+     * Records that a speculative attempt is scheduled. A partition gets at most one speculative attempt.
+     */
+    public void speculativeAttemptScheduled()
+    {
+        checkState(!speculativeAttemptScheduled, "speculative attempt is already scheduled");
+        speculativeAttemptScheduled = true;
+        speculativeAttemptPending = true;
+    }
+
+    /**
+     * Records that the scheduled speculative attempt will not be started, for example as there was no node
+     * other than the one of the running attempt.
+     */
+    public void speculativeAttemptDropped()
+    {
+        speculativeAttemptPending = false;
+    }
+
+    /**
+     * Returns true when a speculative attempt is scheduled, but waits for a node. It replaces the running
+     * attempt if that attempt fails, so no other replacement attempt is needed.
+     */
+    public boolean isSpeculativeAttemptPending()
+    {
+        return speculativeAttemptPending;
+    }
+
+    public boolean isSpeculativeAttempt(TaskId taskId)
+    {
+        return speculativeAttempt.map(taskId::equals).orElse(false);
+    }
+
+    public long getDurationNanos(TaskId taskId)
+    {
+        Long startTime = startTimes.get(taskId);
+        checkArgument(startTime != null, "task not found: %s", taskId);
+        return ticker.read() - startTime;
+    }
+
+    public void attemptFinished(TaskId taskId)
+    {
+        checkState(runningAttempts.remove(taskId), "task %s already marked as finished", taskId);
+        speculativeAttemptPending = false;
+    }
+
+    public void attemptFailed(TaskId taskId)
+    {
+        checkState(runningAttempts.remove(taskId), "task %s already marked as finished", taskId);
+        if (runningAttempts.isEmpty()) {
+            // failure of a speculative attempt, or of the attempt it raced against, does not use up a retry
+            // as long as the other attempt is still running
+            remainingAttempts--;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("remainingAttempts", remainingAttempts)
+                .add("nextAttemptId", nextAttemptId)
+                .add("runningAttempts", runningAttempts)
+                .add("speculativeAttemptScheduled", speculativeAttemptScheduled)
+                .add("speculativeAttemptPending", speculativeAttemptPending)
+                .add("speculativeAttempt", speculativeAttempt)
+                .toString();
+    }
+}
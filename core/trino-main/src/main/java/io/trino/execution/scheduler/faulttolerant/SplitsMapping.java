@@ -13,7 +13,6 @@
  */
 package io.trino.execution.scheduler.faulttolerant;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
@@ -92,7 +91,6 @@ public final class SplitsMapping
         return result.build();
     }
 
-    @VisibleForTesting
     ListMultimap<Integer, Split> getSplits(PlanNodeId planNodeId)
     {
         Map<Integer, List<Split>> splits = this.splits.get(planNodeId);
@@ -18,6 +18,7 @@ import io.airlift.stats.CounterStat;
 import io.airlift.stats.DistributionStat;
 import org.weakref.jmx.MBeanExporter;
 import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,6 +30,8 @@ public class StageExecutionStats
     private static final int EXECUTION_FRACTION_RESCALE_FACTOR = 1_000_000;
     private final Map<String, CounterStat> outputEstimationKindCounters = new ConcurrentHashMap<>();
     private final DistributionStat speculativeExecutionFractionDistribution = new DistributionStat();
+    private final CounterStat speculativeAttemptsScheduled = new CounterStat();
+    private final CounterStat speculativeAttemptsFinishedFirst = new CounterStat();
 
     private final MBeanExporter mbeanExporter;
 
@@ -53,12 +56,36 @@ public class StageExecutionStats
         speculativeExecutionFractionDistribution.add((long) (fractionSpentSpeculative * EXECUTION_FRACTION_RESCALE_FACTOR));
     }
 
+    public void recordSpeculativeAttemptScheduled()
+    {
+        speculativeAttemptsScheduled.update(1);
+    }
+
+    public void recordSpeculativeAttemptFinishedFirst()
+    {
+        speculativeAttemptsFinishedFirst.update(1);
+    }
+
     @Managed
     public DistributionStat getSpeculativeExecutionFraction()
     {
         return speculativeExecutionFractionDistribution;
     }
 
+    @Managed
+    @Nested
+    public CounterStat getSpeculativeAttemptsScheduled()
+    {
+        return speculativeAttemptsScheduled;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getSpeculativeAttemptsFinishedFirst()
+    {
+        return speculativeAttemptsFinishedFirst;
+    }
+
     private void updateSourceOutputEstimationKindCounter(String outputEstimationKind, int sourcesCount)
     {
         getCounterStat(outputEstimationKind).update(sourcesCount);
@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution.scheduler.faulttolerant;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.compress.v3.zstd.ZstdCompressor;
+import io.airlift.compress.v3.zstd.ZstdDecompressor;
+import io.airlift.json.JsonCodec;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
+import io.trino.metadata.Split;
+import io.trino.spi.HostAddress;
+import io.trino.spi.connector.CatalogHandle;
+import io.trino.sql.planner.plan.PlanNodeId;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serializes {@link TaskDescriptor} into a compressed binary form. Splits are stored in their JSON form,
+ * which is the only serialized form available for connector splits, and the rest of the descriptor is
+ * encoded as binary fields.
+ */
+class TaskDescriptorSerializer
+{
+    private final JsonCodec<Split> splitJsonCodec;
+
+    public TaskDescriptorSerializer(JsonCodec<Split> splitJsonCodec)
+    {
+        this.splitJsonCodec = requireNonNull(splitJsonCodec, "splitJsonCodec is null");
+    }
+
+    public byte[] serialize(TaskDescriptor descriptor)
+    {
+        SliceOutput output = new DynamicSliceOutput(1024);
+        output.writeInt(descriptor.getPartitionId());
+
+        NodeRequirements nodeRequirements = descriptor.getNodeRequirements();
+        writeOptionalString(output, nodeRequirements.getCatalogHandle().map(CatalogHandle::getId));
+        writeOptionalString(output, nodeRequirements.getAddress().map(HostAddress::toString));
+        output.writeBoolean(nodeRequirements.isRemotelyAccessible());
+
+        SplitsMapping splits = descriptor.getSplits();
+        output.writeInt(splits.getPlanNodeIds().size());
+        for (PlanNodeId planNodeId : splits.getPlanNodeIds()) {
+            writeString(output, planNodeId.toString());
+            Map<Integer, Collection<Split>> partitions = splits.getSplits(planNodeId).asMap();
+            output.writeInt(partitions.size());
+            for (Map.Entry<Integer, Collection<Split>> partition : partitions.entrySet()) {
+                output.writeInt(partition.getKey());
+                output.writeInt(partition.getValue().size());
+                for (Split split : partition.getValue()) {
+                    byte[] json = splitJsonCodec.toJsonBytes(split);
+                    output.writeInt(json.length);
+                    output.writeBytes(json);
+                }
+            }
+        }
+
+        Slice uncompressed = output.slice();
+        ZstdCompressor compressor = ZstdCompressor.create();
+        byte[] compressed = new byte[compressor.maxCompressedLength(uncompressed.length())];
+        int compressedSize = compressor.compress(uncompressed.byteArray(), uncompressed.byteArrayOffset(), uncompressed.length(), compressed, 0, compressed.length);
+        return Arrays.copyOf(compressed, compressedSize);
+    }
+
+    public TaskDescriptor deserialize(byte[] compressed)
+    {
+        ZstdDecompressor decompressor = ZstdDecompressor.create();
+        byte[] uncompressed = new byte[toIntExact(decompressor.getDecompressedSize(compressed, 0, compressed.length))];
+        decompressor.decompress(compressed, 0, compressed.length, uncompressed, 0, uncompressed.length);
+        SliceInput input = Slices.wrappedBuffer(uncompressed).getInput();
+
+        int partitionId = input.readInt();
+        Optional<CatalogHandle> catalogHandle = readOptionalString(input).map(CatalogHandle::fromId);
+        Optional<HostAddress> address = readOptionalString(input).map(HostAddress::fromString);
+        boolean remotelyAccessible = input.readBoolean();
+
+        SplitsMapping.Builder splits = SplitsMapping.builder();
+        int planNodeCount = input.readInt();
+        for (int planNode = 0; planNode < planNodeCount; planNode++) {
+            PlanNodeId planNodeId = new PlanNodeId(readString(input));
+            int partitionCount = input.readInt();
+            for (int partition = 0; partition < partitionCount; partition++) {
+                int splitPartitionId = input.readInt();
+                int splitCount = input.readInt();
+                ImmutableList.Builder<Split> partitionSplits = ImmutableList.builderWithExpectedSize(splitCount);
+                for (int split = 0; split < splitCount; split++) {
+                    byte[] json = new byte[input.readInt()];
+                    input.readBytes(json);
+                    partitionSplits.add(splitJsonCodec.fromJson(json));
+                }
+                splits.addSplits(planNodeId, splitPartitionId, partitionSplits.build());
+            }
+        }
+
+        return new TaskDescriptor(partitionId, splits.build(), new NodeRequirements(catalogHandle, address, remotelyAccessible));
+    }
+
+    private static void writeOptionalString(SliceOutput output, Optional<String> value)
+    {
+        output.writeBoolean(value.isPresent());
+        value.ifPresent(string -> writeString(output, string));
+    }
+
+    private static Optional<String> readOptionalString(SliceInput input)
+    {
+        if (!input.readBoolean()) {
+            return Optional.empty();
+        }
+        return Optional.of(readString(input));
+    }
+
+    private static void writeString(SliceOutput output, String value)
+    {
+        Slice slice = Slices.utf8Slice(value);
+        output.writeInt(slice.length());
+        output.writeBytes(slice);
+    }
+
+    private static String readString(SliceInput input)
+    {
+        return input.readSlice(input.readInt()).toStringUtf8();
+    }
+}
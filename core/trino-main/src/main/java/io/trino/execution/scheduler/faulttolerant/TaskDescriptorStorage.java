@@ -16,9 +16,7 @@ package io.trino.execution.scheduler.faulttolerant;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Suppliers;
 import com.google.common.base.VerifyException;
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Table;
 import com.google.common.math.Quantiles;
 import com.google.common.math.Stats;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
@@ -33,17 +31,33 @@ import io.trino.metadata.Split;
 import io.trino.spi.QueryId;
 import io.trino.spi.TrinoException;
 import io.trino.sql.planner.plan.PlanNodeId;
+import jakarta.annotation.PreDestroy;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
@@ -56,39 +70,83 @@ import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.ImmutableSetMultimap.toImmutableSetMultimap;
 import static com.google.common.math.Quantiles.percentiles;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.slice.SizeOf.instanceSize;
 import static io.airlift.units.DataSize.succinctBytes;
 import static io.trino.spi.StandardErrorCode.EXCEEDED_TASK_DESCRIPTOR_STORAGE_CAPACITY;
 import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
 public class TaskDescriptorStorage
 {
     private static final Logger log = Logger.get(TaskDescriptorStorage.class);
 
+    private static final long SPILLED_DESCRIPTOR_RETAINED_SIZE = instanceSize(SpilledTaskDescriptor.class) + instanceSize(TaskDescriptorKey.class);
+
     private final long maxMemoryInBytes;
+    private final boolean spillEnabled;
+    private final Path spillPath;
+    private final long maxSpillSizeInBytes;
     private final JsonCodec<Split> splitJsonCodec;
+    private final TaskDescriptorSerializer serializer;
+    private final ExecutorService spillExecutor;
     private final StorageStats storageStats;
 
     @GuardedBy("this")
     private final Map<QueryId, TaskDescriptors> storages = new HashMap<>();
     @GuardedBy("this")
     private long reservedBytes;
+    @GuardedBy("this")
+    private long spilledBytes;
+    // set when a descriptor could not be spilled, until spill space is released
+    @GuardedBy("this")
+    private boolean spillRejected;
+    @GuardedBy("this")
+    private final Queue<SpillTask> spillQueue = new ArrayDeque<>();
+    @GuardedBy("this")
+    private boolean spillScheduled;
 
     @Inject
     public TaskDescriptorStorage(
             QueryManagerConfig config,
             JsonCodec<Split> splitJsonCodec)
     {
-        this(config.getFaultTolerantExecutionTaskDescriptorStorageMaxMemory(), splitJsonCodec);
+        this(
+                config.getFaultTolerantExecutionTaskDescriptorStorageMaxMemory(),
+                config.isFaultTolerantExecutionTaskDescriptorStorageSpillEnabled(),
+                config.getFaultTolerantExecutionTaskDescriptorStorageSpillPath().toPath(),
+                config.getFaultTolerantExecutionTaskDescriptorStorageMaxSpillSize(),
+                splitJsonCodec,
+                newSingleThreadExecutor(daemonThreadsNamed("task-descriptor-spill")));
     }
 
     public TaskDescriptorStorage(DataSize maxMemory, JsonCodec<Split> splitJsonCodec)
+    {
+        this(maxMemory, false, Path.of(System.getProperty("java.io.tmpdir")), DataSize.ofBytes(0), splitJsonCodec, newDirectExecutorService());
+    }
+
+    public TaskDescriptorStorage(DataSize maxMemory, boolean spillEnabled, Path spillPath, DataSize maxSpillSize, JsonCodec<Split> splitJsonCodec, ExecutorService spillExecutor)
     {
         this.maxMemoryInBytes = maxMemory.toBytes();
+        this.spillEnabled = spillEnabled;
+        this.spillPath = requireNonNull(spillPath, "spillPath is null");
+        this.maxSpillSizeInBytes = maxSpillSize.toBytes();
         this.splitJsonCodec = requireNonNull(splitJsonCodec, "splitJsonCodec is null");
+        this.serializer = new TaskDescriptorSerializer(splitJsonCodec);
+        this.spillExecutor = requireNonNull(spillExecutor, "spillExecutor is null");
         this.storageStats = new StorageStats(Suppliers.memoizeWithExpiration(this::computeStats, 1, TimeUnit.SECONDS));
     }
 
+    @PreDestroy
+    public void stop()
+    {
+        spillExecutor.shutdownNow();
+    }
+
     /**
      * Initializes task descriptor storage for a given <code>queryId</code>.
      * It is expected to be called before query scheduling begins.
@@ -128,14 +186,47 @@ public class TaskDescriptorStorage
      * Returns {@link Optional#empty()} if the query of a given <code>stageId</code> has been finished (e.g.: cancelled by the user or finished early).
      * @throws java.util.NoSuchElementException if {@link TaskDescriptor} for a given task does not exist
      */
-    public synchronized Optional<TaskDescriptor> get(StageId stageId, int partitionId)
+    public Optional<TaskDescriptor> get(StageId stageId, int partitionId)
     {
-        TaskDescriptors storage = storages.get(stageId.getQueryId());
-        if (storage == null) {
-            // query has been terminated
-            return Optional.empty();
+        TaskDescriptors storage;
+        FileChannel spillChannel;
+        SpilledTaskDescriptor spilledDescriptor;
+        synchronized (this) {
+            storage = storages.get(stageId.getQueryId());
+            if (storage == null) {
+                // query has been terminated
+                return Optional.empty();
+            }
+            TaskDescriptor descriptor = storage.get(stageId, partitionId);
+            if (descriptor != null) {
+                return Optional.of(descriptor);
+            }
+            spillChannel = storage.getSpillChannel();
+            spilledDescriptor = storage.startSpilledRead(stageId, partitionId);
+        }
+
+        // spilled descriptors are read and decompressed without holding the lock
+        byte[] serialized;
+        try {
+            serialized = readSpilled(spillChannel, spilledDescriptor);
+        }
+        catch (IOException e) {
+            synchronized (this) {
+                if (storages.get(stageId.getQueryId()) != storage) {
+                    // the spill file was deleted, as the query has been terminated
+                    return Optional.empty();
+                }
+                storage.throwIfFailed();
+            }
+            throw new UncheckedIOException(e);
         }
-        return Optional.of(storage.get(stageId, partitionId));
+        finally {
+            synchronized (this) {
+                storage.finishSpilledRead();
+            }
+        }
+        // spilled descriptors are not brought back to memory, as a task descriptor is only read when a task is scheduled or retried
+        return Optional.of(serializer.deserialize(serialized));
     }
 
     /**
@@ -170,6 +261,7 @@ public class TaskDescriptorStorage
         TaskDescriptors storage = storages.remove(queryId);
         if (storage != null) {
             updateMemoryReservation(-storage.getReservedBytes());
+            storage.release();
         }
     }
 
@@ -179,15 +271,28 @@ public class TaskDescriptorStorage
         if (delta <= 0) {
             return;
         }
-        while (reservedBytes > maxMemoryInBytes) {
+        enforceMemoryLimit();
+    }
+
+    @GuardedBy("this")
+    private void enforceMemoryLimit()
+    {
+        // memory of descriptors queued for spilling is released once they are written
+        while (reservedBytes - getPendingSpillBytes() > maxMemoryInBytes) {
             // drop a query that uses the most storage
             QueryId killCandidate = storages.entrySet().stream()
-                    .max(Comparator.comparingLong(entry -> entry.getValue().getReservedBytes()))
+                    .max(Comparator.comparingLong(entry -> entry.getValue().getReservedBytes() - entry.getValue().getPendingSpillBytes()))
                     .map(Map.Entry::getKey)
                     .orElseThrow(() -> new VerifyException(format("storage is empty but reservedBytes (%s) is still greater than maxMemoryInBytes (%s)", reservedBytes, maxMemoryInBytes)));
             TaskDescriptors storage = storages.get(killCandidate);
             long previousReservedBytes = storage.getReservedBytes();
 
+            if (spillEnabled && !spillRejected && spilledBytes < maxSpillSizeInBytes) {
+                if (storage.queueSpill(killCandidate, reservedBytes - getPendingSpillBytes() - maxMemoryInBytes) > 0) {
+                    continue;
+                }
+            }
+
             if (log.isInfoEnabled()) {
                 log.info("Failing query %s; reclaiming %s of %s task descriptor memory from %s queries; extraStorageInfo=%s", killCandidate, storage.getReservedBytes(), succinctBytes(reservedBytes), storages.size(), storage.getDebugInfo());
             }
@@ -198,6 +303,137 @@ public class TaskDescriptorStorage
             long currentReservedBytes = storage.getReservedBytes();
             reservedBytes += (currentReservedBytes - previousReservedBytes);
         }
+        scheduleSpill();
+    }
+
+    @GuardedBy("this")
+    private void scheduleSpill()
+    {
+        if (spillQueue.isEmpty() || spillScheduled) {
+            return;
+        }
+        spillScheduled = true;
+        try {
+            spillExecutor.execute(this::spillQueuedDescriptors);
+        }
+        catch (RejectedExecutionException e) {
+            // the storage is being stopped
+            spillScheduled = false;
+        }
+    }
+
+    @GuardedBy("this")
+    private long getPendingSpillBytes()
+    {
+        return storages.values().stream()
+                .mapToLong(TaskDescriptors::getPendingSpillBytes)
+                .sum();
+    }
+
+    /**
+     * Spills the descriptors queued by {@link #enforceMemoryLimit()} on the spill executor, so that the threads storing
+     * descriptors do not write the descriptors of other queries. Serialization, compression and writes are done without
+     * holding the lock, and the memory of a descriptor is released once it is written.
+     */
+    private void spillQueuedDescriptors()
+    {
+        while (true) {
+            SpillTask task;
+            synchronized (this) {
+                task = spillQueue.poll();
+                if (task == null) {
+                    spillScheduled = false;
+                    return;
+                }
+            }
+            try {
+                spill(task);
+            }
+            catch (RuntimeException e) {
+                log.error(e, "Failed to spill task descriptor");
+                synchronized (this) {
+                    if (!task.storage().isReleased() && task.storage().isSpillPending(task.key())) {
+                        rejectSpill(task.storage(), task.key());
+                    }
+                }
+            }
+        }
+    }
+
+    private void spill(SpillTask task)
+    {
+        TaskDescriptors storage = task.storage();
+        byte[] serialized = serializer.serialize(task.descriptor());
+
+        FileChannel spillChannel;
+        long offset;
+        synchronized (this) {
+            if (!storage.isSpillPending(task.key())) {
+                // the descriptor has been removed or the query has been terminated
+                return;
+            }
+            if (spilledBytes + serialized.length > maxSpillSizeInBytes) {
+                rejectSpill(storage, task.key());
+                return;
+            }
+            try {
+                spillChannel = storage.openSpillChannel(task.queryId());
+            }
+            catch (IOException e) {
+                log.warn(e, "Failed to create task descriptor spill file in %s", spillPath);
+                rejectSpill(storage, task.key());
+                return;
+            }
+            offset = storage.allocateSpillSpace(serialized.length);
+        }
+
+        IOException failure = null;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(serialized);
+            while (buffer.hasRemaining()) {
+                spillChannel.write(buffer, offset + buffer.position());
+            }
+        }
+        catch (IOException e) {
+            failure = e;
+        }
+
+        synchronized (this) {
+            if (storage.isReleased()) {
+                // the spill space has been released with the spill file
+                return;
+            }
+            if (failure != null || !storage.isSpillPending(task.key())) {
+                storage.freeSpillSpace(offset, serialized.length);
+                if (failure != null) {
+                    log.warn(failure, "Failed to spill task descriptors to %s", spillPath);
+                    rejectSpill(storage, task.key());
+                }
+                return;
+            }
+            reservedBytes -= storage.completeSpill(task.key(), new SpilledTaskDescriptor(offset, serialized.length));
+        }
+    }
+
+    @GuardedBy("this")
+    private void rejectSpill(TaskDescriptors storage, TaskDescriptorKey key)
+    {
+        storage.cancelSpill(key);
+        spillRejected = true;
+        // the descriptor stays in memory, so a query may have to be failed instead
+        enforceMemoryLimit();
+    }
+
+    private static byte[] readSpilled(FileChannel spillChannel, SpilledTaskDescriptor spilledDescriptor)
+            throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(spilledDescriptor.length());
+        while (buffer.hasRemaining()) {
+            if (spillChannel.read(buffer, spilledDescriptor.offset() + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of task descriptor spill file");
+            }
+        }
+        return buffer.array();
     }
 
     @VisibleForTesting
@@ -206,6 +442,12 @@ public class TaskDescriptorStorage
         return reservedBytes;
     }
 
+    @VisibleForTesting
+    synchronized long getSpilledBytes()
+    {
+        return spilledBytes;
+    }
+
     @Managed
     @Nested
     public StorageStats getStats()
@@ -261,6 +503,7 @@ public class TaskDescriptorStorage
                 queriesCount,
                 stagesCount,
                 reservedBytes,
+                spilledBytes,
                 queryReservedBytesAvg,
                 queryReservedBytesP50,
                 queryReservedBytesP90,
@@ -274,27 +517,53 @@ public class TaskDescriptorStorage
     @NotThreadSafe
     private class TaskDescriptors
     {
-        private final Table<StageId, Integer /* partitionId */, TaskDescriptor> descriptors = HashBasedTable.create();
+        // descriptors kept in memory, in the order of access, so that the least recently used are spilled first
+        private final Map<TaskDescriptorKey, TaskDescriptor> descriptors = new LinkedHashMap<>(16, 0.75f, true);
+        // descriptors queued for spilling, which are still read from memory until they are written
+        private final Map<TaskDescriptorKey, TaskDescriptor> pendingSpillDescriptors = new HashMap<>();
+        private final Map<TaskDescriptorKey, SpilledTaskDescriptor> spilledDescriptors = new HashMap<>();
 
         private long reservedBytes;
+        private long pendingSpillBytes;
         private final Map<StageId, AtomicLong> stagesReservedBytes = new HashMap<>();
         private RuntimeException failure;
+        private boolean released;
+
+        private Path spillFile;
+        private FileChannel spillChannel;
+        private long spillFileSize;
+        private long spillSizeInBytes;
+        // space of removed descriptors, by offset, reused by the descriptors spilled later
+        private final NavigableMap<Long, Long> freeSpillSpace = new TreeMap<>();
+        // space of descriptors removed while spilled descriptors are read, which is reused once the reads finish
+        private final List<SpilledTaskDescriptor> pendingFreeSpillSpace = new ArrayList<>();
+        private int activeSpilledReads;
 
         public void put(StageId stageId, int partitionId, TaskDescriptor descriptor)
         {
             throwIfFailed();
-            checkState(!descriptors.contains(stageId, partitionId), "task descriptor is already present for key %s/%s ", stageId, partitionId);
-            descriptors.put(stageId, partitionId, descriptor);
-            long descriptorRetainedBytes = descriptor.getRetainedSizeInBytes();
-            reservedBytes += descriptorRetainedBytes;
-            stagesReservedBytes.computeIfAbsent(stageId, _ -> new AtomicLong()).addAndGet(descriptorRetainedBytes);
+            TaskDescriptorKey key = new TaskDescriptorKey(stageId, partitionId);
+            checkState(
+                    !descriptors.containsKey(key) && !pendingSpillDescriptors.containsKey(key) && !spilledDescriptors.containsKey(key),
+                    "task descriptor is already present for key %s/%s ",
+                    stageId,
+                    partitionId);
+            descriptors.put(key, descriptor);
+            updateReservedBytes(stageId, descriptor.getRetainedSizeInBytes());
         }
 
+        /**
+         * @return the descriptor if it is kept in memory, or null if it is spilled
+         */
         public TaskDescriptor get(StageId stageId, int partitionId)
         {
             throwIfFailed();
-            TaskDescriptor descriptor = descriptors.get(stageId, partitionId);
+            TaskDescriptorKey key = new TaskDescriptorKey(stageId, partitionId);
+            TaskDescriptor descriptor = descriptors.get(key);
             if (descriptor == null) {
+                descriptor = pendingSpillDescriptors.get(key);
+            }
+            if (descriptor == null && !spilledDescriptors.containsKey(key)) {
                 throw new NoSuchElementException(format("descriptor not found for key %s/%s", stageId, partitionId));
             }
             return descriptor;
@@ -303,13 +572,25 @@ public class TaskDescriptorStorage
         public void remove(StageId stageId, int partitionId)
         {
             throwIfFailed();
-            TaskDescriptor descriptor = descriptors.remove(stageId, partitionId);
-            if (descriptor == null) {
+            TaskDescriptorKey key = new TaskDescriptorKey(stageId, partitionId);
+            TaskDescriptor descriptor = descriptors.remove(key);
+            if (descriptor != null) {
+                updateReservedBytes(stageId, -descriptor.getRetainedSizeInBytes());
+                return;
+            }
+            descriptor = pendingSpillDescriptors.remove(key);
+            if (descriptor != null) {
+                // the spill in progress is discarded once written
+                pendingSpillBytes -= getSpillReleasedBytes(descriptor);
+                updateReservedBytes(stageId, -descriptor.getRetainedSizeInBytes());
+                return;
+            }
+            SpilledTaskDescriptor spilledDescriptor = spilledDescriptors.remove(key);
+            if (spilledDescriptor == null) {
                 throw new NoSuchElementException(format("descriptor not found for key %s/%s", stageId, partitionId));
             }
-            long descriptorRetainedBytes = descriptor.getRetainedSizeInBytes();
-            reservedBytes -= descriptorRetainedBytes;
-            requireNonNull(stagesReservedBytes.get(stageId), () -> format("no entry for stage %s", stageId)).addAndGet(-descriptorRetainedBytes);
+            freeSpillSpace(spilledDescriptor.offset(), spilledDescriptor.length());
+            updateReservedBytes(stageId, -SPILLED_DESCRIPTOR_RETAINED_SIZE);
         }
 
         public long getReservedBytes()
@@ -317,12 +598,190 @@ public class TaskDescriptorStorage
             return reservedBytes;
         }
 
+        public long getPendingSpillBytes()
+        {
+            return pendingSpillBytes;
+        }
+
+        /**
+         * Queues the least recently used descriptors for spilling, until the given amount of memory is to be released.
+         *
+         * @return the amount of memory released once the queued descriptors are spilled
+         */
+        public long queueSpill(QueryId queryId, long bytesToRelease)
+        {
+            long releasedBytes = 0;
+            Iterator<Map.Entry<TaskDescriptorKey, TaskDescriptor>> iterator = descriptors.entrySet().iterator();
+            while (releasedBytes < bytesToRelease && iterator.hasNext()) {
+                Map.Entry<TaskDescriptorKey, TaskDescriptor> entry = iterator.next();
+                iterator.remove();
+                pendingSpillDescriptors.put(entry.getKey(), entry.getValue());
+                spillQueue.add(new SpillTask(queryId, this, entry.getKey(), entry.getValue()));
+                long descriptorReleasedBytes = getSpillReleasedBytes(entry.getValue());
+                pendingSpillBytes += descriptorReleasedBytes;
+                releasedBytes += descriptorReleasedBytes;
+            }
+            return releasedBytes;
+        }
+
+        public boolean isSpillPending(TaskDescriptorKey key)
+        {
+            return pendingSpillDescriptors.containsKey(key);
+        }
+
+        public void cancelSpill(TaskDescriptorKey key)
+        {
+            TaskDescriptor descriptor = pendingSpillDescriptors.remove(key);
+            descriptors.put(key, descriptor);
+            pendingSpillBytes -= getSpillReleasedBytes(descriptor);
+        }
+
+        /**
+         * @return the amount of memory released
+         */
+        public long completeSpill(TaskDescriptorKey key, SpilledTaskDescriptor spilledDescriptor)
+        {
+            TaskDescriptor descriptor = pendingSpillDescriptors.remove(key);
+            spilledDescriptors.put(key, spilledDescriptor);
+            long releasedBytes = getSpillReleasedBytes(descriptor);
+            pendingSpillBytes -= releasedBytes;
+            updateReservedBytes(key.stageId(), -releasedBytes);
+            return releasedBytes;
+        }
+
+        public FileChannel openSpillChannel(QueryId queryId)
+                throws IOException
+        {
+            if (spillChannel == null) {
+                Files.createDirectories(spillPath);
+                spillFile = Files.createTempFile(spillPath, queryId + "-", ".descriptors");
+                spillChannel = FileChannel.open(spillFile, WRITE, READ);
+            }
+            return spillChannel;
+        }
+
+        public FileChannel getSpillChannel()
+        {
+            return spillChannel;
+        }
+
+        public long allocateSpillSpace(int length)
+        {
+            spillSizeInBytes += length;
+            spilledBytes += length;
+            for (Map.Entry<Long, Long> entry : freeSpillSpace.entrySet()) {
+                if (entry.getValue() >= length) {
+                    freeSpillSpace.remove(entry.getKey());
+                    if (entry.getValue() > length) {
+                        freeSpillSpace.put(entry.getKey() + length, entry.getValue() - length);
+                    }
+                    return entry.getKey();
+                }
+            }
+            long offset = spillFileSize;
+            spillFileSize += length;
+            return offset;
+        }
+
+        public void freeSpillSpace(long offset, int length)
+        {
+            spillSizeInBytes -= length;
+            spilledBytes -= length;
+            spillRejected = false;
+            if (activeSpilledReads > 0) {
+                // a read in progress may still use this space
+                pendingFreeSpillSpace.add(new SpilledTaskDescriptor(offset, length));
+                return;
+            }
+            addFreeSpillSpace(offset, length);
+        }
+
+        private void addFreeSpillSpace(long offset, long length)
+        {
+            // merge with the adjacent free space
+            Map.Entry<Long, Long> previous = freeSpillSpace.floorEntry(offset);
+            if (previous != null && previous.getKey() + previous.getValue() == offset) {
+                freeSpillSpace.remove(previous.getKey());
+                offset = previous.getKey();
+                length += previous.getValue();
+            }
+            Long nextLength = freeSpillSpace.remove(offset + length);
+            if (nextLength != null) {
+                length += nextLength;
+            }
+            if (offset + length == spillFileSize) {
+                spillFileSize = offset;
+                return;
+            }
+            freeSpillSpace.put(offset, length);
+        }
+
+        public SpilledTaskDescriptor startSpilledRead(StageId stageId, int partitionId)
+        {
+            activeSpilledReads++;
+            return spilledDescriptors.get(new TaskDescriptorKey(stageId, partitionId));
+        }
+
+        public void finishSpilledRead()
+        {
+            activeSpilledReads--;
+            if (activeSpilledReads == 0 && !released) {
+                for (SpilledTaskDescriptor space : pendingFreeSpillSpace) {
+                    addFreeSpillSpace(space.offset(), space.length());
+                }
+                pendingFreeSpillSpace.clear();
+            }
+        }
+
+        public boolean isReleased()
+        {
+            return released;
+        }
+
+        /**
+         * Discards all descriptors and deletes the spill file.
+         */
+        public void release()
+        {
+            released = true;
+            descriptors.clear();
+            pendingSpillDescriptors.clear();
+            pendingSpillBytes = 0;
+            spilledDescriptors.clear();
+            freeSpillSpace.clear();
+            pendingFreeSpillSpace.clear();
+            if (spillSizeInBytes > 0) {
+                spilledBytes -= spillSizeInBytes;
+                spillRejected = false;
+            }
+            spillSizeInBytes = 0;
+            spillFileSize = 0;
+            if (spillChannel == null) {
+                return;
+            }
+            try {
+                spillChannel.close();
+                Files.deleteIfExists(spillFile);
+            }
+            catch (IOException e) {
+                log.warn(e, "Failed to delete task descriptor spill file %s", spillFile);
+            }
+            spillChannel = null;
+            spillFile = null;
+        }
+
+        private void updateReservedBytes(StageId stageId, long delta)
+        {
+            reservedBytes += delta;
+            stagesReservedBytes.computeIfAbsent(stageId, _ -> new AtomicLong()).addAndGet(delta);
+        }
+
         private String getDebugInfo()
         {
-            Multimap<StageId, TaskDescriptor> descriptorsByStageId = descriptors.cellSet().stream()
+            Multimap<StageId, TaskDescriptor> descriptorsByStageId = descriptors.entrySet().stream()
                     .collect(toImmutableSetMultimap(
-                            Table.Cell::getRowKey,
-                            Table.Cell::getValue));
+                            entry -> entry.getKey().stageId(),
+                            Map.Entry::getValue));
 
             Map<StageId, String> debugInfoByStageId = descriptorsByStageId.asMap().entrySet().stream()
                     .collect(toImmutableMap(
@@ -336,7 +795,7 @@ public class TaskDescriptorStorage
                     .map(entry -> "{nodeId=%s, size=%s, split=%s}".formatted(entry.getKey(), entry.getValue().getRetainedSizeInBytes(), splitJsonCodec.toJson(entry.getValue())))
                     .toList();
 
-            return "stagesInfo=%s; biggestSplits=%s".formatted(debugInfoByStageId, biggestSplits);
+            return "stagesInfo=%s; biggestSplits=%s; pendingSpillDescriptors=%s; spilledDescriptors=%s; spillFileSize=%s".formatted(debugInfoByStageId, biggestSplits, pendingSpillDescriptors.size(), spilledDescriptors.size(), spillFileSize);
         }
 
         private String getDebugInfo(Collection<TaskDescriptor> taskDescriptors)
@@ -368,13 +827,13 @@ public class TaskDescriptorStorage
         private void fail(RuntimeException failure)
         {
             if (this.failure == null) {
-                descriptors.clear();
+                release();
                 reservedBytes = 0;
                 this.failure = failure;
             }
         }
 
-        private void throwIfFailed()
+        public void throwIfFailed()
         {
             if (failure != null) {
                 throw failure;
@@ -383,7 +842,11 @@ public class TaskDescriptorStorage
 
         public int getStagesCount()
         {
-            return descriptors.rowMap().size();
+            return Stream.of(descriptors.keySet(), pendingSpillDescriptors.keySet(), spilledDescriptors.keySet())
+                    .flatMap(Set::stream)
+                    .map(TaskDescriptorKey::stageId)
+                    .collect(toImmutableSet())
+                    .size();
         }
 
         public Stream<Long> getStagesReservedBytes()
@@ -393,10 +856,28 @@ public class TaskDescriptorStorage
         }
     }
 
+    private static long getSpillReleasedBytes(TaskDescriptor descriptor)
+    {
+        return descriptor.getRetainedSizeInBytes() - SPILLED_DESCRIPTOR_RETAINED_SIZE;
+    }
+
+    private record TaskDescriptorKey(StageId stageId, int partitionId)
+    {
+        public TaskDescriptorKey
+        {
+            requireNonNull(stageId, "stageId is null");
+        }
+    }
+
+    private record SpilledTaskDescriptor(long offset, int length) {}
+
+    private record SpillTask(QueryId queryId, TaskDescriptors storage, TaskDescriptorKey key, TaskDescriptor descriptor) {}
+
     private record StorageStatsValue(
             long queriesCount,
             long stagesCount,
             long reservedBytes,
+            long spilledBytes,
             long queryReservedBytesAvg,
             long queryReservedBytesP50,
             long queryReservedBytesP90,
@@ -433,6 +914,12 @@ public class TaskDescriptorStorage
             return statsSupplier.get().reservedBytes();
         }
 
+        @Managed
+        public long getSpilledBytes()
+        {
+            return statsSupplier.get().spilledBytes();
+        }
+
         @Managed
         public long getQueryReservedBytesAvg()
         {
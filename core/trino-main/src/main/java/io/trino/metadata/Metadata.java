@@ -161,6 +161,11 @@ public interface Metadata
      */
     TableStatistics getTableStatistics(Session session, TableHandle tableHandle);
 
+    /**
+     * Return the version of the data of the specified table, or empty if the connector does not track the versions of the table.
+     */
+    Optional<String> getDataVersion(Session session, TableHandle tableHandle);
+
     /**
      * Get the relation names that match the specified table prefix (never null).
      * This includes all relations (e.g. tables, views, materialized views).
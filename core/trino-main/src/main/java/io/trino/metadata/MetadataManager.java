@@ -486,6 +486,14 @@ public final class MetadataManager
         return tableStatistics;
     }
 
+    @Override
+    public Optional<String> getDataVersion(Session session, TableHandle tableHandle)
+    {
+        CatalogHandle catalogHandle = tableHandle.catalogHandle();
+        ConnectorMetadata metadata = getMetadata(session, catalogHandle);
+        return metadata.getDataVersion(session.toConnectorSession(catalogHandle), tableHandle.connectorHandle());
+    }
+
     @Override
     public Map<String, ColumnHandle> getColumnHandles(Session session, TableHandle tableHandle)
     {
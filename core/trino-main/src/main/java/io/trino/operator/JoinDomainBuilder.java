@@ -23,6 +23,7 @@ import io.trino.spi.block.DictionaryBlock;
 import io.trino.spi.block.LazyBlock;
 import io.trino.spi.block.RunLengthEncodedBlock;
 import io.trino.spi.block.ValueBlock;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.ValueSet;
 import io.trino.spi.type.Type;
@@ -31,6 +32,7 @@ import io.trino.spi.type.TypeOperators;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.Optional;
 
 import static io.airlift.slice.SizeOf.instanceSize;
 import static io.airlift.slice.SizeOf.sizeOf;
@@ -66,6 +68,7 @@ public class JoinDomainBuilder
 
     private final int maxDistinctValues;
     private final long maxFilterSizeInBytes;
+    private final Optional<DataSize> bloomFilterMaxSize;
     private final Runnable notifyStateChange;
 
     private final MethodHandle readFlat;
@@ -98,6 +101,8 @@ public class JoinDomainBuilder
 
     private boolean collectDistinctValues = true;
     private boolean collectMinMax;
+    // values are collected in a bloom filter once there are too many of them to be collected as distinct values
+    private BloomFilter.Builder bloomFilter;
 
     private long retainedSizeInBytes = INSTANCE_SIZE;
 
@@ -106,6 +111,7 @@ public class JoinDomainBuilder
             int maxDistinctValues,
             DataSize maxFilterSize,
             boolean minMaxEnabled,
+            Optional<DataSize> bloomFilterMaxSize,
             Runnable notifyStateChange,
             TypeOperators typeOperators)
     {
@@ -113,6 +119,7 @@ public class JoinDomainBuilder
 
         this.maxDistinctValues = maxDistinctValues;
         this.maxFilterSizeInBytes = maxFilterSize.toBytes();
+        this.bloomFilterMaxSize = requireNonNull(bloomFilterMaxSize, "bloomFilterMaxSize is null");
         this.notifyStateChange = requireNonNull(notifyStateChange, "notifyStateChange is null");
 
         // Skipping DOUBLE and REAL in collectMinMaxValues to avoid dealing with NaN values
@@ -157,12 +164,18 @@ public class JoinDomainBuilder
 
     public boolean isCollecting()
     {
-        return collectMinMax || collectDistinctValues;
+        return collectMinMax || collectDistinctValues || bloomFilter != null;
     }
 
     public void add(Block block)
     {
         block = block.getLoadedBlock();
+        if (bloomFilter != null) {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                bloomFilter.add(block, position);
+            }
+        }
+
         if (collectDistinctValues) {
             switch (block) {
                 case ValueBlock valueBlock -> {
@@ -180,9 +193,18 @@ public class JoinDomainBuilder
                 case LazyBlock _ -> throw new VerifyException("Did not expect LazyBlock after loading " + block.getClass().getSimpleName());
             }
 
-            // if the distinct size is too large, fall back to min max, and drop the distinct values
+            // if the distinct size is too large, fall back to min max and bloom filter, and drop the distinct values
             if (distinctSize > maxDistinctValues || getRetainedSizeInBytes() > maxFilterSizeInBytes) {
                 retainedSizeInBytes = INSTANCE_SIZE;
+                if (bloomFilterMaxSize.isPresent()) {
+                    bloomFilter = BloomFilter.builder(type, bloomFilterMaxSize.get().toBytes());
+                    for (int index = 0; index < distinctCapacity; index++) {
+                        if (distinctControl[index] != 0) {
+                            bloomFilter.add(readValueToBlock(index), 0);
+                        }
+                    }
+                    retainedSizeInBytes += bloomFilter.getRetainedSizeInBytes();
+                }
                 if (collectMinMax) {
                     int minIndex = -1;
                     int maxIndex = -1;
@@ -208,7 +230,7 @@ public class JoinDomainBuilder
                         retainedSizeInBytes += minValue.getRetainedSizeInBytes() + maxValue.getRetainedSizeInBytes();
                     }
                 }
-                else {
+                else if (bloomFilter == null) {
                     notifyStateChange.run();
                 }
 
@@ -309,6 +331,17 @@ public class JoinDomainBuilder
         return Domain.all(type);
     }
 
+    /**
+     * Returns the bloom filter of the values, when there were too many of them to be collected as distinct values.
+     */
+    public Optional<BloomFilter> buildBloomFilter()
+    {
+        if (bloomFilter == null) {
+            return Optional.empty();
+        }
+        return Optional.of(bloomFilter.build());
+    }
+
     private void add(ValueBlock block, int position)
     {
         // Inner and right join doesn't match rows with null key column values.
@@ -36,6 +36,7 @@ import io.trino.memory.QueryContextVisitor;
 import io.trino.memory.context.AggregatedMemoryContext;
 import io.trino.memory.context.LocalMemoryContext;
 import io.trino.memory.context.MemoryTrackingContext;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.sql.planner.LocalDynamicFiltersCollector;
 import io.trino.sql.planner.plan.DynamicFilterId;
@@ -427,6 +428,11 @@ public class TaskContext
         dynamicFiltersCollector.updateDomains(dynamicFilterDomains);
     }
 
+    public void updateDomains(Map<DynamicFilterId, Domain> dynamicFilterDomains, Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters)
+    {
+        dynamicFiltersCollector.updateDomains(dynamicFilterDomains, dynamicFilterBloomFilters);
+    }
+
     public long getDynamicFiltersVersion()
     {
         return dynamicFiltersCollector.getDynamicFiltersVersion();
@@ -665,6 +671,11 @@ public class TaskContext
         localDynamicFiltersCollector.collectDynamicFilterDomains(dynamicFilterDomains);
     }
 
+    public void addDynamicFilter(Map<DynamicFilterId, Domain> dynamicFilterDomains, Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters)
+    {
+        localDynamicFiltersCollector.collectDynamicFilterDomains(dynamicFilterDomains, dynamicFilterBloomFilters);
+    }
+
     public void sourceTaskFailed(TaskId taskId, Throwable failure)
     {
         taskStateMachine.sourceTaskFailed(taskId, failure);
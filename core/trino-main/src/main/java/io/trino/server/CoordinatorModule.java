@@ -57,6 +57,8 @@ import io.trino.execution.QueryManager;
 import io.trino.execution.QueryManagerConfig;
 import io.trino.execution.QueryPerformanceFetcher;
 import io.trino.execution.QueryPreparer;
+import io.trino.execution.QueryResultCache;
+import io.trino.execution.QueryResultCacheConfig;
 import io.trino.execution.RemoteTaskFactory;
 import io.trino.execution.SqlQueryManager;
 import io.trino.execution.StageInfo;
@@ -115,6 +117,8 @@ import io.trino.sql.PlannerContext;
 import io.trino.sql.analyzer.AnalyzerFactory;
 import io.trino.sql.analyzer.QueryExplainerFactory;
 import io.trino.sql.planner.OptimizerStatsMBeanExporter;
+import io.trino.sql.planner.PlanCache;
+import io.trino.sql.planner.PlanCacheConfig;
 import io.trino.sql.planner.PlanFragmenter;
 import io.trino.sql.planner.PlanOptimizers;
 import io.trino.sql.planner.PlanOptimizersFactory;
@@ -306,6 +310,14 @@ public class CoordinatorModule
         // planner
         binder.bind(PlanFragmenter.class).in(Scopes.SINGLETON);
         binder.bind(PlanOptimizersFactory.class).to(PlanOptimizers.class).in(Scopes.SINGLETON);
+        configBinder(binder).bindConfig(PlanCacheConfig.class);
+        binder.bind(PlanCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(PlanCache.class).withGeneratedName();
+
+        // query result cache
+        configBinder(binder).bindConfig(QueryResultCacheConfig.class);
+        binder.bind(QueryResultCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(QueryResultCache.class).withGeneratedName();
 
         // Optimizer/Rule Stats exporter
         binder.bind(RuleStatsRecorder.class).in(Scopes.SINGLETON);
@@ -40,11 +40,13 @@ import io.trino.spi.QueryId;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.Type;
 import io.trino.spi.type.TypeOperators;
 import io.trino.sql.DynamicFilters;
+import io.trino.sql.planner.BloomFilterSummary;
 import io.trino.sql.planner.PlanFragment;
 import io.trino.sql.planner.SubPlan;
 import io.trino.sql.planner.Symbol;
@@ -58,6 +60,7 @@ import org.roaringbitmap.RoaringBitmap;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -69,7 +72,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 
 import static com.google.common.base.Functions.identity;
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -90,6 +93,7 @@ import static io.airlift.concurrent.MoreFutures.toCompletableFuture;
 import static io.airlift.concurrent.MoreFutures.unmodifiableFuture;
 import static io.airlift.concurrent.MoreFutures.whenAnyComplete;
 import static io.trino.SystemSessionProperties.getRetryPolicy;
+import static io.trino.SystemSessionProperties.isEnableDynamicFilteringBloomFilters;
 import static io.trino.SystemSessionProperties.isEnableLargeDynamicFilters;
 import static io.trino.spi.connector.DynamicFilter.EMPTY;
 import static io.trino.spi.predicate.Domain.union;
@@ -363,10 +367,31 @@ public class DynamicFilterService
                 currentDynamicFilter.set(new CurrentDynamicFilter(completedDynamicFilters.size(), dynamicFilter));
                 return dynamicFilter;
             }
+
+            @Override
+            public Map<ColumnHandle, BloomFilter> getCurrentBloomFilters()
+            {
+                Map<ColumnHandle, BloomFilter> bloomFilters = new HashMap<>();
+                for (DynamicFilterId filterId : dynamicFilters) {
+                    context.getDynamicFilterBloomFilter(filterId).ifPresent(bloomFilter -> {
+                        for (DynamicFilters.Descriptor descriptor : symbolsMap.get(filterId)) {
+                            descriptor.applyBloomFilter(bloomFilter).ifPresent(columnBloomFilter -> bloomFilters.merge(
+                                    columnHandles.get(Symbol.from(descriptor.getInput())),
+                                    columnBloomFilter,
+                                    BloomFilter::intersect));
+                        }
+                    });
+                }
+                return ImmutableMap.copyOf(bloomFilters);
+            }
         };
     }
 
-    public void registerDynamicFilterConsumer(QueryId queryId, int attemptId, Set<DynamicFilterId> dynamicFilterIds, Consumer<Map<DynamicFilterId, Domain>> consumer)
+    public void registerDynamicFilterConsumer(
+            QueryId queryId,
+            int attemptId,
+            Set<DynamicFilterId> dynamicFilterIds,
+            BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>> consumer)
     {
         DynamicFilterContext context = dynamicFilterContexts.get(queryId);
         if (context == null || attemptId < context.getAttemptId()) {
@@ -383,6 +408,11 @@ public class DynamicFilterService
     }
 
     public void addTaskDynamicFilters(TaskId taskId, Map<DynamicFilterId, Domain> newDynamicFilters)
+    {
+        addTaskDynamicFilters(taskId, newDynamicFilters, ImmutableMap.of());
+    }
+
+    public void addTaskDynamicFilters(TaskId taskId, Map<DynamicFilterId, Domain> newDynamicFilters, Map<DynamicFilterId, BloomFilter> newBloomFilters)
     {
         DynamicFilterContext context = dynamicFilterContexts.get(taskId.getQueryId());
         int taskAttemptId = taskId.getAttemptId();
@@ -395,7 +425,7 @@ public class DynamicFilterService
                 "Query %s retry attempt %s has not been registered with dynamic filter service",
                 taskId.getQueryId(),
                 taskAttemptId);
-        context.addTaskDynamicFilters(taskId, newDynamicFilters);
+        context.addTaskDynamicFilters(taskId, newDynamicFilters, newBloomFilters);
     }
 
     public void stageCannotScheduleMoreTasks(StageId stageId, int attemptId, int numberOfTasks)
@@ -428,6 +458,12 @@ public class DynamicFilterService
         return dynamicFilterContexts.get(queryId).getDynamicFilterSummary(filterId);
     }
 
+    @VisibleForTesting
+    Optional<BloomFilter> getBloomFilter(QueryId queryId, DynamicFilterId filterId)
+    {
+        return dynamicFilterContexts.get(queryId).getDynamicFilterBloomFilter(filterId);
+    }
+
     private TupleDomain<ColumnHandle> translateSummaryToTupleDomain(
             Session session,
             DynamicFilterId filterId,
@@ -676,6 +712,8 @@ public class DynamicFilterService
     {
         private final boolean replicated;
         private final long domainSizeLimitInBytes;
+        // null when bloom filters are not collected
+        private final BloomFilterSummary bloomFilterSummary;
         @GuardedBy("collectedTasks")
         private final RoaringBitmap collectedTasks = new RoaringBitmap();
         private final Queue<Domain> summaryDomains = new ConcurrentLinkedQueue<>();
@@ -691,28 +729,34 @@ public class DynamicFilterService
         // modifications @GuardedBy("this")
         private volatile boolean collected;
         private final SettableFuture<Domain> collectedDomainsFuture = SettableFuture.create();
+        // set before collectedDomainsFuture is completed
+        private volatile Optional<BloomFilter> collectedBloomFilter = Optional.empty();
 
-        private DynamicFilterCollectionContext(boolean replicated, long domainSizeLimitInBytes)
+        private DynamicFilterCollectionContext(boolean replicated, long domainSizeLimitInBytes, boolean collectBloomFilters)
         {
             this.replicated = replicated;
             this.domainSizeLimitInBytes = domainSizeLimitInBytes;
+            this.bloomFilterSummary = collectBloomFilters ? new BloomFilterSummary() : null;
         }
 
-        public void collect(TaskId taskId, Domain domain)
+        public void collect(TaskId taskId, Domain domain, Optional<BloomFilter> bloomFilter)
         {
             if (collected) {
                 return;
             }
 
+            if (bloomFilterSummary == null) {
+                bloomFilter = Optional.empty();
+            }
             if (replicated) {
-                collectReplicated(domain);
+                collectReplicated(domain, bloomFilter);
             }
             else {
-                collectPartitioned(taskId, domain);
+                collectPartitioned(taskId, domain, bloomFilter);
             }
         }
 
-        private void collectReplicated(Domain domain)
+        private void collectReplicated(Domain domain, Optional<BloomFilter> bloomFilter)
         {
             if (domain.getRetainedSizeInBytes() > domainSizeLimitInBytes) {
                 domain = domain.simplify(1);
@@ -730,10 +774,12 @@ public class DynamicFilterService
                 result = domain;
             }
             collectionDuration.set(Duration.succinctNanos(System.nanoTime() - start));
+            // a bloom filter of the replicated build side is complete, even if its domain exceeds the size limit
+            collectedBloomFilter = bloomFilter.map(BloomFilter::compact);
             collectedDomainsFuture.set(result);
         }
 
-        private void collectPartitioned(TaskId taskId, Domain domain)
+        private void collectPartitioned(TaskId taskId, Domain domain, Optional<BloomFilter> bloomFilter)
         {
             synchronized (collectedTasks) {
                 if (!collectedTasks.checkedAdd(taskId.getPartitionId())) {
@@ -741,11 +787,18 @@ public class DynamicFilterService
                 }
             }
 
+            if (bloomFilterSummary != null) {
+                bloomFilterSummary.add(domain, bloomFilter);
+            }
+            // collection can be finished early with a domain which is all, unless it has a bloom filter
+            boolean unbounded = domain.isAll() && bloomFilter.isEmpty();
+
             summaryDomainsRetainedSizeInBytes.addAndGet(domain.getRetainedSizeInBytes());
             summaryDomains.add(domain);
             unionSummaryDomainsIfNecessary(false);
 
             Domain result;
+            Optional<BloomFilter> resultBloomFilter = Optional.empty();
             synchronized (this) {
                 if (collected) {
                     clearSummaryDomains();
@@ -774,7 +827,7 @@ public class DynamicFilterService
                     }
                 }
 
-                boolean collectionFinished = sizeLimitExceeded || domain.isAll() || allPartitionsCollected;
+                boolean collectionFinished = sizeLimitExceeded || unbounded || allPartitionsCollected;
                 if (!collectionFinished) {
                     return;
                 }
@@ -782,7 +835,7 @@ public class DynamicFilterService
                 if (sizeLimitExceeded) {
                     result = allDomain;
                 }
-                else if (domain.isAll()) {
+                else if (unbounded) {
                     clearSummaryDomains();
                     result = domain;
                 }
@@ -794,13 +847,25 @@ public class DynamicFilterService
                     verify(result != null);
                     long currentSize = summaryDomainsRetainedSizeInBytes.addAndGet(-result.getRetainedSizeInBytes());
                     verify(currentSize == 0, "currentSize is expected to be zero: %s", currentSize);
+                    resultBloomFilter = buildBloomFilter();
                 }
             }
 
             collectionDuration.set(Duration.succinctNanos(System.nanoTime() - start));
+            collectedBloomFilter = resultBloomFilter;
             collectedDomainsFuture.set(result);
         }
 
+        private Optional<BloomFilter> buildBloomFilter()
+        {
+            if (bloomFilterSummary == null) {
+                return Optional.empty();
+            }
+            // bloom filters are collected with the size configured for the largest build sides, so they are
+            // compacted before being sent to the workers
+            return bloomFilterSummary.build().map(BloomFilter::compact);
+        }
+
         private void unionSummaryDomainsIfNecessary(boolean force)
         {
             if (summaryDomainsRetainedSizeInBytes.get() < domainSizeLimitInBytes && !force) {
@@ -856,6 +921,7 @@ public class DynamicFilterService
             checkArgument(count > 0, "count is expected to be greater than zero: %s", count);
 
             Domain result;
+            Optional<BloomFilter> resultBloomFilter;
             synchronized (this) {
                 if (collected || expectedTaskCount != null) {
                     return;
@@ -876,9 +942,11 @@ public class DynamicFilterService
                 verify(result != null);
                 long currentSize = summaryDomainsRetainedSizeInBytes.addAndGet(-result.getRetainedSizeInBytes());
                 verify(currentSize == 0, "currentSize is expected to be zero: %s", currentSize);
+                resultBloomFilter = buildBloomFilter();
             }
 
             collectionDuration.set(Duration.succinctNanos(System.nanoTime() - start));
+            collectedBloomFilter = resultBloomFilter;
             collectedDomainsFuture.set(result);
         }
 
@@ -887,6 +955,14 @@ public class DynamicFilterService
             return collectedDomainsFuture;
         }
 
+        /**
+         * Returns the bloom filter of the collected domain, only valid once the domain is collected.
+         */
+        public Optional<BloomFilter> getCollectedBloomFilter()
+        {
+            return collectedBloomFilter;
+        }
+
         public Optional<Duration> getCollectionDuration()
         {
             return Optional.ofNullable(collectionDuration.get());
@@ -924,7 +1000,10 @@ public class DynamicFilterService
             this.dynamicFilterSizeLimit = requireNonNull(dynamicFilterSizeLimit, "dynamicFilterSizeLimit is null");
             ImmutableMap.Builder<DynamicFilterId, DynamicFilterCollectionContext> collectionContexts = ImmutableMap.builder();
             for (DynamicFilterId dynamicFilterId : dynamicFilters) {
-                DynamicFilterCollectionContext collectionContext = new DynamicFilterCollectionContext(replicatedDynamicFilters.contains(dynamicFilterId), dynamicFilterSizeLimit.toBytes());
+                DynamicFilterCollectionContext collectionContext = new DynamicFilterCollectionContext(
+                        replicatedDynamicFilters.contains(dynamicFilterId),
+                        dynamicFilterSizeLimit.toBytes(),
+                        isEnableDynamicFilteringBloomFilters(session));
                 collectionContexts.put(dynamicFilterId, collectionContext);
                 SettableFuture<Void> lazyDynamicFilterFuture = this.lazyDynamicFilters.get(dynamicFilterId);
                 if (lazyDynamicFilterFuture != null) {
@@ -946,12 +1025,16 @@ public class DynamicFilterService
                     attemptId);
         }
 
-        void addDynamicFilterConsumer(Set<DynamicFilterId> dynamicFilterIds, Consumer<Map<DynamicFilterId, Domain>> consumer)
+        void addDynamicFilterConsumer(Set<DynamicFilterId> dynamicFilterIds, BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>> consumer)
         {
             for (DynamicFilterId dynamicFilterId : dynamicFilterIds) {
                 DynamicFilterCollectionContext collectionContext = dynamicFilterCollectionContexts.get(dynamicFilterId);
                 verify(collectionContext != null, "collectionContext is missing for %s", dynamicFilterId);
-                addSuccessCallback(collectionContext.getCollectedDomainFuture(), domain -> consumer.accept(ImmutableMap.of(dynamicFilterId, domain)));
+                addSuccessCallback(collectionContext.getCollectedDomainFuture(), domain -> consumer.accept(
+                        ImmutableMap.of(dynamicFilterId, domain),
+                        collectionContext.getCollectedBloomFilter()
+                                .map(bloomFilter -> ImmutableMap.of(dynamicFilterId, bloomFilter))
+                                .orElse(ImmutableMap.of())));
             }
         }
 
@@ -965,12 +1048,12 @@ public class DynamicFilterService
             return dynamicFilters.size();
         }
 
-        private void addTaskDynamicFilters(TaskId taskId, Map<DynamicFilterId, Domain> newDynamicFilters)
+        private void addTaskDynamicFilters(TaskId taskId, Map<DynamicFilterId, Domain> newDynamicFilters, Map<DynamicFilterId, BloomFilter> newBloomFilters)
         {
             newDynamicFilters.forEach((dynamicFilterId, domain) -> {
                 DynamicFilterCollectionContext collectionContext = dynamicFilterCollectionContexts.get(dynamicFilterId);
                 verify(collectionContext != null, "collectionContext is missing for %s", dynamicFilterId);
-                collectionContext.collect(taskId, domain);
+                collectionContext.collect(taskId, domain, Optional.ofNullable(newBloomFilters.get(dynamicFilterId)));
             });
 
             if (stageDynamicFilters.computeIfAbsent(taskId.getStageId(), key -> newConcurrentHashSet()).addAll(newDynamicFilters.keySet())) {
@@ -1015,6 +1098,15 @@ public class DynamicFilterService
             return Optional.of(getFutureValue(context.getCollectedDomainFuture()));
         }
 
+        private Optional<BloomFilter> getDynamicFilterBloomFilter(DynamicFilterId filterId)
+        {
+            DynamicFilterCollectionContext context = dynamicFilterCollectionContexts.get(filterId);
+            if (context == null || !context.getCollectedDomainFuture().isDone()) {
+                return Optional.empty();
+            }
+            return context.getCollectedBloomFilter();
+        }
+
         private Map<DynamicFilterId, SettableFuture<Void>> getLazyDynamicFilters()
         {
             return lazyDynamicFilters;
@@ -124,6 +124,8 @@ import io.trino.split.PageSinkManager;
 import io.trino.split.PageSinkProvider;
 import io.trino.split.PageSourceManager;
 import io.trino.split.PageSourceProviderFactory;
+import io.trino.split.SharedTableScanConfig;
+import io.trino.split.SharedTableScanManager;
 import io.trino.split.SplitManager;
 import io.trino.sql.PlannerContext;
 import io.trino.sql.SqlEnvironmentConfig;
@@ -366,6 +368,9 @@ public class ServerMainModule
         // data stream provider
         binder.bind(PageSourceManager.class).in(Scopes.SINGLETON);
         binder.bind(PageSourceProviderFactory.class).to(PageSourceManager.class).in(Scopes.SINGLETON);
+        configBinder(binder).bindConfig(SharedTableScanConfig.class);
+        binder.bind(SharedTableScanManager.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(SharedTableScanManager.class).withGeneratedName();
 
         // page sink provider
         binder.bind(PageSinkManager.class).in(Scopes.SINGLETON);
@@ -166,6 +166,7 @@ public class TaskResource
                 taskUpdateRequest.splitAssignments(),
                 taskUpdateRequest.outputIds(),
                 taskUpdateRequest.dynamicFilterDomains(),
+                taskUpdateRequest.dynamicFilterBloomFilters(),
                 taskUpdateRequest.speculative());
 
         if (shouldSummarize(uriInfo)) {
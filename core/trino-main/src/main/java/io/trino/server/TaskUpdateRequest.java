@@ -20,6 +20,7 @@ import io.opentelemetry.api.trace.Span;
 import io.trino.SessionRepresentation;
 import io.trino.execution.SplitAssignment;
 import io.trino.execution.buffer.OutputBuffers;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.sql.planner.PlanFragment;
 import io.trino.sql.planner.plan.DynamicFilterId;
@@ -42,6 +43,7 @@ public record TaskUpdateRequest(
         List<SplitAssignment> splitAssignments,
         OutputBuffers outputIds,
         Map<DynamicFilterId, Domain> dynamicFilterDomains,
+        Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters,
         Optional<Slice> exchangeEncryptionKey,
         boolean speculative)
 {
@@ -54,6 +56,7 @@ public record TaskUpdateRequest(
         splitAssignments = ImmutableList.copyOf(splitAssignments);
         requireNonNull(outputIds, "outputIds is null");
         dynamicFilterDomains = ImmutableMap.copyOf(dynamicFilterDomains);
+        dynamicFilterBloomFilters = ImmutableMap.copyOf(dynamicFilterBloomFilters);
         requireNonNull(exchangeEncryptionKey, "exchangeEncryptionKey is null");
     }
 
@@ -67,6 +70,7 @@ public record TaskUpdateRequest(
                 .add("splitAssignments", splitAssignments)
                 .add("outputIds", outputIds)
                 .add("dynamicFilterDomains", dynamicFilterDomains)
+                .add("dynamicFilterBloomFilters", dynamicFilterBloomFilters)
                 .add("exchangeEncryptionKey", exchangeEncryptionKey.map(_ -> "[REDACTED]"))
                 .add("speculative", speculative)
                 .toString();
@@ -38,6 +38,7 @@ import io.trino.execution.BasicStageInfo;
 import io.trino.execution.QueryExecution;
 import io.trino.execution.QueryInfo;
 import io.trino.execution.QueryManager;
+import io.trino.execution.QueryResultCache;
 import io.trino.execution.QueryState;
 import io.trino.execution.StageId;
 import io.trino.execution.buffer.PageDeserializer;
@@ -120,6 +121,7 @@ class Query
 
     private final Executor resultsProcessorExecutor;
     private final ScheduledExecutorService timeoutExecutor;
+    private final QueryResultCache queryResultCache;
 
     @GuardedBy("this")
     private PageDeserializer deserializer;
@@ -194,7 +196,8 @@ class Query
             ExchangeManagerRegistry exchangeManagerRegistry,
             Executor dataProcessorExecutor,
             ScheduledExecutorService timeoutExecutor,
-            BlockEncodingSerde blockEncodingSerde)
+            BlockEncodingSerde blockEncodingSerde,
+            QueryResultCache queryResultCache)
     {
         ExchangeDataSource exchangeDataSource = new LazyExchangeDataSource(
                 session.getQueryId(),
@@ -206,7 +209,7 @@ class Query
                 getRetryPolicy(session),
                 exchangeManagerRegistry);
 
-        Query result = new Query(session, slug, queryManager, queryDataProducer, queryInfoUrl, exchangeDataSource, dataProcessorExecutor, timeoutExecutor, blockEncodingSerde);
+        Query result = new Query(session, slug, queryManager, queryDataProducer, queryInfoUrl, exchangeDataSource, dataProcessorExecutor, timeoutExecutor, blockEncodingSerde, queryResultCache);
 
         result.queryManager.setOutputInfoListener(result.getQueryId(), result::setQueryOutputInfo);
 
@@ -231,7 +234,8 @@ class Query
             ExchangeDataSource exchangeDataSource,
             Executor resultsProcessorExecutor,
             ScheduledExecutorService timeoutExecutor,
-            BlockEncodingSerde blockEncodingSerde)
+            BlockEncodingSerde blockEncodingSerde,
+            QueryResultCache queryResultCache)
     {
         requireNonNull(session, "session is null");
         requireNonNull(slug, "slug is null");
@@ -242,6 +246,7 @@ class Query
         requireNonNull(resultsProcessorExecutor, "resultsProcessorExecutor is null");
         requireNonNull(timeoutExecutor, "timeoutExecutor is null");
         requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
+        requireNonNull(queryResultCache, "queryResultCache is null");
 
         this.queryManager = queryManager;
         this.queryDataProducer = queryDataProducer;
@@ -252,6 +257,7 @@ class Query
         this.exchangeDataSource = exchangeDataSource;
         this.resultsProcessorExecutor = resultsProcessorExecutor;
         this.timeoutExecutor = timeoutExecutor;
+        this.queryResultCache = queryResultCache;
         this.supportsParametricDateTime = session.getClientCapabilities().contains(ClientCapabilities.PARAMETRIC_DATETIME.toString());
         deserializer = new PagesSerdeFactory(blockEncodingSerde, getExchangeCompressionCodec(session))
                 .createDeserializer(session.getExchangeEncryptionKey().map(Ciphers::deserializeAesEncryptionKey));
@@ -277,6 +283,7 @@ class Query
     public synchronized void dispose()
     {
         exchangeDataSource.close();
+        queryResultCache.resultFailed(queryId);
     }
 
     public QueryId getQueryId()
@@ -573,9 +580,13 @@ class Query
                 page = page.getLoadedPage();
                 bytes += estimateJsonSize(page);
                 resultBuilder.addPage(page);
+                queryResultCache.addPage(queryId, page);
             }
             if (exchangeDataSource.isFinished()) {
                 exchangeDataSource.close();
+                if (queryInfo.state() != FAILED) {
+                    queryResultCache.resultFinished(queryId);
+                }
                 deserializer = null; // null to reclaim memory of PagesSerde which does not expose explicit lifecycle
             }
         }
@@ -265,7 +265,7 @@ class DynamicFiltersFetcher
 
         // Subsequent DF versions can be narrowing down only. Therefore order in which they are intersected
         // (and passed to dynamic filter service) doesn't matter.
-        dynamicFilterService.addTaskDynamicFilters(taskId, newDynamicFilterDomains.getDynamicFilterDomains());
+        dynamicFilterService.addTaskDynamicFilters(taskId, newDynamicFilterDomains.getDynamicFilterDomains(), newDynamicFilterDomains.getDynamicFilterBloomFilters());
     }
 
     private void updateStats(long currentRequestStartNanos)
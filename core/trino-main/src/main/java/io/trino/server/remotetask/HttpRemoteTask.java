@@ -768,6 +768,7 @@ public final class HttpRemoteTask
                 splitAssignments,
                 outputBuffers.get(),
                 dynamicFilterDomains.getDynamicFilterDomains(),
+                dynamicFilterDomains.getDynamicFilterBloomFilters(),
                 session.getExchangeEncryptionKey(),
                 speculative.get());
         byte[] taskUpdateRequestJson = taskUpdateRequestCodec.toJsonBytes(updateRequest);
@@ -26,37 +26,45 @@ import io.trino.spi.connector.ConnectorPageSourceProviderFactory;
 import io.trino.spi.connector.DynamicFilter;
 import io.trino.spi.connector.EmptyPageSource;
 import io.trino.spi.predicate.TupleDomain;
+import io.trino.split.SharedTableScanManager.SharedTableScanKey;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.trino.SystemSessionProperties.isAllowPushdownIntoConnectors;
+import static io.trino.SystemSessionProperties.isShareTableScans;
+import static io.trino.split.SharedTableScanManager.createKey;
 import static java.util.Objects.requireNonNull;
 
 public class PageSourceManager
         implements PageSourceProviderFactory
 {
     private final CatalogServiceProvider<ConnectorPageSourceProviderFactory> pageSourceProviderFactory;
+    private final SharedTableScanManager sharedTableScanManager;
 
     @Inject
-    public PageSourceManager(CatalogServiceProvider<ConnectorPageSourceProviderFactory> pageSourceProviderFactory)
+    public PageSourceManager(CatalogServiceProvider<ConnectorPageSourceProviderFactory> pageSourceProviderFactory, SharedTableScanManager sharedTableScanManager)
     {
         this.pageSourceProviderFactory = requireNonNull(pageSourceProviderFactory, "pageSourceProviderFactory is null");
+        this.sharedTableScanManager = requireNonNull(sharedTableScanManager, "sharedTableScanManager is null");
     }
 
     @Override
     public PageSourceProvider createPageSourceProvider(CatalogHandle catalogHandle)
     {
         ConnectorPageSourceProviderFactory provider = pageSourceProviderFactory.getService(catalogHandle);
-        return new PageSourceProviderInstance(provider.createPageSourceProvider());
+        return new PageSourceProviderInstance(provider.createPageSourceProvider(), sharedTableScanManager);
     }
 
-    private record PageSourceProviderInstance(ConnectorPageSourceProvider pageSourceProvider)
+    private record PageSourceProviderInstance(ConnectorPageSourceProvider pageSourceProvider, SharedTableScanManager sharedTableScanManager)
             implements PageSourceProvider
     {
         private PageSourceProviderInstance
         {
             requireNonNull(pageSourceProvider, "pageSourceProvider is null");
+            requireNonNull(sharedTableScanManager, "sharedTableScanManager is null");
         }
 
         @Override
@@ -76,13 +84,23 @@ public class PageSourceManager
             if (!isAllowPushdownIntoConnectors(session)) {
                 dynamicFilter = DynamicFilter.EMPTY;
             }
-            return pageSourceProvider.createPageSource(
+            DynamicFilter pageSourceDynamicFilter = dynamicFilter;
+            Supplier<ConnectorPageSource> pageSourceSupplier = () -> pageSourceProvider.createPageSource(
                     table.transaction(),
                     session.toConnectorSession(table.catalogHandle()),
                     split.getConnectorSplit(),
                     table.connectorHandle(),
                     columns,
-                    dynamicFilter);
+                    pageSourceDynamicFilter);
+
+            // the pages read with a dynamic filter depend on the query
+            if (isShareTableScans(session) && dynamicFilter.isComplete() && constraint.isAll()) {
+                Optional<SharedTableScanKey> key = createKey(session, split, table, columns);
+                if (key.isPresent()) {
+                    return sharedTableScanManager.createPageSource(key.get(), pageSourceSupplier);
+                }
+            }
+            return pageSourceSupplier.get();
         }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.split;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.airlift.units.MaxDuration;
+import jakarta.validation.constraints.NotNull;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class SharedTableScanConfig
+{
+    private DataSize maxSize = DataSize.of(256, MEGABYTE);
+    private DataSize maxSplitSize = DataSize.of(16, MEGABYTE);
+    private Duration ttl = new Duration(10, SECONDS);
+    private Duration maxWait = new Duration(5, SECONDS);
+
+    @NotNull
+    public DataSize getMaxSize()
+    {
+        return maxSize;
+    }
+
+    @Config("shared-table-scan.max-size")
+    @ConfigDescription("Maximum size of the pages of all splits kept on a worker for concurrent queries")
+    public SharedTableScanConfig setMaxSize(DataSize maxSize)
+    {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getMaxSplitSize()
+    {
+        return maxSplitSize;
+    }
+
+    @Config("shared-table-scan.max-split-size")
+    @ConfigDescription("Maximum size of the pages of a split to be shared among concurrent queries")
+    public SharedTableScanConfig setMaxSplitSize(DataSize maxSplitSize)
+    {
+        this.maxSplitSize = maxSplitSize;
+        return this;
+    }
+
+    @NotNull
+    public Duration getTtl()
+    {
+        return ttl;
+    }
+
+    @Config("shared-table-scan.ttl")
+    @ConfigDescription("Duration for which the pages of a split are kept after it was read")
+    public SharedTableScanConfig setTtl(Duration ttl)
+    {
+        this.ttl = ttl;
+        return this;
+    }
+
+    @NotNull
+    @MaxDuration("1m")
+    public Duration getMaxWait()
+    {
+        return maxWait;
+    }
+
+    @Config("shared-table-scan.max-wait")
+    @ConfigDescription("Maximum time a query waits for the split being read by another query before reading it on its own")
+    public SharedTableScanConfig setMaxWait(Duration maxWait)
+    {
+        this.maxWait = maxWait;
+        return this;
+    }
+}
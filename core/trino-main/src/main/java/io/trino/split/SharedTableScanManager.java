@@ -0,0 +1,582 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.split;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.google.inject.Inject;
+import io.airlift.stats.CounterStat;
+import io.trino.Session;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.memory.LocalMemoryManager;
+import io.trino.memory.MemoryPool;
+import io.trino.memory.MemoryPoolListener;
+import io.trino.metadata.Split;
+import io.trino.metadata.TableHandle;
+import io.trino.spi.Page;
+import io.trino.spi.connector.CatalogHandle;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorPageSource;
+import io.trino.spi.connector.ConnectorTableHandle;
+import io.trino.spi.metrics.Metrics;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Shares the pages read from a split among the queries running concurrently on the worker
+ * which scan the same split of the same table with the same columns. Only the splits for which
+ * the connector reports a {@link io.trino.spi.connector.ConnectorSplit#getSplitIdentity() split identity}
+ * are shared.
+ * <p>
+ * The first query scanning the split reads it and keeps its pages. The queries scanning the split
+ * while it is being read wait for the pages, and the queries scanning the split shortly after it
+ * was read reuse the pages, without reading the split again. Each query applies its own filters
+ * and projections on the shared pages. The pages are not shared if the split is larger than
+ * {@code shared-table-scan.max-split-size}, and queries waiting longer than
+ * {@code shared-table-scan.max-wait} read the split on their own.
+ * <p>
+ * The memory of the kept pages is reserved in the memory pool of the worker, like the memory of the
+ * connectors. The pages are dropped when the pool cannot grant the reservation, or when the queries
+ * reserve more memory than the pool has.
+ */
+public class SharedTableScanManager
+{
+    private final long maxSplitSizeInBytes;
+    private final long maxWaitMillis;
+    private final Cache<SharedTableScanKey, List<Page>> scans;
+    private final Map<SharedTableScanKey, CompletableFuture<Optional<List<Page>>>> loadingScans = new ConcurrentHashMap<>();
+
+    private final CounterStat sharedSplits = new CounterStat();
+    private final CounterStat waitingSplits = new CounterStat();
+    private final CounterStat loadedSplits = new CounterStat();
+    private final CounterStat oversizedSplits = new CounterStat();
+    private final CounterStat memoryPressureEvictions = new CounterStat();
+
+    private final MemoryPool memoryPool;
+    // written only while holding the lock, and read without it by the memory pool listener
+    @GuardedBy("this")
+    private volatile long reservedBytes;
+
+    @Inject
+    public SharedTableScanManager(SharedTableScanConfig config, LocalMemoryManager localMemoryManager)
+    {
+        this(config, localMemoryManager.getMemoryPool());
+    }
+
+    @VisibleForTesting
+    SharedTableScanManager(SharedTableScanConfig config, MemoryPool memoryPool)
+    {
+        this.memoryPool = requireNonNull(memoryPool, "memoryPool is null");
+        this.maxSplitSizeInBytes = config.getMaxSplitSize().toBytes();
+        this.maxWaitMillis = config.getMaxWait().toMillis();
+        this.scans = EvictableCacheBuilder.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((SharedTableScanKey _, List<Page> pages) -> Ints.saturatedCast(getRetainedSizeInBytes(pages)))
+                .expireAfterWrite(config.getTtl().toMillis(), MILLISECONDS)
+                .recordStats()
+                .build();
+        memoryPool.addListener(MemoryPoolListener.onMemoryReserved(this::onMemoryReserved));
+    }
+
+    /**
+     * Returns the key of the scan of the split, or empty if the connector does not report the identity of the split.
+     */
+    public static Optional<SharedTableScanKey> createKey(Session session, Split split, TableHandle table, List<ColumnHandle> columns)
+    {
+        return split.getConnectorSplit().getSplitIdentity()
+                .map(splitIdentity -> new SharedTableScanKey(
+                        table.catalogHandle(),
+                        table.connectorHandle(),
+                        splitIdentity,
+                        columns,
+                        session.getUser(),
+                        session.getCatalogProperties()));
+    }
+
+    public ConnectorPageSource createPageSource(SharedTableScanKey key, Supplier<ConnectorPageSource> pageSourceSupplier)
+    {
+        List<Page> pages = scans.getIfPresent(key);
+        if (pages != null) {
+            sharedSplits.update(1);
+            return new SharedPageSource(pages);
+        }
+
+        CompletableFuture<Optional<List<Page>>> loading = new CompletableFuture<>();
+        CompletableFuture<Optional<List<Page>>> existing = loadingScans.putIfAbsent(key, loading);
+        if (existing != null) {
+            waitingSplits.update(1);
+            return new WaitingPageSource(existing, pageSourceSupplier);
+        }
+        ConnectorPageSource pageSource;
+        try {
+            pageSource = pageSourceSupplier.get();
+        }
+        catch (RuntimeException e) {
+            loadingScans.remove(key, loading);
+            loading.complete(Optional.empty());
+            throw e;
+        }
+        loadedSplits.update(1);
+        return new LoadingPageSource(key, loading, pageSource);
+    }
+
+    @Managed
+    public void invalidateAll()
+    {
+        scans.invalidateAll();
+        updateMemoryReservation();
+    }
+
+    @Managed
+    public long getRetainedSizeInBytes()
+    {
+        return scans.asMap().values().stream()
+                .mapToLong(SharedTableScanManager::getRetainedSizeInBytes)
+                .sum();
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return new CacheStatsMBean(scans);
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getSharedSplits()
+    {
+        return sharedSplits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getWaitingSplits()
+    {
+        return waitingSplits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getLoadedSplits()
+    {
+        return loadedSplits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getOversizedSplits()
+    {
+        return oversizedSplits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getMemoryPressureEvictions()
+    {
+        return memoryPressureEvictions;
+    }
+
+    @Managed
+    public long getReservedBytes()
+    {
+        return reservedBytes;
+    }
+
+    /**
+     * Reserves the memory of the pages kept in the cache, and frees the memory of the pages which were evicted.
+     * When the memory cannot be reserved, all the pages are dropped.
+     */
+    private synchronized void updateMemoryReservation()
+    {
+        scans.cleanUp();
+        long retainedBytes = getRetainedSizeInBytes();
+        if (retainedBytes > reservedBytes && !memoryPool.tryReserveConnectorMemory(retainedBytes - reservedBytes)) {
+            memoryPressureEvictions.update(1);
+            scans.invalidateAll();
+            retainedBytes = 0;
+        }
+        if (retainedBytes < reservedBytes) {
+            memoryPool.freeConnectorMemory(reservedBytes - retainedBytes);
+        }
+        reservedBytes = retainedBytes;
+    }
+
+    private void onMemoryReserved(MemoryPool memoryPool)
+    {
+        // the queries reserved more memory than the pool has, so the pages kept for other queries are dropped first
+        if (reservedBytes > 0 && memoryPool.getFreeBytes() < 0) {
+            memoryPressureEvictions.update(1);
+            scans.invalidateAll();
+            updateMemoryReservation();
+        }
+    }
+
+    private static long getRetainedSizeInBytes(List<Page> pages)
+    {
+        long size = 0;
+        for (Page page : pages) {
+            size += page.getRetainedSizeInBytes();
+        }
+        return size;
+    }
+
+    public record SharedTableScanKey(
+            CatalogHandle catalogHandle,
+            ConnectorTableHandle table,
+            String splitIdentity,
+            List<ColumnHandle> columns,
+            String user,
+            Map<String, Map<String, String>> catalogProperties)
+    {
+        public SharedTableScanKey
+        {
+            requireNonNull(catalogHandle, "catalogHandle is null");
+            requireNonNull(table, "table is null");
+            requireNonNull(splitIdentity, "splitIdentity is null");
+            columns = ImmutableList.copyOf(requireNonNull(columns, "columns is null"));
+            requireNonNull(user, "user is null");
+            catalogProperties = ImmutableMap.copyOf(requireNonNull(catalogProperties, "catalogProperties is null"));
+        }
+    }
+
+    /**
+     * Reads the split, and shares its pages once all of them were read. The pages are returned to the
+     * query reading the split with their lazy blocks, and the blocks which were not loaded by the query
+     * are loaded for the other queries before the next page is read.
+     */
+    private class LoadingPageSource
+            implements ConnectorPageSource
+    {
+        private final SharedTableScanKey key;
+        private final CompletableFuture<Optional<List<Page>>> loading;
+        private final ConnectorPageSource delegate;
+        private final List<Page> pages = new ArrayList<>();
+        private Page pendingPage;
+        private long retainedSizeInBytes;
+        private boolean done;
+
+        public LoadingPageSource(SharedTableScanKey key, CompletableFuture<Optional<List<Page>>> loading, ConnectorPageSource delegate)
+        {
+            this.key = requireNonNull(key, "key is null");
+            this.loading = requireNonNull(loading, "loading is null");
+            this.delegate = requireNonNull(delegate, "delegate is null");
+        }
+
+        @Override
+        public long getCompletedBytes()
+        {
+            return delegate.getCompletedBytes();
+        }
+
+        @Override
+        public OptionalLong getCompletedPositions()
+        {
+            return delegate.getCompletedPositions();
+        }
+
+        @Override
+        public long getReadTimeNanos()
+        {
+            return delegate.getReadTimeNanos();
+        }
+
+        @Override
+        public boolean isFinished()
+        {
+            boolean finished = delegate.isFinished();
+            if (finished) {
+                share();
+            }
+            return finished;
+        }
+
+        @Override
+        public Page getNextPage()
+        {
+            Page page;
+            try {
+                // the lazy blocks of the previous page cannot be loaded once the page source advances
+                retainPendingPage();
+                page = delegate.getNextPage();
+            }
+            catch (RuntimeException e) {
+                abandon();
+                throw e;
+            }
+            if (page != null && !done) {
+                pendingPage = page;
+            }
+            return page;
+        }
+
+        @Override
+        public long getMemoryUsage()
+        {
+            // the pending page is accounted by the operators of the query
+            return delegate.getMemoryUsage() + (done ? 0 : retainedSizeInBytes);
+        }
+
+        @Override
+        public CompletableFuture<?> isBlocked()
+        {
+            return delegate.isBlocked();
+        }
+
+        @Override
+        public Metrics getMetrics()
+        {
+            return delegate.getMetrics();
+        }
+
+        @Override
+        public void close()
+                throws IOException
+        {
+            try {
+                if (delegate.isFinished()) {
+                    share();
+                }
+            }
+            finally {
+                // the scan may be closed before all the pages were read, e.g. by a limit
+                abandon();
+                delegate.close();
+            }
+        }
+
+        private void retainPendingPage()
+        {
+            if (pendingPage == null) {
+                return;
+            }
+            Page page = pendingPage.getLoadedPage();
+            pendingPage = null;
+            if (done) {
+                return;
+            }
+            retainedSizeInBytes += page.getRetainedSizeInBytes();
+            if (retainedSizeInBytes > maxSplitSizeInBytes) {
+                oversizedSplits.update(1);
+                abandon();
+                return;
+            }
+            pages.add(page);
+        }
+
+        private void share()
+        {
+            if (done) {
+                return;
+            }
+            try {
+                retainPendingPage();
+            }
+            catch (RuntimeException e) {
+                abandon();
+                throw e;
+            }
+            if (done) {
+                return;
+            }
+            done = true;
+            List<Page> sharedPages = ImmutableList.copyOf(pages);
+            pages.clear();
+            scans.put(key, sharedPages);
+            updateMemoryReservation();
+            loadingScans.remove(key, loading);
+            loading.complete(Optional.of(sharedPages));
+        }
+
+        private void abandon()
+        {
+            if (done) {
+                return;
+            }
+            done = true;
+            pendingPage = null;
+            pages.clear();
+            loadingScans.remove(key, loading);
+            loading.complete(Optional.empty());
+        }
+    }
+
+    /**
+     * Waits for the split being read by another query, and reads the split on its own if the
+     * pages of the split are not shared before the wait times out.
+     */
+    private class WaitingPageSource
+            implements ConnectorPageSource
+    {
+        private final CompletableFuture<Optional<List<Page>>> loading;
+        private final CompletableFuture<?> blocked;
+        private final Supplier<ConnectorPageSource> pageSourceSupplier;
+        private ConnectorPageSource delegate;
+
+        public WaitingPageSource(CompletableFuture<Optional<List<Page>>> loading, Supplier<ConnectorPageSource> pageSourceSupplier)
+        {
+            this.loading = requireNonNull(loading, "loading is null");
+            this.blocked = loading.copy().completeOnTimeout(Optional.empty(), maxWaitMillis, MILLISECONDS);
+            this.pageSourceSupplier = requireNonNull(pageSourceSupplier, "pageSourceSupplier is null");
+        }
+
+        @Override
+        public long getCompletedBytes()
+        {
+            return delegate == null ? 0 : delegate.getCompletedBytes();
+        }
+
+        @Override
+        public OptionalLong getCompletedPositions()
+        {
+            return delegate == null ? OptionalLong.empty() : delegate.getCompletedPositions();
+        }
+
+        @Override
+        public long getReadTimeNanos()
+        {
+            return delegate == null ? 0 : delegate.getReadTimeNanos();
+        }
+
+        @Override
+        public boolean isFinished()
+        {
+            return delegate != null && delegate.isFinished();
+        }
+
+        @Override
+        public Page getNextPage()
+        {
+            if (delegate == null) {
+                if (!blocked.isDone()) {
+                    return null;
+                }
+                Optional<List<Page>> pages = loading.getNow(Optional.empty());
+                if (pages.isPresent()) {
+                    sharedSplits.update(1);
+                    delegate = new SharedPageSource(pages.get());
+                }
+                else {
+                    delegate = pageSourceSupplier.get();
+                }
+            }
+            return delegate.getNextPage();
+        }
+
+        @Override
+        public long getMemoryUsage()
+        {
+            return delegate == null ? 0 : delegate.getMemoryUsage();
+        }
+
+        @Override
+        public CompletableFuture<?> isBlocked()
+        {
+            if (delegate == null) {
+                return blocked;
+            }
+            return delegate.isBlocked();
+        }
+
+        @Override
+        public Metrics getMetrics()
+        {
+            return delegate == null ? Metrics.EMPTY : delegate.getMetrics();
+        }
+
+        @Override
+        public void close()
+                throws IOException
+        {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the pages of a split read by another query, without reading any data. The pages which were
+     * not returned yet are accounted to the query, since the query keeps them even when they are evicted
+     * from the cache.
+     */
+    private static class SharedPageSource
+            implements ConnectorPageSource
+    {
+        private final Iterator<Page> pages;
+        private long retainedSizeInBytes;
+
+        public SharedPageSource(List<Page> pages)
+        {
+            this.pages = requireNonNull(pages, "pages is null").iterator();
+            this.retainedSizeInBytes = getRetainedSizeInBytes(pages);
+        }
+
+        @Override
+        public long getCompletedBytes()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getReadTimeNanos()
+        {
+            return 0;
+        }
+
+        @Override
+        public boolean isFinished()
+        {
+            return !pages.hasNext();
+        }
+
+        @Override
+        public Page getNextPage()
+        {
+            if (!pages.hasNext()) {
+                return null;
+            }
+            Page page = pages.next();
+            retainedSizeInBytes -= page.getRetainedSizeInBytes();
+            return page;
+        }
+
+        @Override
+        public long getMemoryUsage()
+        {
+            return retainedSizeInBytes;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -24,6 +24,7 @@ import io.trino.spi.function.IsNull;
 import io.trino.spi.function.ScalarFunction;
 import io.trino.spi.function.SqlType;
 import io.trino.spi.function.TypeParameter;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.Range;
 import io.trino.spi.predicate.ValueSet;
@@ -334,6 +335,18 @@ public final class DynamicFilters
                 default -> throw new IllegalArgumentException("Unsupported dynamic filtering comparison operator: " + operator);
             };
         }
+
+        /**
+         * Bloom filters can only be applied to equality filters, which do not match nulls, on columns
+         * of the build side type, since unlike domains they cannot be translated to another type.
+         */
+        public Optional<BloomFilter> applyBloomFilter(BloomFilter bloomFilter)
+        {
+            if (operator != EQUAL || nullAllowed || !Symbol.from(input).type().equals(bloomFilter.getType())) {
+                return Optional.empty();
+            }
+            return Optional.of(bloomFilter);
+        }
     }
 
     @ScalarFunction(value = Function.NAME, hidden = true)
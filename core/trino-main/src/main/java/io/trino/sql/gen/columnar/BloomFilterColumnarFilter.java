@@ -0,0 +1,229 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.gen.columnar;
+
+import io.airlift.slice.XxHash64;
+import io.trino.operator.project.InputChannels;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.VariableWidthBlock;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.predicate.BloomFilter;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.VarcharType;
+
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DateType.DATE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Selects the positions of a single channel whose values might be contained in a {@link BloomFilter}.
+ * Null values are never selected.
+ * <p>
+ * The common join key types hash their values directly, with the same functions as their
+ * {@code XX_HASH_64} operators, rather than through the generic hash operator of the filter.
+ */
+public abstract class BloomFilterColumnarFilter
+        implements ColumnarFilter
+{
+    protected final BloomFilter bloomFilter;
+    private final InputChannels inputChannels;
+
+    public static ColumnarFilter create(BloomFilter bloomFilter, int channel)
+    {
+        Type type = bloomFilter.getType();
+        if (type.equals(BIGINT)) {
+            return new BigintBloomFilterColumnarFilter(bloomFilter, channel);
+        }
+        if (type.equals(INTEGER) || type.equals(DATE)) {
+            return new IntBloomFilterColumnarFilter(bloomFilter, channel);
+        }
+        if (type instanceof VarcharType) {
+            return new VarcharBloomFilterColumnarFilter(bloomFilter, channel);
+        }
+        return new GenericBloomFilterColumnarFilter(bloomFilter, channel);
+    }
+
+    private BloomFilterColumnarFilter(BloomFilter bloomFilter, int channel)
+    {
+        this.bloomFilter = requireNonNull(bloomFilter, "bloomFilter is null");
+        this.inputChannels = new InputChannels(channel);
+    }
+
+    @Override
+    public InputChannels getInputChannels()
+    {
+        return inputChannels;
+    }
+
+    private static final class BigintBloomFilterColumnarFilter
+            extends BloomFilterColumnarFilter
+    {
+        private BigintBloomFilterColumnarFilter(BloomFilter bloomFilter, int channel)
+        {
+            super(bloomFilter, channel);
+        }
+
+        @Override
+        public int filterPositionsRange(ConnectorSession session, int[] outputPositions, int offset, int size, Page loadedPage)
+        {
+            Block block = loadedPage.getBlock(0);
+            int outputPositionsCount = 0;
+            for (int position = offset; position < offset + size; position++) {
+                outputPositions[outputPositionsCount] = position;
+                outputPositionsCount += mightContain(block, position) ? 1 : 0;
+            }
+            return outputPositionsCount;
+        }
+
+        @Override
+        public int filterPositionsList(ConnectorSession session, int[] outputPositions, int[] activePositions, int offset, int size, Page loadedPage)
+        {
+            Block block = loadedPage.getBlock(0);
+            int outputPositionsCount = 0;
+            for (int index = offset; index < offset + size; index++) {
+                int position = activePositions[index];
+                outputPositions[outputPositionsCount] = position;
+                outputPositionsCount += mightContain(block, position) ? 1 : 0;
+            }
+            return outputPositionsCount;
+        }
+
+        private boolean mightContain(Block block, int position)
+        {
+            return !block.isNull(position) && bloomFilter.mightContainHash(XxHash64.hash(BIGINT.getLong(block, position)));
+        }
+    }
+
+    private static final class IntBloomFilterColumnarFilter
+            extends BloomFilterColumnarFilter
+    {
+        private IntBloomFilterColumnarFilter(BloomFilter bloomFilter, int channel)
+        {
+            super(bloomFilter, channel);
+        }
+
+        @Override
+        public int filterPositionsRange(ConnectorSession session, int[] outputPositions, int offset, int size, Page loadedPage)
+        {
+            Block block = loadedPage.getBlock(0);
+            int outputPositionsCount = 0;
+            for (int position = offset; position < offset + size; position++) {
+                outputPositions[outputPositionsCount] = position;
+                outputPositionsCount += mightContain(block, position) ? 1 : 0;
+            }
+            return outputPositionsCount;
+        }
+
+        @Override
+        public int filterPositionsList(ConnectorSession session, int[] outputPositions, int[] activePositions, int offset, int size, Page loadedPage)
+        {
+            Block block = loadedPage.getBlock(0);
+            int outputPositionsCount = 0;
+            for (int index = offset; index < offset + size; index++) {
+                int position = activePositions[index];
+                outputPositions[outputPositionsCount] = position;
+                outputPositionsCount += mightContain(block, position) ? 1 : 0;
+            }
+            return outputPositionsCount;
+        }
+
+        private boolean mightContain(Block block, int position)
+        {
+            // INTEGER and DATE share the int representation and hash
+            return !block.isNull(position) && bloomFilter.mightContainHash(XxHash64.hash(INTEGER.getInt(block, position)));
+        }
+    }
+
+    private static final class VarcharBloomFilterColumnarFilter
+            extends BloomFilterColumnarFilter
+    {
+        private VarcharBloomFilterColumnarFilter(BloomFilter bloomFilter, int channel)
+        {
+            super(bloomFilter, channel);
+        }
+
+        @Override
+        public int filterPositionsRange(ConnectorSession session, int[] outputPositions, int offset, int size, Page loadedPage)
+        {
+            Block block = loadedPage.getBlock(0);
+            int outputPositionsCount = 0;
+            for (int position = offset; position < offset + size; position++) {
+                outputPositions[outputPositionsCount] = position;
+                outputPositionsCount += mightContain(block, position) ? 1 : 0;
+            }
+            return outputPositionsCount;
+        }
+
+        @Override
+        public int filterPositionsList(ConnectorSession session, int[] outputPositions, int[] activePositions, int offset, int size, Page loadedPage)
+        {
+            Block block = loadedPage.getBlock(0);
+            int outputPositionsCount = 0;
+            for (int index = offset; index < offset + size; index++) {
+                int position = activePositions[index];
+                outputPositions[outputPositionsCount] = position;
+                outputPositionsCount += mightContain(block, position) ? 1 : 0;
+            }
+            return outputPositionsCount;
+        }
+
+        private boolean mightContain(Block block, int position)
+        {
+            if (block.isNull(position)) {
+                return false;
+            }
+            // hash the bytes in place, without creating a slice for each value
+            VariableWidthBlock valueBlock = (VariableWidthBlock) block.getUnderlyingValueBlock();
+            int valuePosition = block.getUnderlyingValuePosition(position);
+            long hash = XxHash64.hash(valueBlock.getRawSlice(), valueBlock.getRawSliceOffset(valuePosition), valueBlock.getSliceLength(valuePosition));
+            return bloomFilter.mightContainHash(hash);
+        }
+    }
+
+    private static final class GenericBloomFilterColumnarFilter
+            extends BloomFilterColumnarFilter
+    {
+        private GenericBloomFilterColumnarFilter(BloomFilter bloomFilter, int channel)
+        {
+            super(bloomFilter, channel);
+        }
+
+        @Override
+        public int filterPositionsRange(ConnectorSession session, int[] outputPositions, int offset, int size, Page loadedPage)
+        {
+            Block block = loadedPage.getBlock(0);
+            int outputPositionsCount = 0;
+            for (int position = offset; position < offset + size; position++) {
+                outputPositions[outputPositionsCount] = position;
+                outputPositionsCount += bloomFilter.mightContain(block, position) ? 1 : 0;
+            }
+            return outputPositionsCount;
+        }
+
+        @Override
+        public int filterPositionsList(ConnectorSession session, int[] outputPositions, int[] activePositions, int offset, int size, Page loadedPage)
+        {
+            Block block = loadedPage.getBlock(0);
+            int outputPositionsCount = 0;
+            for (int index = offset; index < offset + size; index++) {
+                int position = activePositions[index];
+                outputPositions[outputPositionsCount] = position;
+                outputPositionsCount += bloomFilter.mightContain(block, position) ? 1 : 0;
+            }
+            return outputPositionsCount;
+        }
+    }
+}
@@ -13,6 +13,7 @@
  */
 package io.trino.sql.gen.columnar;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.trino.Session;
@@ -117,7 +118,7 @@ public final class DynamicPageFilter
             List<RowExpression> rowExpression = expressionConjuncts.stream()
                     .map(expression -> translate(expression, sourceLayout, metadata, typeManager))
                     .collect(toImmutableList());
-            compiledDynamicFilter = createDynamicFilterEvaluator(rowExpression, compiler, selectivityThreshold);
+            compiledDynamicFilter = createDynamicFilterEvaluator(rowExpression, getBloomFilterEvaluators(dynamicFilter), compiler, selectivityThreshold);
             if (!isAwaitable) {
                 isBlocked = null; // Dynamic filter will not narrow down anymore
             }
@@ -125,13 +126,34 @@ public final class DynamicPageFilter
         return compiledDynamicFilter;
     }
 
-    private static Supplier<FilterEvaluator> createDynamicFilterEvaluator(List<RowExpression> rowExpressions, ColumnarFilterCompiler compiler, double selectivityThreshold)
+    private List<Supplier<FilterEvaluator>> getBloomFilterEvaluators(DynamicFilter dynamicFilter)
     {
-        List<Supplier<FilterEvaluator>> subExpressionEvaluators = rowExpressions.stream()
-                .map(expression -> createColumnarFilterEvaluator(expression, compiler))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(toImmutableList());
+        ImmutableList.Builder<Supplier<FilterEvaluator>> evaluators = ImmutableList.builder();
+        dynamicFilter.getCurrentBloomFilters().forEach((columnHandle, bloomFilter) -> {
+            Symbol symbol = columnHandles.get(columnHandle);
+            Integer channel = symbol == null ? null : sourceLayout.get(symbol);
+            if (channel != null) {
+                evaluators.add(() -> new ColumnarFilterEvaluator(new DictionaryAwareColumnarFilter(BloomFilterColumnarFilter.create(bloomFilter, channel))));
+            }
+        });
+        return evaluators.build();
+    }
+
+    private static Supplier<FilterEvaluator> createDynamicFilterEvaluator(
+            List<RowExpression> rowExpressions,
+            List<Supplier<FilterEvaluator>> bloomFilterEvaluators,
+            ColumnarFilterCompiler compiler,
+            double selectivityThreshold)
+    {
+        List<Supplier<FilterEvaluator>> subExpressionEvaluators = ImmutableList.<Supplier<FilterEvaluator>>builder()
+                .addAll(rowExpressions.stream()
+                        .map(expression -> createColumnarFilterEvaluator(expression, compiler))
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .iterator())
+                // bloom filters are more expensive to evaluate than the domains, so they are evaluated last
+                .addAll(bloomFilterEvaluators)
+                .build();
         return () -> new DynamicFilterEvaluator(
                 subExpressionEvaluators.stream().map(Supplier::get).collect(toImmutableList()),
                 selectivityThreshold);
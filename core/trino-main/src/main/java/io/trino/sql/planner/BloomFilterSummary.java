@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.planner;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.trino.spi.predicate.BloomFilter;
+import io.trino.spi.predicate.Domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Union of the bloom filters collected for a dynamic filter from several partitions of the build side.
+ * Partitions which had few enough values to be collected as a discrete domain do not have a bloom filter,
+ * so their values are added to the bloom filter of the other partitions. A partition which collected
+ * neither makes the bloom filter unusable.
+ */
+@ThreadSafe
+public class BloomFilterSummary
+{
+    @GuardedBy("this")
+    private BloomFilter bloomFilter;
+    @GuardedBy("this")
+    private final List<Domain> discreteDomains = new ArrayList<>();
+    @GuardedBy("this")
+    private boolean unbounded;
+
+    public synchronized void add(Domain domain, Optional<BloomFilter> partitionBloomFilter)
+    {
+        if (unbounded) {
+            return;
+        }
+        if (partitionBloomFilter.isPresent()) {
+            bloomFilter = bloomFilter == null ? partitionBloomFilter.get() : bloomFilter.union(partitionBloomFilter.get());
+            return;
+        }
+        if (domain.getValues().isNone()) {
+            return;
+        }
+        if (domain.getValues().isDiscreteSet()) {
+            discreteDomains.add(domain);
+            return;
+        }
+        unbounded = true;
+        bloomFilter = null;
+        discreteDomains.clear();
+    }
+
+    /**
+     * Returns the bloom filter of all the partitions, if any partition collected one.
+     */
+    public synchronized Optional<BloomFilter> build()
+    {
+        if (unbounded || bloomFilter == null) {
+            return Optional.empty();
+        }
+        if (discreteDomains.isEmpty()) {
+            return Optional.of(bloomFilter);
+        }
+        BloomFilter.Builder builder = bloomFilter.toBuilder();
+        for (Domain domain : discreteDomains) {
+            domain.getValues().getDiscreteSet().forEach(builder::addValue);
+        }
+        return Optional.of(builder.build());
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return toStringHelper(this)
+                .add("bloomFilter", bloomFilter)
+                .add("discreteDomains", discreteDomains.size())
+                .add("unbounded", unbounded)
+                .toString();
+    }
+}
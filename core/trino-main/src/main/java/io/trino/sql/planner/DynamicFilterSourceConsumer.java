@@ -13,13 +13,24 @@
  */
 package io.trino.sql.planner;
 
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.sql.planner.plan.DynamicFilterId;
 
+import java.util.Map;
+
 public interface DynamicFilterSourceConsumer
 {
     void addPartition(TupleDomain<DynamicFilterId> tupleDomain);
 
+    /**
+     * Adds a partition with the bloom filters of the dynamic filters which had too many values to be collected as a domain.
+     */
+    default void addPartition(TupleDomain<DynamicFilterId> tupleDomain, Map<DynamicFilterId, BloomFilter> bloomFilters)
+    {
+        addPartition(tupleDomain);
+    }
+
     void setPartitionCount(int partitionCount);
 
     boolean isDomainCollectionComplete();
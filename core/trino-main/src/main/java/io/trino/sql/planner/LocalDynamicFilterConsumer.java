@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.airlift.units.DataSize;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.Type;
@@ -28,11 +29,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -50,8 +52,10 @@ public class LocalDynamicFilterConsumer
     private final Map<DynamicFilterId, Integer> buildChannels;
     // Mapping from dynamic filter ID to its build channel type.
     private final Map<DynamicFilterId, Type> filterBuildTypes;
-    private final List<Consumer<Map<DynamicFilterId, Domain>>> collectors;
+    private final List<BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>>> collectors;
     private final long domainSizeLimitInBytes;
+    // Bloom filters of the partitions, empty when bloom filters are not collected
+    private final Map<DynamicFilterId, BloomFilterSummary> bloomFilterSummaries;
 
     // Number of build-side partitions to be collected, must be provided by setPartitionCount
     @GuardedBy("this")
@@ -64,7 +68,21 @@ public class LocalDynamicFilterConsumer
     private final Queue<TupleDomain<DynamicFilterId>> summaryDomains = new ConcurrentLinkedQueue<>();
     private final AtomicLong summaryDomainsRetainedSizeInBytes = new AtomicLong();
 
-    public LocalDynamicFilterConsumer(Map<DynamicFilterId, Integer> buildChannels, Map<DynamicFilterId, Type> filterBuildTypes, List<Consumer<Map<DynamicFilterId, Domain>>> collectors, DataSize domainSizeLimit)
+    public LocalDynamicFilterConsumer(
+            Map<DynamicFilterId, Integer> buildChannels,
+            Map<DynamicFilterId, Type> filterBuildTypes,
+            List<BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>>> collectors,
+            DataSize domainSizeLimit)
+    {
+        this(buildChannels, filterBuildTypes, collectors, domainSizeLimit, false);
+    }
+
+    public LocalDynamicFilterConsumer(
+            Map<DynamicFilterId, Integer> buildChannels,
+            Map<DynamicFilterId, Type> filterBuildTypes,
+            List<BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>>> collectors,
+            DataSize domainSizeLimit,
+            boolean collectBloomFilters)
     {
         this.buildChannels = requireNonNull(buildChannels, "buildChannels is null");
         this.filterBuildTypes = requireNonNull(filterBuildTypes, "filterBuildTypes is null");
@@ -73,15 +91,34 @@ public class LocalDynamicFilterConsumer
         checkArgument(!collectors.isEmpty(), "collectors is empty");
         this.collectors = ImmutableList.copyOf(collectors);
         this.domainSizeLimitInBytes = domainSizeLimit.toBytes();
+        if (collectBloomFilters) {
+            this.bloomFilterSummaries = buildChannels.keySet().stream()
+                    .collect(toImmutableMap(identity(), _ -> new BloomFilterSummary()));
+        }
+        else {
+            this.bloomFilterSummaries = ImmutableMap.of();
+        }
     }
 
     @Override
     public void addPartition(TupleDomain<DynamicFilterId> domain)
+    {
+        addPartition(domain, ImmutableMap.of());
+    }
+
+    @Override
+    public void addPartition(TupleDomain<DynamicFilterId> domain, Map<DynamicFilterId, BloomFilter> bloomFilters)
     {
         if (collected) {
             return;
         }
 
+        bloomFilterSummaries.forEach((filterId, summary) -> summary.add(
+                domain.getDomains()
+                        .map(domains -> domains.getOrDefault(filterId, Domain.all(filterBuildTypes.get(filterId))))
+                        .orElseGet(() -> Domain.none(filterBuildTypes.get(filterId))),
+                Optional.ofNullable(bloomFilters.get(filterId))));
+
         long domainRetainedSizeInBytes = getRetainedSizeInBytes(domain);
         summaryDomainsRetainedSizeInBytes.addAndGet(domainRetainedSizeInBytes);
         summaryDomains.add(domain);
@@ -92,7 +129,10 @@ public class LocalDynamicFilterConsumer
         // outside the lock.
         unionSummaryDomainsIfNecessary(false);
 
+        // collection can be finished early with a domain which is all, unless its dynamic filters have bloom filters
+        boolean unbounded = domain.isAll() && bloomFilters.isEmpty();
         TupleDomain<DynamicFilterId> result;
+        boolean finishedEarly;
         synchronized (this) {
             verify(expectedPartitionCount == null || collectedPartitionCount < expectedPartitionCount);
 
@@ -122,11 +162,12 @@ public class LocalDynamicFilterConsumer
                 }
             }
 
-            if (!allPartitionsCollected && !sizeLimitExceeded && !domain.isAll()) {
+            if (!allPartitionsCollected && !sizeLimitExceeded && !unbounded) {
                 return;
             }
 
-            if (sizeLimitExceeded || domain.isAll()) {
+            finishedEarly = sizeLimitExceeded || unbounded;
+            if (finishedEarly) {
                 clearSummaryDomains();
                 result = TupleDomain.all();
             }
@@ -141,7 +182,7 @@ public class LocalDynamicFilterConsumer
             collected = true;
         }
 
-        collectors.forEach(collector -> collector.accept(convertTupleDomain(result)));
+        notifyCollectors(result, finishedEarly);
     }
 
     @Override
@@ -172,7 +213,7 @@ public class LocalDynamicFilterConsumer
             collected = true;
         }
 
-        collectors.forEach(collector -> collector.accept(convertTupleDomain(result)));
+        notifyCollectors(result, false);
     }
 
     private void unionSummaryDomainsIfNecessary(boolean force)
@@ -230,6 +271,24 @@ public class LocalDynamicFilterConsumer
         verify(currentSize >= 0, "currentSize is expected to be greater than or equal to zero: %s", currentSize);
     }
 
+    private void notifyCollectors(TupleDomain<DynamicFilterId> result, boolean finishedEarly)
+    {
+        Map<DynamicFilterId, Domain> domains = convertTupleDomain(result);
+        Map<DynamicFilterId, BloomFilter> bloomFilters = ImmutableMap.of();
+        // bloom filters are incomplete when collection was finished early
+        if (!finishedEarly && !result.isNone()) {
+            ImmutableMap.Builder<DynamicFilterId, BloomFilter> bloomFiltersBuilder = ImmutableMap.builder();
+            // the filters are sized for the largest build side, so shrink them before they are sent to the coordinator
+            bloomFilterSummaries.forEach((filterId, summary) -> summary.build()
+                    .map(BloomFilter::compact)
+                    .ifPresent(bloomFilter -> bloomFiltersBuilder.put(filterId, bloomFilter)));
+            bloomFilters = bloomFiltersBuilder.buildOrThrow();
+        }
+        for (BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>> collector : collectors) {
+            collector.accept(domains, bloomFilters);
+        }
+    }
+
     private Map<DynamicFilterId, Domain> convertTupleDomain(TupleDomain<DynamicFilterId> result)
     {
         if (result.isNone()) {
@@ -248,8 +307,9 @@ public class LocalDynamicFilterConsumer
             JoinNode planNode,
             List<Type> buildSourceTypes,
             Set<DynamicFilterId> collectedFilters,
-            List<Consumer<Map<DynamicFilterId, Domain>>> collectors,
-            DataSize domainSizeLimit)
+            List<BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>>> collectors,
+            DataSize domainSizeLimit,
+            boolean collectBloomFilters)
     {
         checkArgument(!planNode.getDynamicFilters().isEmpty(), "Join node dynamicFilters is empty.");
         checkArgument(!collectedFilters.isEmpty(), "Collected dynamic filters set is empty");
@@ -273,7 +333,7 @@ public class LocalDynamicFilterConsumer
                 .collect(toImmutableMap(
                         Map.Entry::getKey,
                         entry -> buildSourceTypes.get(entry.getValue())));
-        return new LocalDynamicFilterConsumer(buildChannels, filterBuildTypes, collectors, domainSizeLimit);
+        return new LocalDynamicFilterConsumer(buildChannels, filterBuildTypes, collectors, domainSizeLimit, collectBloomFilters);
     }
 
     public Map<DynamicFilterId, Integer> getBuildChannels()
@@ -293,6 +353,7 @@ public class LocalDynamicFilterConsumer
                 .add("collected", collected)
                 .add("summaryDomains", summaryDomains)
                 .add("summaryDomainsRetainedSizeInBytes", summaryDomainsRetainedSizeInBytes)
+                .add("bloomFilterSummaries", bloomFilterSummaries)
                 .toString();
     }
 
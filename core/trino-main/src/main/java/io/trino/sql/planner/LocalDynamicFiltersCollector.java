@@ -13,6 +13,7 @@
  */
 package io.trino.sql.planner;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.Futures;
@@ -22,17 +23,21 @@ import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.trino.Session;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.Type;
 import io.trino.sql.PlannerContext;
 import io.trino.sql.planner.plan.DynamicFilterId;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -52,6 +57,8 @@ public class LocalDynamicFiltersCollector
     private final Session session;
     // Each future blocks until its dynamic filter is collected.
     private final Map<DynamicFilterId, SettableFuture<Domain>> futures = new HashMap<>();
+    // Bloom filters are set before the futures of their dynamic filters are completed.
+    private final Map<DynamicFilterId, BloomFilter> bloomFilters = new ConcurrentHashMap<>();
 
     public LocalDynamicFiltersCollector(Session session)
     {
@@ -74,11 +81,20 @@ public class LocalDynamicFiltersCollector
     // Used during execution (after build-side dynamic filter collection is over).
     // No need to be synchronized as the futures map doesn't change.
     public void collectDynamicFilterDomains(Map<DynamicFilterId, Domain> dynamicFilterDomains)
+    {
+        collectDynamicFilterDomains(dynamicFilterDomains, ImmutableMap.of());
+    }
+
+    public void collectDynamicFilterDomains(Map<DynamicFilterId, Domain> dynamicFilterDomains, Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters)
     {
         dynamicFilterDomains.forEach((key, value) -> {
             SettableFuture<Domain> future = futures.get(key);
             // Skip dynamic filters that are not applied locally.
             if (future != null) {
+                BloomFilter bloomFilter = dynamicFilterBloomFilters.get(key);
+                if (bloomFilter != null) {
+                    bloomFilters.putIfAbsent(key, bloomFilter);
+                }
                 // Coordinator may re-send dynamicFilterDomain if sendUpdate request fails
                 // It's possible that the request failed after the DF was already collected here
                 future.set(value);
@@ -97,14 +113,14 @@ public class LocalDynamicFiltersCollector
         // Iterate over dynamic filters that are collected (correspond to one of the futures), and required for filtering (correspond to one of the descriptors).
         // It is possible that some dynamic filters are collected in a different stage - and will not available here.
         // It is also possible that not all local dynamic filters are needed for this specific table scan.
-        List<ListenableFuture<TupleDomain<ColumnHandle>>> predicateFutures = descriptorMap.keySet().stream()
+        List<ListenableFuture<ProbePredicate>> predicateFutures = descriptorMap.keySet().stream()
                 .filter(futures.keySet()::contains)
                 .map(filterId -> {
                     // Probe-side columns that can be filtered with this dynamic filter resulting domain.
                     return Futures.transform(
                             requireNonNull(futures.get(filterId), () -> format("Missing dynamic filter %s", filterId)),
                             // Construct a probe-side predicate by duplicating the resulting domain over the corresponding columns.
-                            domain -> TupleDomain.withColumnDomains(
+                            domain -> new ProbePredicate(TupleDomain.withColumnDomains(
                                     descriptorMap.get(filterId).stream()
                                             .collect(toImmutableMap(
                                                     descriptor -> {
@@ -126,6 +142,7 @@ public class LocalDynamicFiltersCollector
                                                         }
                                                         return updatedDomain;
                                                     }))),
+                                    getProbeBloomFilters(descriptorMap.get(filterId), Optional.ofNullable(bloomFilters.get(filterId)), columnsMap)),
                             directExecutor());
                 })
                 .collect(toImmutableList());
@@ -139,6 +156,30 @@ public class LocalDynamicFiltersCollector
         return new TableSpecificDynamicFilter(columnsCovered, predicateFutures);
     }
 
+    private static Map<ColumnHandle, BloomFilter> getProbeBloomFilters(Collection<Descriptor> descriptors, Optional<BloomFilter> bloomFilter, Map<Symbol, ColumnHandle> columnsMap)
+    {
+        if (bloomFilter.isEmpty()) {
+            return ImmutableMap.of();
+        }
+        Map<ColumnHandle, BloomFilter> probeBloomFilters = new HashMap<>();
+        for (Descriptor descriptor : descriptors) {
+            descriptor.applyBloomFilter(bloomFilter.get()).ifPresent(probeBloomFilter -> probeBloomFilters.merge(
+                    columnsMap.get(Symbol.from(descriptor.getInput())),
+                    probeBloomFilter,
+                    BloomFilter::intersect));
+        }
+        return ImmutableMap.copyOf(probeBloomFilters);
+    }
+
+    private record ProbePredicate(TupleDomain<ColumnHandle> domain, Map<ColumnHandle, BloomFilter> bloomFilters)
+    {
+        private ProbePredicate
+        {
+            requireNonNull(domain, "domain is null");
+            bloomFilters = ImmutableMap.copyOf(requireNonNull(bloomFilters, "bloomFilters is null"));
+        }
+    }
+
     // Table-specific dynamic filter (collects all domains for a specific table scan)
     private static class TableSpecificDynamicFilter
             implements DynamicFilter
@@ -150,25 +191,34 @@ public class LocalDynamicFiltersCollector
         @GuardedBy("this")
         private TupleDomain<ColumnHandle> currentPredicate;
 
+        @GuardedBy("this")
+        private Map<ColumnHandle, BloomFilter> currentBloomFilters;
+
         @GuardedBy("this")
         private int futuresLeft;
 
-        private TableSpecificDynamicFilter(Set<ColumnHandle> columnsCovered, List<ListenableFuture<TupleDomain<ColumnHandle>>> predicateFutures)
+        private TableSpecificDynamicFilter(Set<ColumnHandle> columnsCovered, List<ListenableFuture<ProbePredicate>> predicateFutures)
         {
             this.columnsCovered = ImmutableSet.copyOf(requireNonNull(columnsCovered, "columnsCovered is null"));
             this.futuresLeft = predicateFutures.size();
             this.isBlocked = predicateFutures.isEmpty() ? NOT_BLOCKED : new CompletableFuture<>();
             this.currentPredicate = TupleDomain.all();
+            this.currentBloomFilters = ImmutableMap.of();
             predicateFutures.forEach(future -> addSuccessCallback(future, this::update, directExecutor()));
         }
 
-        private void update(TupleDomain<ColumnHandle> predicate)
+        private void update(ProbePredicate predicate)
         {
             CompletableFuture<?> currentFuture;
             synchronized (this) {
                 futuresLeft -= 1;
                 verify(futuresLeft >= 0);
-                currentPredicate = currentPredicate.intersect(predicate);
+                currentPredicate = currentPredicate.intersect(predicate.domain());
+                if (!predicate.bloomFilters().isEmpty()) {
+                    Map<ColumnHandle, BloomFilter> bloomFilters = new HashMap<>(currentBloomFilters);
+                    predicate.bloomFilters().forEach((column, bloomFilter) -> bloomFilters.merge(column, bloomFilter, BloomFilter::intersect));
+                    currentBloomFilters = ImmutableMap.copyOf(bloomFilters);
+                }
                 currentFuture = isBlocked;
                 // create next blocking future (if needed)
                 isBlocked = isComplete() ? NOT_BLOCKED : new CompletableFuture<>();
@@ -206,5 +256,11 @@ public class LocalDynamicFiltersCollector
         {
             return currentPredicate;
         }
+
+        @Override
+        public synchronized Map<ColumnHandle, BloomFilter> getCurrentBloomFilters()
+        {
+            return currentBloomFilters;
+        }
     }
 }
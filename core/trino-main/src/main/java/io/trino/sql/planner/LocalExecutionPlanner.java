@@ -173,6 +173,7 @@ import io.trino.spi.function.FunctionId;
 import io.trino.spi.function.FunctionKind;
 import io.trino.spi.function.WindowFunctionSupplier;
 import io.trino.spi.function.table.TableFunctionProcessorProvider;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.NullableValue;
 import io.trino.spi.protocol.SpoolingManager;
@@ -287,7 +288,7 @@ import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
@@ -306,6 +307,7 @@ import static com.google.common.collect.Range.closedOpen;
 import static com.google.common.collect.Sets.difference;
 import static io.trino.SystemSessionProperties.getAdaptivePartialAggregationUniqueRowsRatioThreshold;
 import static io.trino.SystemSessionProperties.getAggregationOperatorUnspillMemoryLimit;
+import static io.trino.SystemSessionProperties.getDynamicFilteringBloomFilterMaxSize;
 import static io.trino.SystemSessionProperties.getDynamicRowFilterSelectivityThreshold;
 import static io.trino.SystemSessionProperties.getExchangeCompressionCodec;
 import static io.trino.SystemSessionProperties.getFilterAndProjectMinOutputPageRowCount;
@@ -318,6 +320,7 @@ import static io.trino.SystemSessionProperties.getTaskMinWriterCount;
 import static io.trino.SystemSessionProperties.getWriterScalingMinDataProcessed;
 import static io.trino.SystemSessionProperties.isAdaptivePartialAggregationEnabled;
 import static io.trino.SystemSessionProperties.isColumnarFilterEvaluationEnabled;
+import static io.trino.SystemSessionProperties.isEnableDynamicFilteringBloomFilters;
 import static io.trino.SystemSessionProperties.isEnableDynamicRowFiltering;
 import static io.trino.SystemSessionProperties.isEnableLargeDynamicFilters;
 import static io.trino.SystemSessionProperties.isForceSpillingOperator;
@@ -3026,7 +3029,8 @@ public class LocalExecutionPlanner
                     // In fault-tolerant execution, all tasks need to collect dynamic filters even if the join has
                     // broadcast distribution type because the collection takes place before the remote exchange
                     ImmutableList.of(taskContext::updateDomains),
-                    getDynamicFilteringMaxSizePerOperator(session, false));
+                    getDynamicFilteringMaxSizePerOperator(session, false),
+                    isEnableDynamicFilteringBloomFilters(session));
             return createDynamicFilterSourceOperatorFactory(
                     context.getNextOperatorId(),
                     dynamicFilterSourceConsumer,
@@ -3062,11 +3066,20 @@ public class LocalExecutionPlanner
                             multipleIf(getDynamicFilteringMaxDistinctValuesPerDriver(session, partitioned), taskConcurrency, isBuildSideSingle),
                             multipleIf(getDynamicFilteringMaxSizePerDriver(session, partitioned), taskConcurrency, isBuildSideSingle),
                             multipleIf(getDynamicFilteringRangeRowLimitPerDriver(session, partitioned), taskConcurrency, isBuildSideSingle),
+                            getBloomFilterMaxSize(),
                             typeOperators),
                     buildSource.getLayout(),
                     buildSource);
         }
 
+        private Optional<DataSize> getBloomFilterMaxSize()
+        {
+            if (!isEnableDynamicFilteringBloomFilters(session)) {
+                return Optional.empty();
+            }
+            return Optional.of(getDynamicFilteringBloomFilterMaxSize(session));
+        }
+
         private int multipleIf(int value, int multiplier, boolean shouldMultiply)
         {
             return shouldMultiply ? value * multiplier : value;
@@ -3093,7 +3106,7 @@ public class LocalExecutionPlanner
                 return Optional.empty();
             }
             log.debug("[Join] Dynamic filters: %s", node.getDynamicFilters());
-            ImmutableList.Builder<Consumer<Map<DynamicFilterId, Domain>>> collectors = ImmutableList.builder();
+            ImmutableList.Builder<BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>>> collectors = ImmutableList.builder();
             TaskContext taskContext = context.getTaskContext();
             if (!localDynamicFilters.isEmpty()) {
                 collectors.add(taskContext::addDynamicFilter);
@@ -3106,7 +3119,8 @@ public class LocalExecutionPlanner
                     buildSource.getTypes(),
                     collectedDynamicFilters,
                     collectors.build(),
-                    getDynamicFilteringMaxSizePerOperator(session, partitioned));
+                    getDynamicFilteringMaxSizePerOperator(session, partitioned),
+                    isEnableDynamicFilteringBloomFilters(session));
 
             return Optional.of(filterConsumer);
         }
@@ -3163,7 +3177,7 @@ public class LocalExecutionPlanner
                 // Add a DynamicFilterSourceOperatorFactory to build operator factories
                 DynamicFilterId filterId = node.getDynamicFilterId().get();
                 log.debug("[Semi-join] Dynamic filter: %s", filterId);
-                ImmutableList.Builder<Consumer<Map<DynamicFilterId, Domain>>> collectors = ImmutableList.builder();
+                ImmutableList.Builder<BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>>> collectors = ImmutableList.builder();
                 TaskContext taskContext = context.getTaskContext();
                 if (isLocalDynamicFilter) {
                     collectors.add(taskContext::addDynamicFilter);
@@ -3176,7 +3190,8 @@ public class LocalExecutionPlanner
                         ImmutableMap.of(filterId, buildChannel),
                         ImmutableMap.of(filterId, buildSource.getTypes().get(buildChannel)),
                         collectors.build(),
-                        getDynamicFilteringMaxSizePerOperator(session, partitioned));
+                        getDynamicFilteringMaxSizePerOperator(session, partitioned),
+                        isEnableDynamicFilteringBloomFilters(session));
                 buildSource = new PhysicalOperation(
                         new DynamicFilterSourceOperatorFactory(
                                 operatorId,
@@ -3186,6 +3201,7 @@ public class LocalExecutionPlanner
                                 getDynamicFilteringMaxDistinctValuesPerDriver(session, partitioned),
                                 getDynamicFilteringMaxSizePerDriver(session, partitioned),
                                 getDynamicFilteringRangeRowLimitPerDriver(session, partitioned),
+                                getBloomFilterMaxSize(),
                                 typeOperators),
                         buildSource.getLayout(),
                         buildSource);
@@ -3229,10 +3245,13 @@ public class LocalExecutionPlanner
             return ImmutableSet.of();
         }
 
-        private static Consumer<Map<DynamicFilterId, Domain>> getCoordinatorDynamicFilterDomainsCollector(TaskContext taskContext, Set<DynamicFilterId> coordinatorDynamicFilters)
+        private static BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>> getCoordinatorDynamicFilterDomainsCollector(TaskContext taskContext, Set<DynamicFilterId> coordinatorDynamicFilters)
         {
-            return domains -> taskContext.updateDomains(
+            return (domains, bloomFilters) -> taskContext.updateDomains(
                     domains.entrySet().stream()
+                            .filter(entry -> coordinatorDynamicFilters.contains(entry.getKey()))
+                            .collect(toImmutableMap(Map.Entry::getKey, Map.Entry::getValue)),
+                    bloomFilters.entrySet().stream()
                             .filter(entry -> coordinatorDynamicFilters.contains(entry.getKey()))
                             .collect(toImmutableMap(Map.Entry::getKey, Map.Entry::getValue)));
         }
@@ -91,6 +91,8 @@ public class OptimizerConfig
     private boolean mergeProjectWithValues = true;
     private boolean forceSingleNodeOutput;
     private boolean useExactPartitioning;
+    private boolean useHistoryBasedStatistics;
+    private boolean planCacheEnabled;
     private boolean useCostBasedPartitioning = true;
     private int pushFilterIntoValuesMaxRowCount = 100;
     // adaptive partial aggregation
@@ -796,6 +798,32 @@ public class OptimizerConfig
         return this;
     }
 
+    public boolean isUseHistoryBasedStatistics()
+    {
+        return useHistoryBasedStatistics;
+    }
+
+    @Config("optimizer.use-history-based-statistics")
+    @ConfigDescription("Record the output of plan nodes of finished queries and use it in place of the estimates when the same plan nodes are planned again")
+    public OptimizerConfig setUseHistoryBasedStatistics(boolean useHistoryBasedStatistics)
+    {
+        this.useHistoryBasedStatistics = useHistoryBasedStatistics;
+        return this;
+    }
+
+    public boolean isPlanCacheEnabled()
+    {
+        return planCacheEnabled;
+    }
+
+    @Config("optimizer.plan-cache-enabled")
+    @ConfigDescription("Reuse the optimized plan of a query executed again with the same parameters, session and table versions")
+    public OptimizerConfig setPlanCacheEnabled(boolean planCacheEnabled)
+    {
+        this.planCacheEnabled = planCacheEnabled;
+        return this;
+    }
+
     public boolean isUseCostBasedPartitioning()
     {
         return useCostBasedPartitioning;
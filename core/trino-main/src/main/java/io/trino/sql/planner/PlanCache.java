@@ -0,0 +1,380 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.planner;
+
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Inject;
+import io.airlift.stats.CounterStat;
+import io.trino.Session;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.metadata.Metadata;
+import io.trino.metadata.TableHandle;
+import io.trino.spi.connector.CatalogHandle;
+import io.trino.spi.connector.ConnectorTableHandle;
+import io.trino.spi.connector.ConnectorTransactionHandle;
+import io.trino.spi.eventlistener.ColumnInfo;
+import io.trino.spi.eventlistener.TableInfo;
+import io.trino.spi.type.TimeZoneKey;
+import io.trino.spi.type.Type;
+import io.trino.sql.SqlPath;
+import io.trino.sql.analyzer.Analysis;
+import io.trino.sql.analyzer.Field;
+import io.trino.sql.planner.plan.ExchangeNode;
+import io.trino.sql.planner.plan.IndexSourceNode;
+import io.trino.sql.planner.plan.PlanNode;
+import io.trino.sql.planner.plan.SimplePlanRewriter;
+import io.trino.sql.planner.plan.TableFunctionNode;
+import io.trino.sql.planner.plan.TableFunctionProcessorNode;
+import io.trino.sql.planner.plan.TableScanNode;
+import io.trino.sql.tree.CurrentDate;
+import io.trino.sql.tree.CurrentTime;
+import io.trino.sql.tree.CurrentTimestamp;
+import io.trino.sql.tree.Expression;
+import io.trino.sql.tree.LocalTime;
+import io.trino.sql.tree.LocalTimestamp;
+import io.trino.sql.tree.Node;
+import io.trino.sql.tree.Query;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.metadata.GlobalFunctionCatalog.isBuiltinFunctionName;
+import static io.trino.sql.ExpressionFormatter.formatExpression;
+import static io.trino.sql.SqlFormatter.formatSql;
+import static io.trino.sql.planner.optimizations.PlanNodeSearcher.searchFrom;
+import static io.trino.sql.planner.plan.SimplePlanRewriter.rewriteWith;
+import static io.trino.sql.util.AstUtils.preOrder;
+import static java.util.Comparator.comparingInt;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Caches the optimized plans of queries, so that a query that is executed again with the same
+ * parameter values, session and table versions skips the logical planning and the optimizers.
+ * <p>
+ * The query is still analyzed before the cache is consulted, so the access control checks run
+ * for every execution. The plans of queries are only cached when the connectors report the versions
+ * of the data of all the tables, which change when the tables are written or their metadata changes,
+ * so a plan is never reused after a write or a DDL statement changed one of its tables. The table
+ * scans and connector partitionings of a cached plan are bound to the transaction of the query
+ * reusing it.
+ */
+public class PlanCache
+{
+    private final Metadata metadata;
+    private final Cache<PlanCacheKey, Plan> plans;
+    private final CounterStat uncacheableQueries = new CounterStat();
+
+    @Inject
+    public PlanCache(PlanCacheConfig config, Metadata metadata)
+    {
+        this.metadata = requireNonNull(metadata, "metadata is null");
+        plans = EvictableCacheBuilder.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl().toMillis(), MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the key of the plan of the analyzed query, or empty if the plan of the query depends on
+     * something that is not captured by the key, like the time of the query, the definition of a view or
+     * a table without a data version.
+     */
+    public Optional<PlanCacheKey> createKey(Session session, Analysis analysis)
+    {
+        Optional<PlanCacheKey> key = createCacheKey(session, analysis, metadata);
+        if (key.isEmpty()) {
+            uncacheableQueries.update(1);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the key identifying the analyzed query, or empty if the query depends on something that is not captured by the key.
+     */
+    public static Optional<PlanCacheKey> createCacheKey(Session session, Analysis analysis, Metadata metadata)
+    {
+        if (!isCacheable(analysis)) {
+            return Optional.empty();
+        }
+
+        Map<TableVersion, String> tables = new HashMap<>();
+        for (TableHandle table : analysis.getTables()) {
+            Optional<String> dataVersion = metadata.getDataVersion(session, table);
+            if (dataVersion.isEmpty()) {
+                return Optional.empty();
+            }
+            tables.put(new TableVersion(table.catalogHandle(), table.connectorHandle()), dataVersion.get());
+        }
+
+        List<String> parameters = analysis.getParameters().entrySet().stream()
+                .sorted(comparingInt(entry -> entry.getKey().getNode().getId()))
+                .map(entry -> formatExpression(entry.getValue()))
+                .collect(toImmutableList());
+        // columns may be added or change their types without changing the table handle
+        List<Field> columns = ImmutableList.copyOf(analysis.getOutputDescriptor().getVisibleFields());
+        List<Type> expressionTypes = preOrder(analysis.getStatement())
+                .filter(Expression.class::isInstance)
+                .map(Expression.class::cast)
+                .filter(analysis::isAnalyzed)
+                .map(analysis::getType)
+                .collect(toImmutableList());
+
+        return Optional.of(new PlanCacheKey(
+                formatSql(analysis.getStatement()),
+                parameters,
+                columns.stream()
+                        .map(Field::getName)
+                        .collect(toImmutableList()),
+                columns.stream()
+                        .map(Field::getType)
+                        .collect(toImmutableList()),
+                expressionTypes,
+                session.getUser(),
+                session.getIdentity().getGroups(),
+                session.getIdentity().getEnabledRoles(),
+                session.getCatalog(),
+                session.getSchema(),
+                session.getPath(),
+                session.getTimeZoneKey(),
+                session.getLocale(),
+                session.getClientCapabilities(),
+                session.getQueryDataEncoding(),
+                session.getSystemProperties(),
+                session.getCatalogProperties(),
+                tables));
+    }
+
+    /**
+     * Returns the cached plan bound to the transaction of the analyzed query.
+     */
+    public Optional<Plan> getPlan(PlanCacheKey key, Analysis analysis)
+    {
+        Plan plan = plans.getIfPresent(key);
+        if (plan == null) {
+            return Optional.empty();
+        }
+
+        Map<CatalogHandle, ConnectorTransactionHandle> transactions = new HashMap<>();
+        for (TableHandle table : analysis.getTables()) {
+            transactions.put(table.catalogHandle(), table.transaction());
+        }
+        if (searchFrom(plan.getRoot()).findAll().stream()
+                .flatMap(PlanCache::getTransactionBoundCatalogs)
+                .anyMatch(catalog -> !transactions.containsKey(catalog))) {
+            // connector pushdown may replace the table of the query with a table of another catalog
+            return Optional.empty();
+        }
+
+        PlanNode root = rewriteWith(new SimplePlanRewriter<Void>()
+        {
+            @Override
+            public PlanNode visitTableScan(TableScanNode node, RewriteContext<Void> context)
+            {
+                TableHandle table = node.getTable();
+                return node.withTableHandle(new TableHandle(table.catalogHandle(), table.connectorHandle(), transactions.get(table.catalogHandle())));
+            }
+
+            @Override
+            public PlanNode visitExchange(ExchangeNode node, RewriteContext<Void> context)
+            {
+                ExchangeNode exchange = (ExchangeNode) context.defaultRewrite(node);
+                PartitioningScheme scheme = exchange.getPartitioningScheme();
+                PartitioningHandle handle = scheme.getPartitioning().getHandle();
+                if (handle.getTransactionHandle().isEmpty()) {
+                    return exchange;
+                }
+                PartitioningHandle reboundHandle = new PartitioningHandle(
+                        handle.getCatalogHandle(),
+                        Optional.of(transactions.get(handle.getCatalogHandle().orElseThrow())),
+                        handle.getConnectorHandle(),
+                        handle.isScaleWriters());
+                return new ExchangeNode(
+                        exchange.getId(),
+                        exchange.getType(),
+                        exchange.getScope(),
+                        new PartitioningScheme(
+                                scheme.getPartitioning().withAlternativePartitioningHandle(reboundHandle),
+                                scheme.getOutputLayout(),
+                                scheme.getHashColumn(),
+                                scheme.isReplicateNullsAndAny(),
+                                scheme.getBucketToPartition(),
+                                scheme.getPartitionCount()),
+                        exchange.getSources(),
+                        exchange.getInputs(),
+                        exchange.getOrderingScheme());
+            }
+        }, plan.getRoot());
+        return Optional.of(new Plan(root, plan.getStatsAndCosts()));
+    }
+
+    public void putPlan(PlanCacheKey key, Plan plan)
+    {
+        // these nodes reference connector handles bound to the transaction which are not rebound
+        if (searchFrom(plan.getRoot())
+                .whereIsInstanceOfAny(IndexSourceNode.class, TableFunctionNode.class, TableFunctionProcessorNode.class)
+                .matches()) {
+            uncacheableQueries.update(1);
+            return;
+        }
+        plans.put(key, plan);
+    }
+
+    private static Stream<CatalogHandle> getTransactionBoundCatalogs(PlanNode node)
+    {
+        return switch (node) {
+            case TableScanNode tableScan -> Stream.of(tableScan.getTable().catalogHandle());
+            case ExchangeNode exchange -> {
+                PartitioningHandle handle = exchange.getPartitioningScheme().getPartitioning().getHandle();
+                yield handle.getTransactionHandle().isPresent() ? handle.getCatalogHandle().stream() : Stream.of();
+            }
+            default -> Stream.of();
+        };
+    }
+
+    private static boolean isCacheable(Analysis analysis)
+    {
+        if (!(analysis.getStatement() instanceof Query)) {
+            return false;
+        }
+
+        // views, row filters and column masks are expanded by the analysis, and may change without changing the tables
+        for (TableInfo table : analysis.getReferencedTables()) {
+            if (!table.isDirectlyReferenced() || table.getViewText().isPresent() || !table.getFilters().isEmpty()) {
+                return false;
+            }
+            if (table.getColumns().stream().map(ColumnInfo::getMask).anyMatch(Optional::isPresent)) {
+                return false;
+            }
+        }
+
+        // the definitions of functions stored in catalogs may change
+        if (analysis.getResolvedFunctions().stream().anyMatch(function -> !isBuiltinFunctionName(function.name()))) {
+            return false;
+        }
+
+        // the current time is folded into the plan as a constant
+        return preOrder(analysis.getStatement()).noneMatch(PlanCache::isCurrentTime);
+    }
+
+    private static boolean isCurrentTime(Node node)
+    {
+        return node instanceof CurrentDate ||
+                node instanceof CurrentTime ||
+                node instanceof CurrentTimestamp ||
+                node instanceof LocalTime ||
+                node instanceof LocalTimestamp;
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return plans.stats().hitCount();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return plans.stats().missCount();
+    }
+
+    @Managed
+    public void invalidateAll()
+    {
+        plans.invalidateAll();
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return new CacheStatsMBean(plans);
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getUncacheableQueries()
+    {
+        return uncacheableQueries;
+    }
+
+    public record PlanCacheKey(
+            String statement,
+            List<String> parameters,
+            List<Optional<String>> columnNames,
+            List<Type> columnTypes,
+            List<Type> expressionTypes,
+            String user,
+            Set<String> groups,
+            Set<String> enabledRoles,
+            Optional<String> catalog,
+            Optional<String> schema,
+            SqlPath path,
+            TimeZoneKey timeZoneKey,
+            Locale locale,
+            Set<String> clientCapabilities,
+            Optional<String> queryDataEncoding,
+            Map<String, String> systemProperties,
+            Map<String, Map<String, String>> catalogProperties,
+            Map<TableVersion, String> tables)
+    {
+        public PlanCacheKey
+        {
+            requireNonNull(statement, "statement is null");
+            parameters = ImmutableList.copyOf(requireNonNull(parameters, "parameters is null"));
+            columnNames = ImmutableList.copyOf(requireNonNull(columnNames, "columnNames is null"));
+            columnTypes = ImmutableList.copyOf(requireNonNull(columnTypes, "columnTypes is null"));
+            expressionTypes = ImmutableList.copyOf(requireNonNull(expressionTypes, "expressionTypes is null"));
+            requireNonNull(user, "user is null");
+            groups = ImmutableSet.copyOf(requireNonNull(groups, "groups is null"));
+            enabledRoles = ImmutableSet.copyOf(requireNonNull(enabledRoles, "enabledRoles is null"));
+            requireNonNull(catalog, "catalog is null");
+            requireNonNull(schema, "schema is null");
+            requireNonNull(path, "path is null");
+            requireNonNull(timeZoneKey, "timeZoneKey is null");
+            requireNonNull(locale, "locale is null");
+            clientCapabilities = ImmutableSet.copyOf(requireNonNull(clientCapabilities, "clientCapabilities is null"));
+            requireNonNull(queryDataEncoding, "queryDataEncoding is null");
+            systemProperties = ImmutableMap.copyOf(requireNonNull(systemProperties, "systemProperties is null"));
+            catalogProperties = ImmutableMap.copyOf(requireNonNull(catalogProperties, "catalogProperties is null"));
+            tables = ImmutableMap.copyOf(requireNonNull(tables, "tables is null"));
+        }
+    }
+
+    /**
+     * The catalog handle carries the version of the catalog, and the connector handle resolved by the analysis,
+     * before any pushdown, identifies the table. The version of the data of the table is kept in the key along with it.
+     */
+    public record TableVersion(CatalogHandle catalogHandle, ConnectorTableHandle connectorHandle)
+    {
+        public TableVersion
+        {
+            requireNonNull(catalogHandle, "catalogHandle is null");
+            requireNonNull(connectorHandle, "connectorHandle is null");
+        }
+    }
+}
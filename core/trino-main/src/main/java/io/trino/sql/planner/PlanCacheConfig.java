@@ -0,0 +1,56 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.planner;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.Duration;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+public class PlanCacheConfig
+{
+    private int maxSize = 1000;
+    private Duration ttl = new Duration(10, MINUTES);
+
+    @Min(1)
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    @Config("plan-cache.max-size")
+    @ConfigDescription("Maximum number of optimized plans kept in the plan cache")
+    public PlanCacheConfig setMaxSize(int maxSize)
+    {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    @NotNull
+    public Duration getTtl()
+    {
+        return ttl;
+    }
+
+    @Config("plan-cache.ttl")
+    @ConfigDescription("Duration after which cached plans are planned again, bounding the use of stale connector metadata")
+    public PlanCacheConfig setTtl(Duration ttl)
+    {
+        this.ttl = ttl;
+        return this;
+    }
+}
@@ -342,6 +342,15 @@ public class TracingConnectorMetadata
         }
     }
 
+    @Override
+    public Optional<String> getDataVersion(ConnectorSession session, ConnectorTableHandle tableHandle)
+    {
+        Span span = startSpan("getDataVersion", tableHandle);
+        try (var _ = scopedSpan(span)) {
+            return delegate.getDataVersion(session, tableHandle);
+        }
+    }
+
     @Override
     public void createSchema(ConnectorSession session, String schemaName, Map<String, Object> properties, TrinoPrincipal owner)
     {
@@ -312,6 +312,15 @@ public class TracingMetadata
         }
     }
 
+    @Override
+    public Optional<String> getDataVersion(Session session, TableHandle tableHandle)
+    {
+        Span span = startSpan("getDataVersion", tableHandle);
+        try (var _ = scopedSpan(span)) {
+            return delegate.getDataVersion(session, tableHandle);
+        }
+    }
+
     @Override
     public List<QualifiedObjectName> listTables(Session session, QualifiedTablePrefix prefix)
     {
@@ -160,6 +160,7 @@ public class MockConnector
     private final Function<SchemaTableName, List<ColumnMetadata>> getColumns;
     private final Function<SchemaTableName, Optional<String>> getComment;
     private final Function<SchemaTableName, TableStatistics> getTableStatistics;
+    private final Function<SchemaTableName, Optional<String>> getDataVersion;
     private final Function<SchemaTableName, List<String>> checkConstraints;
     private final MockConnectorFactory.ApplyProjection applyProjection;
     private final MockConnectorFactory.ApplyAggregation applyAggregation;
@@ -215,6 +216,7 @@ public class MockConnector
             Function<SchemaTableName, List<ColumnMetadata>> getColumns,
             Function<SchemaTableName, Optional<String>> getComment,
             Function<SchemaTableName, TableStatistics> getTableStatistics,
+            Function<SchemaTableName, Optional<String>> getDataVersion,
             Function<SchemaTableName, List<String>> checkConstraints,
             ApplyProjection applyProjection,
             ApplyAggregation applyAggregation,
@@ -268,6 +270,7 @@ public class MockConnector
         this.getColumns = requireNonNull(getColumns, "getColumns is null");
         this.getComment = requireNonNull(getComment, "getComment is null");
         this.getTableStatistics = requireNonNull(getTableStatistics, "getTableStatistics is null");
+        this.getDataVersion = requireNonNull(getDataVersion, "getDataVersion is null");
         this.checkConstraints = requireNonNull(checkConstraints, "checkConstraints is null");
         this.applyProjection = requireNonNull(applyProjection, "applyProjection is null");
         this.applyAggregation = requireNonNull(applyAggregation, "applyAggregation is null");
@@ -578,6 +581,13 @@ public class MockConnector
             return getTableStatistics.apply(table.getTableName());
         }
 
+        @Override
+        public Optional<String> getDataVersion(ConnectorSession session, ConnectorTableHandle tableHandle)
+        {
+            MockConnectorTableHandle table = (MockConnectorTableHandle) tableHandle;
+            return getDataVersion.apply(table.getTableName());
+        }
+
         @Override
         public List<SchemaTableName> listTables(ConnectorSession session, Optional<String> schemaName)
         {
@@ -111,6 +111,7 @@ public class MockConnectorFactory
     private final Function<SchemaTableName, List<ColumnMetadata>> getColumns;
     private final Function<SchemaTableName, Optional<String>> getComment;
     private final Function<SchemaTableName, TableStatistics> getTableStatistics;
+    private final Function<SchemaTableName, Optional<String>> getDataVersion;
     private final Function<SchemaTableName, List<String>> checkConstraints;
     private final ApplyProjection applyProjection;
     private final ApplyAggregation applyAggregation;
@@ -169,6 +170,7 @@ public class MockConnectorFactory
             Function<SchemaTableName, List<ColumnMetadata>> getColumns,
             Function<SchemaTableName, Optional<String>> getComment,
             Function<SchemaTableName, TableStatistics> getTableStatistics,
+            Function<SchemaTableName, Optional<String>> getDataVersion,
             Function<SchemaTableName, List<String>> checkConstraints,
             ApplyProjection applyProjection,
             ApplyAggregation applyAggregation,
@@ -223,6 +225,7 @@ public class MockConnectorFactory
         this.getColumns = requireNonNull(getColumns, "getColumns is null");
         this.getComment = requireNonNull(getComment, "getComment is null");
         this.getTableStatistics = requireNonNull(getTableStatistics, "getTableStatistics is null");
+        this.getDataVersion = requireNonNull(getDataVersion, "getDataVersion is null");
         this.checkConstraints = requireNonNull(checkConstraints, "checkConstraints is null");
         this.applyProjection = requireNonNull(applyProjection, "applyProjection is null");
         this.applyAggregation = requireNonNull(applyAggregation, "applyAggregation is null");
@@ -287,6 +290,7 @@ public class MockConnectorFactory
                 getColumns,
                 getComment,
                 getTableStatistics,
+                getDataVersion,
                 checkConstraints,
                 applyProjection,
                 applyAggregation,
@@ -437,6 +441,7 @@ public class MockConnectorFactory
         private Function<SchemaTableName, List<ColumnMetadata>> getColumns = defaultGetColumns();
         private Function<SchemaTableName, Optional<String>> getComment = schemaTableName -> Optional.empty();
         private Function<SchemaTableName, TableStatistics> getTableStatistics = schemaTableName -> empty();
+        private Function<SchemaTableName, Optional<String>> getDataVersion = schemaTableName -> Optional.empty();
         private Function<SchemaTableName, List<String>> checkConstraints = schemaTableName -> ImmutableList.of();
         private ApplyProjection applyProjection = (session, handle, projections, assignments) -> Optional.empty();
         private ApplyAggregation applyAggregation = (session, handle, aggregates, assignments, groupingSets) -> Optional.empty();
@@ -592,6 +597,12 @@ public class MockConnectorFactory
             return this;
         }
 
+        public Builder withGetDataVersion(Function<SchemaTableName, Optional<String>> getDataVersion)
+        {
+            this.getDataVersion = requireNonNull(getDataVersion, "getDataVersion is null");
+            return this;
+        }
+
         public Builder withCheckConstraints(Function<SchemaTableName, List<String>> checkConstraints)
         {
             this.checkConstraints = requireNonNull(checkConstraints, "checkConstraints is null");
@@ -868,6 +879,7 @@ public class MockConnectorFactory
                     getColumns,
                     getComment,
                     getTableStatistics,
+                    getDataVersion,
                     checkConstraints,
                     applyProjection,
                     applyAggregation,
@@ -0,0 +1,200 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.cost;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.json.JsonCodecFactory;
+import io.airlift.json.ObjectMapperProvider;
+import io.trino.metadata.HandleResolver;
+import io.trino.metadata.TableHandle;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorTableHandle;
+import io.trino.spi.connector.SchemaTableName;
+import io.trino.sql.ir.Comparison;
+import io.trino.sql.ir.Constant;
+import io.trino.sql.ir.Logical;
+import io.trino.sql.ir.Reference;
+import io.trino.sql.planner.PlanNodeIdAllocator;
+import io.trino.sql.planner.Symbol;
+import io.trino.sql.planner.iterative.rule.test.PlanBuilder;
+import io.trino.sql.planner.plan.Assignments;
+import io.trino.sql.planner.plan.DynamicFilterId;
+import io.trino.sql.planner.plan.JoinNode.EquiJoinClause;
+import io.trino.sql.planner.plan.PlanNode;
+import io.trino.testing.TestingMetadata.TestingColumnHandle;
+import io.trino.testing.TestingMetadata.TestingTableHandle;
+import io.trino.testing.TestingTransactionHandle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static io.trino.SessionTestUtils.TEST_SESSION;
+import static io.trino.metadata.HandleJsonModule.columnHandleModule;
+import static io.trino.metadata.HandleJsonModule.tableHandleModule;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.sql.DynamicFilters.createDynamicFilterExpression;
+import static io.trino.sql.ir.Comparison.Operator.GREATER_THAN;
+import static io.trino.sql.ir.Logical.Operator.AND;
+import static io.trino.sql.planner.TestingPlannerContext.PLANNER_CONTEXT;
+import static io.trino.sql.planner.iterative.Lookup.noLookup;
+import static io.trino.sql.planner.iterative.rule.test.PlanBuilder.aggregation;
+import static io.trino.sql.planner.plan.AggregationNode.Step.FINAL;
+import static io.trino.sql.planner.plan.AggregationNode.Step.PARTIAL;
+import static io.trino.sql.planner.plan.JoinType.INNER;
+import static io.trino.sql.planner.plan.JoinType.LEFT;
+import static io.trino.testing.TestingHandles.TEST_CATALOG_HANDLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestCanonicalPlanHasher
+{
+    private static final HandleResolver HANDLE_RESOLVER = new HandleResolver();
+    private static final JsonCodecFactory CODEC_FACTORY = new JsonCodecFactory(new ObjectMapperProvider()
+            .withModules(Set.of(tableHandleModule(HANDLE_RESOLVER), columnHandleModule(HANDLE_RESOLVER))));
+
+    private final PlanBuilder p = new PlanBuilder(new PlanNodeIdAllocator(), PLANNER_CONTEXT, TEST_SESSION);
+
+    @Test
+    public void testSymbolNames()
+    {
+        assertThat(hash(filter(scan("orders", "key", p.symbol("a")), p.symbol("a"), 10)))
+                .isEqualTo(hash(filter(scan("orders", "key", p.symbol("b")), p.symbol("b"), 10)))
+                .isNotEqualTo(hash(filter(scan("orders", "key", p.symbol("c")), p.symbol("c"), 20)))
+                .isNotEqualTo(hash(filter(scan("customer", "key", p.symbol("d")), p.symbol("d"), 10)));
+    }
+
+    @Test
+    public void testTableIdentity()
+    {
+        Symbol a = p.symbol("a");
+        TableHandle orders = table("orders");
+        // the same table read in another transaction
+        TableHandle ordersInOtherTransaction = new TableHandle(orders.catalogHandle(), new TestingTableHandle(new SchemaTableName("tpch", "orders")), TestingTransactionHandle.create());
+        assertThat(hash(p.tableScan(orders, ImmutableList.of(a), ImmutableMap.of(a, new TestingColumnHandle("key")))))
+                .isNotNull()
+                .isEqualTo(hash(p.tableScan(ordersInOtherTransaction, ImmutableList.of(a), ImmutableMap.of(a, new TestingColumnHandle("key")))))
+                .isNotEqualTo(hash(p.tableScan(orders, ImmutableList.of(a), ImmutableMap.of(a, new TestingColumnHandle("other")))));
+    }
+
+    @Test
+    public void testConjunctsOrder()
+    {
+        Symbol a = p.symbol("a");
+        Comparison first = new Comparison(GREATER_THAN, a.toSymbolReference(), new Constant(BIGINT, 10L));
+        Comparison second = new Comparison(GREATER_THAN, new Constant(BIGINT, 20L), a.toSymbolReference());
+        assertThat(hash(p.filter(new Logical(AND, ImmutableList.of(first, second)), scan("orders", "key", a))))
+                .isEqualTo(hash(p.filter(new Logical(AND, ImmutableList.of(second, first)), scan("orders", "key", a))));
+    }
+
+    @Test
+    public void testNodesNotChangingRows()
+    {
+        Symbol a = p.symbol("a");
+        Symbol b = p.symbol("b");
+        PlanNode scan = scan("orders", "key", a);
+        String hash = hash(scan);
+
+        assertThat(hash(p.project(Assignments.of(b, a.toSymbolReference()), scan))).isEqualTo(hash);
+        assertThat(hash(p.exchange(exchange -> exchange
+                .addSource(scan)
+                .addInputsSet(a)
+                .singleDistributionPartitioningScheme(b))))
+                .isEqualTo(hash);
+        assertThat(hash(p.filter(createDynamicFilterExpression(PLANNER_CONTEXT.getMetadata(), new DynamicFilterId("df"), BIGINT, a.toSymbolReference()), scan)))
+                .isEqualTo(hash);
+
+        // filters on projected symbols depend on the projections
+        PlanNode projection = p.project(Assignments.of(b, a.toSymbolReference()), scan);
+        assertThat(hash(filter(projection, b, 10))).isEqualTo(hash(filter(scan, a, 10)));
+    }
+
+    @Test
+    public void testJoin()
+    {
+        Symbol a = p.symbol("a");
+        Symbol b = p.symbol("b");
+        PlanNode orders = filter(scan("orders", "custkey", a), a, 10);
+        PlanNode customer = scan("customer", "custkey", b);
+
+        assertThat(hash(p.join(INNER, orders, customer, new EquiJoinClause(a, b))))
+                .isEqualTo(hash(p.join(INNER, customer, orders, new EquiJoinClause(b, a))));
+        assertThat(hash(p.join(LEFT, orders, customer, new EquiJoinClause(a, b))))
+                .isNotEqualTo(hash(p.join(LEFT, customer, orders, new EquiJoinClause(b, a))));
+    }
+
+    @Test
+    public void testAggregation()
+    {
+        Symbol a = p.symbol("a");
+        Symbol key = p.symbol("key");
+        Symbol count = p.symbol("count");
+        Symbol partialCount = p.symbol("partial_count");
+        PlanNode scan = p.tableScan(
+                table("orders"),
+                ImmutableList.of(a, key),
+                ImmutableMap.of(a, new TestingColumnHandle("a"), key, new TestingColumnHandle("key")));
+
+        PlanNode single = p.aggregation(aggregation -> aggregation
+                .source(scan)
+                .singleGroupingSet(key)
+                .addAggregation(count, aggregation("count", ImmutableList.of(a.toSymbolReference())), ImmutableList.of(BIGINT)));
+        PlanNode partial = p.aggregation(aggregation -> aggregation
+                .source(scan)
+                .singleGroupingSet(key)
+                .step(PARTIAL)
+                .addAggregation(partialCount, aggregation("count", ImmutableList.of(a.toSymbolReference())), ImmutableList.of(BIGINT)));
+        PlanNode exchange = p.exchange(builder -> builder
+                .addSource(partial)
+                .addInputsSet(key, partialCount)
+                .fixedHashDistributionPartitioningScheme(ImmutableList.of(key, partialCount), ImmutableList.of(key)));
+        PlanNode aggregation = p.aggregation(builder -> builder
+                .source(exchange)
+                .singleGroupingSet(key)
+                .step(FINAL)
+                .addAggregation(count, aggregation("count", ImmutableList.of(partialCount.toSymbolReference())), ImmutableList.of(BIGINT)));
+
+        assertThat(hash(partial)).isNull();
+        assertThat(hash(aggregation)).isEqualTo(hash(single));
+    }
+
+    @Test
+    public void testUnsupportedNode()
+    {
+        Symbol a = p.symbol("a");
+        assertThat(hash(p.values(a))).isNull();
+        assertThat(hash(filter(p.limit(10, scan("orders", "key", a)), a, 10))).isNull();
+    }
+
+    private PlanNode scan(String table, String column, Symbol symbol)
+    {
+        return p.tableScan(table(table), ImmutableList.of(symbol), ImmutableMap.of(symbol, new TestingColumnHandle(column)));
+    }
+
+    private PlanNode filter(PlanNode source, Symbol symbol, long value)
+    {
+        return p.filter(new Comparison(GREATER_THAN, new Reference(BIGINT, symbol.name()), new Constant(BIGINT, value)), source);
+    }
+
+    private static TableHandle table(String name)
+    {
+        return new TableHandle(TEST_CATALOG_HANDLE, new TestingTableHandle(new SchemaTableName("tpch", name)), TestingTransactionHandle.create());
+    }
+
+    private static String hash(PlanNode node)
+    {
+        CanonicalPlanHasher hasher = new CanonicalPlanHasher(CODEC_FACTORY.jsonCodec(ConnectorTableHandle.class), CODEC_FACTORY.jsonCodec(ColumnHandle.class));
+        return hasher.hash(node, noLookup()).orElse(null);
+    }
+}
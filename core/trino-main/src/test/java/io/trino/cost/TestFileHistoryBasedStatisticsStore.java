@@ -0,0 +1,67 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.cost;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestFileHistoryBasedStatisticsStore
+{
+    @Test
+    public void testPersistence(@TempDir Path directory)
+    {
+        File file = directory.resolve("statistics.json").toFile();
+        FileHistoryBasedStatisticsStore store = new FileHistoryBasedStatisticsStore(new HistoryBasedStatisticsConfig().setFile(file));
+        store.putStatistics(ImmutableMap.of(
+                "a", new HistoricalPlanNodeStatistics(10, 100),
+                "b", new HistoricalPlanNodeStatistics(20, 200)));
+        store.putStatistics(ImmutableMap.of("a", new HistoricalPlanNodeStatistics(30, 300)));
+        assertThat(store.getStatistics("a")).contains(new HistoricalPlanNodeStatistics(30, 300));
+        assertThat(store.getStatistics("c")).isEmpty();
+        store.flush();
+
+        FileHistoryBasedStatisticsStore loaded = new FileHistoryBasedStatisticsStore(new HistoryBasedStatisticsConfig().setFile(file));
+        assertThat(loaded.getStatistics("a")).contains(new HistoricalPlanNodeStatistics(30, 300));
+        assertThat(loaded.getStatistics("b")).contains(new HistoricalPlanNodeStatistics(20, 200));
+    }
+
+    @Test
+    public void testCorruptedFile(@TempDir Path directory)
+            throws IOException
+    {
+        Path file = directory.resolve("statistics.json");
+        Files.writeString(file, "{ corrupted", UTF_8);
+        FileHistoryBasedStatisticsStore store = new FileHistoryBasedStatisticsStore(new HistoryBasedStatisticsConfig().setFile(file.toFile()));
+        assertThat(store.getStatistics("a")).isEmpty();
+    }
+
+    @Test
+    public void testMaxEntries()
+    {
+        FileHistoryBasedStatisticsStore store = new FileHistoryBasedStatisticsStore(new HistoryBasedStatisticsConfig().setMaxEntries(1));
+        store.putStatistics(ImmutableMap.of("a", new HistoricalPlanNodeStatistics(10, 100)));
+        store.putStatistics(ImmutableMap.of("b", new HistoricalPlanNodeStatistics(20, 200)));
+        assertThat(store.getStatistics("a")).isEmpty();
+        assertThat(store.getStatistics("b")).contains(new HistoricalPlanNodeStatistics(20, 200));
+    }
+}
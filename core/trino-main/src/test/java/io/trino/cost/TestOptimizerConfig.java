@@ -90,6 +90,8 @@ public class TestOptimizerConfig
                 .setMinInputSizePerTask(DataSize.of(5, GIGABYTE))
                 .setMinInputRowsPerTask(10_000_000L)
                 .setUseExactPartitioning(false)
+                .setUseHistoryBasedStatistics(false)
+                .setPlanCacheEnabled(false)
                 .setUseCostBasedPartitioning(true)
                 .setPushFilterIntoValuesMaxRowCount(100)
                 .setUnsafePushdownAllowed(false));
@@ -149,6 +151,8 @@ public class TestOptimizerConfig
                 .put("optimizer.min-input-size-per-task", "1MB")
                 .put("optimizer.min-input-rows-per-task", "1000000")
                 .put("optimizer.use-exact-partitioning", "true")
+                .put("optimizer.use-history-based-statistics", "true")
+                .put("optimizer.plan-cache-enabled", "true")
                 .put("optimizer.use-cost-based-partitioning", "false")
                 .put("optimizer.push-filter-into-values-max-row-count", "5")
                 .put("optimizer.allow-unsafe-pushdown", "true")
@@ -205,6 +209,8 @@ public class TestOptimizerConfig
                 .setMinInputSizePerTask(DataSize.of(1, MEGABYTE))
                 .setMinInputRowsPerTask(1_000_000L)
                 .setUseExactPartitioning(true)
+                .setUseHistoryBasedStatistics(true)
+                .setPlanCacheEnabled(true)
                 .setUseCostBasedPartitioning(false)
                 .setPushFilterIntoValuesMaxRowCount(5)
                 .setUnsafePushdownAllowed(true);
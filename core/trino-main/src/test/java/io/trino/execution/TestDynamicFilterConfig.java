@@ -35,6 +35,8 @@ public class TestDynamicFilterConfig
                 .setEnableLargeDynamicFilters(false)
                 .setEnableDynamicRowFiltering(true)
                 .setDynamicRowFilterSelectivityThreshold(0.7)
+                .setEnableBloomFilters(false)
+                .setBloomFilterMaxSize(DataSize.of(4, MEGABYTE))
                 .setSmallMaxDistinctValuesPerDriver(1_000)
                 .setSmallMaxSizePerDriver(DataSize.of(100, KILOBYTE))
                 .setSmallRangeRowLimitPerDriver(2_000)
@@ -63,6 +65,8 @@ public class TestDynamicFilterConfig
                 .put("enable-large-dynamic-filters", "true")
                 .put("enable-dynamic-row-filtering", "false")
                 .put("dynamic-row-filtering.selectivity-threshold", "0.8")
+                .put("enable-dynamic-filtering-bloom-filters", "true")
+                .put("dynamic-filtering.bloom-filter-max-size", "8MB")
                 .put("dynamic-filtering.small.max-distinct-values-per-driver", "256")
                 .put("dynamic-filtering.small.max-size-per-driver", "64kB")
                 .put("dynamic-filtering.small.range-row-limit-per-driver", "20000")
@@ -88,6 +92,8 @@ public class TestDynamicFilterConfig
                 .setEnableLargeDynamicFilters(true)
                 .setEnableDynamicRowFiltering(false)
                 .setDynamicRowFilterSelectivityThreshold(0.8)
+                .setEnableBloomFilters(true)
+                .setBloomFilterMaxSize(DataSize.of(8, MEGABYTE))
                 .setSmallMaxDistinctValuesPerDriver(256)
                 .setSmallMaxSizePerDriver(DataSize.of(64, KILOBYTE))
                 .setSmallRangeRowLimitPerDriver(20000)
@@ -19,6 +19,7 @@ import io.airlift.units.Duration;
 import io.trino.operator.RetryPolicy;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.util.Map;
 
 import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
@@ -53,6 +54,7 @@ public class TestQueryManagerConfig
                 .setMaxConcurrentQueries(1000)
                 .setMaxQueuedQueries(5000)
                 .setDeterminePartitionCountForWriteEnabled(false)
+                .setResultCacheEnabled(false)
                 .setMaxHashPartitionCount(100)
                 .setMinHashPartitionCount(4)
                 .setMinHashPartitionCountForWrite(50)
@@ -100,6 +102,9 @@ public class TestQueryManagerConfig
                 .setFaultTolerantExecutionStandardSplitSize(DataSize.of(64, MEGABYTE))
                 .setFaultTolerantExecutionMaxTaskSplitCount(2048)
                 .setFaultTolerantExecutionTaskDescriptorStorageMaxMemory(DataSize.ofBytes(round(AVAILABLE_HEAP_MEMORY * 0.15)))
+                .setFaultTolerantExecutionTaskDescriptorStorageSpillEnabled(false)
+                .setFaultTolerantExecutionTaskDescriptorStorageSpillPath(new File(System.getProperty("java.io.tmpdir"), "trino-task-descriptors"))
+                .setFaultTolerantExecutionTaskDescriptorStorageMaxSpillSize(DataSize.of(100, GIGABYTE))
                 .setFaultTolerantExecutionMaxPartitionCount(50)
                 .setFaultTolerantExecutionMinPartitionCount(4)
                 .setFaultTolerantExecutionMinPartitionCountForWrite(50)
@@ -107,6 +112,9 @@ public class TestQueryManagerConfig
                 .setFaultTolerantExecutionRuntimeAdaptivePartitioningMaxTaskSize(DataSize.of(12, GIGABYTE))
                 .setFaultTolerantExecutionRuntimeAdaptivePartitioningPartitionCount(FAULT_TOLERANT_EXECUTION_MAX_PARTITION_COUNT_LIMIT)
                 .setFaultTolerantExecutionMinSourceStageProgress(0.2)
+                .setFaultTolerantExecutionSpeculativeAttemptsEnabled(false)
+                .setFaultTolerantExecutionSpeculativeAttemptsSlownessRatio(2.0)
+                .setFaultTolerantExecutionSpeculativeAttemptsMinTaskDuration(new Duration(1, MINUTES))
                 .setFaultTolerantExecutionSmallStageEstimationEnabled(true)
                 .setFaultTolerantExecutionSmallStageEstimationThreshold(DataSize.of(20, GIGABYTE))
                 .setFaultTolerantExecutionSmallStageSourceSizeMultiplier(1.2)
@@ -134,6 +142,7 @@ public class TestQueryManagerConfig
                 .put("query.max-concurrent-queries", "10")
                 .put("query.max-queued-queries", "15")
                 .put("query.determine-partition-count-for-write-enabled", "true")
+                .put("query.result-cache-enabled", "true")
                 .put("query.max-hash-partition-count", "16")
                 .put("query.min-hash-partition-count", "2")
                 .put("query.min-hash-partition-count-for-write", "88")
@@ -181,6 +190,9 @@ public class TestQueryManagerConfig
                 .put("fault-tolerant-execution-standard-split-size", "33MB")
                 .put("fault-tolerant-execution-max-task-split-count", "22")
                 .put("fault-tolerant-execution-task-descriptor-storage-max-memory", "3GB")
+                .put("fault-tolerant-execution-task-descriptor-storage-spill-enabled", "true")
+                .put("fault-tolerant-execution-task-descriptor-storage-spill-path", "/mnt/spill/task-descriptors")
+                .put("fault-tolerant-execution-task-descriptor-storage-max-spill-size", "10GB")
                 .put("fault-tolerant-execution-max-partition-count", "123")
                 .put("fault-tolerant-execution-min-partition-count", "12")
                 .put("fault-tolerant-execution-min-partition-count-for-write", "99")
@@ -188,6 +200,9 @@ public class TestQueryManagerConfig
                 .put("fault-tolerant-execution-runtime-adaptive-partitioning-partition-count", "888")
                 .put("fault-tolerant-execution-runtime-adaptive-partitioning-max-task-size", "18GB")
                 .put("fault-tolerant-execution-min-source-stage-progress", "0.3")
+                .put("fault-tolerant-execution-speculative-attempts-enabled", "true")
+                .put("fault-tolerant-execution-speculative-attempts-slowness-ratio", "3.5")
+                .put("fault-tolerant-execution-speculative-attempts-min-task-duration", "30s")
                 .put("query.max-writer-task-count", "101")
                 .put("fault-tolerant-execution-small-stage-estimation-enabled", "false")
                 .put("fault-tolerant-execution-small-stage-estimation-threshold", "6GB")
@@ -212,6 +227,7 @@ public class TestQueryManagerConfig
                 .setMaxConcurrentQueries(10)
                 .setMaxQueuedQueries(15)
                 .setDeterminePartitionCountForWriteEnabled(true)
+                .setResultCacheEnabled(true)
                 .setMaxHashPartitionCount(16)
                 .setMinHashPartitionCount(2)
                 .setMinHashPartitionCountForWrite(88)
@@ -259,6 +275,9 @@ public class TestQueryManagerConfig
                 .setFaultTolerantExecutionStandardSplitSize(DataSize.of(33, MEGABYTE))
                 .setFaultTolerantExecutionMaxTaskSplitCount(22)
                 .setFaultTolerantExecutionTaskDescriptorStorageMaxMemory(DataSize.of(3, GIGABYTE))
+                .setFaultTolerantExecutionTaskDescriptorStorageSpillEnabled(true)
+                .setFaultTolerantExecutionTaskDescriptorStorageSpillPath(new File("/mnt/spill/task-descriptors"))
+                .setFaultTolerantExecutionTaskDescriptorStorageMaxSpillSize(DataSize.of(10, GIGABYTE))
                 .setFaultTolerantExecutionMaxPartitionCount(123)
                 .setFaultTolerantExecutionMinPartitionCount(12)
                 .setFaultTolerantExecutionMinPartitionCountForWrite(99)
@@ -266,6 +285,9 @@ public class TestQueryManagerConfig
                 .setFaultTolerantExecutionRuntimeAdaptivePartitioningPartitionCount(888)
                 .setFaultTolerantExecutionRuntimeAdaptivePartitioningMaxTaskSize(DataSize.of(18, GIGABYTE))
                 .setFaultTolerantExecutionMinSourceStageProgress(0.3)
+                .setFaultTolerantExecutionSpeculativeAttemptsEnabled(true)
+                .setFaultTolerantExecutionSpeculativeAttemptsSlownessRatio(3.5)
+                .setFaultTolerantExecutionSpeculativeAttemptsMinTaskDuration(new Duration(30, SECONDS))
                 .setFaultTolerantExecutionSmallStageEstimationEnabled(false)
                 .setFaultTolerantExecutionSmallStageEstimationThreshold(DataSize.of(6, GIGABYTE))
                 .setFaultTolerantExecutionSmallStageSourceSizeMultiplier(1.6)
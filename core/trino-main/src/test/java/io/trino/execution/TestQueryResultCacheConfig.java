@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
+import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
+import static io.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+public class TestQueryResultCacheConfig
+{
+    @Test
+    public void testDefaults()
+    {
+        assertRecordedDefaults(recordDefaults(QueryResultCacheConfig.class)
+                .setMaxEntries(1000)
+                .setMaxResultSize(DataSize.of(1, MEGABYTE))
+                .setMaxCollectedSize(DataSize.of(64, MEGABYTE))
+                .setTtl(new Duration(1, HOURS)));
+    }
+
+    @Test
+    public void testExplicitPropertyMappings()
+    {
+        Map<String, String> properties = ImmutableMap.<String, String>builder()
+                .put("query-result-cache.max-entries", "10")
+                .put("query-result-cache.max-result-size", "512kB")
+                .put("query-result-cache.max-collected-size", "16MB")
+                .put("query-result-cache.ttl", "5m")
+                .buildOrThrow();
+
+        QueryResultCacheConfig expected = new QueryResultCacheConfig()
+                .setMaxEntries(10)
+                .setMaxResultSize(DataSize.of(512, KILOBYTE))
+                .setMaxCollectedSize(DataSize.of(16, MEGABYTE))
+                .setTtl(new Duration(5, MINUTES));
+
+        assertFullMapping(properties, expected);
+    }
+}
@@ -55,6 +55,7 @@ public class TestTaskManagerConfig
                 .setClientTimeout(new Duration(2, TimeUnit.MINUTES))
                 .setMaxIndexMemoryUsage(DataSize.of(64, Unit.MEGABYTE))
                 .setShareIndexLoading(false)
+                .setShareTableScans(false)
                 .setMaxPartialAggregationMemoryUsage(DataSize.of(16, Unit.MEGABYTE))
                 .setMaxPartialTopNMemory(DataSize.of(16, Unit.MEGABYTE))
                 .setMaxLocalExchangeBufferSize(DataSize.of(128, Unit.MEGABYTE))
@@ -95,6 +96,7 @@ public class TestTaskManagerConfig
                 .put("task.cpu-timer-enabled", "false")
                 .put("task.max-index-memory", "512MB")
                 .put("task.share-index-loading", "true")
+                .put("task.share-table-scans", "true")
                 .put("task.max-partial-aggregation-memory", "32MB")
                 .put("task.max-partial-top-n-memory", "32MB")
                 .put("task.max-local-exchange-buffer-size", "33MB")
@@ -136,6 +138,7 @@ public class TestTaskManagerConfig
                 .setTaskCpuTimerEnabled(false)
                 .setMaxIndexMemoryUsage(DataSize.of(512, Unit.MEGABYTE))
                 .setShareIndexLoading(true)
+                .setShareTableScans(true)
                 .setMaxPartialAggregationMemoryUsage(DataSize.of(32, Unit.MEGABYTE))
                 .setMaxPartialTopNMemory(DataSize.of(32, Unit.MEGABYTE))
                 .setMaxLocalExchangeBufferSize(DataSize.of(33, Unit.MEGABYTE))
@@ -14,6 +14,7 @@
 package io.trino.execution.scheduler.faulttolerant;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Futures;
 import io.airlift.testing.TestingTicker;
 import io.airlift.units.DataSize;
@@ -608,6 +609,29 @@ public class TestBinPackingNodeAllocator
         }
     }
 
+    @Test
+    @Timeout(value = TEST_TIMEOUT, unit = MILLISECONDS)
+    public void testAllocateNodeWithExcludedAddresses()
+    {
+        InMemoryNodeManager nodeManager = new InMemoryNodeManager(NODE_1, NODE_2);
+
+        setupNodeAllocatorService(nodeManager);
+
+        try (NodeAllocator nodeAllocator = nodeAllocatorService.getNodeAllocator(SESSION_QUERY_1)) {
+            // excluded node is avoided
+            NodeAllocator.NodeLease acquire1 = nodeAllocator.acquire(REQ_NONE.withExcludedAddresses(ImmutableSet.of(NODE_1_ADDRESS)), DataSize.of(16, GIGABYTE), STANDARD);
+            assertAcquired(acquire1, NODE_2);
+
+            // exclusion takes precedence over preferred address
+            NodeAllocator.NodeLease acquire2 = nodeAllocator.acquire(REQ_NODE_2.withExcludedAddresses(ImmutableSet.of(NODE_2_ADDRESS)), DataSize.of(16, GIGABYTE), STANDARD);
+            assertAcquired(acquire2, NODE_1);
+
+            // excluded node is used if there is no other node
+            NodeAllocator.NodeLease acquire3 = nodeAllocator.acquire(REQ_NONE.withExcludedAddresses(ImmutableSet.of(NODE_1_ADDRESS, NODE_2_ADDRESS)), DataSize.of(16, GIGABYTE), STANDARD);
+            assertAcquired(acquire3);
+        }
+    }
+
     @Test
     @Timeout(value = TEST_TIMEOUT, unit = MILLISECONDS)
     public void testAllocateNotEnoughRuntimeMemory()
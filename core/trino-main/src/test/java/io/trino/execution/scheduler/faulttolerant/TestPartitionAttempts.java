@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution.scheduler.faulttolerant;
+
+import io.airlift.testing.TestingTicker;
+import io.trino.execution.StageId;
+import io.trino.execution.TaskId;
+import io.trino.spi.QueryId;
+import org.junit.jupiter.api.Test;
+
+import static io.trino.execution.scheduler.faulttolerant.PartitionAttempts.getSpeculativeAttemptThresholdNanos;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPartitionAttempts
+{
+    private static final StageId STAGE_ID = new StageId(new QueryId("query"), 0);
+    private static final TaskId ATTEMPT_0 = new TaskId(STAGE_ID, 0, 0);
+    private static final TaskId ATTEMPT_1 = new TaskId(STAGE_ID, 0, 1);
+
+    @Test
+    public void testSpeculativeAttemptThreshold()
+    {
+        // the median of the finished partitions is used, so a few slow partitions do not raise the threshold
+        assertThat(getSpeculativeAttemptThresholdNanos(new long[] {100, 3, 1, 200, 2}, 2.0, 0)).isEqualTo(6);
+        assertThat(getSpeculativeAttemptThresholdNanos(new long[] {4, 1, 3, 2}, 1.5, 0)).isEqualTo(4);
+        assertThat(getSpeculativeAttemptThresholdNanos(new long[] {10}, 1.0, 0)).isEqualTo(10);
+
+        // short tasks do not get speculative attempts
+        assertThat(getSpeculativeAttemptThresholdNanos(new long[] {100, 3, 1, 200, 2}, 2.0, 50)).isEqualTo(50);
+    }
+
+    @Test
+    public void testSlowAttempt()
+    {
+        TestingTicker ticker = new TestingTicker();
+        PartitionAttempts attempts = new PartitionAttempts(4, ticker);
+        assertThat(attempts.isRunningLongerThan(0)).isFalse();
+
+        attempts.attemptStarted(new TaskId(STAGE_ID, 0, attempts.nextAttemptId()));
+        ticker.increment(10, SECONDS);
+        assertThat(attempts.isRunningLongerThan(SECONDS.toNanos(10))).isFalse();
+        ticker.increment(1, SECONDS);
+        assertThat(attempts.isRunningLongerThan(SECONDS.toNanos(10))).isTrue();
+
+        // a partition gets a single speculative attempt
+        attempts.speculativeAttemptScheduled();
+        assertThat(attempts.isRunningLongerThan(SECONDS.toNanos(10))).isFalse();
+        assertThat(attempts.nextAttemptId()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSpeculativeAttemptFinishesFirst()
+    {
+        TestingTicker ticker = new TestingTicker();
+        PartitionAttempts attempts = new PartitionAttempts(4, ticker);
+        attempts.attemptStarted(ATTEMPT_0);
+        ticker.increment(20, SECONDS);
+
+        attempts.speculativeAttemptScheduled();
+        assertThat(attempts.isSpeculativeAttemptPending()).isTrue();
+        attempts.attemptStarted(ATTEMPT_1);
+        assertThat(attempts.isSpeculativeAttemptPending()).isFalse();
+        assertThat(attempts.getRunningAttempts()).containsExactly(ATTEMPT_0, ATTEMPT_1);
+
+        ticker.increment(5, SECONDS);
+        assertThat(attempts.isSpeculativeAttempt(ATTEMPT_1)).isTrue();
+        assertThat(attempts.getDurationNanos(ATTEMPT_1)).isEqualTo(SECONDS.toNanos(5));
+        attempts.attemptFinished(ATTEMPT_1);
+        assertThat(attempts.getRunningAttempts()).containsExactly(ATTEMPT_0);
+        assertThat(attempts.getRemainingAttempts()).isEqualTo(4);
+    }
+
+    @Test
+    public void testOriginalAttemptFinishesFirst()
+    {
+        TestingTicker ticker = new TestingTicker();
+        PartitionAttempts attempts = new PartitionAttempts(4, ticker);
+        attempts.attemptStarted(ATTEMPT_0);
+        ticker.increment(20, SECONDS);
+        attempts.speculativeAttemptScheduled();
+        attempts.attemptStarted(ATTEMPT_1);
+
+        ticker.increment(5, SECONDS);
+        assertThat(attempts.isSpeculativeAttempt(ATTEMPT_0)).isFalse();
+        assertThat(attempts.getDurationNanos(ATTEMPT_0)).isEqualTo(SECONDS.toNanos(25));
+        attempts.attemptFinished(ATTEMPT_0);
+        assertThat(attempts.getRunningAttempts()).containsExactly(ATTEMPT_1);
+    }
+
+    @Test
+    public void testFailureOfOneOfTwoAttempts()
+    {
+        PartitionAttempts attempts = new PartitionAttempts(2, new TestingTicker());
+        attempts.attemptStarted(ATTEMPT_0);
+        attempts.speculativeAttemptScheduled();
+        attempts.attemptStarted(ATTEMPT_1);
+
+        // the other attempt is still running, so no retry is used up
+        attempts.attemptFailed(ATTEMPT_1);
+        assertThat(attempts.isRunning()).isTrue();
+        assertThat(attempts.getRemainingAttempts()).isEqualTo(2);
+
+        attempts.attemptFailed(ATTEMPT_0);
+        assertThat(attempts.isRunning()).isFalse();
+        assertThat(attempts.getRemainingAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailureWhileSpeculativeAttemptWaitsForNode()
+    {
+        PartitionAttempts attempts = new PartitionAttempts(2, new TestingTicker());
+        attempts.attemptStarted(ATTEMPT_0);
+        attempts.speculativeAttemptScheduled();
+
+        // the pending speculative attempt replaces the failed one, so no other replacement attempt is scheduled
+        attempts.attemptFailed(ATTEMPT_0);
+        assertThat(attempts.getRemainingAttempts()).isEqualTo(1);
+        assertThat(attempts.isSpeculativeAttemptPending()).isTrue();
+
+        // it does not race against any attempt once started
+        attempts.attemptStarted(ATTEMPT_1);
+        assertThat(attempts.isSpeculativeAttemptPending()).isFalse();
+        assertThat(attempts.isSpeculativeAttempt(ATTEMPT_1)).isFalse();
+    }
+
+    @Test
+    public void testSpeculativeAttemptDropped()
+    {
+        PartitionAttempts attempts = new PartitionAttempts(2, new TestingTicker());
+        attempts.attemptStarted(ATTEMPT_0);
+        attempts.speculativeAttemptScheduled();
+        attempts.speculativeAttemptDropped();
+
+        // a failure of the running attempt is replaced as usual
+        assertThat(attempts.isSpeculativeAttemptPending()).isFalse();
+        attempts.attemptFailed(ATTEMPT_0);
+        assertThat(attempts.getRemainingAttempts()).isEqualTo(1);
+        assertThat(attempts.isRunningLongerThan(0)).isFalse();
+    }
+}
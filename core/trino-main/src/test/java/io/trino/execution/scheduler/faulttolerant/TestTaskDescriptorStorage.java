@@ -20,6 +20,7 @@ import io.airlift.units.DataSize;
 import io.trino.exchange.SpoolingExchangeInput;
 import io.trino.execution.StageId;
 import io.trino.metadata.Split;
+import io.trino.spi.HostAddress;
 import io.trino.spi.QueryId;
 import io.trino.spi.TrinoException;
 import io.trino.spi.catalog.CatalogName;
@@ -28,14 +29,29 @@ import io.trino.spi.exchange.ExchangeSourceHandle;
 import io.trino.split.RemoteSplit;
 import io.trino.sql.planner.plan.PlanNodeId;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
 
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
 import static io.airlift.json.JsonCodec.jsonCodec;
 import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.trino.operator.ExchangeOperator.REMOTE_CATALOG_HANDLE;
 import static io.trino.spi.StandardErrorCode.EXCEEDED_TASK_DESCRIPTOR_STORAGE_CAPACITY;
 import static io.trino.testing.TestingHandles.createTestCatalogHandle;
+import static io.trino.testing.assertions.Assert.assertEventually;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -185,6 +201,150 @@ public class TestTaskDescriptorStorage
                 .matches(TestTaskDescriptorStorage::isStorageCapacityExceededFailure);
     }
 
+    @Test
+    public void testSpill(@TempDir Path spillPath)
+            throws IOException
+    {
+        TaskDescriptorStorage manager = new TaskDescriptorStorage(DataSize.of(4, KILOBYTE), true, spillPath, DataSize.of(1, MEGABYTE), jsonCodec(Split.class), newDirectExecutorService());
+        manager.initialize(QUERY_1);
+        manager.initialize(QUERY_2);
+
+        List<TaskDescriptor> descriptors = new ArrayList<>();
+        for (int partitionId = 0; partitionId < 40; partitionId++) {
+            TaskDescriptor descriptor = createTaskDescriptorWithoutSplits(partitionId, "catalog" + partitionId);
+            descriptors.add(descriptor);
+            manager.put(QUERY_1_STAGE_1, descriptor);
+        }
+        manager.put(QUERY_2_STAGE_1, createTaskDescriptorWithoutSplits(0, "catalog"));
+
+        assertThat(manager.getReservedBytes()).isLessThanOrEqualTo(toBytes(4, KILOBYTE));
+        assertThat(manager.getSpilledBytes()).isGreaterThan(0);
+        for (TaskDescriptor descriptor : descriptors) {
+            assertThat(manager.get(QUERY_1_STAGE_1, descriptor.getPartitionId())).contains(descriptor);
+        }
+        assertThat(manager.get(QUERY_2_STAGE_1, 0)).isPresent();
+
+        manager.remove(QUERY_1_STAGE_1, 0);
+        assertThatThrownBy(() -> manager.get(QUERY_1_STAGE_1, 0))
+                .hasMessageContaining("descriptor not found for key");
+
+        manager.destroy(QUERY_1);
+        assertThat(manager.get(QUERY_1_STAGE_1, 1)).isEmpty();
+        assertThat(manager.get(QUERY_2_STAGE_1, 0)).isPresent();
+        assertThat(manager.getSpilledBytes()).isEqualTo(0);
+        try (Stream<Path> files = Files.list(spillPath)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    public void testSpillSpaceReclaimed(@TempDir Path spillPath)
+            throws IOException
+    {
+        TaskDescriptorStorage manager = new TaskDescriptorStorage(DataSize.of(4, KILOBYTE), true, spillPath, DataSize.of(1, MEGABYTE), jsonCodec(Split.class), newDirectExecutorService());
+        manager.initialize(QUERY_1);
+
+        for (int partitionId = 0; partitionId < 40; partitionId++) {
+            manager.put(QUERY_1_STAGE_1, createTaskDescriptorWithoutSplits(partitionId, "catalog" + partitionId));
+        }
+        long spilledBytes = manager.getSpilledBytes();
+        assertThat(spilledBytes).isGreaterThan(0);
+        long spillFileSize = getSpillFileSize(spillPath);
+
+        for (int partitionId = 0; partitionId < 40; partitionId++) {
+            manager.remove(QUERY_1_STAGE_1, partitionId);
+        }
+        assertThat(manager.getSpilledBytes()).isEqualTo(0);
+
+        // the space of the removed descriptors is reused
+        for (int partitionId = 0; partitionId < 40; partitionId++) {
+            manager.put(QUERY_1_STAGE_2, createTaskDescriptorWithoutSplits(partitionId, "catalog" + partitionId));
+        }
+        assertThat(manager.getSpilledBytes()).isEqualTo(spilledBytes);
+        assertThat(getSpillFileSize(spillPath)).isEqualTo(spillFileSize);
+        for (int partitionId = 0; partitionId < 40; partitionId++) {
+            assertThat(manager.get(QUERY_1_STAGE_2, partitionId)).contains(createTaskDescriptorWithoutSplits(partitionId, "catalog" + partitionId));
+        }
+
+        manager.destroy(QUERY_1);
+        assertThat(manager.getSpilledBytes()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSpillOnExecutor(@TempDir Path spillPath)
+    {
+        ExecutorService spillExecutor = newSingleThreadExecutor();
+        CountDownLatch spillStarted = new CountDownLatch(1);
+        CountDownLatch spillReleased = new CountDownLatch(1);
+        // blocks the spill executor until the descriptors are stored
+        spillExecutor.execute(() -> {
+            spillStarted.countDown();
+            awaitUninterruptibly(spillReleased);
+        });
+        try {
+            TaskDescriptorStorage manager = new TaskDescriptorStorage(DataSize.of(4, KILOBYTE), true, spillPath, DataSize.of(1, MEGABYTE), jsonCodec(Split.class), spillExecutor);
+            manager.initialize(QUERY_1);
+            manager.initialize(QUERY_2);
+            awaitUninterruptibly(spillStarted);
+
+            List<TaskDescriptor> descriptors = new ArrayList<>();
+            for (int partitionId = 0; partitionId < 40; partitionId++) {
+                TaskDescriptor descriptor = createTaskDescriptorWithoutSplits(partitionId, "catalog" + partitionId);
+                descriptors.add(descriptor);
+                manager.put(QUERY_1_STAGE_1, descriptor);
+            }
+            // storing a descriptor of another query does not spill the queued descriptors
+            manager.put(QUERY_2_STAGE_1, createTaskDescriptorWithoutSplits(0, "catalog"));
+            assertThat(manager.getSpilledBytes()).isEqualTo(0);
+            assertThat(manager.getReservedBytes()).isGreaterThan(toBytes(4, KILOBYTE));
+            // the descriptors queued for spilling are still readable
+            for (TaskDescriptor descriptor : descriptors) {
+                assertThat(manager.get(QUERY_1_STAGE_1, descriptor.getPartitionId())).contains(descriptor);
+            }
+
+            spillReleased.countDown();
+            assertEventually(() -> assertThat(manager.getReservedBytes()).isLessThanOrEqualTo(toBytes(4, KILOBYTE)));
+            assertThat(manager.getSpilledBytes()).isGreaterThan(0);
+            for (TaskDescriptor descriptor : descriptors) {
+                assertThat(manager.get(QUERY_1_STAGE_1, descriptor.getPartitionId())).contains(descriptor);
+            }
+        }
+        finally {
+            spillExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSpillCapacityExceeded(@TempDir Path spillPath)
+    {
+        TaskDescriptorStorage manager = new TaskDescriptorStorage(DataSize.of(1, KILOBYTE), true, spillPath, DataSize.ofBytes(1), jsonCodec(Split.class), newDirectExecutorService());
+        manager.initialize(QUERY_1);
+
+        assertThatThrownBy(() -> {
+            for (int partitionId = 0; partitionId < 20; partitionId++) {
+                manager.put(QUERY_1_STAGE_1, createTaskDescriptorWithoutSplits(partitionId, "catalog" + partitionId));
+            }
+        }).matches(TestTaskDescriptorStorage::isStorageCapacityExceededFailure);
+        assertThat(manager.getReservedBytes()).isEqualTo(0);
+        assertThat(manager.getSpilledBytes()).isEqualTo(0);
+    }
+
+    private static long getSpillFileSize(Path spillPath)
+            throws IOException
+    {
+        try (Stream<Path> files = Files.list(spillPath)) {
+            return getOnlyElement(files.toList()).toFile().length();
+        }
+    }
+
+    private static TaskDescriptor createTaskDescriptorWithoutSplits(int partitionId, String catalogName)
+    {
+        return new TaskDescriptor(
+                partitionId,
+                SplitsMapping.EMPTY,
+                new NodeRequirements(Optional.of(createTestCatalogHandle(catalogName)), Optional.of(HostAddress.fromParts("host" + partitionId, 8080)), false));
+    }
+
     private static TaskDescriptor createTaskDescriptor(int partitionId, DataSize retainedSize)
     {
         return createTaskDescriptor(partitionId, retainedSize, Optional.empty());
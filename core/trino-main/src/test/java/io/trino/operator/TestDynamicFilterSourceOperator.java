@@ -19,6 +19,7 @@ import io.airlift.units.DataSize;
 import io.trino.spi.Page;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.predicate.ValueSet;
@@ -36,12 +37,15 @@ import org.junit.jupiter.api.TestInstance;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.airlift.units.DataSize.Unit.KILOBYTE;
@@ -88,6 +92,7 @@ public class TestDynamicFilterSourceOperator
     private PipelineContext pipelineContext;
 
     private ImmutableList.Builder<TupleDomain<DynamicFilterId>> partitions;
+    private ImmutableList.Builder<Map<DynamicFilterId, BloomFilter>> partitionBloomFilters;
 
     @BeforeEach
     public void setUp()
@@ -99,6 +104,7 @@ public class TestDynamicFilterSourceOperator
                 .addPipelineContext(0, true, true, false);
 
         partitions = ImmutableList.builder();
+        partitionBloomFilters = ImmutableList.builder();
     }
 
     @AfterEach
@@ -132,6 +138,16 @@ public class TestDynamicFilterSourceOperator
             DataSize maxFilterSize,
             int minMaxCollectionLimit,
             Iterable<DynamicFilterSourceOperator.Channel> buildChannels)
+    {
+        return createOperatorFactory(maxFilterDistinctValues, maxFilterSize, minMaxCollectionLimit, buildChannels, Optional.empty());
+    }
+
+    private OperatorFactory createOperatorFactory(
+            int maxFilterDistinctValues,
+            DataSize maxFilterSize,
+            int minMaxCollectionLimit,
+            Iterable<DynamicFilterSourceOperator.Channel> buildChannels,
+            Optional<DataSize> bloomFilterMaxSize)
     {
         return new DynamicFilterSourceOperator.DynamicFilterSourceOperatorFactory(
                 0,
@@ -143,6 +159,13 @@ public class TestDynamicFilterSourceOperator
                         partitions.add(tupleDomain);
                     }
 
+                    @Override
+                    public void addPartition(TupleDomain<DynamicFilterId> tupleDomain, Map<DynamicFilterId, BloomFilter> bloomFilters)
+                    {
+                        partitions.add(tupleDomain);
+                        partitionBloomFilters.add(bloomFilters);
+                    }
+
                     @Override
                     public void setPartitionCount(int partitionCount) {}
 
@@ -156,6 +179,7 @@ public class TestDynamicFilterSourceOperator
                 maxFilterDistinctValues,
                 maxFilterSize,
                 minMaxCollectionLimit,
+                bloomFilterMaxSize,
                 typeOperators);
     }
 
@@ -601,6 +625,60 @@ public class TestDynamicFilterSourceOperator
                 ImmutableList.of(TupleDomain.all()));
     }
 
+    @Test
+    public void testCollectBloomFilterWhenTooManyDistinctValues()
+    {
+        int maxDistinctValues = 100;
+        OperatorFactory operatorFactory = createOperatorFactory(
+                maxDistinctValues,
+                DataSize.of(10, KILOBYTE),
+                1_000_000,
+                ImmutableList.of(channel(0, BIGINT)),
+                Optional.of(DataSize.of(1, KILOBYTE)));
+        verifyPassthrough(createOperator(operatorFactory),
+                ImmutableList.of(BIGINT),
+                new Page(createLongSequenceBlock(0, 50)),
+                new Page(createLongSequenceBlock(1000, 1200)),
+                new Page(createLongSequenceBlock(2000, 2100)));
+        operatorFactory.noMoreOperators();
+
+        // the domain falls back to min max
+        assertThat(partitions.build()).isEqualTo(ImmutableList.of(TupleDomain.withColumnDomains(ImmutableMap.of(
+                new DynamicFilterId("0"),
+                Domain.create(ValueSet.ofRanges(range(BIGINT, 0L, true, 2099L, true)), false)))));
+
+        // the bloom filter contains both the values collected before and after the fallback
+        BloomFilter bloomFilter = getOnlyElement(partitionBloomFilters.build()).get(new DynamicFilterId("0"));
+        assertThat(bloomFilter.getSizeInBytes()).isEqualTo(DataSize.of(1, KILOBYTE).toBytes());
+        assertThat(LongStream.range(0, 50)).allMatch(bloomFilter::mightContainValue);
+        assertThat(LongStream.range(1000, 1200)).allMatch(bloomFilter::mightContainValue);
+        assertThat(LongStream.range(2000, 2100)).allMatch(bloomFilter::mightContainValue);
+        assertThat(LongStream.range(10_000, 11_000).filter(bloomFilter::mightContainValue).count()).isLessThan(50);
+    }
+
+    @Test
+    public void testCollectBloomFilterAfterMinMaxLimit()
+    {
+        int maxDistinctValues = 100;
+        OperatorFactory operatorFactory = createOperatorFactory(
+                maxDistinctValues,
+                DataSize.of(10, KILOBYTE),
+                2 * maxDistinctValues,
+                ImmutableList.of(channel(0, BIGINT)),
+                Optional.of(DataSize.of(1, KILOBYTE)));
+        verifyPassthrough(createOperator(operatorFactory),
+                ImmutableList.of(BIGINT),
+                new Page(createLongSequenceBlock(0, (2 * maxDistinctValues) + 1)),
+                new Page(createLongSequenceBlock(1000, 1100)));
+        operatorFactory.noMoreOperators();
+
+        // collection of the filter is not given up while a bloom filter is collected
+        assertThat(partitions.build()).isEqualTo(ImmutableList.of(TupleDomain.all()));
+        BloomFilter bloomFilter = getOnlyElement(partitionBloomFilters.build()).get(new DynamicFilterId("0"));
+        assertThat(LongStream.range(0, (2 * maxDistinctValues) + 1)).allMatch(bloomFilter::mightContainValue);
+        assertThat(LongStream.range(1000, 1100)).allMatch(bloomFilter::mightContainValue);
+    }
+
     @Test
     public void testMemoryUsage()
     {
@@ -660,7 +660,7 @@ public class TestDynamicFilterService
                 queryId,
                 0,
                 dynamicFilters,
-                domains -> domains.forEach((filter, domain) -> assertThat(consumerCollectedFilters.put(filter, domain)).isNull()));
+                (domains, _) -> domains.forEach((filter, domain) -> assertThat(consumerCollectedFilters.put(filter, domain)).isNull()));
         assertThat(consumerCollectedFilters).isEmpty();
 
         dynamicFilterService.addTaskDynamicFilters(
@@ -682,7 +682,7 @@ public class TestDynamicFilterService
                 queryId,
                 0,
                 ImmutableSet.of(filterId1),
-                domains -> domains.forEach((filter, domain) -> assertThat(secondConsumerCollectedFilters.put(filter, domain)).isNull()));
+                (domains, _) -> domains.forEach((filter, domain) -> assertThat(secondConsumerCollectedFilters.put(filter, domain)).isNull()));
         assertThat(secondConsumerCollectedFilters).isEqualTo(ImmutableMap.of(filterId1, multipleValues(INTEGER, ImmutableList.of(1L, 3L))));
 
         // complete filterId2
@@ -714,7 +714,7 @@ public class TestDynamicFilterService
                 queryId,
                 0,
                 dynamicFilters,
-                domains -> {
+                (domains, _) -> {
                     callbackCount.getAndIncrement();
                     domains.forEach((filter, domain) -> assertThat(consumerCollectedFilters.put(filter, domain)).isNull());
                 });
@@ -746,7 +746,7 @@ public class TestDynamicFilterService
                 queryId,
                 0,
                 dynamicFilters,
-                domains -> {
+                (domains, _) -> {
                     secondCallbackCount.getAndIncrement();
                     domains.forEach((filter, domain) -> assertThat(secondConsumerCollectedFilters.put(filter, domain)).isNull());
                 });
@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.split;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
+import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
+import static io.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class TestSharedTableScanConfig
+{
+    @Test
+    public void testDefaults()
+    {
+        assertRecordedDefaults(recordDefaults(SharedTableScanConfig.class)
+                .setMaxSize(DataSize.of(256, MEGABYTE))
+                .setMaxSplitSize(DataSize.of(16, MEGABYTE))
+                .setTtl(new Duration(10, SECONDS))
+                .setMaxWait(new Duration(5, SECONDS)));
+    }
+
+    @Test
+    public void testExplicitPropertyMappings()
+    {
+        Map<String, String> properties = ImmutableMap.<String, String>builder()
+                .put("shared-table-scan.max-size", "1GB")
+                .put("shared-table-scan.max-split-size", "64MB")
+                .put("shared-table-scan.ttl", "1s")
+                .put("shared-table-scan.max-wait", "30s")
+                .buildOrThrow();
+
+        SharedTableScanConfig expected = new SharedTableScanConfig()
+                .setMaxSize(DataSize.of(1, GIGABYTE))
+                .setMaxSplitSize(DataSize.of(64, MEGABYTE))
+                .setTtl(new Duration(1, SECONDS))
+                .setMaxWait(new Duration(30, SECONDS));
+
+        assertFullMapping(properties, expected);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.split;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.trino.execution.StageId;
+import io.trino.execution.TaskId;
+import io.trino.memory.MemoryPool;
+import io.trino.spi.Page;
+import io.trino.spi.block.LazyBlock;
+import io.trino.spi.connector.ConnectorPageSource;
+import io.trino.spi.connector.FixedPageSource;
+import io.trino.spi.connector.SchemaTableName;
+import io.trino.split.SharedTableScanManager.SharedTableScanKey;
+import io.trino.testing.TestingMetadata.TestingColumnHandle;
+import io.trino.testing.TestingMetadata.TestingTableHandle;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.trino.block.BlockAssertions.createLongSequenceBlock;
+import static io.trino.testing.TestingHandles.TEST_CATALOG_HANDLE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSharedTableScanManager
+{
+    private static final List<Page> PAGES = ImmutableList.of(
+            new Page(createLongSequenceBlock(0, 100)),
+            new Page(createLongSequenceBlock(100, 200)));
+
+    @Test
+    public void testShareReadPages()
+            throws IOException
+    {
+        SharedTableScanManager manager = new SharedTableScanManager(new SharedTableScanConfig(), new MemoryPool(DataSize.of(1, GIGABYTE)));
+        AtomicInteger reads = new AtomicInteger();
+
+        ConnectorPageSource loading = manager.createPageSource(key("a"), pageSource(reads));
+        ConnectorPageSource waiting = manager.createPageSource(key("a"), pageSource(reads));
+        assertThat(waiting.isBlocked()).isNotDone();
+        assertThat(waiting.getNextPage()).isNull();
+
+        assertThat(readAll(loading)).hasSize(2);
+        assertThat(waiting.isBlocked()).isDone();
+        assertThat(readAll(waiting)).isEqualTo(PAGES);
+        assertThat(readAll(manager.createPageSource(key("a"), pageSource(reads)))).isEqualTo(PAGES);
+        assertThat(reads).hasValue(1);
+        assertThat(manager.getSharedSplits().getTotalCount()).isEqualTo(2);
+
+        // other splits are read separately
+        assertThat(readAll(manager.createPageSource(key("b"), pageSource(reads)))).hasSize(2);
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    public void testOversizedSplit()
+            throws IOException
+    {
+        SharedTableScanManager manager = new SharedTableScanManager(new SharedTableScanConfig()
+                .setMaxSplitSize(DataSize.ofBytes(1)), new MemoryPool(DataSize.of(1, GIGABYTE)));
+        AtomicInteger reads = new AtomicInteger();
+
+        ConnectorPageSource loading = manager.createPageSource(key("a"), pageSource(reads));
+        ConnectorPageSource waiting = manager.createPageSource(key("a"), pageSource(reads));
+        assertThat(readAll(loading)).hasSize(2);
+        assertThat(readAll(waiting)).hasSize(2);
+        assertThat(reads).hasValue(2);
+        assertThat(manager.getOversizedSplits().getTotalCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testClosedBeforeFinished()
+            throws IOException
+    {
+        SharedTableScanManager manager = new SharedTableScanManager(new SharedTableScanConfig(), new MemoryPool(DataSize.of(1, GIGABYTE)));
+        AtomicInteger reads = new AtomicInteger();
+
+        ConnectorPageSource loading = manager.createPageSource(key("a"), pageSource(reads));
+        ConnectorPageSource waiting = manager.createPageSource(key("a"), pageSource(reads));
+        assertThat(loading.getNextPage()).isNotNull();
+        loading.close();
+
+        assertThat(waiting.isBlocked()).isDone();
+        assertThat(readAll(waiting)).isEqualTo(PAGES);
+        assertThat(reads).hasValue(2);
+        assertThat(manager.getSharedSplits().getTotalCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testWaitTimeout()
+            throws IOException
+    {
+        SharedTableScanManager manager = new SharedTableScanManager(new SharedTableScanConfig()
+                .setMaxWait(new Duration(10, MILLISECONDS)), new MemoryPool(DataSize.of(1, GIGABYTE)));
+        AtomicInteger reads = new AtomicInteger();
+
+        manager.createPageSource(key("a"), pageSource(reads));
+        ConnectorPageSource waiting = manager.createPageSource(key("a"), pageSource(reads));
+        waiting.isBlocked().join();
+        assertThat(readAll(waiting)).isEqualTo(PAGES);
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    public void testLazyBlocks()
+            throws IOException
+    {
+        SharedTableScanManager manager = new SharedTableScanManager(new SharedTableScanConfig(), new MemoryPool(DataSize.of(1, GIGABYTE)));
+        List<LazyBlock> blocks = new ArrayList<>();
+        Supplier<ConnectorPageSource> lazyPageSource = () -> new FixedPageSource(PAGES.stream()
+                .map(page -> {
+                    LazyBlock block = new LazyBlock(page.getPositionCount(), () -> page.getBlock(0));
+                    blocks.add(block);
+                    return new Page(block);
+                })
+                .toList());
+
+        ConnectorPageSource loading = manager.createPageSource(key("a"), lazyPageSource);
+        ConnectorPageSource waiting = manager.createPageSource(key("a"), pageSource(new AtomicInteger()));
+
+        // the query reading the split decides which blocks it loads
+        Page page = loading.getNextPage();
+        assertThat(page.getBlock(0)).isInstanceOf(LazyBlock.class);
+        assertThat(blocks.getFirst().isLoaded()).isFalse();
+
+        // the blocks are loaded for the other queries before the page source advances
+        assertThat(loading.getNextPage()).isNotNull();
+        assertThat(blocks.getFirst().isLoaded()).isTrue();
+        assertThat(blocks.getLast().isLoaded()).isFalse();
+
+        assertThat(loading.isFinished()).isTrue();
+        loading.close();
+        assertThat(blocks.getLast().isLoaded()).isTrue();
+        assertThat(readAll(waiting)).hasSize(2);
+        assertThat(manager.getSharedSplits().getTotalCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMemoryUsage()
+            throws IOException
+    {
+        SharedTableScanManager manager = new SharedTableScanManager(new SharedTableScanConfig(), new MemoryPool(DataSize.of(1, GIGABYTE)));
+        long retainedSize = PAGES.getFirst().getRetainedSizeInBytes() + PAGES.getLast().getRetainedSizeInBytes();
+
+        readAll(manager.createPageSource(key("a"), pageSource(new AtomicInteger())));
+        assertThat(manager.getRetainedSizeInBytes()).isEqualTo(retainedSize);
+
+        // the pages are accounted to the query until they are returned
+        ConnectorPageSource shared = manager.createPageSource(key("a"), pageSource(new AtomicInteger()));
+        assertThat(shared.getMemoryUsage()).isEqualTo(retainedSize);
+        assertThat(shared.getNextPage()).isNotNull();
+        assertThat(shared.getMemoryUsage()).isEqualTo(PAGES.getLast().getRetainedSizeInBytes());
+        assertThat(shared.getNextPage()).isNotNull();
+        assertThat(shared.getMemoryUsage()).isEqualTo(0);
+    }
+
+    @Test
+    public void testMemoryReservedInPool()
+            throws IOException
+    {
+        MemoryPool memoryPool = new MemoryPool(DataSize.of(1, GIGABYTE));
+        SharedTableScanManager manager = new SharedTableScanManager(new SharedTableScanConfig(), memoryPool);
+
+        readAll(manager.createPageSource(key("a"), pageSource(new AtomicInteger())));
+        long retainedSize = manager.getRetainedSizeInBytes();
+        assertThat(manager.getReservedBytes()).isEqualTo(retainedSize);
+        assertThat(memoryPool.getReservedBytes()).isEqualTo(retainedSize);
+
+        manager.invalidateAll();
+        assertThat(manager.getReservedBytes()).isEqualTo(0);
+        assertThat(memoryPool.getReservedBytes()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDroppedUnderMemoryPressure()
+            throws IOException
+    {
+        MemoryPool memoryPool = new MemoryPool(DataSize.of(1, MEGABYTE));
+        SharedTableScanManager manager = new SharedTableScanManager(new SharedTableScanConfig(), memoryPool);
+        AtomicInteger reads = new AtomicInteger();
+
+        readAll(manager.createPageSource(key("a"), pageSource(reads)));
+        assertThat(manager.getReservedBytes()).isPositive();
+
+        // a query reserves all the memory of the pool, so the pages are dropped
+        TaskId taskId = new TaskId(new StageId("test_query", 0), 0, 0);
+        memoryPool.reserve(taskId, "test", memoryPool.getFreeBytes() + 1);
+        assertThat(manager.getReservedBytes()).isEqualTo(0);
+        assertThat(manager.getRetainedSizeInBytes()).isEqualTo(0);
+        assertThat(manager.getMemoryPressureEvictions().getTotalCount()).isEqualTo(1);
+
+        // the pages are not kept while the pool is full
+        readAll(manager.createPageSource(key("a"), pageSource(reads)));
+        assertThat(reads).hasValue(2);
+        assertThat(manager.getReservedBytes()).isEqualTo(0);
+        assertThat(manager.getRetainedSizeInBytes()).isEqualTo(0);
+    }
+
+    private static SharedTableScanKey key(String path)
+    {
+        return new SharedTableScanKey(
+                TEST_CATALOG_HANDLE,
+                new TestingTableHandle(new SchemaTableName("schema", "table")),
+                path,
+                ImmutableList.of(new TestingColumnHandle("column")),
+                "user",
+                ImmutableMap.of());
+    }
+
+    private static Supplier<ConnectorPageSource> pageSource(AtomicInteger reads)
+    {
+        return () -> {
+            reads.incrementAndGet();
+            return new FixedPageSource(PAGES);
+        };
+    }
+
+    private static List<Page> readAll(ConnectorPageSource pageSource)
+            throws IOException
+    {
+        List<Page> pages = new ArrayList<>();
+        while (!pageSource.isFinished()) {
+            Page page = pageSource.getNextPage();
+            if (page != null) {
+                pages.add(page);
+            }
+        }
+        pageSource.close();
+        return pages;
+    }
+}
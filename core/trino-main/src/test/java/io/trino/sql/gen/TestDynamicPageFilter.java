@@ -25,6 +25,7 @@ import io.trino.spi.block.RowBlock;
 import io.trino.spi.block.SqlRow;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.TestingColumnHandle;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.Range;
 import io.trino.spi.predicate.TupleDomain;
@@ -49,6 +50,7 @@ import java.util.stream.LongStream;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.trino.block.BlockAssertions.createBlockOfReals;
+import static io.trino.block.BlockAssertions.createDoublesBlock;
 import static io.trino.block.BlockAssertions.createLongSequenceBlock;
 import static io.trino.block.BlockAssertions.createLongsBlock;
 import static io.trino.block.BlockAssertions.createRowBlock;
@@ -60,6 +62,7 @@ import static io.trino.spi.predicate.Domain.multipleValues;
 import static io.trino.spi.predicate.Domain.onlyNull;
 import static io.trino.spi.predicate.Domain.singleValue;
 import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DateType.DATE;
 import static io.trino.spi.type.DoubleType.DOUBLE;
 import static io.trino.spi.type.IntegerType.INTEGER;
 import static io.trino.spi.type.RealType.REAL;
@@ -154,6 +157,56 @@ public class TestDynamicPageFilter
         verifySelectedPositions(filterPage(page, filterEvaluator), new int[] {0, 2, 4});
     }
 
+    @Test
+    public void testBloomFilter()
+    {
+        ColumnHandle column = new TestingColumnHandle("column");
+        BloomFilter bloomFilter = BloomFilter.builder(BIGINT, 1024)
+                .addValue(2L)
+                .addValue(5L)
+                .build();
+        Page page = new Page(
+                createLongsBlock(1L, 2L, null, 5L, 7L),
+                createLongsBlock(null, 102L, 135L, null, 3L));
+        FilterEvaluator filterEvaluator = createDynamicFilterEvaluator(
+                TupleDomain.all(),
+                ImmutableMap.of(column, bloomFilter),
+                ImmutableMap.of(column, 0),
+                1);
+        verifySelectedPositions(filterPage(page, filterEvaluator), new int[] {1, 3});
+
+        // bloom filter is applied together with the domain of the column
+        filterEvaluator = createDynamicFilterEvaluator(
+                TupleDomain.withColumnDomains(ImmutableMap.of(column, Domain.create(ValueSet.ofRanges(Range.greaterThan(BIGINT, 3L)), false))),
+                ImmutableMap.of(column, bloomFilter),
+                ImmutableMap.of(column, 0),
+                1);
+        verifySelectedPositions(filterPage(page, filterEvaluator), new int[] {3});
+    }
+
+    @Test
+    public void testBloomFilterTypes()
+    {
+        // the common join key types are hashed by specialized filters, the other types by the generic one
+        assertBloomFilter(INTEGER, createTypedLongsBlock(INTEGER, 1L, 2L, null, 5L, 7L), 2L, 5L);
+        assertBloomFilter(DATE, createTypedLongsBlock(DATE, 1L, 2L, null, 5L, 7L), 2L, 5L);
+        assertBloomFilter(VARCHAR, createStringsBlock("a", "b", null, "e", "g"), utf8Slice("b"), utf8Slice("e"));
+        assertBloomFilter(DOUBLE, createDoublesBlock(1.0, 2.0, null, 5.0, 7.0), 2.0, 5.0);
+    }
+
+    private static void assertBloomFilter(Type type, Block block, Object... values)
+    {
+        ColumnHandle column = new TestingColumnHandle("column");
+        BloomFilter.Builder bloomFilter = BloomFilter.builder(type, 1024);
+        Arrays.stream(values).forEach(bloomFilter::addValue);
+        FilterEvaluator filterEvaluator = createDynamicFilterEvaluator(
+                TupleDomain.all(),
+                ImmutableMap.of(column, bloomFilter.build()),
+                ImmutableMap.of(column, 0),
+                1);
+        verifySelectedPositions(filterPage(new Page(block), filterEvaluator), new int[] {1, 3});
+    }
+
     @Test
     public void testStructuralTypeFilter()
     {
@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.predicate.ValueSet;
@@ -32,7 +33,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
@@ -256,7 +257,8 @@ public class TestLocalDynamicFilterConsumer
                 ImmutableList.of(BIGINT, INTEGER, SMALLINT),
                 ImmutableSet.of(filter1, filter3),
                 ImmutableList.of(collector),
-                DataSize.of(100, KILOBYTE));
+                DataSize.of(100, KILOBYTE),
+                false);
         assertThat(consumer.getBuildChannels()).isEqualTo(ImmutableMap.of(filter1, 0, filter3, 2));
 
         // make sure domain types got propagated correctly
@@ -342,16 +344,78 @@ public class TestLocalDynamicFilterConsumer
         assertThat(collector.getCollectedDomains()).isEqualTo(ImmutableMap.of(filterId, Domain.all(VARCHAR)));
     }
 
+    @Test
+    public void testBloomFilters()
+    {
+        TestingDynamicFilterCollector collector = new TestingDynamicFilterCollector();
+        DynamicFilterId filterId = new DynamicFilterId("123");
+        LocalDynamicFilterConsumer filter = new LocalDynamicFilterConsumer(
+                ImmutableMap.of(filterId, 0),
+                ImmutableMap.of(filterId, BIGINT),
+                ImmutableList.of(collector),
+                DataSize.of(100, KILOBYTE),
+                true);
+        filter.setPartitionCount(3);
+
+        BloomFilter.Builder bloomFilter = BloomFilter.builder(BIGINT, DataSize.of(1, KILOBYTE).toBytes());
+        LongStream.range(1000, 1100).forEach(bloomFilter::addValue);
+        filter.addPartition(
+                TupleDomain.withColumnDomains(ImmutableMap.of(filterId, Domain.create(ValueSet.ofRanges(range(BIGINT, 1000L, true, 1099L, true)), false))),
+                ImmutableMap.of(filterId, bloomFilter.build()));
+        filter.addPartition(TupleDomain.withColumnDomains(ImmutableMap.of(filterId, Domain.multipleValues(BIGINT, ImmutableList.of(1L, 2L)))));
+        // a partition without values does not affect the bloom filter
+        filter.addPartition(TupleDomain.none());
+        assertThat(collector.isCollectionComplete()).isTrue();
+
+        assertThat(collector.getCollectedDomains()).isEqualTo(ImmutableMap.of(
+                filterId,
+                Domain.multipleValues(BIGINT, ImmutableList.of(1L, 2L)).union(Domain.create(ValueSet.ofRanges(range(BIGINT, 1000L, true, 1099L, true)), false))));
+        // values of the partition collected as a domain are added to the bloom filter
+        BloomFilter collectedBloomFilter = collector.getCollectedBloomFilters().get(filterId);
+        assertThat(LongStream.range(1000, 1100)).allMatch(collectedBloomFilter::mightContainValue);
+        assertThat(collectedBloomFilter.mightContainValue(1L)).isTrue();
+        assertThat(collectedBloomFilter.mightContainValue(2L)).isTrue();
+        // the collected bloom filter is compacted before it is sent
+        assertThat(collectedBloomFilter.getSizeInBytes()).isLessThan(DataSize.of(1, KILOBYTE).toBytes());
+    }
+
+    @Test
+    public void testBloomFiltersDroppedForUnboundedPartition()
+    {
+        TestingDynamicFilterCollector collector = new TestingDynamicFilterCollector();
+        DynamicFilterId filterId = new DynamicFilterId("123");
+        LocalDynamicFilterConsumer filter = new LocalDynamicFilterConsumer(
+                ImmutableMap.of(filterId, 0),
+                ImmutableMap.of(filterId, BIGINT),
+                ImmutableList.of(collector),
+                DataSize.of(100, KILOBYTE),
+                true);
+        filter.setPartitionCount(3);
+
+        // a domain which is all does not finish the collection when it has a bloom filter
+        filter.addPartition(
+                TupleDomain.all(),
+                ImmutableMap.of(filterId, BloomFilter.builder(BIGINT, DataSize.of(1, KILOBYTE).toBytes()).addValue(1L).build()));
+        assertThat(collector.isCollectionComplete()).isFalse();
+
+        filter.addPartition(TupleDomain.all());
+        assertThat(collector.isCollectionComplete()).isTrue();
+        assertThat(collector.getCollectedDomains()).isEqualTo(ImmutableMap.of(filterId, Domain.all(BIGINT)));
+        assertThat(collector.getCollectedBloomFilters()).isEmpty();
+    }
+
     private static class TestingDynamicFilterCollector
-            implements Consumer<Map<DynamicFilterId, Domain>>
+            implements BiConsumer<Map<DynamicFilterId, Domain>, Map<DynamicFilterId, BloomFilter>>
     {
         private Map<DynamicFilterId, Domain> collectedDomains;
+        private Map<DynamicFilterId, BloomFilter> collectedBloomFilters;
 
         @Override
-        public void accept(Map<DynamicFilterId, Domain> dynamicFilterDomains)
+        public void accept(Map<DynamicFilterId, Domain> dynamicFilterDomains, Map<DynamicFilterId, BloomFilter> dynamicFilterBloomFilters)
         {
             verify(collectedDomains == null, "collectedDomains is already set");
             collectedDomains = dynamicFilterDomains;
+            collectedBloomFilters = dynamicFilterBloomFilters;
         }
 
         public boolean isCollectionComplete()
@@ -364,5 +428,11 @@ public class TestLocalDynamicFilterConsumer
             requireNonNull(collectedDomains, "collectedDomains is null");
             return collectedDomains;
         }
+
+        public Map<DynamicFilterId, BloomFilter> getCollectedBloomFilters()
+        {
+            requireNonNull(collectedBloomFilters, "collectedBloomFilters is null");
+            return collectedBloomFilters;
+        }
     }
 }
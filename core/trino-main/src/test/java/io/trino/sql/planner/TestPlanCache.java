@@ -0,0 +1,154 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.planner;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Key;
+import io.trino.Session;
+import io.trino.connector.MockConnectorFactory;
+import io.trino.connector.MockConnectorPlugin;
+import io.trino.plugin.tpch.TpchPlugin;
+import io.trino.testing.MaterializedResult;
+import io.trino.testing.QueryRunner;
+import io.trino.testing.StandaloneQueryRunner;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.trino.SystemSessionProperties.PLAN_CACHE_ENABLED;
+import static io.trino.testing.TestingSession.testSessionBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
+
+@TestInstance(PER_CLASS)
+@Execution(SAME_THREAD)
+public class TestPlanCache
+{
+    private static final Session SESSION = testSessionBuilder()
+            .setCatalog("tpch")
+            .setSchema("tiny")
+            .setSystemProperty(PLAN_CACHE_ENABLED, "true")
+            .addPreparedStatement("orders_by_status", "SELECT count(*) FROM orders WHERE orderstatus = ?")
+            .build();
+
+    private final AtomicReference<String> dataVersion = new AtomicReference<>("1");
+
+    private QueryRunner queryRunner;
+    private PlanCache planCache;
+
+    @BeforeAll
+    public void setUp()
+    {
+        queryRunner = new StandaloneQueryRunner(SESSION);
+        queryRunner.installPlugin(new TpchPlugin());
+        queryRunner.createCatalog("tpch", "tpch", ImmutableMap.of());
+        queryRunner.installPlugin(new MockConnectorPlugin(MockConnectorFactory.builder()
+                .withGetDataVersion(table -> table.getTableName().equals("versioned") ? Optional.of(dataVersion.get()) : Optional.empty())
+                .build()));
+        queryRunner.createCatalog("mock", "mock", ImmutableMap.of());
+        planCache = queryRunner.getCoordinator().getInstance(Key.get(PlanCache.class));
+    }
+
+    @AfterAll
+    public void tearDown()
+    {
+        queryRunner.close();
+        queryRunner = null;
+        planCache = null;
+    }
+
+    @BeforeEach
+    public void invalidateCache()
+    {
+        planCache.invalidateAll();
+    }
+
+    @Test
+    public void testRepeatedQuery()
+    {
+        MaterializedResult expected = queryRunner.execute(SESSION, "SELECT count(*) FROM orders WHERE orderstatus = 'F'");
+        long hits = planCache.getHitCount();
+        assertThat(planCache.getCacheStats().size()).isEqualTo(1);
+
+        assertThat(queryRunner.execute(SESSION, "SELECT count(*) FROM orders WHERE orderstatus = 'F'").getMaterializedRows())
+                .isEqualTo(expected.getMaterializedRows());
+        assertThat(planCache.getHitCount()).isEqualTo(hits + 1);
+        assertThat(planCache.getCacheStats().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPreparedStatement()
+    {
+        MaterializedResult finished = queryRunner.execute(SESSION, "EXECUTE orders_by_status USING 'F'");
+        MaterializedResult open = queryRunner.execute(SESSION, "EXECUTE orders_by_status USING 'O'");
+        assertThat(planCache.getCacheStats().size()).isEqualTo(2);
+        assertThat(finished.getMaterializedRows()).isNotEqualTo(open.getMaterializedRows());
+
+        long hits = planCache.getHitCount();
+        assertThat(queryRunner.execute(SESSION, "EXECUTE orders_by_status USING 'O'").getMaterializedRows())
+                .isEqualTo(open.getMaterializedRows());
+        assertThat(planCache.getHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    public void testSessionProperties()
+    {
+        queryRunner.execute(SESSION, "SELECT count(*) FROM orders");
+        Session session = Session.builder(SESSION)
+                .setSystemProperty("join_distribution_type", "BROADCAST")
+                .build();
+        long hits = planCache.getHitCount();
+        queryRunner.execute(session, "SELECT count(*) FROM orders");
+        assertThat(planCache.getHitCount()).isEqualTo(hits);
+        assertThat(planCache.getCacheStats().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDataVersion()
+    {
+        dataVersion.set("1");
+        queryRunner.execute(SESSION, "SELECT count(*) FROM mock.default.versioned");
+        long hits = planCache.getHitCount();
+        queryRunner.execute(SESSION, "SELECT count(*) FROM mock.default.versioned");
+        assertThat(planCache.getHitCount()).isEqualTo(hits + 1);
+        assertThat(planCache.getCacheStats().size()).isEqualTo(1);
+
+        // a write or a schema change gives the table a new version
+        dataVersion.set("2");
+        queryRunner.execute(SESSION, "SELECT count(*) FROM mock.default.versioned");
+        assertThat(planCache.getHitCount()).isEqualTo(hits + 1);
+        assertThat(planCache.getCacheStats().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUncacheableQueries()
+    {
+        queryRunner.execute(SESSION, "SELECT count(*) FROM orders WHERE orderdate < current_date");
+        assertThat(planCache.getCacheStats().size()).isEqualTo(0);
+
+        queryRunner.execute(Session.builder(SESSION).setSystemProperty(PLAN_CACHE_ENABLED, "false").build(), "SELECT count(*) FROM orders");
+        assertThat(planCache.getCacheStats().size()).isEqualTo(0);
+
+        // the connector does not report a data version for the table
+        queryRunner.execute(SESSION, "SELECT count(*) FROM mock.default.unversioned");
+        assertThat(planCache.getCacheStats().size()).isEqualTo(0);
+    }
+}
@@ -16,6 +16,7 @@ package io.trino.util;
 import com.google.common.collect.ImmutableMap;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.SortedRangeSet;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.Type;
@@ -24,6 +25,7 @@ import io.trino.sql.gen.columnar.DynamicPageFilter;
 import io.trino.sql.gen.columnar.FilterEvaluator;
 import io.trino.sql.planner.Symbol;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -33,7 +35,6 @@ import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import static com.google.common.base.Verify.verify;
-import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static io.airlift.concurrent.MoreFutures.unmodifiableFuture;
 import static io.trino.metadata.FunctionManager.createTestingFunctionManager;
 import static io.trino.sql.planner.TestingPlannerContext.PLANNER_CONTEXT;
@@ -83,12 +84,21 @@ public final class DynamicFiltersTestUtil
             TupleDomain<ColumnHandle> tupleDomain,
             Map<ColumnHandle, Integer> channels,
             double selectivityThreshold)
+    {
+        return createDynamicFilterEvaluator(tupleDomain, ImmutableMap.of(), channels, selectivityThreshold);
+    }
+
+    public static FilterEvaluator createDynamicFilterEvaluator(
+            TupleDomain<ColumnHandle> tupleDomain,
+            Map<ColumnHandle, BloomFilter> bloomFilters,
+            Map<ColumnHandle, Integer> channels,
+            double selectivityThreshold)
     {
         TestingDynamicFilter dynamicFilter = new TestingDynamicFilter(1);
-        dynamicFilter.update(tupleDomain);
-        Map<ColumnHandle, Type> types = tupleDomain.getDomains().orElse(ImmutableMap.of())
-                .entrySet().stream()
-                .collect(toImmutableMap(Map.Entry::getKey, entry -> entry.getValue().getType()));
+        dynamicFilter.update(tupleDomain, bloomFilters);
+        Map<ColumnHandle, Type> types = new HashMap<>();
+        tupleDomain.getDomains().orElse(ImmutableMap.of()).forEach((column, domain) -> types.put(column, domain.getType()));
+        bloomFilters.forEach((column, bloomFilter) -> types.put(column, bloomFilter.getType()));
         int index = 0;
         ImmutableMap.Builder<Symbol, ColumnHandle> columns = ImmutableMap.builder();
         ImmutableMap.Builder<Symbol, Integer> layout = ImmutableMap.builder();
@@ -114,6 +124,7 @@ public final class DynamicFiltersTestUtil
     {
         private CompletableFuture<?> isBlocked;
         private TupleDomain<ColumnHandle> currentPredicate;
+        private Map<ColumnHandle, BloomFilter> currentBloomFilters;
         private int futuresLeft;
 
         public TestingDynamicFilter(int expectedFilters)
@@ -121,13 +132,23 @@ public final class DynamicFiltersTestUtil
             this.futuresLeft = expectedFilters;
             this.isBlocked = expectedFilters == 0 ? NOT_BLOCKED : new CompletableFuture<>();
             this.currentPredicate = TupleDomain.all();
+            this.currentBloomFilters = ImmutableMap.of();
         }
 
         public void update(TupleDomain<ColumnHandle> predicate)
+        {
+            update(predicate, ImmutableMap.of());
+        }
+
+        public void update(TupleDomain<ColumnHandle> predicate, Map<ColumnHandle, BloomFilter> bloomFilters)
         {
             futuresLeft -= 1;
             verify(futuresLeft >= 0);
             currentPredicate = currentPredicate.intersect(predicate);
+            currentBloomFilters = ImmutableMap.<ColumnHandle, BloomFilter>builder()
+                    .putAll(currentBloomFilters)
+                    .putAll(bloomFilters)
+                    .buildKeepingLast();
             CompletableFuture<?> currentFuture = isBlocked;
             // create next blocking future (if needed)
             isBlocked = isComplete() ? NOT_BLOCKED : new CompletableFuture<>();
@@ -164,6 +185,12 @@ public final class DynamicFiltersTestUtil
             return currentPredicate;
         }
 
+        @Override
+        public Map<ColumnHandle, BloomFilter> getCurrentBloomFilters()
+        {
+            return currentBloomFilters;
+        }
+
         @Override
         public boolean equals(Object o)
         {
@@ -176,13 +203,14 @@ public final class DynamicFiltersTestUtil
             TestingDynamicFilter that = (TestingDynamicFilter) o;
             return futuresLeft == that.futuresLeft
                     && Objects.equals(isBlocked, that.isBlocked)
-                    && Objects.equals(currentPredicate, that.currentPredicate);
+                    && Objects.equals(currentPredicate, that.currentPredicate)
+                    && Objects.equals(currentBloomFilters, that.currentBloomFilters);
         }
 
         @Override
         public int hashCode()
         {
-            return Objects.hash(isBlocked, currentPredicate, futuresLeft);
+            return Objects.hash(isBlocked, currentPredicate, currentBloomFilters, futuresLeft);
         }
     }
 }
@@ -444,6 +444,17 @@ public interface ConnectorMetadata
         return TableStatistics.empty();
     }
 
+    /**
+     * Returns the version of the data of the table, or empty if the connector does not track the versions of the table.
+     * The version must change whenever the data of the table changes, so that the results of queries reading the same
+     * version of the table can be reused.
+     */
+    @Experimental(eta = "2027-04-30")
+    default Optional<String> getDataVersion(ConnectorSession session, ConnectorTableHandle tableHandle)
+    {
+        return Optional.empty();
+    }
+
     /**
      * Creates a schema.
      */
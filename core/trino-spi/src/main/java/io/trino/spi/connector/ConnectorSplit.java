@@ -19,6 +19,7 @@ import io.trino.spi.SplitWeight;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface ConnectorSplit
 {
@@ -48,6 +49,17 @@ public interface ConnectorSplit
         return Map.of();
     }
 
+    /**
+     * Returns the identity of the data read from this split, which allows the engine to share the pages read
+     * from the split among the concurrent scans of the same table handle and columns. Splits of a table handle
+     * with equal identities must produce the same pages. Returns empty if the pages of the split must not be shared.
+     */
+    @JsonIgnore
+    default Optional<String> getSplitIdentity()
+    {
+        return Optional.empty();
+    }
+
     default SplitWeight getSplitWeight()
     {
         return SplitWeight.standard();
@@ -13,8 +13,10 @@
  */
 package io.trino.spi.connector;
 
+import io.trino.spi.predicate.BloomFilter;
 import io.trino.spi.predicate.TupleDomain;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
@@ -81,4 +83,15 @@ public interface DynamicFilter
     boolean isAwaitable();
 
     TupleDomain<ColumnHandle> getCurrentPredicate();
+
+    /**
+     * Returns bloom filters of the columns whose dynamic filter has too many values to be
+     * enumerated by {@link #getCurrentPredicate()}. Rows with a column value which is not
+     * contained in the bloom filter of the column can be skipped, in addition to the rows
+     * not matching {@link #getCurrentPredicate()}.
+     */
+    default Map<ColumnHandle, BloomFilter> getCurrentBloomFilters()
+    {
+        return Map.of();
+    }
 }
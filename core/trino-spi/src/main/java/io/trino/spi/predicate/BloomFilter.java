@@ -0,0 +1,352 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.spi.predicate;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.trino.spi.block.Block;
+import io.trino.spi.type.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION_NOT_NULL;
+import static io.trino.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
+import static io.trino.spi.function.InvocationConvention.simpleConvention;
+import static io.trino.spi.predicate.Utils.TUPLE_DOMAIN_TYPE_OPERATORS;
+import static io.trino.spi.predicate.Utils.handleThrowable;
+import static io.trino.spi.predicate.Utils.nativeValueToBlock;
+import static java.lang.Math.clamp;
+import static java.lang.String.format;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Probabilistic set of the values of a type, used to filter values when there are too many of them
+ * to be enumerated by a {@link Domain}. A value added to the filter is always reported as possibly
+ * contained, while a value which was not added may be falsely reported as contained.
+ * <p>
+ * Values are hashed with the {@code XX_HASH_64} operator of the type, so filters built on different
+ * nodes can be combined. The number of bits of a filter is a power of two, which allows combining
+ * filters of different sizes by folding the larger one.
+ */
+public final class BloomFilter
+{
+    private static final int INSTANCE_SIZE = instanceSize(BloomFilter.class);
+
+    private static final int HASH_FUNCTIONS = 3;
+    private static final int MAX_WORDS = 1 << 27;
+    // a compacted filter is not folded beyond this fraction of set bits, to keep the false positive rate low
+    private static final double MAX_COMPACTED_FILL_RATIO = 0.3;
+
+    private final Type type;
+    private final long[] bits;
+    private final MethodHandle hashOperator;
+
+    private BloomFilter(Type type, long[] bits)
+    {
+        this.type = requireNonNull(type, "type is null");
+        this.bits = requireNonNull(bits, "bits is null");
+        if (Integer.bitCount(bits.length) != 1) {
+            throw new IllegalArgumentException("Number of words must be a power of two: " + bits.length);
+        }
+        this.hashOperator = getHashOperator(type);
+    }
+
+    @JsonCreator
+    public static BloomFilter fromSerializedBits(
+            @JsonProperty("type") Type type,
+            @JsonProperty("bits") byte[] serializedBits)
+    {
+        requireNonNull(serializedBits, "serializedBits is null");
+        if (serializedBits.length % Long.BYTES != 0) {
+            throw new IllegalArgumentException("Invalid length of serialized bits: " + serializedBits.length);
+        }
+        long[] bits = new long[serializedBits.length / Long.BYTES];
+        ByteBuffer.wrap(serializedBits).order(LITTLE_ENDIAN).asLongBuffer().get(bits);
+        return new BloomFilter(type, bits);
+    }
+
+    /**
+     * Creates a builder of a filter with the largest number of bits fitting in {@code maxSizeInBytes}.
+     */
+    public static Builder builder(Type type, long maxSizeInBytes)
+    {
+        long words = clamp(maxSizeInBytes / Long.BYTES, 1, MAX_WORDS);
+        return new Builder(type, new long[(int) Long.highestOneBit(words)]);
+    }
+
+    @JsonProperty
+    public Type getType()
+    {
+        return type;
+    }
+
+    // serialized as bytes, which are encoded in base64 by JSON, as JSON arrays of numbers are much larger
+    @JsonProperty("bits")
+    public byte[] getSerializedBits()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES).order(LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(bits);
+        return buffer.array();
+    }
+
+    public long getSizeInBytes()
+    {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    public double getFillRatio()
+    {
+        return fillRatio(bits);
+    }
+
+    /**
+     * Returns false if the value at the position was not added to the filter. Null values are never contained.
+     */
+    public boolean mightContain(Block block, int position)
+    {
+        if (block.isNull(position)) {
+            return false;
+        }
+        return testBits(bits, hash(hashOperator, block, position));
+    }
+
+    /**
+     * Returns false if no value with the given {@code XX_HASH_64} hash was added to the filter. This allows
+     * callers specialized for a type to compute the hash of a value without the generic hash operator.
+     */
+    public boolean mightContainHash(long hash)
+    {
+        return testBits(bits, hash);
+    }
+
+    /**
+     * Returns false if the value, given in its native representation, was not added to the filter.
+     */
+    public boolean mightContainValue(Object value)
+    {
+        requireNonNull(value, "value is null");
+        return mightContain(nativeValueToBlock(type, value), 0);
+    }
+
+    /**
+     * Returns a filter of the values of both filters.
+     */
+    public BloomFilter union(BloomFilter other)
+    {
+        checkCompatibility(other);
+        long[] result = fold(bits, Math.min(bits.length, other.bits.length));
+        long[] otherBits = fold(other.bits, result.length);
+        for (int i = 0; i < result.length; i++) {
+            result[i] |= otherBits[i];
+        }
+        return new BloomFilter(type, result);
+    }
+
+    /**
+     * Returns a filter containing at least the values which are in both filters.
+     */
+    public BloomFilter intersect(BloomFilter other)
+    {
+        checkCompatibility(other);
+        long[] result = fold(bits, Math.min(bits.length, other.bits.length));
+        long[] otherBits = fold(other.bits, result.length);
+        for (int i = 0; i < result.length; i++) {
+            result[i] &= otherBits[i];
+        }
+        return new BloomFilter(type, result);
+    }
+
+    /**
+     * Returns the smallest folding of this filter which keeps the false positive rate low. Filters are sized for
+     * the largest number of values expected, so a filter of fewer values can be made much smaller before it is
+     * sent to other nodes.
+     */
+    public BloomFilter compact()
+    {
+        long[] result = bits;
+        while (result.length > 1) {
+            long[] folded = fold(result, result.length / 2);
+            if (fillRatio(folded) > MAX_COMPACTED_FILL_RATIO) {
+                break;
+            }
+            result = folded;
+        }
+        if (result == bits) {
+            return this;
+        }
+        return new BloomFilter(type, result);
+    }
+
+    public Builder toBuilder()
+    {
+        return new Builder(type, bits.clone());
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        // type is not accounted for as the instances are cached (by TypeRegistry) and shared
+        return INSTANCE_SIZE + sizeOf(bits);
+    }
+
+    private void checkCompatibility(BloomFilter other)
+    {
+        if (!type.equals(other.type)) {
+            throw new IllegalArgumentException(format("Mismatched types: %s vs %s", type, other.type));
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        BloomFilter other = (BloomFilter) obj;
+        return type.equals(other.type) && Arrays.equals(bits, other.bits);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(type, Arrays.hashCode(bits));
+    }
+
+    @Override
+    public String toString()
+    {
+        return format("BloomFilter[type=%s, sizeInBytes=%s, fillRatio=%.3f]", type, getSizeInBytes(), getFillRatio());
+    }
+
+    /**
+     * Builder of a filter, which is safe to use by one thread at a time.
+     */
+    public static final class Builder
+    {
+        private static final int INSTANCE_SIZE = instanceSize(Builder.class);
+
+        private final Type type;
+        private final long[] bits;
+        private final MethodHandle hashOperator;
+
+        private Builder(Type type, long[] bits)
+        {
+            this.type = requireNonNull(type, "type is null");
+            this.bits = requireNonNull(bits, "bits is null");
+            this.hashOperator = getHashOperator(type);
+        }
+
+        /**
+         * Adds the value at the position. Null values are ignored.
+         */
+        public Builder add(Block block, int position)
+        {
+            if (!block.isNull(position)) {
+                setBits(bits, hash(hashOperator, block, position));
+            }
+            return this;
+        }
+
+        /**
+         * Adds the value given in its native representation.
+         */
+        public Builder addValue(Object value)
+        {
+            requireNonNull(value, "value is null");
+            return add(nativeValueToBlock(type, value), 0);
+        }
+
+        public long getRetainedSizeInBytes()
+        {
+            return INSTANCE_SIZE + sizeOf(bits);
+        }
+
+        public BloomFilter build()
+        {
+            return new BloomFilter(type, bits.clone());
+        }
+    }
+
+    private static MethodHandle getHashOperator(Type type)
+    {
+        return TUPLE_DOMAIN_TYPE_OPERATORS.getXxHash64Operator(type, simpleConvention(FAIL_ON_NULL, BLOCK_POSITION_NOT_NULL));
+    }
+
+    private static long hash(MethodHandle hashOperator, Block block, int position)
+    {
+        try {
+            return (long) hashOperator.invokeExact(block, position);
+        }
+        catch (Throwable throwable) {
+            throw handleThrowable(throwable);
+        }
+    }
+
+    private static void setBits(long[] bits, long hash)
+    {
+        long mask = (long) bits.length * Long.SIZE - 1;
+        // derive the hash functions from the two halves of the hash (Kirsch and Mitzenmacher)
+        long secondHash = hash >>> 32;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = (hash + i * secondHash) & mask;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private static boolean testBits(long[] bits, long hash)
+    {
+        long mask = (long) bits.length * Long.SIZE - 1;
+        long secondHash = hash >>> 32;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = (hash + i * secondHash) & mask;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Folds the bits to the given number of words. Bits are selected by the low bits of the hashes,
+     * so the bit selected in the folded filter is the one selected in the original filter with the
+     * high bits of the index dropped.
+     */
+    private static long[] fold(long[] bits, int words)
+    {
+        long[] result = Arrays.copyOf(bits, words);
+        for (int offset = words; offset < bits.length; offset += words) {
+            for (int i = 0; i < words; i++) {
+                result[i] |= bits[offset + i];
+            }
+        }
+        return result;
+    }
+
+    private static double fillRatio(long[] bits)
+    {
+        long setBits = 0;
+        for (long word : bits) {
+            setBits += Long.bitCount(word);
+        }
+        return (double) setBits / ((long) bits.length * Long.SIZE);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.spi.predicate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.airlift.json.ObjectMapperProvider;
+import io.trino.spi.block.Block;
+import io.trino.spi.type.TestingTypeDeserializer;
+import io.trino.spi.type.TestingTypeManager;
+import io.trino.spi.type.Type;
+import org.junit.jupiter.api.Test;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.spi.predicate.Utils.nativeValueToBlock;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestBloomFilter
+{
+    @Test
+    public void testMightContain()
+    {
+        BloomFilter bloomFilter = createBloomFilter(1024, 0, 100);
+        for (long value = 0; value < 100; value++) {
+            assertThat(bloomFilter.mightContainValue(value)).isTrue();
+        }
+        int falsePositives = 0;
+        for (long value = 100_000; value < 110_000; value++) {
+            if (bloomFilter.mightContainValue(value)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(50);
+
+        Block block = nativeValueToBlock(BIGINT, null);
+        assertThat(bloomFilter.mightContain(block, 0)).isFalse();
+    }
+
+    @Test
+    public void testVarchar()
+    {
+        BloomFilter bloomFilter = BloomFilter.builder(VARCHAR, 1024)
+                .addValue(utf8Slice("abc"))
+                .addValue(utf8Slice("def"))
+                .build();
+        assertThat(bloomFilter.mightContainValue(utf8Slice("abc"))).isTrue();
+        assertThat(bloomFilter.mightContainValue(utf8Slice("def"))).isTrue();
+        assertThat(bloomFilter.mightContainValue(utf8Slice("ghi"))).isFalse();
+    }
+
+    @Test
+    public void testSize()
+    {
+        assertThat(BloomFilter.builder(BIGINT, 1000).build().getSizeInBytes()).isEqualTo(512);
+        assertThat(BloomFilter.builder(BIGINT, 1024).build().getSizeInBytes()).isEqualTo(1024);
+        assertThat(BloomFilter.builder(BIGINT, 0).build().getSizeInBytes()).isEqualTo(8);
+    }
+
+    @Test
+    public void testUnion()
+    {
+        BloomFilter large = createBloomFilter(1024, 0, 100);
+        BloomFilter small = createBloomFilter(256, 100, 200);
+
+        BloomFilter union = large.union(small);
+        assertThat(union.getSizeInBytes()).isEqualTo(256);
+        assertThat(small.union(large)).isEqualTo(union);
+        for (long value = 0; value < 200; value++) {
+            assertThat(union.mightContainValue(value)).isTrue();
+        }
+    }
+
+    @Test
+    public void testIntersect()
+    {
+        BloomFilter large = createBloomFilter(1024, 0, 100);
+        BloomFilter small = createBloomFilter(256, 50, 150);
+
+        BloomFilter intersection = large.intersect(small);
+        assertThat(intersection.getSizeInBytes()).isEqualTo(256);
+        assertThat(small.intersect(large)).isEqualTo(intersection);
+        for (long value = 50; value < 100; value++) {
+            assertThat(intersection.mightContainValue(value)).isTrue();
+        }
+        assertThat(intersection.getFillRatio()).isLessThan(small.getFillRatio());
+    }
+
+    @Test
+    public void testCompact()
+    {
+        BloomFilter bloomFilter = createBloomFilter(1024 * 1024, 0, 100);
+        BloomFilter compacted = bloomFilter.compact();
+        assertThat(compacted.getSizeInBytes()).isLessThan(bloomFilter.getSizeInBytes());
+        assertThat(compacted.getFillRatio()).isLessThanOrEqualTo(0.3);
+        for (long value = 0; value < 100; value++) {
+            assertThat(compacted.mightContainValue(value)).isTrue();
+        }
+
+        // a filter that is already full enough is not folded
+        BloomFilter full = createBloomFilter(64, 0, 1000);
+        assertThat(full.compact()).isSameAs(full);
+    }
+
+    @Test
+    public void testTypeMismatch()
+    {
+        BloomFilter bigint = createBloomFilter(64, 0, 10);
+        BloomFilter varchar = BloomFilter.builder(VARCHAR, 64).build();
+        assertThatThrownBy(() -> bigint.union(varchar))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Mismatched types: bigint vs varchar");
+        assertThatThrownBy(() -> bigint.intersect(varchar))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Mismatched types: bigint vs varchar");
+    }
+
+    @Test
+    public void testJsonSerialization()
+            throws Exception
+    {
+        ObjectMapper mapper = new ObjectMapperProvider().get()
+                .registerModule(new SimpleModule()
+                        .addDeserializer(Type.class, new TestingTypeDeserializer(new TestingTypeManager())));
+
+        BloomFilter bloomFilter = createBloomFilter(1024, 0, 100);
+        BloomFilter deserialized = mapper.readValue(mapper.writeValueAsString(bloomFilter), BloomFilter.class);
+        assertThat(deserialized).isEqualTo(bloomFilter);
+        assertThat(deserialized.mightContainValue(42L)).isTrue();
+    }
+
+    private static BloomFilter createBloomFilter(long sizeInBytes, long start, long end)
+    {
+        BloomFilter.Builder builder = BloomFilter.builder(BIGINT, sizeInBytes);
+        for (long value = start; value < end; value++) {
+            builder.addValue(value);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.hive.formats.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOfByteArray;
+import static java.util.Objects.checkFromIndexSize;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Reads the delegate stream on a background thread, alternating between two
+ * buffers: one is filled by the background thread while the other is consumed
+ * by the calling thread. This is used to decompress a stream concurrently with
+ * parsing the decompressed data on the calling thread. The executor must run
+ * the reader asynchronously, as it blocks until the consumer frees a buffer.
+ */
+public final class ReadAheadInputStream
+        extends InputStream
+{
+    private static final int INSTANCE_SIZE = instanceSize(ReadAheadInputStream.class);
+    private static final int BUFFER_COUNT = 2;
+    private static final Chunk END_OF_STREAM = new Chunk(new byte[0], 0);
+
+    private final InputStream delegate;
+    private final int chunkSize;
+    private final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(BUFFER_COUNT);
+    private final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(BUFFER_COUNT + 1);
+    // the delegate is closed by whichever of the background reader and close() finishes last
+    private final AtomicInteger delegateReferences = new AtomicInteger(2);
+
+    private volatile boolean closed;
+    private volatile boolean readerFinished;
+    private volatile Throwable failure;
+
+    private Chunk current = new Chunk(new byte[0], 0);
+    private int currentPosition;
+
+    public ReadAheadInputStream(InputStream delegate, int chunkSize, Executor executor)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+        checkArgument(chunkSize > 0, "chunkSize must be positive");
+        this.chunkSize = chunkSize;
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            freeBuffers.add(new byte[chunkSize]);
+        }
+        executor.execute(this::readAhead);
+    }
+
+    private void readAhead()
+    {
+        try {
+            while (!closed) {
+                byte[] buffer = takeFreeBuffer();
+                if (buffer == null) {
+                    return;
+                }
+                int length = delegate.readNBytes(buffer, 0, chunkSize);
+                if (length > 0 && !enqueue(new Chunk(buffer, length))) {
+                    return;
+                }
+                if (length < chunkSize) {
+                    break;
+                }
+            }
+        }
+        catch (Throwable e) {
+            failure = e;
+        }
+        finally {
+            enqueue(END_OF_STREAM);
+            readerFinished = true;
+            try {
+                releaseDelegate();
+            }
+            catch (IOException ignored) {
+                // the stream was closed by the consumer, so there is nobody to report the failure to
+            }
+        }
+    }
+
+    private byte[] takeFreeBuffer()
+    {
+        try {
+            while (!closed) {
+                byte[] buffer = freeBuffers.poll(100, MILLISECONDS);
+                if (buffer != null) {
+                    return buffer;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        }
+        return null;
+    }
+
+    private boolean enqueue(Chunk chunk)
+    {
+        try {
+            while (!closed) {
+                if (chunks.offer(chunk, 100, MILLISECONDS)) {
+                    return true;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        }
+        return false;
+    }
+
+    @Override
+    public int read()
+            throws IOException
+    {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int value = current.data()[currentPosition] & 0xFF;
+        currentPosition++;
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length)
+            throws IOException
+    {
+        checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int size = Math.min(length, current.length() - currentPosition);
+        System.arraycopy(current.data(), currentPosition, buffer, offset, size);
+        currentPosition += size;
+        return size;
+    }
+
+    @Override
+    public int available()
+    {
+        return current.length() - currentPosition;
+    }
+
+    private boolean ensureAvailable()
+            throws IOException
+    {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+        if (currentPosition < current.length()) {
+            return true;
+        }
+        if (current == END_OF_STREAM) {
+            return false;
+        }
+
+        Chunk consumed = current;
+        current = nextChunk();
+        currentPosition = 0;
+        if (consumed.length() > 0) {
+            // hand the consumed buffer back to the background reader
+            freeBuffers.add(consumed.data());
+        }
+
+        if (current == END_OF_STREAM) {
+            Throwable throwable = failure;
+            if (throwable != null) {
+                if (throwable instanceof IOException ioException) {
+                    throw new IOException(ioException.getMessage(), ioException);
+                }
+                throw new IOException("Reading stream failed", throwable);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private Chunk nextChunk()
+            throws InterruptedIOException
+    {
+        try {
+            while (true) {
+                Chunk chunk = chunks.poll(100, MILLISECONDS);
+                if (chunk != null) {
+                    return chunk;
+                }
+                // the reader may have failed without being able to queue the end marker
+                if (readerFinished && chunks.isEmpty()) {
+                    return END_OF_STREAM;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for data");
+        }
+    }
+
+    public long getRetainedSize()
+    {
+        return INSTANCE_SIZE + BUFFER_COUNT * sizeOfByteArray(chunkSize);
+    }
+
+    /**
+     * Closes the stream without waiting for a read of the delegate that is in progress.
+     * In that case the background reader closes the delegate once the read returns.
+     */
+    @Override
+    public void close()
+            throws IOException
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        chunks.clear();
+        releaseDelegate();
+    }
+
+    private void releaseDelegate()
+            throws IOException
+    {
+        if (delegateReferences.decrementAndGet() == 0) {
+            delegate.close();
+        }
+    }
+
+    private record Chunk(byte[] data, int length) {}
+}
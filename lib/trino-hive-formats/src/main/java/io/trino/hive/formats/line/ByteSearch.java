@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.hive.formats.line;
+
+import static java.util.Objects.checkFromToIndex;
+
+/**
+ * Searches for delimiter bytes in a line. When the Vector API is available and the
+ * platform has wide enough registers, the bytes are compared a full register at a
+ * time, which lets the text deserializers skip over field values in bulk.
+ */
+public final class ByteSearch
+{
+    private static final boolean VECTORIZED = getVectorBitSize() >= 128;
+
+    private ByteSearch() {}
+
+    /**
+     * @return the offset of the first byte in {@code buffer[from, to)} that is equal to
+     * either of the values, or {@code to} if there is no such byte
+     */
+    public static int indexOfAny(byte[] buffer, int from, int to, byte first, byte second)
+    {
+        checkFromToIndex(from, to, buffer.length);
+        if (VECTORIZED) {
+            return VectorByteSearch.indexOfAny(buffer, from, to, first, second);
+        }
+        return scalarIndexOfAny(buffer, from, to, first, second);
+    }
+
+    /**
+     * @return the offset of the first byte in {@code buffer[from, to)} that is equal to
+     * any of the values, or {@code to} if there is no such byte
+     */
+    public static int indexOfAny(byte[] buffer, int from, int to, byte first, byte second, byte third)
+    {
+        checkFromToIndex(from, to, buffer.length);
+        if (VECTORIZED) {
+            return VectorByteSearch.indexOfAny(buffer, from, to, first, second, third);
+        }
+        return scalarIndexOfAny(buffer, from, to, first, second, third);
+    }
+
+    public static boolean isAscii(byte[] buffer, int from, int to)
+    {
+        checkFromToIndex(from, to, buffer.length);
+        if (VECTORIZED) {
+            return VectorByteSearch.isAscii(buffer, from, to);
+        }
+        return scalarIsAscii(buffer, from, to);
+    }
+
+    static int scalarIndexOfAny(byte[] buffer, int from, int to, byte first, byte second)
+    {
+        for (int position = from; position < to; position++) {
+            byte value = buffer[position];
+            if (value == first || value == second) {
+                return position;
+            }
+        }
+        return to;
+    }
+
+    static int scalarIndexOfAny(byte[] buffer, int from, int to, byte first, byte second, byte third)
+    {
+        for (int position = from; position < to; position++) {
+            byte value = buffer[position];
+            if (value == first || value == second || value == third) {
+                return position;
+            }
+        }
+        return to;
+    }
+
+    static boolean scalarIsAscii(byte[] buffer, int from, int to)
+    {
+        for (int position = from; position < to; position++) {
+            if (buffer[position] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // get VectorShape bit size via reflection to avoid requiring the incubator module to be enabled
+    private static int getVectorBitSize()
+    {
+        try {
+            Class<?> clazz = Class.forName("jdk.incubator.vector.VectorShape");
+            return (int) clazz.getMethod("vectorBitSize").invoke(clazz.getMethod("preferredShape").invoke(null));
+        }
+        catch (Throwable e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.hive.formats.line;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.LT;
+
+// this class is only loaded when the incubator module is available
+final class VectorByteSearch
+{
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private VectorByteSearch() {}
+
+    static int indexOfAny(byte[] buffer, int from, int to, byte first, byte second)
+    {
+        int position = from;
+        int vectorEnd = from + SPECIES.loopBound(to - from);
+        for (; position < vectorEnd; position += SPECIES.length()) {
+            ByteVector vector = ByteVector.fromArray(SPECIES, buffer, position);
+            VectorMask<Byte> matches = vector.eq(first).or(vector.eq(second));
+            if (matches.anyTrue()) {
+                return position + matches.firstTrue();
+            }
+        }
+        return ByteSearch.scalarIndexOfAny(buffer, position, to, first, second);
+    }
+
+    static int indexOfAny(byte[] buffer, int from, int to, byte first, byte second, byte third)
+    {
+        int position = from;
+        int vectorEnd = from + SPECIES.loopBound(to - from);
+        for (; position < vectorEnd; position += SPECIES.length()) {
+            ByteVector vector = ByteVector.fromArray(SPECIES, buffer, position);
+            VectorMask<Byte> matches = vector.eq(first).or(vector.eq(second)).or(vector.eq(third));
+            if (matches.anyTrue()) {
+                return position + matches.firstTrue();
+            }
+        }
+        return ByteSearch.scalarIndexOfAny(buffer, position, to, first, second, third);
+    }
+
+    static boolean isAscii(byte[] buffer, int from, int to)
+    {
+        int position = from;
+        int vectorEnd = from + SPECIES.loopBound(to - from);
+        for (; position < vectorEnd; position += SPECIES.length()) {
+            if (ByteVector.fromArray(SPECIES, buffer, position).compare(LT, (byte) 0).anyTrue()) {
+                return false;
+            }
+        }
+        return ByteSearch.scalarIsAscii(buffer, position, to);
+    }
+}
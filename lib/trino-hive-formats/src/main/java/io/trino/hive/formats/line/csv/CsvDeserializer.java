@@ -15,6 +15,7 @@ package io.trino.hive.formats.line.csv;
 
 import com.google.common.collect.ImmutableList;
 import io.airlift.slice.Slices;
+import io.trino.hive.formats.line.ByteSearch;
 import io.trino.hive.formats.line.Column;
 import io.trino.hive.formats.line.LineBuffer;
 import io.trino.hive.formats.line.LineDeserializer;
@@ -28,11 +29,18 @@ import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.trino.spi.type.VarcharType.VARCHAR;
+import static java.lang.Math.clamp;
+import static java.lang.Math.min;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Deserializer that is bug for bug compatible with OpenCSVSerde.
+ * <p>
+ * When the separator, quote and escape characters are all ASCII, the line is parsed
+ * directly from the UTF-8 bytes, as the bytes of a multibyte character can never match
+ * an ASCII character. Unquoted and simply quoted values are referenced in the line buffer
+ * without being copied, and only values that contain quotes or escapes are rebuilt.
  */
 // Note most of this code was forked from au.com.bytecode.opencsv.CSVParser and extensively rewritten
 public class CsvDeserializer
@@ -46,6 +54,20 @@ public class CsvDeserializer
     private final StringBuilder buffer = new StringBuilder(1024);
     private final String[] rowValues;
 
+    // state for parsing directly from the line bytes
+    private final boolean byteParsingSupported;
+    private final int[] valueOffsets;
+    private final int[] valueLengths;
+    private final boolean[] valueRebuilt;
+    private byte[] rebuiltValues = new byte[1024];
+    private int rebuiltValuesLength;
+
+    // the current value is either the range [valueStart, valueEnd) of the line, or when
+    // it had to be rebuilt, the range [valueStart, rebuiltValuesLength) of the rebuilt values
+    private boolean currentValueRebuilt;
+    private int valueStart;
+    private int valueEnd;
+
     public CsvDeserializer(List<Column> columns, char separatorChar, char quoteChar, char escapeChar)
     {
         checkArgument(columns.size() == columns.stream().mapToInt(Column::ordinal).distinct().count(),
@@ -56,6 +78,9 @@ public class CsvDeserializer
 
         int columnCount = this.columns.stream().mapToInt(Column::ordinal).max().orElse(-1) + 1;
         this.rowValues = new String[columnCount];
+        this.valueOffsets = new int[columnCount];
+        this.valueLengths = new int[columnCount];
+        this.valueRebuilt = new boolean[columnCount];
 
         checkArgument(separatorChar != '\0', "Separator cannot be the null character (ASCII 0)");
         checkArgument(separatorChar != quoteChar, "Separator and quote character cannot be the same");
@@ -64,6 +89,7 @@ public class CsvDeserializer
         this.separatorChar = separatorChar;
         this.quoteChar = quoteChar;
         this.escapeChar = escapeChar;
+        this.byteParsingSupported = separatorChar < 0x80 && quoteChar < 0x80 && escapeChar < 0x80;
     }
 
     @Override
@@ -75,6 +101,13 @@ public class CsvDeserializer
     @Override
     public void deserialize(LineBuffer lineBuffer, PageBuilder builder)
     {
+        requireNonNull(lineBuffer, "lineBuffer is null");
+
+        if (byteParsingSupported && parseLineBytes(lineBuffer)) {
+            writeLineBytes(lineBuffer.getBuffer(), builder);
+            return;
+        }
+
         parseLine(lineBuffer);
 
         builder.declarePosition();
@@ -90,10 +123,225 @@ public class CsvDeserializer
         }
     }
 
-    private void parseLine(LineBuffer lineBuffer)
+    private void writeLineBytes(byte[] line, PageBuilder builder)
     {
-        requireNonNull(lineBuffer, "lineBuffer is null");
+        builder.declarePosition();
+        for (int i = 0; i < columns.size(); i++) {
+            BlockBuilder blockBuilder = builder.getBlockBuilder(i);
+            int ordinal = columns.get(i).ordinal();
+            int length = valueLengths[ordinal];
+            if (length < 0) {
+                blockBuilder.appendNull();
+                continue;
+            }
+            byte[] source = valueRebuilt[ordinal] ? rebuiltValues : line;
+            int offset = valueOffsets[ordinal];
+            if (ByteSearch.isAscii(source, offset, offset + length)) {
+                VARCHAR.writeSlice(blockBuilder, Slices.wrappedBuffer(source, offset, length));
+            }
+            else {
+                // decode the value to replace malformed sequences the same way as the String based parser
+                VARCHAR.writeSlice(blockBuilder, Slices.utf8Slice(new String(source, offset, length, UTF_8)));
+            }
+        }
+    }
+
+    /**
+     * Parses the line using the same state machine as {@link #parseLine}, but over the UTF-8 bytes.
+     *
+     * @return false if the line must be parsed with {@link #parseLine} instead
+     */
+    private boolean parseLineBytes(LineBuffer lineBuffer)
+    {
+        Arrays.fill(valueLengths, -1);
+        rebuiltValuesLength = 0;
+        resetValue();
+
+        // empty line results in all null values
+        if (lineBuffer.isEmpty() || columns.isEmpty()) {
+            return true;
+        }
+
+        byte[] line = lineBuffer.getBuffer();
+        int length = lineBuffer.getLength();
+        byte separator = (byte) separatorChar;
+        byte quote = (byte) quoteChar;
+        byte escape = (byte) escapeChar;
+
+        int columnIndex = 0;
+        boolean inQuotes = false;
+        boolean inField = false;
+
+        int position = 0;
+        while (position < length && columnIndex < valueLengths.length) {
+            // the bytes up to the next special character are all part of the value
+            int next = ByteSearch.indexOfAny(line, position, length, separator, quote, escape);
+            if (next > position) {
+                appendValue(line, position, next);
+                inField = true;
+                position = next;
+                if (position == length) {
+                    break;
+                }
+            }
 
+            byte c = line[position];
+            if (c == escape) {
+                // if the next character is special, process it here as to not trigger the special handling
+                if (inQuotes || inField) {
+                    if (position + 1 < length && (line[position + 1] == quote || line[position + 1] == escape)) {
+                        appendValue(line, position + 1, position + 2);
+                        position++;
+                    }
+                }
+            }
+            else if (c == quote) {
+                // a quote character can be escaped with another quote character
+                if ((inQuotes || inField) && position + 1 < length && line[position + 1] == quote) {
+                    appendValue(line, position + 1, position + 2);
+                    position++;
+                }
+                else {
+                    // the tricky case of an embedded quote in the middle: a,bc"d"ef,g
+                    // Embedded quote is not for first 3 characters of the line, and is not allowed immediately before a separator
+                    if (hasMoreThanTwoCharactersBefore(line, position) &&
+                            line[position - 1] != separator &&
+                            length > (position + 1) &&
+                            line[position + 1] != separator) {
+                        // if field starts begins whitespace, skip the whitespace and quote
+                        if (getValueLength() > 0 && isValueAllWhitespace(line)) {
+                            resetValue();
+                        }
+                        else {
+                            // otherwise write the quote as a literal value
+                            appendValue(line, position, position + 1);
+                        }
+                    }
+                    inQuotes = !inQuotes;
+                }
+                inField = !inField;
+            }
+            else if (c == separator && !inQuotes) {
+                // end of a value
+                if (!endValue(line, columnIndex)) {
+                    return false;
+                }
+                columnIndex++;
+                inField = false;
+            }
+            else {
+                appendValue(line, position, position + 1);
+                inField = true;
+            }
+            position++;
+        }
+
+        // if last field is an unterminated field, ignore the value
+        if (columnIndex < valueLengths.length && !inQuotes) {
+            return endValue(line, columnIndex);
+        }
+        return true;
+    }
+
+    private void appendValue(byte[] line, int start, int end)
+    {
+        if (!currentValueRebuilt) {
+            if (valueStart == valueEnd) {
+                valueStart = start;
+                valueEnd = end;
+                return;
+            }
+            if (valueEnd == start) {
+                valueEnd = end;
+                return;
+            }
+            // the value is no longer a contiguous range of the line
+            int rebuiltStart = rebuiltValuesLength;
+            appendRebuilt(line, valueStart, valueEnd);
+            currentValueRebuilt = true;
+            valueStart = rebuiltStart;
+        }
+        appendRebuilt(line, start, end);
+    }
+
+    private void appendRebuilt(byte[] line, int start, int end)
+    {
+        int length = end - start;
+        if (rebuiltValuesLength + length > rebuiltValues.length) {
+            rebuiltValues = Arrays.copyOf(rebuiltValues, clamp(rebuiltValues.length * 2L, rebuiltValuesLength + length, Integer.MAX_VALUE));
+        }
+        System.arraycopy(line, start, rebuiltValues, rebuiltValuesLength, length);
+        rebuiltValuesLength += length;
+    }
+
+    private int getValueLength()
+    {
+        return currentValueRebuilt ? rebuiltValuesLength - valueStart : valueEnd - valueStart;
+    }
+
+    private void resetValue()
+    {
+        if (currentValueRebuilt) {
+            rebuiltValuesLength = valueStart;
+        }
+        currentValueRebuilt = false;
+        valueStart = 0;
+        valueEnd = 0;
+    }
+
+    private boolean endValue(byte[] line, int columnIndex)
+    {
+        int length = getValueLength();
+        if (currentValueRebuilt && !ByteSearch.isAscii(rebuiltValues, valueStart, valueStart + length)) {
+            // removing quotes or escapes from malformed UTF-8 could join bytes into a valid
+            // character, which the String based parser would have replaced individually
+            return false;
+        }
+        valueOffsets[columnIndex] = valueStart;
+        valueLengths[columnIndex] = length;
+        valueRebuilt[columnIndex] = currentValueRebuilt;
+
+        // keep the rebuilt bytes, as they are referenced by the value
+        currentValueRebuilt = false;
+        valueStart = 0;
+        valueEnd = 0;
+        return true;
+    }
+
+    private boolean isValueAllWhitespace(byte[] line)
+    {
+        byte[] source = currentValueRebuilt ? rebuiltValues : line;
+        int end = valueStart + getValueLength();
+        if (!ByteSearch.isAscii(source, valueStart, end)) {
+            return isAllWhitespace(new String(source, valueStart, end - valueStart, UTF_8));
+        }
+        for (int position = valueStart; position < end; position++) {
+            if (!Character.isWhitespace((char) source[position])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if there are more than two characters before the quote at the specified
+     * byte position, which is the {@code position > 2} check of {@link #parseLine}.
+     */
+    private static boolean hasMoreThanTwoCharactersBefore(byte[] line, int position)
+    {
+        if (position <= 2) {
+            return false;
+        }
+        if (line[0] >= 0 && line[1] >= 0 && line[2] >= 0) {
+            return true;
+        }
+        // a character is at most four bytes, and malformed bytes are replaced at least
+        // every three bytes, so decoding twelve bytes is enough to produce three characters
+        return new String(line, 0, min(position, 12), UTF_8).length() > 2;
+    }
+
+    private void parseLine(LineBuffer lineBuffer)
+    {
         Arrays.fill(rowValues, null);
         buffer.setLength(0);
 
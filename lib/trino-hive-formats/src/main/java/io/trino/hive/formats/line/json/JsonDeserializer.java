@@ -16,6 +16,8 @@ package io.trino.hive.formats.line.json;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.CharMatcher;
 import com.google.common.collect.ImmutableMap;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
@@ -47,6 +49,7 @@ import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -84,6 +87,7 @@ import static io.trino.spi.type.Varchars.truncateToLength;
 import static java.lang.Float.floatToRawIntBits;
 import static java.lang.StrictMath.toIntExact;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.joda.time.DateTimeZone.UTC;
 
@@ -102,6 +106,12 @@ import static org.joda.time.DateTimeZone.UTC;
  *         values, but this code only process the last value.  This means if one of the duplicates is
  *         invalid, Hive will fail, and this code will not.
  *     </li>
+ *     <li>
+ *         When the objects have many more fields than are projected, the top level object is scanned
+ *         structurally and only the values of the projected fields are parsed. Values of other fields are
+ *         skipped without being validated, so malformed JSON in a field that is not read does not cause a
+ *         failure.
+ *     </li>
  * </ul>
  */
 public class JsonDeserializer
@@ -110,11 +120,38 @@ public class JsonDeserializer
     private static final JsonFactory JSON_FACTORY = jsonFactoryBuilder()
             .disable(INTERN_FIELD_NAMES)
             .build();
+    private static final byte[] INTERNAL_FIELD_NAME_PREFIX = "_col".getBytes(US_ASCII);
+
+    // each projected value is decoded with a separate parser, so the scan only pays off when the objects
+    // have many more fields than are projected
+    private static final int MIN_OBJECT_FIELDS_PER_PROJECTED_COLUMN = 4;
+    // while the full parser is used, the width of the objects is checked again periodically
+    private static final int OBJECT_WIDTH_SAMPLE_INTERVAL = 1024;
 
     private final List<Type> types;
     private final RowDecoder rowDecoder;
 
+    private final boolean adaptiveProjectedScan;
+    private boolean projectedScanEnabled;
+    private int linesUntilWidthSample;
+    private int objectFieldCount;
+    // lower case field names, or null for names that are not ASCII
+    private final byte[][] asciiFieldNames;
+    private final int[] valueStarts;
+    private final int[] valueEnds;
+
     public JsonDeserializer(List<Column> columns, List<String> timestampFormats)
+    {
+        this(columns, timestampFormats, true, false);
+    }
+
+    @VisibleForTesting
+    JsonDeserializer(List<Column> columns, List<String> timestampFormats, boolean projectedScanEnabled)
+    {
+        this(columns, timestampFormats, false, projectedScanEnabled);
+    }
+
+    private JsonDeserializer(List<Column> columns, List<String> timestampFormats, boolean adaptiveProjectedScan, boolean projectedScanEnabled)
     {
         this.types = columns.stream()
                 .map(Column::type)
@@ -137,6 +174,24 @@ public class JsonDeserializer
                         .map(fieldType -> createDecoder(fieldType, timestampParser))
                         .collect(toImmutableList()),
                 topLevelOrdinalMap::get);
+
+        this.adaptiveProjectedScan = adaptiveProjectedScan;
+        this.projectedScanEnabled = projectedScanEnabled;
+        asciiFieldNames = new byte[columns.size()][];
+        for (int i = 0; i < columns.size(); i++) {
+            String name = columns.get(i).name().toLowerCase(Locale.ROOT);
+            if (CharMatcher.ascii().matchesAllOf(name)) {
+                asciiFieldNames[i] = name.getBytes(US_ASCII);
+            }
+        }
+        valueStarts = new int[columns.size()];
+        valueEnds = new int[columns.size()];
+    }
+
+    @VisibleForTesting
+    boolean isProjectedScanEnabled()
+    {
+        return projectedScanEnabled;
     }
 
     @Override
@@ -149,6 +204,21 @@ public class JsonDeserializer
     public void deserialize(LineBuffer lineBuffer, PageBuilder builder)
             throws IOException
     {
+        if (adaptiveProjectedScan) {
+            // the width of the objects is only known when they are scanned, so the first line and
+            // a sample of the following lines are scanned even when the full parser is used
+            if (projectedScanEnabled || --linesUntilWidthSample < 0) {
+                linesUntilWidthSample = OBJECT_WIDTH_SAMPLE_INTERVAL;
+                if (deserializeProjected(lineBuffer, builder)) {
+                    projectedScanEnabled = objectFieldCount >= MIN_OBJECT_FIELDS_PER_PROJECTED_COLUMN * types.size();
+                    return;
+                }
+            }
+        }
+        else if (projectedScanEnabled && deserializeProjected(lineBuffer, builder)) {
+            return;
+        }
+
         JsonParser parser = JSON_FACTORY.createParser(lineBuffer.getBuffer(), 0, lineBuffer.getLength());
         parser.nextToken();
 
@@ -159,6 +229,94 @@ public class JsonDeserializer
         parser.close();
     }
 
+    private boolean deserializeProjected(LineBuffer lineBuffer, PageBuilder builder)
+            throws IOException
+    {
+        byte[] buffer = lineBuffer.getBuffer();
+        Arrays.fill(valueStarts, -1);
+        objectFieldCount = 0;
+        boolean scanned = JsonFieldScanner.scanObject(buffer, lineBuffer.getLength(), (nameStart, nameEnd, nameEscaped, valueStart, valueEnd) -> {
+            objectFieldCount++;
+            int fieldPosition = getFieldPosition(buffer, nameStart, nameEnd, nameEscaped);
+            if (fieldPosition >= 0) {
+                // like the full parser, the last duplicate field wins
+                valueStarts[fieldPosition] = valueStart;
+                valueEnds[fieldPosition] = valueEnd;
+            }
+        });
+        if (!scanned) {
+            return false;
+        }
+
+        builder.declarePosition();
+        for (int field = 0; field < valueStarts.length; field++) {
+            BlockBuilder blockBuilder = builder.getBlockBuilder(field);
+            if (valueStarts[field] < 0) {
+                blockBuilder.appendNull();
+                continue;
+            }
+            JsonParser parser = JSON_FACTORY.createParser(buffer, valueStarts[field], valueEnds[field] - valueStarts[field]);
+            parser.nextToken();
+            rowDecoder.fieldDecoders.get(field).decode(parser, blockBuilder);
+            parser.close();
+        }
+        return true;
+    }
+
+    private int getFieldPosition(byte[] buffer, int nameStart, int nameEnd, boolean nameEscaped)
+            throws IOException
+    {
+        if (!nameEscaped && isAscii(buffer, nameStart, nameEnd)) {
+            for (int field = 0; field < asciiFieldNames.length; field++) {
+                if (equalsIgnoreAsciiCase(asciiFieldNames[field], buffer, nameStart, nameEnd)) {
+                    return field;
+                }
+            }
+            if (!startsWith(buffer, nameStart, nameEnd, INTERNAL_FIELD_NAME_PREFIX)) {
+                return -1;
+            }
+        }
+
+        // escaped, non-ASCII and internal names are resolved exactly like the full parser does
+        JsonParser parser = JSON_FACTORY.createParser(buffer, nameStart - 1, nameEnd - nameStart + 2);
+        parser.nextToken();
+        String fieldName = parser.getText();
+        parser.close();
+        return rowDecoder.getFieldPosition(fieldName);
+    }
+
+    private static boolean isAscii(byte[] buffer, int start, int end)
+    {
+        for (int position = start; position < end; position++) {
+            if (buffer[position] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalsIgnoreAsciiCase(byte[] lowerCaseName, byte[] buffer, int start, int end)
+    {
+        if (lowerCaseName == null || lowerCaseName.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < lowerCaseName.length; i++) {
+            byte value = buffer[start + i];
+            if (value >= 'A' && value <= 'Z') {
+                value += 'a' - 'A';
+            }
+            if (value != lowerCaseName[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(byte[] buffer, int start, int end, byte[] prefix)
+    {
+        return end - start >= prefix.length && Arrays.equals(buffer, start, start + prefix.length, prefix, 0, prefix.length);
+    }
+
     private static Decoder createDecoder(Type type, Function<String, DecodedTimestamp> timestampParser)
     {
         if (BOOLEAN.equals(type)) {
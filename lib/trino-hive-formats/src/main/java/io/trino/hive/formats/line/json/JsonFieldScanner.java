@@ -0,0 +1,195 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.hive.formats.line.json;
+
+import java.io.IOException;
+
+/**
+ * Structural scanner that locates the top level fields of a JSON object without
+ * tokenizing the field values. Nested objects and arrays are skipped by tracking
+ * the bracket depth and string boundaries only, so the values are not validated.
+ * <p>
+ * The scanner only accepts strict JSON. When anything unexpected is encountered
+ * (comments, unquoted names, truncated input) the scan is abandoned, and the
+ * caller is expected to fall back to a full JSON parser, which reports the error.
+ */
+final class JsonFieldScanner
+{
+    private JsonFieldScanner() {}
+
+    interface FieldVisitor
+    {
+        /**
+         * @param nameStart offset of the first byte of the field name, excluding the quote
+         * @param nameEnd offset after the last byte of the field name, excluding the quote
+         * @param nameEscaped true if the field name contains an escape sequence
+         * @param valueStart offset of the first byte of the value
+         * @param valueEnd offset after the last byte of the value
+         */
+        void visitField(int nameStart, int nameEnd, boolean nameEscaped, int valueStart, int valueEnd)
+                throws IOException;
+    }
+
+    /**
+     * Scans the top level fields of the JSON object in {@code buffer[0, length)}.
+     *
+     * @return false if the input could not be scanned
+     */
+    static boolean scanObject(byte[] buffer, int length, FieldVisitor visitor)
+            throws IOException
+    {
+        int position = skipWhitespace(buffer, 0, length);
+        if (position >= length || buffer[position] != '{') {
+            return false;
+        }
+        position = skipWhitespace(buffer, position + 1, length);
+        if (position < length && buffer[position] == '}') {
+            return true;
+        }
+
+        while (position < length) {
+            if (buffer[position] != '"') {
+                return false;
+            }
+            int nameStart = position + 1;
+            int nameEnd = skipString(buffer, position, length);
+            if (nameEnd < 0) {
+                return false;
+            }
+            boolean nameEscaped = containsEscape(buffer, nameStart, nameEnd);
+
+            position = skipWhitespace(buffer, nameEnd + 1, length);
+            if (position >= length || buffer[position] != ':') {
+                return false;
+            }
+            int valueStart = skipWhitespace(buffer, position + 1, length);
+            int valueEnd = skipValue(buffer, valueStart, length);
+            if (valueEnd < 0) {
+                return false;
+            }
+            visitor.visitField(nameStart, nameEnd, nameEscaped, valueStart, valueEnd);
+
+            position = skipWhitespace(buffer, valueEnd, length);
+            if (position >= length) {
+                return false;
+            }
+            if (buffer[position] == '}') {
+                return true;
+            }
+            if (buffer[position] != ',') {
+                return false;
+            }
+            position = skipWhitespace(buffer, position + 1, length);
+        }
+        return false;
+    }
+
+    /**
+     * @return the offset after the value, or -1 if the value is not valid
+     */
+    private static int skipValue(byte[] buffer, int position, int length)
+    {
+        if (position >= length) {
+            return -1;
+        }
+        byte first = buffer[position];
+        if (first == '"') {
+            int end = skipString(buffer, position, length);
+            return end < 0 ? -1 : end + 1;
+        }
+        if (first == '{' || first == '[') {
+            return skipContainer(buffer, position, length);
+        }
+
+        // numbers and literals end at the next structural character
+        int end = position;
+        while (end < length && !isScalarTerminator(buffer[end])) {
+            end++;
+        }
+        return end == position ? -1 : end;
+    }
+
+    private static int skipContainer(byte[] buffer, int position, int length)
+    {
+        int depth = 0;
+        while (position < length) {
+            byte value = buffer[position];
+            if (value == '"') {
+                position = skipString(buffer, position, length);
+                if (position < 0) {
+                    return -1;
+                }
+            }
+            else if (value == '{' || value == '[') {
+                depth++;
+            }
+            else if (value == '}' || value == ']') {
+                depth--;
+                if (depth == 0) {
+                    return position + 1;
+                }
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    /**
+     * @param position offset of the opening quote
+     * @return the offset of the closing quote, or -1 if the string is not terminated
+     */
+    private static int skipString(byte[] buffer, int position, int length)
+    {
+        position++;
+        while (position < length) {
+            byte value = buffer[position];
+            if (value == '"') {
+                return position;
+            }
+            if (value == '\\') {
+                position++;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    private static boolean containsEscape(byte[] buffer, int start, int end)
+    {
+        for (int position = start; position < end; position++) {
+            if (buffer[position] == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipWhitespace(byte[] buffer, int position, int length)
+    {
+        while (position < length && isWhitespace(buffer[position])) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isScalarTerminator(byte value)
+    {
+        return value == ',' || value == '}' || value == ']' || isWhitespace(value);
+    }
+
+    private static boolean isWhitespace(byte value)
+    {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r';
+    }
+}
@@ -20,6 +20,7 @@ import io.trino.hive.formats.FileCorruptionException;
 import io.trino.hive.formats.encodings.text.TextColumnEncoding;
 import io.trino.hive.formats.encodings.text.TextColumnEncodingFactory;
 import io.trino.hive.formats.encodings.text.TextEncodingOptions;
+import io.trino.hive.formats.line.ByteSearch;
 import io.trino.hive.formats.line.Column;
 import io.trino.hive.formats.line.LineBuffer;
 import io.trino.hive.formats.line.LineDeserializer;
@@ -90,9 +91,14 @@ public class SimpleDeserializer
 
         int elementOffset = offset;
         int fieldIndex = 0;
+        byte escape = escapeByte == null ? separator : escapeByte;
         while (offset < end) {
-            byte currentByte = buffer[offset];
-            if (currentByte == separator) {
+            // skip over the field value in bulk
+            offset = ByteSearch.indexOfAny(buffer, offset, end, separator, escape);
+            if (offset == end) {
+                break;
+            }
+            if (buffer[offset] == separator) {
                 decodeElementValueInto(fieldIndex, builder, line, elementOffset, offset - elementOffset);
                 elementOffset = offset + 1;
                 fieldIndex++;
@@ -101,7 +107,7 @@ public class SimpleDeserializer
                     break;
                 }
             }
-            else if (escapeByte != null && currentByte == escapeByte) {
+            else {
                 // ignore the char after escape_char
                 offset++;
             }
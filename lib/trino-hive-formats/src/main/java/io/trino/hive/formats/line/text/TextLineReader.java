@@ -16,12 +16,16 @@ package io.trino.hive.formats.line.text;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.io.CountingInputStream;
 import io.trino.hive.formats.compression.Codec;
+import io.trino.hive.formats.compression.ReadAheadInputStream;
 import io.trino.hive.formats.line.LineBuffer;
 import io.trino.hive.formats.line.LineReader;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.OptionalLong;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongSupplier;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -35,6 +39,7 @@ public final class TextLineReader
         implements LineReader
 {
     private static final int INSTANCE_SIZE = instanceSize(TextLineReader.class);
+    private static final int READ_AHEAD_CHUNK_SIZE = 256 * 1024;
 
     private final InputStream in;
     private final byte[] buffer;
@@ -58,6 +63,20 @@ public final class TextLineReader
         return new TextLineReader(in, bufferSize, 0, OptionalLong.empty(), rawInputPositionSupplier);
     }
 
+    /**
+     * Creates a reader that decompresses the input on the executor, while the
+     * lines are parsed on the calling thread.
+     */
+    public static TextLineReader createCompressedReader(InputStream in, int bufferSize, Codec codec, Executor decompressionExecutor)
+            throws IOException
+    {
+        // the raw input is read on the decompression thread, but the position is read on the calling thread
+        ConcurrentCountingInputStream countingInputStream = new ConcurrentCountingInputStream(in);
+        LongSupplier rawInputPositionSupplier = countingInputStream::getCount;
+        in = new ReadAheadInputStream(codec.createStreamDecompressor(countingInputStream), READ_AHEAD_CHUNK_SIZE, decompressionExecutor);
+        return new TextLineReader(in, bufferSize, 0, OptionalLong.empty(), rawInputPositionSupplier);
+    }
+
     public static TextLineReader createUncompressedReader(InputStream in, int bufferSize)
             throws IOException
     {
@@ -124,7 +143,11 @@ public final class TextLineReader
     @Override
     public long getRetainedSize()
     {
-        return INSTANCE_SIZE + sizeOf(buffer);
+        long retainedSize = INSTANCE_SIZE + sizeOf(buffer);
+        if (in instanceof ReadAheadInputStream readAheadInputStream) {
+            retainedSize += readAheadInputStream.getRetainedSize();
+        }
+        return retainedSize;
     }
 
     @VisibleForTesting
@@ -296,4 +319,57 @@ public final class TextLineReader
             close();
         }
     }
+
+    private static final class ConcurrentCountingInputStream
+            extends FilterInputStream
+    {
+        private final AtomicLong count = new AtomicLong();
+
+        public ConcurrentCountingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        public long getCount()
+        {
+            return count.get();
+        }
+
+        @Override
+        public int read()
+                throws IOException
+        {
+            int result = in.read();
+            if (result != -1) {
+                count.incrementAndGet();
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length)
+                throws IOException
+        {
+            int result = in.read(buffer, offset, length);
+            if (result != -1) {
+                count.addAndGet(result);
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long n)
+                throws IOException
+        {
+            long result = in.skip(n);
+            count.addAndGet(result);
+            return result;
+        }
+
+        @Override
+        public boolean markSupported()
+        {
+            return false;
+        }
+    }
 }
@@ -27,10 +27,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.trino.hive.formats.HiveClassNames.SYMLINK_TEXT_INPUT_FORMAT_CLASS;
 import static io.trino.hive.formats.HiveClassNames.TEXT_INPUT_FORMAT_CLASS;
+import static java.util.Objects.requireNonNull;
 
 public class TextLineReaderFactory
         implements LineReaderFactory
@@ -38,12 +40,23 @@ public class TextLineReaderFactory
     private final int fileBufferSize;
     private final int initialLineBufferSize;
     private final int maxLineLength;
+    private final Optional<Executor> decompressionExecutor;
 
     public TextLineReaderFactory(int fileBufferSize, int initialLineBufferSize, int maxLineLength)
+    {
+        this(fileBufferSize, initialLineBufferSize, maxLineLength, Optional.empty());
+    }
+
+    /**
+     * @param decompressionExecutor if present, compressed files are decompressed on this
+     * executor concurrently with parsing the lines
+     */
+    public TextLineReaderFactory(int fileBufferSize, int initialLineBufferSize, int maxLineLength, Optional<Executor> decompressionExecutor)
     {
         this.fileBufferSize = fileBufferSize;
         this.initialLineBufferSize = initialLineBufferSize;
         this.maxLineLength = maxLineLength;
+        this.decompressionExecutor = requireNonNull(decompressionExecutor, "decompressionExecutor is null");
     }
 
     @Override
@@ -74,7 +87,12 @@ public class TextLineReaderFactory
             LineReader lineReader;
             if (codec.isPresent()) {
                 checkArgument(start == 0, "Compressed files are not splittable");
-                lineReader = TextLineReader.createCompressedReader(inputStream, fileBufferSize, codec.get());
+                if (decompressionExecutor.isPresent()) {
+                    lineReader = TextLineReader.createCompressedReader(inputStream, fileBufferSize, codec.get(), decompressionExecutor.get());
+                }
+                else {
+                    lineReader = TextLineReader.createCompressedReader(inputStream, fileBufferSize, codec.get());
+                }
             }
             else {
                 lineReader = TextLineReader.createUncompressedReader(inputStream, fileBufferSize, start, length);
@@ -0,0 +1,197 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.hive.formats.compression;
+
+import com.google.common.io.ByteStreams;
+import io.trino.hive.formats.line.LineBuffer;
+import io.trino.hive.formats.line.text.TextLineReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import static io.trino.testing.assertions.Assert.assertEventually;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+public class TestReadAheadInputStream
+{
+    private final ExecutorService executor = newCachedThreadPool();
+
+    @AfterAll
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRead()
+            throws IOException
+    {
+        byte[] data = new byte[100_000];
+        new Random(42).nextBytes(data);
+
+        for (int chunkSize : new int[] {1, 7, 1024, 100_000, 200_000}) {
+            try (InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), chunkSize, executor)) {
+                assertThat(ByteStreams.toByteArray(in)).isEqualTo(data);
+                assertThat(in.read()).isEqualTo(-1);
+            }
+            try (InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), chunkSize, executor)) {
+                for (byte value : data) {
+                    assertThat(in.read()).isEqualTo(value & 0xFF);
+                }
+                assertThat(in.read()).isEqualTo(-1);
+            }
+        }
+
+        try (InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(new byte[0]), 16, executor)) {
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void testFailure()
+            throws IOException
+    {
+        InputStream failing = new InputStream()
+        {
+            private int remaining = 100;
+
+            @Override
+            public int read()
+                    throws IOException
+            {
+                if (remaining-- == 0) {
+                    throw new IOException("test failure");
+                }
+                return 1;
+            }
+        };
+
+        try (InputStream in = new ReadAheadInputStream(failing, 10, executor)) {
+            assertThatThrownBy(() -> ByteStreams.toByteArray(in))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("test failure");
+        }
+    }
+
+    @Test
+    public void testCloseWhileReaderIsBlocked()
+            throws IOException
+    {
+        AtomicBoolean delegateClosed = new AtomicBoolean();
+        InputStream endless = new InputStream()
+        {
+            @Override
+            public int read()
+            {
+                return 0;
+            }
+
+            @Override
+            public void close()
+            {
+                delegateClosed.set(true);
+            }
+        };
+
+        InputStream in = new ReadAheadInputStream(endless, 10, executor);
+        assertThat(in.read()).isEqualTo(0);
+        in.close();
+        assertEventually(() -> assertThat(delegateClosed.get()).isTrue());
+        assertThatThrownBy(in::read)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Stream is closed");
+    }
+
+    @Test
+    public void testCloseDoesNotWaitForRead()
+            throws Exception
+    {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch readReleased = new CountDownLatch(1);
+        AtomicBoolean delegateClosed = new AtomicBoolean();
+        InputStream blocking = new InputStream()
+        {
+            @Override
+            public int read()
+                    throws IOException
+            {
+                readStarted.countDown();
+                try {
+                    readReleased.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                return 0;
+            }
+
+            @Override
+            public void close()
+            {
+                delegateClosed.set(true);
+            }
+        };
+
+        InputStream in = new ReadAheadInputStream(blocking, 10, executor);
+        readStarted.await();
+        in.close();
+
+        // the delegate is closed by the background reader once its read returns
+        assertThat(delegateClosed.get()).isFalse();
+        readReleased.countDown();
+        assertEventually(() -> assertThat(delegateClosed.get()).isTrue());
+    }
+
+    @Test
+    public void testCompressedLineReader()
+            throws IOException
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream compress = new GZIPOutputStream(out)) {
+            compress.write(text.toString().getBytes(UTF_8));
+        }
+
+        LineBuffer lineBuffer = new LineBuffer(1024, 1024);
+        try (TextLineReader lineReader = TextLineReader.createCompressedReader(new ByteArrayInputStream(out.toByteArray()), 1024, CompressionKind.GZIP.createCodec(), executor)) {
+            for (int i = 0; i < 100_000; i++) {
+                assertThat(lineReader.readLine(lineBuffer)).isTrue();
+                assertThat(new String(lineBuffer.getBuffer(), 0, lineBuffer.getLength(), UTF_8)).isEqualTo("line " + i);
+            }
+            assertThat(lineReader.readLine(lineBuffer)).isFalse();
+            assertThat(lineReader.getBytesRead()).isEqualTo(out.size());
+        }
+    }
+}
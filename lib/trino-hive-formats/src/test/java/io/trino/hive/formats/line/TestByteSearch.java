@@ -0,0 +1,70 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.hive.formats.line;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestByteSearch
+{
+    @Test
+    public void testIndexOfAny()
+    {
+        Random random = new Random(42);
+        for (int length = 0; length < 300; length++) {
+            byte[] buffer = new byte[length];
+            for (int i = 0; i < length; i++) {
+                // mostly plain bytes with a few delimiters
+                buffer[i] = (byte) (random.nextInt(20) == 0 ? ',' : 'a' + random.nextInt(26));
+            }
+            for (int from = 0; from <= length; from += 7) {
+                assertThat(ByteSearch.indexOfAny(buffer, from, length, (byte) ',', (byte) '\\'))
+                        .isEqualTo(ByteSearch.scalarIndexOfAny(buffer, from, length, (byte) ',', (byte) '\\'));
+                assertThat(ByteSearch.indexOfAny(buffer, from, length, (byte) '"', (byte) 'z', (byte) ','))
+                        .isEqualTo(ByteSearch.scalarIndexOfAny(buffer, from, length, (byte) '"', (byte) 'z', (byte) ','));
+            }
+        }
+
+        byte[] buffer = "abc,def".getBytes(UTF_8);
+        assertThat(ByteSearch.indexOfAny(buffer, 0, buffer.length, (byte) ',', (byte) ',')).isEqualTo(3);
+        assertThat(ByteSearch.indexOfAny(buffer, 4, buffer.length, (byte) ',', (byte) ',')).isEqualTo(buffer.length);
+        // the search does not go past the end
+        assertThat(ByteSearch.indexOfAny(buffer, 0, 3, (byte) ',', (byte) ',')).isEqualTo(3);
+        assertThatThrownBy(() -> ByteSearch.indexOfAny(buffer, 0, buffer.length + 1, (byte) ',', (byte) ','))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void testIsAscii()
+    {
+        for (int length = 0; length < 300; length++) {
+            byte[] buffer = new byte[length];
+            for (int i = 0; i < length; i++) {
+                buffer[i] = (byte) ('a' + i % 26);
+            }
+            assertThat(ByteSearch.isAscii(buffer, 0, length)).isTrue();
+            for (int i = 0; i < length; i++) {
+                buffer[i] = (byte) 0xC3;
+                assertThat(ByteSearch.isAscii(buffer, 0, length)).isFalse();
+                assertThat(ByteSearch.isAscii(buffer, i + 1, length)).isTrue();
+                buffer[i] = 'a';
+            }
+        }
+    }
+}
@@ -118,6 +118,12 @@ public class TestCsvFormat
         // Note: the quote is ignored in the first value due to strange special handling at beginning of line
         assertLine(true, "\"a\"  ,  \"b\"  ,  \"c\"  ", Arrays.asList("a  ", "b\"  ", "c\"  "));
 
+        // the special handling at the beginning of the line counts characters, not bytes
+        assertLine(true, "\u00e9\"a\",b,c", Arrays.asList("\u00e9a", "b", "c"));
+        assertLine(true, "\u00e4b,\"\u00f6\",c", Arrays.asList("\u00e4b", "\u00f6", "c"));
+        assertLine("x\"\u00e9\"x,\u00f6\"b\"\u00f6,c", Arrays.asList("x\u00e9\"x", "\u00f6\"b\"\u00f6", "c"), Optional.empty(), Optional.empty(), Optional.empty());
+        assertLine("\ud83d\ude00\"a\"b,c,d", Arrays.asList("\ud83d\ude00a\"b", "c", "d"), Optional.empty(), Optional.empty(), Optional.empty());
+
         // If quote character is `\0` then quoting is simply disabled, even if this would cause output that does not round trip
         assertTrinoHiveByteForByte(true, Arrays.asList("foo", "bar", "baz"), Optional.of('\t'), Optional.of('\0'), Optional.of('\\'));
         assertTrinoHiveByteForByte(false, Arrays.asList("f\0\0", "\0bar\0", "baz"), Optional.of('\t'), Optional.of('\0'), Optional.of('\\'));
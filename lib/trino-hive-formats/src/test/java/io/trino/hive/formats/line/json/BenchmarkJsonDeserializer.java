@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.hive.formats.line.json;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.hive.formats.line.Column;
+import io.trino.hive.formats.line.LineBuffer;
+import io.trino.spi.Page;
+import io.trino.spi.PageBuilder;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.trino.hive.formats.FormatTestUtils.createLineBuffer;
+import static io.trino.jmh.Benchmarks.benchmark;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("MethodMayBeStatic")
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BenchmarkJsonDeserializer
+{
+    private static final int LINE_COUNT = 10_000;
+
+    @Benchmark
+    public Page deserialize(BenchmarkData data)
+            throws IOException
+    {
+        PageBuilder pageBuilder = new PageBuilder(LINE_COUNT, data.deserializer.getTypes());
+        for (LineBuffer line : data.lines) {
+            data.deserializer.deserialize(line, pageBuilder);
+        }
+        return pageBuilder.build();
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        @Param({"4", "10", "200"})
+        private int fieldCount = 200;
+
+        @Param({"ADAPTIVE", "PROJECTED", "FULL"})
+        private String scanMode = "ADAPTIVE";
+
+        private JsonDeserializer deserializer;
+        private List<LineBuffer> lines;
+
+        @Setup
+        public void setup()
+                throws IOException
+        {
+            // project two fields out of objects of different widths
+            List<Column> columns = ImmutableList.of(
+                    new Column("field_1", BIGINT, 1),
+                    new Column("field_2", VARCHAR, 2));
+            deserializer = switch (scanMode) {
+                case "ADAPTIVE" -> new JsonDeserializer(columns, ImmutableList.of());
+                case "PROJECTED" -> new JsonDeserializer(columns, ImmutableList.of(), true);
+                case "FULL" -> new JsonDeserializer(columns, ImmutableList.of(), false);
+                default -> throw new IllegalArgumentException("Unknown scan mode: " + scanMode);
+            };
+
+            Random random = new Random(42);
+            lines = new ArrayList<>(LINE_COUNT);
+            for (int line = 0; line < LINE_COUNT; line++) {
+                StringBuilder json = new StringBuilder("{");
+                for (int field = 0; field < fieldCount; field++) {
+                    if (field > 0) {
+                        json.append(", ");
+                    }
+                    json.append("\"field_").append(field).append("\": ");
+                    switch (field % 4) {
+                        case 0, 1 -> json.append(random.nextLong());
+                        case 2 -> json.append('"').append("value ").append(random.nextInt()).append('"');
+                        default -> json.append("{\"nested\": [").append(random.nextInt()).append(", \"text\", {\"deep\": true}]}");
+                    }
+                }
+                json.append("}");
+                lines.add(createLineBuffer(json.toString()));
+            }
+        }
+    }
+
+    @Test
+    public void testBenchmark()
+            throws IOException
+    {
+        for (int fieldCount : new int[] {4, 10, 200}) {
+            Page expected = deserialize(createBenchmarkData(fieldCount, "FULL"));
+            for (String scanMode : ImmutableList.of("ADAPTIVE", "PROJECTED")) {
+                Page actual = deserialize(createBenchmarkData(fieldCount, scanMode));
+                assertThat(actual.getPositionCount()).isEqualTo(LINE_COUNT);
+                for (int position = 0; position < LINE_COUNT; position++) {
+                    assertThat(BIGINT.getLong(actual.getBlock(0), position)).isEqualTo(BIGINT.getLong(expected.getBlock(0), position));
+                    assertThat(VARCHAR.getSlice(actual.getBlock(1), position)).isEqualTo(VARCHAR.getSlice(expected.getBlock(1), position));
+                }
+            }
+        }
+    }
+
+    private static BenchmarkData createBenchmarkData(int fieldCount, String scanMode)
+            throws IOException
+    {
+        BenchmarkData data = new BenchmarkData();
+        data.fieldCount = fieldCount;
+        data.scanMode = scanMode;
+        data.setup();
+        return data;
+    }
+
+    public static void main(String[] args)
+            throws Exception
+    {
+        benchmark(BenchmarkJsonDeserializer.class).run();
+    }
+}
@@ -58,6 +58,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.stream.IntStream;
 
 import static io.trino.hive.formats.FormatTestUtils.assertColumnValueEquals;
 import static io.trino.hive.formats.FormatTestUtils.createLineBuffer;
@@ -142,6 +143,87 @@ public class TestJsonFormat
         assertValueFails(rowType, "[ 42 ]");
     }
 
+    @Test
+    public void testProjectedScan()
+            throws Exception
+    {
+        List<Column> columns = ImmutableList.of(
+                new Column("a", BIGINT, 0),
+                new Column("B", VARCHAR, 3),
+                new Column("c", RowType.rowType(field("x", BIGINT)), 7));
+        assertProjectedScan(columns, "{\"a\": 1, \"b\": \"x\", \"c\": {\"x\": 2}}");
+        assertProjectedScan(columns, "  { \"z\" : [1, {\"a\": 7}, \"]}\"], \"A\" : 42 , \"c\":null }  ");
+        assertProjectedScan(columns, "{\"other\": {\"b\": \"nested\"}, \"b\": \"quote \\\" and \\\\\"}");
+        assertProjectedScan(columns, "{\"\\u0061\": 5, \"b\": \"escaped name\"}");
+        assertProjectedScan(columns, "{\"a\": 1, \"a\": 2}");
+        assertProjectedScan(columns, "{\"_col0\": 3, \"_col3\": \"ordinal\"}");
+        assertProjectedScan(columns, "{\"\u00e4\": 1, \"a\": -12}");
+        assertProjectedScan(columns, "{}");
+
+        // lines that cannot be scanned fall back to the full parser
+        assertProjectedScan(columns, "{\"a\": 1, \"c\": {\"x\": 2}");
+        assertProjectedScan(columns, "{\"a\": 1 \"b\": \"x\"}");
+        assertThatThrownBy(() -> readProjectedScanLine("", columns)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> readProjectedScanLine("{\"a\": true}", columns)).isInstanceOf(Exception.class);
+    }
+
+    @Test
+    public void testProjectedScanChosenByObjectWidth()
+            throws Exception
+    {
+        List<Column> columns = ImmutableList.of(
+                new Column("a", BIGINT, 0),
+                new Column("b", BIGINT, 1));
+        JsonDeserializer deserializer = new JsonDeserializer(columns, ImmutableList.of());
+        PageBuilder pageBuilder = new PageBuilder(1, deserializer.getTypes());
+
+        // the full parser is used for narrow objects
+        deserializer.deserialize(createLineBuffer("{\"a\": 1, \"b\": 2, \"c\": 3}"), pageBuilder);
+        assertThat(deserializer.isProjectedScanEnabled()).isFalse();
+
+        // the width is checked again after a sample interval, and the scan is used for wide objects
+        String wideObject = IntStream.range(0, 8)
+                .mapToObj(field -> "\"f%s\": %s".formatted(field, field))
+                .collect(joining(", ", "{\"a\": 1, \"b\": 2, ", "}"));
+        for (int line = 0; line < 1025; line++) {
+            deserializer.deserialize(createLineBuffer(wideObject), pageBuilder);
+        }
+        assertThat(deserializer.isProjectedScanEnabled()).isTrue();
+
+        Page page = pageBuilder.build();
+        assertThat(page.getPositionCount()).isEqualTo(1026);
+        assertThat(BIGINT.getLong(page.getBlock(1), 0)).isEqualTo(2);
+        assertThat(BIGINT.getLong(page.getBlock(1), 1025)).isEqualTo(2);
+    }
+
+    private static void assertProjectedScan(List<Column> columns, String jsonLine)
+            throws IOException
+    {
+        List<Object> expected;
+        try {
+            expected = readTrinoLine(new JsonDeserializer(columns, ImmutableList.of(), false), columns, jsonLine);
+        }
+        catch (IOException e) {
+            assertThatThrownBy(() -> readProjectedScanLine(jsonLine, columns)).isInstanceOf(IOException.class);
+            return;
+        }
+        assertThat(readProjectedScanLine(jsonLine, columns)).isEqualTo(expected);
+    }
+
+    private static List<Object> readProjectedScanLine(String jsonLine, List<Column> columns)
+            throws IOException
+    {
+        return readTrinoLine(new JsonDeserializer(columns, ImmutableList.of(), true), columns, jsonLine);
+    }
+
+    private static List<Object> readTrinoLine(LineDeserializer deserializer, List<Column> columns, String jsonLine)
+            throws IOException
+    {
+        PageBuilder pageBuilder = new PageBuilder(1, deserializer.getTypes());
+        deserializer.deserialize(createLineBuffer(jsonLine), pageBuilder);
+        return readTrinoValues(columns, pageBuilder.build(), 0);
+    }
+
     @Test
     public void testMap()
             throws Exception
@@ -15,6 +15,8 @@ package io.trino.parquet.writer;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.OutputStreamSliceOutput;
 import io.airlift.slice.Slice;
@@ -55,12 +57,17 @@ import org.joda.time.DateTimeZone;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -68,6 +75,8 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.Futures.getDone;
+import static com.google.common.util.concurrent.Uninterruptibles.getUninterruptibly;
 import static io.airlift.slice.SizeOf.SIZE_OF_INT;
 import static io.airlift.slice.SizeOf.instanceSize;
 import static io.airlift.slice.Slices.wrappedBuffer;
@@ -95,6 +104,7 @@ public class ParquetWriter
         implements Closeable
 {
     private static final int INSTANCE_SIZE = instanceSize(ParquetWriter.class);
+    private static final long MIN_CONCURRENT_CHUNK_SIZE = 1024 * 1024;
     public static final List<Type> SUPPORTED_BLOOM_FILTER_TYPES = ImmutableList.of(BIGINT, DOUBLE, INTEGER, REAL, UUID, VARBINARY, VARCHAR);
 
     private final OutputStreamSliceOutput outputStream;
@@ -107,6 +117,7 @@ public class ParquetWriter
     private final FileFooter fileFooter;
     private final ImmutableList.Builder<List<Optional<BloomFilter>>> bloomFilterGroups = ImmutableList.builder();
     private final Optional<ParquetWriteValidationBuilder> validationBuilder;
+    private final Optional<Executor> columnWriterExecutor;
 
     private List<ColumnWriter> columnWriters;
     private int rows;
@@ -127,8 +138,27 @@ public class ParquetWriter
             String trinoVersion,
             Optional<DateTimeZone> parquetTimeZone,
             Optional<ParquetWriteValidationBuilder> validationBuilder)
+    {
+        this(outputStream, messageType, primitiveTypes, writerOption, compressionCodec, trinoVersion, parquetTimeZone, validationBuilder, Optional.empty());
+    }
+
+    /**
+     * @param columnWriterExecutor when present, the columns are encoded and compressed concurrently
+     * on this executor. The output is the same as when the columns are written serially.
+     */
+    public ParquetWriter(
+            OutputStream outputStream,
+            MessageType messageType,
+            Map<List<String>, Type> primitiveTypes,
+            ParquetWriterOptions writerOption,
+            CompressionCodec compressionCodec,
+            String trinoVersion,
+            Optional<DateTimeZone> parquetTimeZone,
+            Optional<ParquetWriteValidationBuilder> validationBuilder,
+            Optional<Executor> columnWriterExecutor)
     {
         this.validationBuilder = requireNonNull(validationBuilder, "validationBuilder is null");
+        this.columnWriterExecutor = requireNonNull(columnWriterExecutor, "columnWriterExecutor is null");
         this.outputStream = new OutputStreamSliceOutput(requireNonNull(outputStream, "outputstream is null"));
         this.messageType = requireNonNull(messageType, "messageType is null");
         this.primitiveTypes = requireNonNull(primitiveTypes, "primitiveTypes is null");
@@ -197,12 +227,13 @@ public class ParquetWriter
     private void writeChunk(Page page)
             throws IOException
     {
-        bufferedBytes = 0;
-        for (int channel = 0; channel < page.getChannelCount(); channel++) {
-            ColumnWriter writer = columnWriters.get(channel);
+        // for small chunks, dispatching a task per column costs more than it saves
+        boolean concurrent = page.getSizeInBytes() >= MIN_CONCURRENT_CHUNK_SIZE;
+        List<Long> columnBufferedBytes = processColumnWriters(concurrent, (channel, writer) -> {
             writer.writeBlock(new ColumnChunk(page.getBlock(channel)));
-            bufferedBytes += writer.getBufferedBytes();
-        }
+            return writer.getBufferedBytes();
+        });
+        bufferedBytes = columnBufferedBytes.stream().mapToLong(Long::longValue).sum();
         rows += page.getPositionCount();
 
         if (bufferedBytes >= writerOption.getMaxRowGroupSize()) {
@@ -321,10 +352,9 @@ public class ParquetWriter
         }
 
         // get all data in buffer
+        // the remaining pages of each column are encoded and compressed here
         ImmutableList.Builder<BufferData> builder = ImmutableList.builder();
-        for (ColumnWriter columnWriter : columnWriters) {
-            columnWriter.getBuffer().forEach(builder::add);
-        }
+        processColumnWriters(true, (channel, writer) -> writer.getBuffer()).forEach(builder::addAll);
         List<BufferData> bufferDataList = builder.build();
 
         if (rows == 0) {
@@ -361,6 +391,74 @@ public class ParquetWriter
         bloomFilterGroups.add(bufferDataList.stream().map(BufferData::getBloomFilter).collect(toImmutableList()));
     }
 
+    /**
+     * Applies the task to each column writer, concurrently if requested and an executor is
+     * configured. The results are returned in column order, so the output does not depend
+     * on the order in which the tasks complete.
+     */
+    private <T> List<T> processColumnWriters(boolean concurrent, ColumnWriterTask<T> task)
+            throws IOException
+    {
+        List<T> results = new ArrayList<>(columnWriters.size());
+        if (!concurrent || columnWriterExecutor.isEmpty() || columnWriters.size() == 1) {
+            for (int channel = 0; channel < columnWriters.size(); channel++) {
+                results.add(task.process(channel, columnWriters.get(channel)));
+            }
+            return results;
+        }
+
+        AtomicBoolean interrupted = new AtomicBoolean();
+        List<ListenableFuture<T>> futures = new ArrayList<>(columnWriters.size());
+        for (int channel = 0; channel < columnWriters.size(); channel++) {
+            int column = channel;
+            ColumnWriter writer = columnWriters.get(channel);
+            futures.add(Futures.submit(() -> interrupted.get() ? null : task.process(column, writer), columnWriterExecutor.get()));
+        }
+        ListenableFuture<List<T>> allTasks = Futures.successfulAsList(futures);
+        try {
+            // wait for all tasks, so no column writer is still in use when a failure is reported
+            allTasks.get();
+        }
+        catch (InterruptedException e) {
+            // the column writers that have not started are skipped, and the running ones are waited for,
+            // so that none of them is still in use when the writer is closed
+            interrupted.set(true);
+            try {
+                getUninterruptibly(allTasks);
+            }
+            catch (ExecutionException ignored) {
+                // successfulAsList does not fail when the individual tasks fail
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing columns");
+        }
+        catch (ExecutionException e) {
+            // successfulAsList does not fail when the individual tasks fail
+            throw new IOException(e.getCause());
+        }
+
+        for (ListenableFuture<T> future : futures) {
+            try {
+                results.add(getDone(future));
+            }
+            catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throwIfUnchecked(cause);
+                throw new IOException(cause);
+            }
+        }
+        return results;
+    }
+
+    private interface ColumnWriterTask<T>
+    {
+        T process(int channel, ColumnWriter writer)
+                throws IOException;
+    }
+
     private void writeFooter()
             throws IOException
     {
@@ -49,6 +49,7 @@ import org.apache.parquet.format.PageType;
 import org.apache.parquet.format.Util;
 import org.apache.parquet.schema.PrimitiveType;
 import org.assertj.core.data.Percentage;
+import org.joda.time.DateTimeZone;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -61,12 +62,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Iterables.getOnlyElement;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.trino.operator.scalar.CharacterStringCasts.varcharToVarcharSaturatedFloorCast;
 import static io.trino.parquet.BloomFilterStore.hasBloomFilter;
@@ -87,6 +92,7 @@ import static io.trino.spi.type.VarbinaryType.VARBINARY;
 import static io.trino.spi.type.VarcharType.VARCHAR;
 import static java.lang.Float.floatToRawIntBits;
 import static java.lang.Math.toIntExact;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.stream.Collectors.toList;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
@@ -159,6 +165,57 @@ public class TestParquetWriter
         assertThat(pagesRead).isGreaterThan(10);
     }
 
+    @Test
+    public void testConcurrentColumnWriting()
+            throws IOException
+    {
+        List<String> columnNames = ImmutableList.of("columnA", "columnB", "columnC", "columnD");
+        List<Type> types = ImmutableList.of(INTEGER, BIGINT, INTEGER, BIGINT);
+        // chunks of at least 1MB are written concurrently, so both the pages and the row groups must be larger than that
+        List<Page> inputPages = generateInputPages(types, 60_000, 20);
+        assertThat(inputPages.getFirst().getSizeInBytes()).isGreaterThanOrEqualTo(DataSize.of(1, MEGABYTE).toBytes());
+        ParquetWriterOptions writerOptions = ParquetWriterOptions.builder()
+                .setMaxBlockSize(DataSize.of(4, MEGABYTE))
+                .setMaxPageSize(DataSize.ofBytes(20 * 1024))
+                .setBatchSize(100_000)
+                .build();
+
+        Slice serial = writeParquetFile(writerOptions, types, columnNames, inputPages);
+        ExecutorService threadPool = newFixedThreadPool(3);
+        AtomicInteger concurrentTasks = new AtomicInteger();
+        Executor executor = command -> {
+            concurrentTasks.incrementAndGet();
+            threadPool.execute(command);
+        };
+        try {
+            ParquetSchemaConverter schemaConverter = new ParquetSchemaConverter(types, columnNames, false, false);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            ParquetWriter writer = new ParquetWriter(
+                    outputStream,
+                    schemaConverter.getMessageType(),
+                    schemaConverter.getPrimitiveTypes(),
+                    writerOptions,
+                    CompressionCodec.SNAPPY,
+                    "test-version",
+                    Optional.of(DateTimeZone.getDefault()),
+                    Optional.empty(),
+                    Optional.of(executor));
+            for (Page inputPage : inputPages) {
+                writer.write(inputPage);
+            }
+            writer.close();
+
+            // the output is the same regardless of the order in which the columns are written
+            assertThat(Slices.wrappedBuffer(outputStream.toByteArray())).isEqualTo(serial);
+            ParquetMetadata parquetMetadata = MetadataReader.readFooter(new TestingParquetDataSource(serial, new ParquetReaderOptions()), Optional.empty());
+            assertThat(parquetMetadata.getBlocks().size()).isGreaterThan(1);
+            assertThat(concurrentTasks.get()).isPositive();
+        }
+        finally {
+            threadPool.shutdownNow();
+        }
+    }
+
     @Test
     public void testWrittenPageValueCount()
             throws IOException
@@ -504,6 +504,7 @@ public abstract class AbstractDeltaLakePageSink
                     compressionCodec,
                     trinoVersion,
                     Optional.empty(),
+                    Optional.empty(),
                     Optional.empty());
         }
         catch (IOException e) {
@@ -60,6 +60,7 @@ public class DeltaLakeConfig
     private DataSize dataFileCacheSize = DEFAULT_DATA_FILE_CACHE_SIZE;
     private Duration dataFileCacheTtl = new Duration(30, TimeUnit.MINUTES);
     private int domainCompactionThreshold = 1000;
+    private int checkpointReadParallelism = 4;
     private int maxOutstandingSplits = 1_000;
     private int maxSplitsPerSecond = Integer.MAX_VALUE;
     private DataSize maxSplitSize = DataSize.of(64, MEGABYTE);
@@ -158,6 +159,20 @@ public class DeltaLakeConfig
         return this;
     }
 
+    @Min(1)
+    public int getCheckpointReadParallelism()
+    {
+        return checkpointReadParallelism;
+    }
+
+    @Config("delta.checkpoint-read-parallelism")
+    @ConfigDescription("Maximum number of checkpoint parts and sidecar files of a table decoded concurrently")
+    public DeltaLakeConfig setCheckpointReadParallelism(int checkpointReadParallelism)
+    {
+        this.checkpointReadParallelism = checkpointReadParallelism;
+        return this;
+    }
+
     public int getMaxOutstandingSplits()
     {
         return maxOutstandingSplits;
@@ -495,6 +495,7 @@ public class DeltaLakeMergeSink
                     compressionCodec,
                     trinoVersion,
                     Optional.empty(),
+                    Optional.empty(),
                     Optional.empty());
         }
         catch (IOException e) {
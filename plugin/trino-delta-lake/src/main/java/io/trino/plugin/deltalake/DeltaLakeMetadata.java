@@ -1052,6 +1052,16 @@ public class DeltaLakeMetadata
         return tableStatisticsProvider.getTableStatistics(session, handle, getSnapshot(session, handle));
     }
 
+    @Override
+    public Optional<String> getDataVersion(ConnectorSession session, ConnectorTableHandle tableHandle)
+    {
+        if (!(tableHandle instanceof DeltaLakeTableHandle handle)) {
+            return Optional.empty();
+        }
+        // versions of a table recreated in another location start from zero again
+        return Optional.of(handle.getLocation() + "@" + handle.getReadVersion());
+    }
+
     @Override
     public void createSchema(ConnectorSession session, String schemaName, Map<String, Object> properties, TrinoPrincipal owner)
     {
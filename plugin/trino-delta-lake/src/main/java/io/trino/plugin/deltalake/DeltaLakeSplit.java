@@ -191,6 +191,13 @@ public class DeltaLakeSplit
                 + estimatedSizeOf(partitionKeys, SizeOf::estimatedSizeOf, value -> sizeOf(value, SizeOf::estimatedSizeOf));
     }
 
+    @Override
+    public Optional<String> getSplitIdentity()
+    {
+        // the deletion vector is determined by the version of the table handle
+        return Optional.of(String.join(":", path, String.valueOf(start), String.valueOf(length), String.valueOf(fileSize), String.valueOf(fileModifiedTime)));
+    }
+
     @Override
     public Map<String, String> getSplitInfo()
     {
@@ -86,6 +86,29 @@ public class AddFileEntry
             Optional<DeltaLakeParquetFileStatistics> parsedStats,
             @Nullable Map<String, String> tags,
             Optional<DeletionVectorEntry> deletionVector)
+    {
+        this(
+                path,
+                partitionValues,
+                canonicalPartitionValues,
+                size,
+                modificationTime,
+                dataChange,
+                parseStatistics(stats, parsedStats),
+                tags,
+                deletionVector);
+    }
+
+    AddFileEntry(
+            String path,
+            Map<String, String> partitionValues,
+            Map<String, Optional<String>> canonicalPartitionValues,
+            long size,
+            long modificationTime,
+            boolean dataChange,
+            Optional<? extends DeltaLakeFileStatistics> parsedStats,
+            @Nullable Map<String, String> tags,
+            Optional<DeletionVectorEntry> deletionVector)
     {
         this.path = path;
         this.partitionValues = requireNonNull(partitionValues, "partitionValues is null");
@@ -95,14 +118,17 @@ public class AddFileEntry
         this.dataChange = dataChange;
         this.tags = tags;
         this.deletionVector = requireNonNull(deletionVector, "deletionVector is null");
+        this.parsedStats = requireNonNull(parsedStats, "parsedStats is null");
+    }
 
-        Optional<? extends DeltaLakeFileStatistics> resultParsedStats = Optional.empty();
+    private static Optional<? extends DeltaLakeFileStatistics> parseStatistics(Optional<String> stats, Optional<DeltaLakeParquetFileStatistics> parsedStats)
+    {
         if (parsedStats.isPresent()) {
-            resultParsedStats = parsedStats;
+            return parsedStats;
         }
-        else if (stats.isPresent()) {
+        if (stats.isPresent()) {
             try {
-                resultParsedStats = Optional.ofNullable(DeltaLakeJsonFileStatistics.create(stats.get()));
+                return Optional.ofNullable(DeltaLakeJsonFileStatistics.create(stats.get()));
             }
             catch (JsonProcessingException e) {
                 LOG.debug(
@@ -111,7 +137,7 @@ public class AddFileEntry
                         stats.get());
             }
         }
-        this.parsedStats = resultParsedStats;
+        return Optional.empty();
     }
 
     /**
@@ -15,15 +15,26 @@ package io.trino.plugin.deltalake.transactionlog;
 
 import java.util.OptionalInt;
 
+import static io.airlift.slice.SizeOf.estimatedSizeOf;
+import static io.airlift.slice.SizeOf.instanceSize;
 import static java.util.Objects.requireNonNull;
 
 // https://github.com/delta-io/delta/blob/master/PROTOCOL.md#deletion-vector-descriptor-schema
 public record DeletionVectorEntry(String storageType, String pathOrInlineDv, OptionalInt offset, int sizeInBytes, long cardinality)
 {
+    private static final int INSTANCE_SIZE = instanceSize(DeletionVectorEntry.class);
+
     public DeletionVectorEntry
     {
         requireNonNull(storageType, "storageType is null");
         requireNonNull(pathOrInlineDv, "pathOrInlineDv is null");
         requireNonNull(offset, "offset is null");
     }
+
+    public long getRetainedSizeInBytes()
+    {
+        return INSTANCE_SIZE
+                + estimatedSizeOf(storageType)
+                + estimatedSizeOf(pathOrInlineDv);
+    }
 }
@@ -15,30 +15,79 @@ package io.trino.plugin.deltalake.transactionlog;
 
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.Immutable;
+import io.airlift.slice.SizeOf;
+import io.trino.plugin.deltalake.transactionlog.statistics.DeltaLakeFileStatistics;
+import jakarta.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.SizeOf.estimatedSizeOf;
 import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOf;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Active files of a table version, stored column by column. The partition values and tags
+ * are dictionary encoded, as they are shared by many files. The file statistics are kept as
+ * the parsed statistics objects, and are only evaluated by the split manager, per file.
+ * The {@link AddFileEntry} objects are created anew each time the files are streamed, so
+ * callers should not retain them.
+ */
 @Immutable
 public final class DeltaLakeDataFileCacheEntry
 {
     private static final int INSTANCE_SIZE = instanceSize(DeltaLakeDataFileCacheEntry.class);
+    private static final int PARTITION_VALUES_INSTANCE_SIZE = instanceSize(PartitionValues.class);
+    private static final int NO_TAGS = -1;
 
     private final long version;
-    private final List<AddFileEntry> activeFiles;
-    private volatile long retainedSize = -1;
+    private final int fileCount;
+    private final String[] paths;
+    private final long[] sizes;
+    private final long[] modificationTimes;
+    private final boolean[] dataChanges;
+    private final int[] partitionIds;
+    private final List<PartitionValues> partitions;
+    private final int[] tagIds;
+    private final List<Map<String, String>> tags;
+    private final DeltaLakeFileStatistics[] statistics;
+    private final DeletionVectorEntry[] deletionVectors;
+    // retained size of the variable length data of each file, so that updates do not need to recompute it
+    private final long[] fileRetainedSizes;
+    private final long retainedSize;
 
     public DeltaLakeDataFileCacheEntry(long version, List<AddFileEntry> activeFiles)
     {
+        this(version, builder(activeFiles.size()).addAll(activeFiles));
+    }
+
+    private DeltaLakeDataFileCacheEntry(long version, Builder builder)
+    {
+        builder.removeUnusedDictionaryEntries();
         this.version = version;
-        this.activeFiles = ImmutableList.copyOf(requireNonNull(activeFiles, "activeFiles is null"));
+        this.fileCount = builder.fileCount;
+        this.paths = Arrays.copyOf(builder.paths, fileCount);
+        this.sizes = Arrays.copyOf(builder.sizes, fileCount);
+        this.modificationTimes = Arrays.copyOf(builder.modificationTimes, fileCount);
+        this.dataChanges = Arrays.copyOf(builder.dataChanges, fileCount);
+        this.partitionIds = Arrays.copyOf(builder.partitionIds, fileCount);
+        this.partitions = ImmutableList.copyOf(builder.partitions);
+        this.tagIds = Arrays.copyOf(builder.tagIds, fileCount);
+        this.tags = ImmutableList.copyOf(builder.tags);
+        this.statistics = Arrays.copyOf(builder.statistics, fileCount);
+        this.deletionVectors = Arrays.copyOf(builder.deletionVectors, fileCount);
+        this.fileRetainedSizes = Arrays.copyOf(builder.fileRetainedSizes, fileCount);
+        this.retainedSize = computeRetainedSize(builder.filesRetainedSize);
     }
 
     public DeltaLakeDataFileCacheEntry withUpdatesApplied(List<DeltaLakeTransactionLogEntry> newEntries, long newVersion)
@@ -62,13 +111,16 @@ public final class DeltaLakeDataFileCacheEntry
             }
         });
 
-        Stream<AddFileEntry> filteredExistingEntries = activeFiles.stream()
-                .filter(addEntry -> !removedFiles.contains(addEntry.getPath()) && !activeJsonEntries.containsKey(addEntry.getPath()));
-        List<AddFileEntry> updatedActiveFileList =
-                Stream.concat(filteredExistingEntries, activeJsonEntries.values().stream())
-                        .collect(toImmutableList());
-
-        return new DeltaLakeDataFileCacheEntry(newVersion, updatedActiveFileList);
+        // The dictionaries are shared with this entry, so that the retained files are copied without being encoded again
+        Builder builder = new Builder(this, fileCount + activeJsonEntries.size());
+        boolean filterRetainedFiles = !removedFiles.isEmpty() || !activeJsonEntries.isEmpty();
+        for (int file = 0; file < fileCount; file++) {
+            if (!filterRetainedFiles || (!removedFiles.contains(paths[file]) && !activeJsonEntries.containsKey(paths[file]))) {
+                builder.addRetained(file);
+            }
+        }
+        builder.addAll(activeJsonEntries.values());
+        return new DeltaLakeDataFileCacheEntry(newVersion, builder);
     }
 
     public long getVersion()
@@ -76,18 +128,264 @@ public final class DeltaLakeDataFileCacheEntry
         return version;
     }
 
-    public List<AddFileEntry> getActiveFiles()
+    public Stream<AddFileEntry> getActiveFiles()
     {
-        return activeFiles;
+        return IntStream.range(0, fileCount)
+                .mapToObj(this::getActiveFile);
     }
 
-    public long getRetainedSizeInBytes()
+    /**
+     * Returns the active files with partition values matching the predicate. The predicate is
+     * evaluated once for each distinct set of partition values.
+     */
+    public Stream<AddFileEntry> getActiveFiles(Predicate<Map<String, Optional<String>>> partitionPredicate)
     {
-        if (retainedSize == -1) {
-            retainedSize = INSTANCE_SIZE + activeFiles.stream()
-                    .mapToLong(AddFileEntry::getRetainedSizeInBytes)
-                    .sum();
+        boolean[] partitionMatches = new boolean[partitions.size()];
+        for (int partition = 0; partition < partitionMatches.length; partition++) {
+            partitionMatches[partition] = partitionPredicate.test(partitions.get(partition).canonicalPartitionValues());
         }
+        return IntStream.range(0, fileCount)
+                .filter(file -> partitionMatches[partitionIds[file]])
+                .mapToObj(this::getActiveFile);
+    }
+
+    private AddFileEntry getActiveFile(int file)
+    {
+        PartitionValues partition = partitions.get(partitionIds[file]);
+        return new AddFileEntry(
+                paths[file],
+                partition.partitionValues(),
+                partition.canonicalPartitionValues(),
+                sizes[file],
+                modificationTimes[file],
+                dataChanges[file],
+                Optional.ofNullable(statistics[file]),
+                tagIds[file] == NO_TAGS ? null : tags.get(tagIds[file]),
+                Optional.ofNullable(deletionVectors[file]));
+    }
+
+    public long getRetainedSizeInBytes()
+    {
         return retainedSize;
     }
+
+    private long computeRetainedSize(long filesRetainedSize)
+    {
+        long size = INSTANCE_SIZE +
+                sizeOf(paths) +
+                sizeOf(sizes) +
+                sizeOf(modificationTimes) +
+                sizeOf(dataChanges) +
+                sizeOf(partitionIds) +
+                sizeOf(tagIds) +
+                sizeOf(statistics) +
+                sizeOf(deletionVectors) +
+                sizeOf(fileRetainedSizes) +
+                filesRetainedSize;
+        for (PartitionValues partition : partitions) {
+            size += partition.getRetainedSizeInBytes();
+        }
+        for (Map<String, String> tag : tags) {
+            size += estimatedSizeOf(tag, SizeOf::estimatedSizeOf, SizeOf::estimatedSizeOf);
+        }
+        return size;
+    }
+
+    private static Builder builder(int expectedFileCount)
+    {
+        return new Builder(expectedFileCount);
+    }
+
+    private static class Builder
+    {
+        private final DeltaLakeDataFileCacheEntry base;
+        private int fileCount;
+        private String[] paths;
+        private long[] sizes;
+        private long[] modificationTimes;
+        private boolean[] dataChanges;
+        private int[] partitionIds;
+        private int[] tagIds;
+        private DeltaLakeFileStatistics[] statistics;
+        private DeletionVectorEntry[] deletionVectors;
+        private long[] fileRetainedSizes;
+        private long filesRetainedSize;
+
+        private final List<PartitionValues> partitions = new ArrayList<>();
+        private final Map<PartitionValues, Integer> partitionDictionary = new HashMap<>();
+        private final List<Map<String, String>> tags = new ArrayList<>();
+        private final Map<Map<String, String>, Integer> tagDictionary = new HashMap<>();
+
+        private Builder(int expectedFileCount)
+        {
+            this(null, expectedFileCount);
+        }
+
+        private Builder(@Nullable DeltaLakeDataFileCacheEntry base, int expectedFileCount)
+        {
+            this.base = base;
+            if (base != null) {
+                for (PartitionValues partition : base.partitions) {
+                    partitionDictionary.put(partition, partitions.size());
+                    partitions.add(partition);
+                }
+                for (Map<String, String> tag : base.tags) {
+                    tagDictionary.put(tag, tags.size());
+                    tags.add(tag);
+                }
+            }
+            paths = new String[expectedFileCount];
+            sizes = new long[expectedFileCount];
+            modificationTimes = new long[expectedFileCount];
+            dataChanges = new boolean[expectedFileCount];
+            partitionIds = new int[expectedFileCount];
+            tagIds = new int[expectedFileCount];
+            statistics = new DeltaLakeFileStatistics[expectedFileCount];
+            deletionVectors = new DeletionVectorEntry[expectedFileCount];
+            fileRetainedSizes = new long[expectedFileCount];
+        }
+
+        public Builder addAll(Iterable<AddFileEntry> activeFiles)
+        {
+            for (AddFileEntry activeFile : activeFiles) {
+                add(
+                        activeFile.getPath(),
+                        activeFile.getSize(),
+                        activeFile.getModificationTime(),
+                        activeFile.isDataChange(),
+                        new PartitionValues(activeFile.getPartitionValues(), activeFile.getCanonicalPartitionValues()),
+                        activeFile.getTags(),
+                        activeFile.getStats().orElse(null),
+                        activeFile.getDeletionVector().orElse(null));
+            }
+            return this;
+        }
+
+        public void addRetained(int file)
+        {
+            requireNonNull(base, "base is null");
+            ensureCapacity(fileCount + 1);
+            paths[fileCount] = base.paths[file];
+            sizes[fileCount] = base.sizes[file];
+            modificationTimes[fileCount] = base.modificationTimes[file];
+            dataChanges[fileCount] = base.dataChanges[file];
+            partitionIds[fileCount] = base.partitionIds[file];
+            tagIds[fileCount] = base.tagIds[file];
+            statistics[fileCount] = base.statistics[file];
+            deletionVectors[fileCount] = base.deletionVectors[file];
+            fileRetainedSizes[fileCount] = base.fileRetainedSizes[file];
+            filesRetainedSize += base.fileRetainedSizes[file];
+            fileCount++;
+        }
+
+        private void add(
+                String path,
+                long size,
+                long modificationTime,
+                boolean dataChange,
+                PartitionValues partition,
+                @Nullable Map<String, String> tag,
+                @Nullable DeltaLakeFileStatistics fileStatistics,
+                @Nullable DeletionVectorEntry deletionVector)
+        {
+            ensureCapacity(fileCount + 1);
+            paths[fileCount] = requireNonNull(path, "path is null");
+            sizes[fileCount] = size;
+            modificationTimes[fileCount] = modificationTime;
+            dataChanges[fileCount] = dataChange;
+            partitionIds[fileCount] = partitionDictionary.computeIfAbsent(partition, _ -> {
+                partitions.add(partition);
+                return partitions.size() - 1;
+            });
+            tagIds[fileCount] = tag == null ? NO_TAGS : tagDictionary.computeIfAbsent(tag, _ -> {
+                tags.add(tag);
+                return tags.size() - 1;
+            });
+            statistics[fileCount] = fileStatistics;
+            deletionVectors[fileCount] = deletionVector;
+            long fileRetainedSize = estimatedSizeOf(path);
+            if (fileStatistics != null) {
+                fileRetainedSize += fileStatistics.getRetainedSizeInBytes();
+            }
+            if (deletionVector != null) {
+                fileRetainedSize += deletionVector.getRetainedSizeInBytes();
+            }
+            fileRetainedSizes[fileCount] = fileRetainedSize;
+            filesRetainedSize += fileRetainedSize;
+            fileCount++;
+        }
+
+        /**
+         * Removes the partitions and tags that are no longer referenced by any file, as files of the base entry may have been removed.
+         */
+        public void removeUnusedDictionaryEntries()
+        {
+            removeUnusedEntries(partitionIds, partitions);
+            removeUnusedEntries(tagIds, tags);
+        }
+
+        private <T> void removeUnusedEntries(int[] ids, List<T> dictionary)
+        {
+            int[] newIds = new int[dictionary.size()];
+            for (int file = 0; file < fileCount; file++) {
+                // files without tags have a negative id
+                if (ids[file] >= 0) {
+                    newIds[ids[file]] = 1;
+                }
+            }
+            int usedCount = 0;
+            for (int id = 0; id < newIds.length; id++) {
+                newIds[id] = newIds[id] == 1 ? usedCount++ : -1;
+            }
+            if (usedCount == dictionary.size()) {
+                return;
+            }
+            List<T> usedEntries = new ArrayList<>(usedCount);
+            for (int id = 0; id < newIds.length; id++) {
+                if (newIds[id] != -1) {
+                    usedEntries.add(dictionary.get(id));
+                }
+            }
+            dictionary.clear();
+            dictionary.addAll(usedEntries);
+            for (int file = 0; file < fileCount; file++) {
+                if (ids[file] >= 0) {
+                    ids[file] = newIds[ids[file]];
+                }
+            }
+        }
+
+        private void ensureCapacity(int capacity)
+        {
+            if (capacity <= paths.length) {
+                return;
+            }
+            int newCapacity = Math.max(capacity, paths.length * 2);
+            paths = Arrays.copyOf(paths, newCapacity);
+            sizes = Arrays.copyOf(sizes, newCapacity);
+            modificationTimes = Arrays.copyOf(modificationTimes, newCapacity);
+            dataChanges = Arrays.copyOf(dataChanges, newCapacity);
+            partitionIds = Arrays.copyOf(partitionIds, newCapacity);
+            tagIds = Arrays.copyOf(tagIds, newCapacity);
+            statistics = Arrays.copyOf(statistics, newCapacity);
+            deletionVectors = Arrays.copyOf(deletionVectors, newCapacity);
+            fileRetainedSizes = Arrays.copyOf(fileRetainedSizes, newCapacity);
+        }
+    }
+
+    private record PartitionValues(Map<String, String> partitionValues, Map<String, Optional<String>> canonicalPartitionValues)
+    {
+        private PartitionValues
+        {
+            requireNonNull(partitionValues, "partitionValues is null");
+            requireNonNull(canonicalPartitionValues, "canonicalPartitionValues is null");
+        }
+
+        public long getRetainedSizeInBytes()
+        {
+            return PARTITION_VALUES_INSTANCE_SIZE +
+                    estimatedSizeOf(partitionValues, SizeOf::estimatedSizeOf, SizeOf::estimatedSizeOf) +
+                    estimatedSizeOf(canonicalPartitionValues, SizeOf::estimatedSizeOf, value -> sizeOf(value, SizeOf::estimatedSizeOf));
+        }
+    }
 }
@@ -13,6 +13,7 @@
  */
 package io.trino.plugin.deltalake.transactionlog;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
@@ -34,14 +35,20 @@ import io.trino.spi.type.TypeManager;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Streams.stream;
 import static io.trino.plugin.deltalake.DeltaLakeErrorCode.DELTA_LAKE_FILESYSTEM_ERROR;
 import static io.trino.plugin.deltalake.DeltaLakeErrorCode.DELTA_LAKE_INVALID_SCHEMA;
@@ -50,6 +57,7 @@ import static io.trino.plugin.deltalake.transactionlog.TransactionLogUtil.getTra
 import static io.trino.plugin.deltalake.transactionlog.checkpoint.CheckpointEntryIterator.EntryType.ADD;
 import static io.trino.plugin.deltalake.transactionlog.checkpoint.CheckpointEntryIterator.EntryType.REMOVE;
 import static io.trino.plugin.deltalake.transactionlog.checkpoint.CheckpointEntryIterator.EntryType.SIDECAR;
+import static io.trino.plugin.deltalake.transactionlog.checkpoint.ConcurrentCheckpointEntryIterator.readConcurrently;
 import static io.trino.plugin.deltalake.transactionlog.checkpoint.TransactionLogTail.getEntriesFromJson;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -60,6 +68,8 @@ import static java.util.Objects.requireNonNull;
  */
 public class TableSnapshot
 {
+    private static final int CHECKPOINT_READ_BUFFER_SIZE = 1024;
+
     private final Optional<LastCheckpoint> lastCheckpoint;
     private final SchemaTableName table;
     private final TransactionLogTail logTail;
@@ -67,6 +77,8 @@ public class TableSnapshot
     private final ParquetReaderOptions parquetReaderOptions;
     private final boolean checkpointRowStatisticsWritingEnabled;
     private final int domainCompactionThreshold;
+    private final Executor checkpointReadExecutor;
+    private final int checkpointReadParallelism;
 
     private Optional<MetadataEntry> cachedMetadata = Optional.empty();
 
@@ -77,7 +89,9 @@ public class TableSnapshot
             String tableLocation,
             ParquetReaderOptions parquetReaderOptions,
             boolean checkpointRowStatisticsWritingEnabled,
-            int domainCompactionThreshold)
+            int domainCompactionThreshold,
+            Executor checkpointReadExecutor,
+            int checkpointReadParallelism)
     {
         this.table = requireNonNull(table, "table is null");
         this.lastCheckpoint = requireNonNull(lastCheckpoint, "lastCheckpoint is null");
@@ -86,6 +100,8 @@ public class TableSnapshot
         this.parquetReaderOptions = requireNonNull(parquetReaderOptions, "parquetReaderOptions is null");
         this.checkpointRowStatisticsWritingEnabled = checkpointRowStatisticsWritingEnabled;
         this.domainCompactionThreshold = domainCompactionThreshold;
+        this.checkpointReadExecutor = requireNonNull(checkpointReadExecutor, "checkpointReadExecutor is null");
+        this.checkpointReadParallelism = checkpointReadParallelism;
     }
 
     public static TableSnapshot load(
@@ -96,6 +112,8 @@ public class TableSnapshot
             ParquetReaderOptions parquetReaderOptions,
             boolean checkpointRowStatisticsWritingEnabled,
             int domainCompactionThreshold,
+            Executor checkpointReadExecutor,
+            int checkpointReadParallelism,
             Optional<Long> endVersion)
             throws IOException
     {
@@ -109,7 +127,9 @@ public class TableSnapshot
                 tableLocation,
                 parquetReaderOptions,
                 checkpointRowStatisticsWritingEnabled,
-                domainCompactionThreshold);
+                domainCompactionThreshold,
+                checkpointReadExecutor,
+                checkpointReadParallelism);
     }
 
     public Optional<TableSnapshot> getUpdatedSnapshot(TrinoFileSystem fileSystem, Optional<Long> toVersion)
@@ -131,6 +151,8 @@ public class TableSnapshot
                             parquetReaderOptions,
                             checkpointRowStatisticsWritingEnabled,
                             domainCompactionThreshold,
+                            checkpointReadExecutor,
+                            checkpointReadParallelism,
                             Optional.empty()));
                 }
             }
@@ -144,7 +166,9 @@ public class TableSnapshot
                 tableLocation,
                 parquetReaderOptions,
                 checkpointRowStatisticsWritingEnabled,
-                domainCompactionThreshold));
+                domainCompactionThreshold,
+                checkpointReadExecutor,
+                checkpointReadParallelism));
     }
 
     public long getVersion()
@@ -205,9 +229,9 @@ public class TableSnapshot
             checkState(metadataAndProtocol.isPresent(), "metadata and protocol information is needed to process the add log entries");
         }
 
-        return getCheckpointPartPaths(checkpoint).stream()
+        List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> checkpointParts = getCheckpointPartPaths(checkpoint).stream()
                 .map(fileSystem::newInputFile)
-                .flatMap(checkpointFile -> getCheckpointTransactionLogEntries(
+                .<Supplier<Stream<DeltaLakeTransactionLogEntry>>>map(checkpointFile -> () -> getCheckpointTransactionLogEntries(
                         session,
                         fileSystem,
                         entryTypes,
@@ -219,7 +243,9 @@ public class TableSnapshot
                         checkpoint,
                         checkpointFile,
                         partitionConstraint,
-                        addStatsMinMaxColumnFilter));
+                        addStatsMinMaxColumnFilter))
+                .collect(toImmutableList());
+        return readConcurrently(checkpointParts, checkpointReadExecutor, checkpointReadParallelism, CHECKPOINT_READ_BUFFER_SIZE);
     }
 
     public Optional<Long> getLastCheckpointVersion()
@@ -300,32 +326,94 @@ public class TableSnapshot
             TrinoFileSystem fileSystem,
             long fileSize)
     {
-        return getV2CheckpointEntries(session, entryTypes, metadataEntry, protocolEntry, checkpointSchemaManager, typeManager, stats, checkpoint, checkpointFile, partitionConstraint, addStatsMinMaxColumnFilter, fileSystem, fileSize)
-                .mapMulti((entry, builder) -> {
-                    // Sidecar files contain only ADD and REMOVE entry types. https://github.com/delta-io/delta/blob/master/PROTOCOL.md#v2-spec
-                    Set<CheckpointEntryIterator.EntryType> dataEntryTypes = Sets.intersection(entryTypes, Set.of(ADD, REMOVE));
-                    if (entry.getSidecar() == null || dataEntryTypes.isEmpty()) {
-                        builder.accept(entry);
-                        return;
-                    }
-                    Location sidecar = checkpointFile.location().sibling("_sidecars").appendPath(entry.getSidecar().path());
-                    CheckpointEntryIterator iterator = new CheckpointEntryIterator(
-                            fileSystem.newInputFile(sidecar),
-                            session,
-                            fileSize,
-                            checkpointSchemaManager,
-                            typeManager,
-                            dataEntryTypes,
-                            metadataEntry,
-                            protocolEntry,
-                            stats,
-                            parquetReaderOptions,
-                            checkpointRowStatisticsWritingEnabled,
-                            domainCompactionThreshold,
-                            partitionConstraint,
-                            addStatsMinMaxColumnFilter);
-                    stream(iterator).onClose(iterator::close).forEach(builder);
-                });
+        // Sidecar files contain only ADD and REMOVE entry types. https://github.com/delta-io/delta/blob/master/PROTOCOL.md#v2-spec
+        Set<CheckpointEntryIterator.EntryType> dataEntryTypes = Sets.intersection(entryTypes, Set.of(ADD, REMOVE));
+        Stream<DeltaLakeTransactionLogEntry> checkpointEntries = getV2CheckpointEntries(session, entryTypes, metadataEntry, protocolEntry, checkpointSchemaManager, typeManager, stats, checkpoint, checkpointFile, partitionConstraint, addStatsMinMaxColumnFilter, fileSystem, fileSize);
+        if (dataEntryTypes.isEmpty()) {
+            return checkpointEntries;
+        }
+
+        Function<SidecarEntry, Supplier<Stream<DeltaLakeTransactionLogEntry>>> sidecarEntries = sidecarEntry -> () -> {
+            Location sidecar = checkpointFile.location().sibling("_sidecars").appendPath(sidecarEntry.path());
+            CheckpointEntryIterator iterator = new CheckpointEntryIterator(
+                    fileSystem.newInputFile(sidecar),
+                    session,
+                    fileSize,
+                    checkpointSchemaManager,
+                    typeManager,
+                    dataEntryTypes,
+                    metadataEntry,
+                    protocolEntry,
+                    stats,
+                    parquetReaderOptions,
+                    checkpointRowStatisticsWritingEnabled,
+                    domainCompactionThreshold,
+                    partitionConstraint,
+                    addStatsMinMaxColumnFilter);
+            return stream(iterator).onClose(iterator::close);
+        };
+        SidecarExpandingIterator iterator = new SidecarExpandingIterator(checkpointEntries.iterator(), sidecarEntries, checkpointReadExecutor, checkpointReadParallelism);
+        return stream(iterator)
+                .onClose(checkpointEntries::close)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Returns the entries of a V2 checkpoint, followed by the entries of the sidecars it references.
+     * The sidecars are collected while the checkpoint entries are returned, and are decoded
+     * concurrently once all checkpoint entries have been read.
+     */
+    private static class SidecarExpandingIterator
+            extends AbstractIterator<DeltaLakeTransactionLogEntry>
+    {
+        private final Iterator<DeltaLakeTransactionLogEntry> checkpointEntries;
+        private final Function<SidecarEntry, Supplier<Stream<DeltaLakeTransactionLogEntry>>> sidecarEntries;
+        private final Executor executor;
+        private final int parallelism;
+        private final List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> sidecars = new ArrayList<>();
+
+        private Stream<DeltaLakeTransactionLogEntry> sidecarStream;
+        private Iterator<DeltaLakeTransactionLogEntry> sidecarIterator;
+
+        private SidecarExpandingIterator(
+                Iterator<DeltaLakeTransactionLogEntry> checkpointEntries,
+                Function<SidecarEntry, Supplier<Stream<DeltaLakeTransactionLogEntry>>> sidecarEntries,
+                Executor executor,
+                int parallelism)
+        {
+            this.checkpointEntries = requireNonNull(checkpointEntries, "checkpointEntries is null");
+            this.sidecarEntries = requireNonNull(sidecarEntries, "sidecarEntries is null");
+            this.executor = requireNonNull(executor, "executor is null");
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        protected DeltaLakeTransactionLogEntry computeNext()
+        {
+            while (checkpointEntries.hasNext()) {
+                DeltaLakeTransactionLogEntry entry = checkpointEntries.next();
+                if (entry.getSidecar() == null) {
+                    return entry;
+                }
+                sidecars.add(sidecarEntries.apply(entry.getSidecar()));
+            }
+
+            if (sidecarIterator == null) {
+                sidecarStream = readConcurrently(sidecars, executor, parallelism, CHECKPOINT_READ_BUFFER_SIZE);
+                sidecarIterator = sidecarStream.iterator();
+            }
+            if (sidecarIterator.hasNext()) {
+                return sidecarIterator.next();
+            }
+            return endOfData();
+        }
+
+        public void close()
+        {
+            if (sidecarStream != null) {
+                sidecarStream.close();
+            }
+        }
     }
 
     private Stream<DeltaLakeTransactionLogEntry> getV2CheckpointEntries(
@@ -20,6 +20,8 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
+import io.airlift.stats.CounterStat;
+import io.airlift.stats.DistributionStat;
 import io.trino.cache.CacheStatsMBean;
 import io.trino.cache.EvictableCacheBuilder;
 import io.trino.filesystem.FileEntry;
@@ -42,6 +44,7 @@ import io.trino.plugin.hive.parquet.ParquetReaderConfig;
 import io.trino.spi.TrinoException;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.SchemaTableName;
+import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.ArrayType;
 import io.trino.spi.type.BooleanType;
@@ -67,6 +70,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -110,9 +114,16 @@ public class TransactionLogAccess
     private final ParquetReaderOptions parquetReaderOptions;
     private final boolean checkpointRowStatisticsWritingEnabled;
     private final int domainCompactionThreshold;
+    private final ExecutorService executorService;
+    private final int checkpointReadParallelism;
 
     private final Cache<TableLocation, TableSnapshot> tableSnapshots;
     private final Cache<TableVersion, DeltaLakeDataFileCacheEntry> activeDataFileCache;
+    // active file sets loaded from the checkpoint, and those derived from a cached older version with the new commits
+    private final CounterStat dataFileCacheFullLoads = new CounterStat();
+    private final CounterStat dataFileCacheIncrementalUpdates = new CounterStat();
+    private final DistributionStat dataFileCacheAppliedVersions = new DistributionStat();
+    private final DistributionStat dataFileCacheAppliedEntries = new DistributionStat();
 
     @Inject
     public TransactionLogAccess(
@@ -121,7 +132,8 @@ public class TransactionLogAccess
             DeltaLakeConfig deltaLakeConfig,
             FileFormatDataSourceStats fileFormatDataSourceStats,
             TrinoFileSystemFactory fileSystemFactory,
-            ParquetReaderConfig parquetReaderConfig)
+            ParquetReaderConfig parquetReaderConfig,
+            ExecutorService executorService)
     {
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.checkpointSchemaManager = requireNonNull(checkpointSchemaManager, "checkpointSchemaManager is null");
@@ -130,6 +142,8 @@ public class TransactionLogAccess
         this.parquetReaderOptions = parquetReaderConfig.toParquetReaderOptions().withBloomFilter(false);
         this.checkpointRowStatisticsWritingEnabled = deltaLakeConfig.isCheckpointRowStatisticsWritingEnabled();
         this.domainCompactionThreshold = deltaLakeConfig.getDomainCompactionThreshold();
+        this.executorService = requireNonNull(executorService, "executorService is null");
+        this.checkpointReadParallelism = deltaLakeConfig.getCheckpointReadParallelism();
 
         tableSnapshots = EvictableCacheBuilder.newBuilder()
                 .expireAfterWrite(deltaLakeConfig.getMetadataCacheTtl().toMillis(), TimeUnit.MILLISECONDS)
@@ -160,6 +174,34 @@ public class TransactionLogAccess
         return new CacheStatsMBean(tableSnapshots);
     }
 
+    @Managed
+    @Nested
+    public CounterStat getDataFileCacheFullLoads()
+    {
+        return dataFileCacheFullLoads;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getDataFileCacheIncrementalUpdates()
+    {
+        return dataFileCacheIncrementalUpdates;
+    }
+
+    @Managed
+    @Nested
+    public DistributionStat getDataFileCacheAppliedVersions()
+    {
+        return dataFileCacheAppliedVersions;
+    }
+
+    @Managed
+    @Nested
+    public DistributionStat getDataFileCacheAppliedEntries()
+    {
+        return dataFileCacheAppliedEntries;
+    }
+
     public TableSnapshot loadSnapshot(ConnectorSession session, SchemaTableName table, String tableLocation, Optional<Long> endVersion)
             throws IOException
     {
@@ -183,6 +225,8 @@ public class TransactionLogAccess
                                 parquetReaderOptions,
                                 checkpointRowStatisticsWritingEnabled,
                                 domainCompactionThreshold,
+                                executorService,
+                                checkpointReadParallelism,
                                 endVersion));
             }
             catch (UncheckedExecutionException | ExecutionException e) {
@@ -214,6 +258,8 @@ public class TransactionLogAccess
                 parquetReaderOptions,
                 checkpointRowStatisticsWritingEnabled,
                 domainCompactionThreshold,
+                executorService,
+                checkpointReadParallelism,
                 Optional.of(endVersion));
     }
 
@@ -360,7 +406,11 @@ public class TransactionLogAccess
                                 tableSnapshot.getVersion(),
                                 tableSnapshot,
                                 fileSystemFactory.create(session));
-                        return oldCached.withUpdatesApplied(newEntries, tableSnapshot.getVersion());
+                        DeltaLakeDataFileCacheEntry updated = oldCached.withUpdatesApplied(newEntries, tableSnapshot.getVersion());
+                        dataFileCacheIncrementalUpdates.update(1);
+                        dataFileCacheAppliedVersions.add(tableSnapshot.getVersion() - oldCached.getVersion());
+                        dataFileCacheAppliedEntries.add(newEntries.size());
+                        return updated;
                     }
                     catch (MissingTransactionLogException e) {
                         // The cached state cannot be used to calculate current state, as some
@@ -372,9 +422,17 @@ public class TransactionLogAccess
                 try (Stream<AddFileEntry> addFileEntryStream = loadActiveFiles(session, tableSnapshot, metadataEntry, protocolEntry, TupleDomain.all(), alwaysTrue())) {
                     activeFiles = addFileEntryStream.collect(toImmutableList());
                 }
+                dataFileCacheFullLoads.update(1);
                 return new DeltaLakeDataFileCacheEntry(tableSnapshot.getVersion(), activeFiles);
             });
-            return cacheEntry.getActiveFiles().stream();
+            if (partitionConstraint.isAll()) {
+                return cacheEntry.getActiveFiles();
+            }
+            if (partitionConstraint.isNone()) {
+                return Stream.empty();
+            }
+            Map<DeltaLakeColumnHandle, Domain> partitionDomains = partitionConstraint.getDomains().orElseThrow();
+            return cacheEntry.getActiveFiles(partitionValues -> partitionMatchesPredicate(partitionValues, partitionDomains));
         }
         catch (ExecutionException | UncheckedExecutionException e) {
             throw new TrinoException(DELTA_LAKE_INVALID_SCHEMA, "Failed accessing transaction log for table: " + tableSnapshot.getTable(), e);
@@ -390,16 +448,18 @@ public class TransactionLogAccess
             Predicate<String> addStatsMinMaxColumnFilter)
     {
         List<Transaction> transactions = tableSnapshot.getTransactions();
-        try (Stream<DeltaLakeTransactionLogEntry> checkpointEntries = tableSnapshot.getCheckpointTransactionLogEntries(
-                session,
-                ImmutableSet.of(ADD),
-                checkpointSchemaManager,
-                typeManager,
-                fileSystemFactory.create(session),
-                fileFormatDataSourceStats,
-                Optional.of(new MetadataAndProtocolEntry(metadataEntry, protocolEntry)),
-                partitionConstraint,
-                Optional.of(addStatsMinMaxColumnFilter))) {
+        try {
+            // The checkpoint entries are closed together with the returned stream, as they are read lazily
+            Stream<DeltaLakeTransactionLogEntry> checkpointEntries = tableSnapshot.getCheckpointTransactionLogEntries(
+                    session,
+                    ImmutableSet.of(ADD),
+                    checkpointSchemaManager,
+                    typeManager,
+                    fileSystemFactory.create(session),
+                    fileFormatDataSourceStats,
+                    Optional.of(new MetadataAndProtocolEntry(metadataEntry, protocolEntry)),
+                    partitionConstraint,
+                    Optional.of(addStatsMinMaxColumnFilter));
             return activeAddEntries(checkpointEntries, transactions)
                     .filter(partitionConstraint.isAll()
                             ? addAction -> true
@@ -609,14 +669,19 @@ public class TransactionLogAccess
     private static List<DeltaLakeTransactionLogEntry> getJsonEntries(long startVersion, long endVersion, TableSnapshot tableSnapshot, TrinoFileSystem fileSystem)
             throws IOException
     {
-        Optional<Long> lastCheckpointVersion = tableSnapshot.getLastCheckpointVersion();
-        if (lastCheckpointVersion.isPresent() && startVersion < lastCheckpointVersion.get()) {
-            return ImmutableList.<DeltaLakeTransactionLogEntry>builder()
-                    .addAll(TransactionLogTail.loadNewTail(fileSystem, tableSnapshot.getTableLocation(), Optional.of(startVersion), lastCheckpointVersion).getFileEntries())
-                    .addAll(tableSnapshot.getJsonTransactionLogEntries())
-                    .build();
+        // The snapshot holds the commits following its checkpoint, so only the older commits are read from the file system
+        List<Transaction> transactions = tableSnapshot.getTransactions();
+        long firstLoadedVersion = transactions.isEmpty() ? endVersion + 1 : transactions.getFirst().transactionId();
+        ImmutableList.Builder<DeltaLakeTransactionLogEntry> entries = ImmutableList.builder();
+        if (startVersion + 1 < firstLoadedVersion) {
+            entries.addAll(TransactionLogTail.loadNewTail(fileSystem, tableSnapshot.getTableLocation(), Optional.of(startVersion), Optional.of(firstLoadedVersion - 1)).getFileEntries());
+        }
+        for (Transaction transaction : transactions) {
+            if (transaction.transactionId() > startVersion) {
+                entries.addAll(transaction.transactionEntries());
+            }
         }
-        return TransactionLogTail.loadNewTail(fileSystem, tableSnapshot.getTableLocation(), Optional.of(startVersion), Optional.of(endVersion)).getFileEntries();
+        return entries.build();
     }
 
     public static String canonicalizeColumnName(String columnName)
@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.deltalake.transactionlog.checkpoint;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import io.airlift.concurrent.BoundedExecutor;
+import io.trino.plugin.deltalake.transactionlog.DeltaLakeTransactionLogEntry;
+import io.trino.plugin.deltalake.transactionlog.SidecarEntry;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.collect.Streams.stream;
+import static io.trino.plugin.deltalake.transactionlog.DeltaLakeTransactionLogEntry.sidecarEntry;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Decodes the entries of several checkpoint files (parts of a multi-part checkpoint, or sidecars
+ * of a V2 checkpoint) concurrently. The entries are returned in no particular order, and at most
+ * {@code bufferSize} decoded entries are held in memory, as the readers block once the buffer is full.
+ * Closing the iterator stops the readers the next time they add an entry, or wait for space in the buffer.
+ */
+public class ConcurrentCheckpointEntryIterator
+        extends AbstractIterator<DeltaLakeTransactionLogEntry>
+        implements AutoCloseable
+{
+    // Marks the end of the entries of a source. It is only compared by reference.
+    private static final DeltaLakeTransactionLogEntry END_OF_SOURCE = sidecarEntry(new SidecarEntry("", 0, 0, Optional.empty()));
+    // How often a reader waiting for space in the buffer checks whether the iterator was closed
+    private static final long CLOSED_CHECK_INTERVAL_MILLIS = 100;
+
+    private final List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> sources;
+    private final Executor executor;
+    private final BlockingQueue<DeltaLakeTransactionLogEntry> buffer;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<Future<?>> readers = new ArrayList<>();
+
+    private int remainingSources;
+    private boolean started;
+    private volatile boolean closed;
+
+    private ConcurrentCheckpointEntryIterator(List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> sources, Executor executor, int parallelism, int bufferSize)
+    {
+        this.sources = ImmutableList.copyOf(requireNonNull(sources, "sources is null"));
+        checkArgument(parallelism > 0, "parallelism must be positive");
+        checkArgument(bufferSize > 0, "bufferSize must be positive");
+        this.executor = new BoundedExecutor(requireNonNull(executor, "executor is null"), parallelism);
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.remainingSources = sources.size();
+    }
+
+    /**
+     * Returns the concatenation of the sources, decoding up to {@code parallelism} of them at a time.
+     * The sources are read sequentially on the calling thread when there is nothing to parallelize.
+     */
+    public static Stream<DeltaLakeTransactionLogEntry> readConcurrently(
+            List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> sources,
+            Executor executor,
+            int parallelism,
+            int bufferSize)
+    {
+        if (sources.size() <= 1 || parallelism <= 1) {
+            return sources.stream().flatMap(Supplier::get);
+        }
+        ConcurrentCheckpointEntryIterator iterator = new ConcurrentCheckpointEntryIterator(sources, executor, parallelism, bufferSize);
+        return stream(iterator).onClose(iterator::close);
+    }
+
+    @Override
+    protected DeltaLakeTransactionLogEntry computeNext()
+    {
+        if (closed) {
+            return endOfData();
+        }
+        if (!started) {
+            started = true;
+            for (Supplier<Stream<DeltaLakeTransactionLogEntry>> source : sources) {
+                FutureTask<?> reader = new FutureTask<>(() -> read(source), null);
+                readers.add(reader);
+                executor.execute(reader);
+            }
+        }
+
+        while (remainingSources > 0) {
+            DeltaLakeTransactionLogEntry entry;
+            try {
+                entry = buffer.take();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException(e);
+            }
+            if (entry != END_OF_SOURCE) {
+                return entry;
+            }
+            remainingSources--;
+            Throwable throwable = failure.get();
+            if (throwable != null) {
+                close();
+                throwIfUnchecked(throwable);
+                throw new RuntimeException(throwable);
+            }
+        }
+        return endOfData();
+    }
+
+    private void read(Supplier<Stream<DeltaLakeTransactionLogEntry>> source)
+    {
+        if (closed) {
+            return;
+        }
+        try (Stream<DeltaLakeTransactionLogEntry> entries = source.get()) {
+            Iterator<DeltaLakeTransactionLogEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                if (!enqueue(iterator.next())) {
+                    // the iterator was closed, so stop reading and close the source
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+        catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+
+        try {
+            enqueue(END_OF_SOURCE);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for space in the buffer, unless the iterator is closed.
+     *
+     * @return false if the iterator was closed
+     */
+    private boolean enqueue(DeltaLakeTransactionLogEntry entry)
+            throws InterruptedException
+    {
+        while (!closed) {
+            if (buffer.offer(entry, CLOSED_CHECK_INTERVAL_MILLIS, MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // The readers that have not started yet are skipped. The running readers are not interrupted, as
+        // interrupting a thread in the middle of file system I/O can break the underlying file system client.
+        // They notice the iterator was closed while waiting for space in the buffer, and then close their files.
+        readers.forEach(reader -> reader.cancel(false));
+        buffer.clear();
+    }
+}
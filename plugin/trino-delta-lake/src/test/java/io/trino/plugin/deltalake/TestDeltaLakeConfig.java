@@ -45,6 +45,7 @@ public class TestDeltaLakeConfig
                 .setMetadataCacheTtl(new Duration(5, TimeUnit.MINUTES))
                 .setMetadataCacheMaxSize(1000)
                 .setDomainCompactionThreshold(1000)
+                .setCheckpointReadParallelism(4)
                 .setMaxSplitsPerSecond(Integer.MAX_VALUE)
                 .setMaxOutstandingSplits(1_000)
                 .setMaxSplitSize(DataSize.of(64, DataSize.Unit.MEGABYTE))
@@ -86,6 +87,7 @@ public class TestDeltaLakeConfig
                 .put("delta.metadata.live-files.cache-size", "0 MB")
                 .put("delta.metadata.live-files.cache-ttl", "60m")
                 .put("delta.domain-compaction-threshold", "500")
+                .put("delta.checkpoint-read-parallelism", "8")
                 .put("delta.max-outstanding-splits", "200")
                 .put("delta.max-splits-per-second", "10")
                 .put("delta.max-split-size", "10 MB")
@@ -124,6 +126,7 @@ public class TestDeltaLakeConfig
                 .setMetadataCacheTtl(new Duration(10, TimeUnit.MINUTES))
                 .setMetadataCacheMaxSize(10)
                 .setDomainCompactionThreshold(500)
+                .setCheckpointReadParallelism(8)
                 .setMaxOutstandingSplits(200)
                 .setMaxSplitsPerSecond(10)
                 .setMaxSplitSize(DataSize.of(10, DataSize.Unit.MEGABYTE))
@@ -192,7 +192,8 @@ public class TestDeltaLakeSplitManager
                 deltaLakeConfig,
                 new FileFormatDataSourceStats(),
                 hdfsFileSystemFactory,
-                new ParquetReaderConfig())
+                new ParquetReaderConfig(),
+                MoreExecutors.newDirectExecutorService())
         {
             @Override
             public Stream<AddFileEntry> getActiveFiles(
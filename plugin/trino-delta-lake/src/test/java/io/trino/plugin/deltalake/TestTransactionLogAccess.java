@@ -45,7 +45,9 @@ import io.trino.spi.type.TypeManager;
 import io.trino.testing.TestingConnectorContext;
 import io.trino.testing.TestingConnectorSession;
 import io.trino.testing.TestingTelemetry;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.parallel.Execution;
 
 import java.io.File;
@@ -59,6 +61,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -67,6 +70,7 @@ import static com.google.common.base.Predicates.alwaysTrue;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.MoreCollectors.onlyElement;
 import static com.google.common.collect.Sets.union;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.airlift.testing.Assertions.assertEqualsIgnoreOrder;
 import static io.trino.filesystem.tracing.FileSystemAttributes.FILE_LOCATION;
@@ -83,10 +87,13 @@ import static io.trino.type.InternalTypeManager.TESTING_TYPE_MANAGER;
 import static java.lang.String.format;
 import static java.time.ZoneOffset.UTC;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.stream.Collectors.toCollection;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
 
+@TestInstance(PER_CLASS)
 @Execution(SAME_THREAD) // e.g. DistributedQueryRunner.spans is shared mutable state
 public class TestTransactionLogAccess
 {
@@ -115,9 +122,17 @@ public class TestTransactionLogAccess
     private final TestingTelemetry testingTelemetry = TestingTelemetry.create("transaction-log-access");
     private final TracingFileSystemFactory tracingFileSystemFactory = new TracingFileSystemFactory(testingTelemetry.getTracer(), new HdfsFileSystemFactory(HDFS_ENVIRONMENT, HDFS_FILE_SYSTEM_STATS));
 
+    private final ExecutorService executorService = newCachedThreadPool(daemonThreadsNamed("test-transaction-log-access-%s"));
+
     private TransactionLogAccess transactionLogAccess;
     private TableSnapshot tableSnapshot;
 
+    @AfterAll
+    public void tearDown()
+    {
+        executorService.shutdownNow();
+    }
+
     private void setupTransactionLogAccessFromResources(String tableName, String resourcePath)
             throws Exception
     {
@@ -144,7 +159,8 @@ public class TestTransactionLogAccess
                 deltaLakeConfig,
                 fileFormatDataSourceStats,
                 tracingFileSystemFactory,
-                new ParquetReaderConfig());
+                new ParquetReaderConfig(),
+                executorService);
 
         DeltaLakeTableHandle tableHandle = new DeltaLakeTableHandle(
                 "schema",
@@ -614,10 +630,13 @@ public class TestTransactionLogAccess
                 },
                 ImmutableMultiset.<FileOperation>builder()
                         .add(new FileOperation("_last_checkpoint", "InputFile.newStream"))
-                        .addCopies(new FileOperation("00000000000000000012.json", "InputFile.newStream"), 2)
-                        .addCopies(new FileOperation("00000000000000000013.json", "InputFile.newStream"), 2)
+                        .add(new FileOperation("00000000000000000012.json", "InputFile.newStream"))
+                        .add(new FileOperation("00000000000000000013.json", "InputFile.newStream"))
                         .add(new FileOperation("00000000000000000014.json", "InputFile.newStream"))
                         .build());
+        // the new commits read with the snapshot are applied to the cached active files
+        assertThat(transactionLogAccess.getDataFileCacheFullLoads().getTotalCount()).isEqualTo(1);
+        assertThat(transactionLogAccess.getDataFileCacheIncrementalUpdates().getTotalCount()).isEqualTo(1);
     }
 
     @Test
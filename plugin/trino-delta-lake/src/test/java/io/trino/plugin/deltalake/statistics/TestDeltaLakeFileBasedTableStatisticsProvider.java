@@ -41,7 +41,9 @@ import io.trino.spi.type.DoubleType;
 import io.trino.spi.type.TypeManager;
 import io.trino.testing.TestingConnectorContext;
 import io.trino.testing.TestingConnectorSession;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -49,7 +51,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
 
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.trino.plugin.deltalake.DeltaLakeColumnType.REGULAR;
 import static io.trino.plugin.deltalake.DeltaTestingConnectorSession.SESSION;
 import static io.trino.plugin.hive.HiveTestUtils.HDFS_FILE_SYSTEM_FACTORY;
@@ -62,12 +66,16 @@ import static io.trino.spi.type.SmallintType.SMALLINT;
 import static io.trino.spi.type.TinyintType.TINYINT;
 import static java.lang.Double.NEGATIVE_INFINITY;
 import static java.lang.Double.POSITIVE_INFINITY;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 
+@TestInstance(PER_CLASS)
 public class TestDeltaLakeFileBasedTableStatisticsProvider
 {
     private static final ColumnHandle COLUMN_HANDLE = new DeltaLakeColumnHandle("val", DoubleType.DOUBLE, OptionalInt.empty(), "val", DoubleType.DOUBLE, REGULAR, Optional.empty());
 
+    private final ExecutorService executorService = newCachedThreadPool(daemonThreadsNamed("test-file-based-table-statistics-provider-%s"));
     private final TransactionLogAccess transactionLogAccess;
     private final CachingExtendedStatisticsAccess statistics;
     private final DeltaLakeTableStatisticsProvider tableStatisticsProvider;
@@ -86,7 +94,8 @@ public class TestDeltaLakeFileBasedTableStatisticsProvider
                 new DeltaLakeConfig(),
                 fileFormatDataSourceStats,
                 HDFS_FILE_SYSTEM_FACTORY,
-                new ParquetReaderConfig());
+                new ParquetReaderConfig(),
+                executorService);
 
         statistics = new CachingExtendedStatisticsAccess(new MetaDirStatisticsAccess(HDFS_FILE_SYSTEM_FACTORY, new JsonCodecFactory().jsonCodec(ExtendedStatistics.class)));
         tableStatisticsProvider = new FileBasedTableStatisticsProvider(
@@ -95,6 +104,12 @@ public class TestDeltaLakeFileBasedTableStatisticsProvider
                 statistics);
     }
 
+    @AfterAll
+    public void tearDown()
+    {
+        executorService.shutdownNow();
+    }
+
     private DeltaLakeTableHandle registerTable(String tableName)
     {
         return registerTable(tableName, tableName);
@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.deltalake.transactionlog;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.plugin.deltalake.transactionlog.DeltaLakeTransactionLogEntry.addFileEntry;
+import static io.trino.plugin.deltalake.transactionlog.DeltaLakeTransactionLogEntry.removeFileEntry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDeltaLakeDataFileCacheEntry
+{
+    @Test
+    public void testActiveFiles()
+    {
+        List<AddFileEntry> activeFiles = ImmutableList.of(
+                addFile("a", "1", Optional.of("{\"numRecords\":10}"), Optional.empty()),
+                addFile("b", "2", Optional.empty(), Optional.of(new DeletionVectorEntry("u", "ab^-aqEH.-t@S}K{vb[*k^", OptionalInt.of(4), 40, 6))),
+                addFile("c", "1", Optional.of("{\"numRecords\":5}"), Optional.empty()));
+        DeltaLakeDataFileCacheEntry entry = new DeltaLakeDataFileCacheEntry(3, activeFiles);
+
+        assertThat(entry.getVersion()).isEqualTo(3);
+        assertThat(entry.getActiveFiles().collect(toImmutableList())).isEqualTo(activeFiles);
+        assertThat(entry.getRetainedSizeInBytes()).isPositive();
+    }
+
+    @Test
+    public void testPartitionPredicate()
+    {
+        List<AddFileEntry> activeFiles = ImmutableList.of(
+                addFile("a", "1", Optional.empty(), Optional.empty()),
+                addFile("b", "2", Optional.empty(), Optional.empty()),
+                addFile("c", "1", Optional.empty(), Optional.empty()),
+                addFile("d", "3", Optional.empty(), Optional.empty()));
+        DeltaLakeDataFileCacheEntry entry = new DeltaLakeDataFileCacheEntry(1, activeFiles);
+
+        AtomicInteger evaluations = new AtomicInteger();
+        List<String> paths = entry.getActiveFiles(partitionValues -> {
+                    evaluations.incrementAndGet();
+                    return !partitionValues.get("part").equals(Optional.of("2"));
+                })
+                .map(AddFileEntry::getPath)
+                .collect(toImmutableList());
+        assertThat(paths).containsExactly("a", "c", "d");
+        // the predicate is evaluated once per distinct partition
+        assertThat(evaluations.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testUpdatesApplied()
+    {
+        DeltaLakeDataFileCacheEntry entry = new DeltaLakeDataFileCacheEntry(1, ImmutableList.of(
+                addFile("a", "1", Optional.empty(), Optional.empty()),
+                addFile("b", "2", Optional.empty(), Optional.empty()),
+                addFile("c", "1", Optional.empty(), Optional.empty())));
+
+        AddFileEntry updatedC = addFile("c", "1", Optional.of("{\"numRecords\":7}"), Optional.empty());
+        AddFileEntry addedD = addFile("d", "4", Optional.empty(), Optional.empty());
+        DeltaLakeDataFileCacheEntry updated = entry.withUpdatesApplied(
+                ImmutableList.of(
+                        removeFileEntry(new RemoveFileEntry("b", ImmutableMap.of("part", "2"), 10, true, Optional.empty())),
+                        addFileEntry(updatedC),
+                        addFileEntry(addedD)),
+                2);
+
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(updated.getActiveFiles().collect(toImmutableList())).containsExactly(
+                addFile("a", "1", Optional.empty(), Optional.empty()),
+                updatedC,
+                addedD);
+        // the original entry is not modified
+        assertThat(entry.getActiveFiles().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void testUpdatesRemovePartitions()
+    {
+        DeltaLakeDataFileCacheEntry entry = new DeltaLakeDataFileCacheEntry(1, ImmutableList.of(
+                addFile("a", "1", Optional.empty(), Optional.empty()),
+                addFile("b", "2", Optional.empty(), Optional.empty()),
+                addFile("c", "3", Optional.empty(), Optional.empty())));
+
+        DeltaLakeDataFileCacheEntry updated = entry.withUpdatesApplied(
+                ImmutableList.of(removeFileEntry(new RemoveFileEntry("b", ImmutableMap.of("part", "2"), 10, true, Optional.empty()))),
+                2);
+
+        AtomicInteger evaluations = new AtomicInteger();
+        List<String> paths = updated.getActiveFiles(_ -> {
+                    evaluations.incrementAndGet();
+                    return true;
+                })
+                .map(AddFileEntry::getPath)
+                .collect(toImmutableList());
+        assertThat(paths).containsExactly("a", "c");
+        // the partition of the removed file is no longer retained
+        assertThat(evaluations.get()).isEqualTo(2);
+        assertThat(updated.getRetainedSizeInBytes()).isLessThan(entry.getRetainedSizeInBytes());
+    }
+
+    private static AddFileEntry addFile(String path, String partition, Optional<String> stats, Optional<DeletionVectorEntry> deletionVector)
+    {
+        Map<String, String> partitionValues = ImmutableMap.of("part", partition);
+        return new AddFileEntry(path, partitionValues, 100, 1000, true, stats, Optional.empty(), ImmutableMap.of("tag", "value"), deletionVector);
+    }
+}
@@ -32,19 +32,23 @@ import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.TypeManager;
 import io.trino.testing.TestingConnectorContext;
 import io.trino.testing.TestingTelemetry;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Predicates.alwaysTrue;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.trino.filesystem.tracing.FileSystemAttributes.FILE_LOCATION;
 import static io.trino.plugin.deltalake.transactionlog.TableSnapshot.MetadataAndProtocolEntry;
 import static io.trino.plugin.deltalake.transactionlog.TableSnapshot.load;
@@ -57,13 +61,17 @@ import static io.trino.testing.MultisetAssertions.assertMultisetsEqual;
 import static io.trino.testing.TestingConnectorSession.SESSION;
 import static io.trino.type.InternalTypeManager.TESTING_TYPE_MANAGER;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.stream.Collectors.toCollection;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 
+@TestInstance(PER_CLASS)
 public class TestTableSnapshot
 {
     private final ParquetReaderOptions parquetReaderOptions = new ParquetReaderConfig().toParquetReaderOptions();
     private final int domainCompactionThreshold = 32;
+    private final ExecutorService executorService = newCachedThreadPool(daemonThreadsNamed("test-table-snapshot-%s"));
 
     private CheckpointSchemaManager checkpointSchemaManager;
     private TracingFileSystemFactory tracingFileSystemFactory;
@@ -82,6 +90,12 @@ public class TestTableSnapshot
         trackingFileSystem = tracingFileSystemFactory.create(SESSION);
     }
 
+    @AfterAll
+    public void tearDown()
+    {
+        executorService.shutdownNow();
+    }
+
     @Test
     public void testOnlyReadsTrailingJsonFiles()
             throws Exception
@@ -98,6 +112,8 @@ public class TestTableSnapshot
                             parquetReaderOptions,
                             true,
                             domainCompactionThreshold,
+                            executorService,
+                            4,
                             Optional.empty()));
                 },
                 ImmutableMultiset.<FileOperation>builder()
@@ -129,6 +145,8 @@ public class TestTableSnapshot
                 parquetReaderOptions,
                 true,
                 domainCompactionThreshold,
+                executorService,
+                4,
                 Optional.empty());
         TestingConnectorContext context = new TestingConnectorContext();
         TypeManager typeManager = context.getTypeManager();
@@ -138,7 +156,8 @@ public class TestTableSnapshot
                 new DeltaLakeConfig(),
                 new FileFormatDataSourceStats(),
                 tracingFileSystemFactory,
-                new ParquetReaderConfig());
+                new ParquetReaderConfig(),
+                executorService);
         MetadataEntry metadataEntry = transactionLogAccess.getMetadataEntry(SESSION, tableSnapshot);
         ProtocolEntry protocolEntry = transactionLogAccess.getProtocolEntry(SESSION, tableSnapshot);
         tableSnapshot.setCachedMetadata(Optional.of(metadataEntry));
@@ -257,6 +276,8 @@ public class TestTableSnapshot
                 parquetReaderOptions,
                 true,
                 domainCompactionThreshold,
+                executorService,
+                4,
                 Optional.empty());
         assertThat(tableSnapshot.getVersion()).isEqualTo(13L);
     }
@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.deltalake.transactionlog.checkpoint;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.plugin.deltalake.transactionlog.DeltaLakeTransactionLogEntry;
+import io.trino.plugin.deltalake.transactionlog.RemoveFileEntry;
+import io.trino.spi.TrinoException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.trino.plugin.deltalake.DeltaLakeErrorCode.DELTA_LAKE_INVALID_SCHEMA;
+import static io.trino.plugin.deltalake.transactionlog.DeltaLakeTransactionLogEntry.removeFileEntry;
+import static io.trino.plugin.deltalake.transactionlog.checkpoint.ConcurrentCheckpointEntryIterator.readConcurrently;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+public class TestConcurrentCheckpointEntryIterator
+{
+    private final ExecutorService executor = newCachedThreadPool(daemonThreadsNamed("test-concurrent-checkpoint-entry-iterator-%s"));
+
+    @AfterAll
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testReadAllSources()
+    {
+        List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> sources = IntStream.range(0, 10)
+                .<Supplier<Stream<DeltaLakeTransactionLogEntry>>>mapToObj(source -> () -> entries("part" + source, 100))
+                .collect(toImmutableList());
+
+        try (Stream<DeltaLakeTransactionLogEntry> entries = readConcurrently(sources, executor, 3, 16)) {
+            assertThat(entries.map(entry -> entry.getRemove().path()))
+                    .hasSize(1000)
+                    .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 10)
+                            .boxed()
+                            .flatMap(source -> entries("part" + source, 100))
+                            .map(entry -> entry.getRemove().path())
+                            .collect(toImmutableList()));
+        }
+    }
+
+    @Test
+    public void testFailure()
+    {
+        List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> sources = ImmutableList.of(
+                () -> entries("part0", 10),
+                () -> {
+                    throw new TrinoException(DELTA_LAKE_INVALID_SCHEMA, "corrupted checkpoint");
+                },
+                () -> entries("part2", 10));
+
+        try (Stream<DeltaLakeTransactionLogEntry> entries = readConcurrently(sources, executor, 2, 4)) {
+            assertThatThrownBy(entries::toList)
+                    .isInstanceOf(TrinoException.class)
+                    .hasMessage("corrupted checkpoint");
+        }
+    }
+
+    @Test
+    public void testCloseStopsReaders()
+            throws InterruptedException
+    {
+        CountDownLatch closedSources = new CountDownLatch(2);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> sources = IntStream.range(0, 2)
+                .<Supplier<Stream<DeltaLakeTransactionLogEntry>>>mapToObj(source -> () -> entries("part" + source, 1000).onClose(() -> {
+                    if (Thread.currentThread().isInterrupted()) {
+                        interrupted.set(true);
+                    }
+                    closedSources.countDown();
+                }))
+                .collect(toImmutableList());
+
+        try (Stream<DeltaLakeTransactionLogEntry> entries = readConcurrently(sources, executor, 2, 4)) {
+            assertThat(entries.limit(5).count()).isEqualTo(5);
+        }
+        // the readers blocked on the full buffer notice the iterator was closed, and close their sources without being interrupted
+        assertThat(closedSources.await(10, SECONDS)).isTrue();
+        assertThat(interrupted.get()).isFalse();
+    }
+
+    @Test
+    public void testSingleSource()
+    {
+        try (Stream<DeltaLakeTransactionLogEntry> entries = readConcurrently(ImmutableList.of(() -> entries("part", 5)), executor, 4, 16)) {
+            assertThat(entries.map(entry -> entry.getRemove().path()))
+                    .containsExactly("part-0", "part-1", "part-2", "part-3", "part-4");
+        }
+    }
+
+    private static Stream<DeltaLakeTransactionLogEntry> entries(String prefix, int count)
+    {
+        return IntStream.range(0, count)
+                .mapToObj(entry -> removeFileEntry(new RemoveFileEntry(prefix + "-" + entry, null, 1000, true, Optional.empty())));
+    }
+}
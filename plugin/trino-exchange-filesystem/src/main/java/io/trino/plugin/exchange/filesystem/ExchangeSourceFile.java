@@ -24,14 +24,16 @@ import static java.util.Objects.requireNonNull;
 public class ExchangeSourceFile
 {
     private final URI fileUri;
+    private final long fileOffset;
     private final long fileSize;
     private final ExchangeId exchangeId;
     private final int sourceTaskPartitionId;
     private final int sourceTaskAttemptId;
 
-    public ExchangeSourceFile(URI fileUri, long fileSize, ExchangeId exchangeId, int sourceTaskPartitionId, int sourceTaskAttemptId)
+    public ExchangeSourceFile(URI fileUri, long fileOffset, long fileSize, ExchangeId exchangeId, int sourceTaskPartitionId, int sourceTaskAttemptId)
     {
         this.fileUri = requireNonNull(fileUri, "fileUri is null");
+        this.fileOffset = fileOffset;
         this.fileSize = fileSize;
         this.exchangeId = requireNonNull(exchangeId, "exchangeId is null");
         this.sourceTaskPartitionId = sourceTaskPartitionId;
@@ -43,6 +45,17 @@ public class ExchangeSourceFile
         return fileUri;
     }
 
+    /**
+     * Offset of the data to read in the file
+     */
+    public long getFileOffset()
+    {
+        return fileOffset;
+    }
+
+    /**
+     * Size of the data to read, starting at the offset
+     */
     public long getFileSize()
     {
         return fileSize;
@@ -21,6 +21,7 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.airlift.slice.Slice;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
@@ -44,6 +45,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -57,9 +59,14 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.Futures.immediateFailedFuture;
+import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.AsyncSemaphore.processAll;
 import static io.trino.plugin.exchange.filesystem.FileSystemExchangeManager.PATH_SEPARATOR;
+import static io.trino.plugin.exchange.filesystem.FileSystemExchangeSink.COMBINED_DATA_FILE_NAME;
+import static io.trino.plugin.exchange.filesystem.FileSystemExchangeSink.COMBINED_INDEX_ENTRY_SIZE;
+import static io.trino.plugin.exchange.filesystem.FileSystemExchangeSink.COMBINED_INDEX_FILE_NAME;
 import static io.trino.plugin.exchange.filesystem.FileSystemExchangeSink.COMMITTED_MARKER_FILE_NAME;
 import static io.trino.plugin.exchange.filesystem.FileSystemExchangeSink.DATA_FILE_SUFFIX;
 import static java.lang.Integer.parseInt;
@@ -255,7 +262,7 @@ public class FileSystemExchange
     private ListenableFuture<Multimap<Integer, SourceFile>> getCommittedPartitions(CommittedTaskAttempt committedTaskAttempt)
     {
         URI sinkOutputPath = getTaskOutputDirectory(committedTaskAttempt.partitionId());
-        return stats.getGetCommittedPartitions().record(Futures.transform(
+        return stats.getGetCommittedPartitions().record(Futures.transformAsync(
                 exchangeStorage.listFilesRecursively(sinkOutputPath),
                 sinkOutputFiles -> {
                     List<String> committedMarkerFilePaths = sinkOutputFiles.stream()
@@ -279,6 +286,14 @@ public class FileSystemExchange
                         int attemptIdOffset = committedMarkerFilePath.length() - stringCommittedAttemptId.length()
                                 - PATH_SEPARATOR.length() - COMMITTED_MARKER_FILE_NAME.length();
 
+                        // Combined file path format: {sinkOutputPath}/{attemptId}/partitions.combined, with its index in {sinkOutputPath}/{attemptId}/partitions.index
+                        Optional<FileStatus> combinedIndexFile = sinkOutputFiles.stream()
+                                .filter(file -> file.getFilePath().startsWith(stringCommittedAttemptId + PATH_SEPARATOR, attemptIdOffset) && file.getFilePath().endsWith(COMBINED_INDEX_FILE_NAME))
+                                .findFirst();
+                        if (combinedIndexFile.isPresent()) {
+                            return readCombinedIndex(combinedIndexFile.get(), committedTaskAttempt);
+                        }
+
                         // Data output file path format: {sinkOutputPath}/{attemptId}/{sourcePartitionId}_{splitId}.data
                         List<FileStatus> partitionFiles = sinkOutputFiles.stream()
                                 .filter(file -> file.getFilePath().startsWith(stringCommittedAttemptId + PATH_SEPARATOR, attemptIdOffset) && file.getFilePath().endsWith(DATA_FILE_SUFFIX))
@@ -291,7 +306,7 @@ public class FileSystemExchange
                             int partitionId = parseInt(matcher.group(1));
                             result.put(partitionId, new SourceFile(partitionFile.getFilePath(), partitionFile.getFileSize(), committedTaskAttempt.partitionId(), committedTaskAttempt.attemptId()));
                         }
-                        return result.build();
+                        return immediateFuture(result.build());
                     }
 
                     throw new IllegalArgumentException("committed attempt %s for task %s not found".formatted(committedTaskAttempt.attemptId(), committedTaskAttempt.partitionId()));
@@ -299,6 +314,54 @@ public class FileSystemExchange
                 executor));
     }
 
+    private ListenableFuture<Multimap<Integer, SourceFile>> readCombinedIndex(FileStatus indexFile, CommittedTaskAttempt committedTaskAttempt)
+    {
+        String indexFilePath = indexFile.getFilePath();
+        String dataFilePath = indexFilePath.substring(0, indexFilePath.length() - COMBINED_INDEX_FILE_NAME.length()) + COMBINED_DATA_FILE_NAME;
+        ExchangeSourceFile sourceFile = new ExchangeSourceFile(
+                URI.create(indexFilePath),
+                0,
+                indexFile.getFileSize(),
+                exchangeContext.getExchangeId(),
+                committedTaskAttempt.partitionId(),
+                committedTaskAttempt.attemptId());
+
+        ExchangeStorageReader reader = exchangeStorage.createExchangeStorageReader(ImmutableList.of(sourceFile), COMBINED_INDEX_ENTRY_SIZE, new MetricsBuilder());
+        CombinedIndexBuilder index = new CombinedIndexBuilder(dataFilePath, committedTaskAttempt, exchangeSourceHandleTargetDataSizeInBytes);
+        ListenableFuture<Multimap<Integer, SourceFile>> result = readCombinedIndexEntries(reader, indexFilePath, index);
+        result.addListener(reader::close, directExecutor());
+        return result;
+    }
+
+    private ListenableFuture<Multimap<Integer, SourceFile>> readCombinedIndexEntries(
+            ExchangeStorageReader reader,
+            String indexFilePath,
+            CombinedIndexBuilder index)
+    {
+        try {
+            while (!reader.isFinished()) {
+                ListenableFuture<Void> blocked = reader.isBlocked();
+                if (!blocked.isDone()) {
+                    // continue once the reader has data, without holding the thread
+                    return Futures.transformAsync(blocked, _ -> readCombinedIndexEntries(reader, indexFilePath, index), executor);
+                }
+                Slice entry = reader.read();
+                if (entry == null) {
+                    continue;
+                }
+                checkState(entry.length() == COMBINED_INDEX_ENTRY_SIZE, "Unexpected entry size in combined index %s: %s", indexFilePath, entry.length());
+                int partitionId = entry.getInt(0);
+                long offset = entry.getLong(Integer.BYTES);
+                int length = entry.getInt(Integer.BYTES + Long.BYTES);
+                index.add(partitionId, offset, length);
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            return immediateFailedFuture(e);
+        }
+        return immediateFuture(index.build());
+    }
+
     private URI getTaskOutputDirectory(int taskPartitionId)
     {
         // Add a randomized prefix to evenly distribute data into different S3 shards
@@ -376,4 +439,53 @@ public class FileSystemExchange
                 .add("exchangeSourceHandlesFuture", exchangeSourceHandlesFuture)
                 .toString();
     }
+
+    /**
+     * Builds the source files of a combined data file from its index. Consecutive chunks of the same partition
+     * are adjacent in the data file, so they are merged into a single range, up to the target size of a source handle.
+     */
+    private static class CombinedIndexBuilder
+    {
+        private final String dataFilePath;
+        private final CommittedTaskAttempt committedTaskAttempt;
+        private final long maxRangeSizeInBytes;
+        private final ImmutableMultimap.Builder<Integer, SourceFile> sourceFiles = ImmutableMultimap.builder();
+
+        private int partitionId = -1;
+        private long offset;
+        private long length;
+
+        public CombinedIndexBuilder(String dataFilePath, CommittedTaskAttempt committedTaskAttempt, long maxRangeSizeInBytes)
+        {
+            this.dataFilePath = requireNonNull(dataFilePath, "dataFilePath is null");
+            this.committedTaskAttempt = requireNonNull(committedTaskAttempt, "committedTaskAttempt is null");
+            this.maxRangeSizeInBytes = maxRangeSizeInBytes;
+        }
+
+        public void add(int partitionId, long offset, int length)
+        {
+            if (partitionId == this.partitionId && offset == this.offset + this.length && this.length + length <= maxRangeSizeInBytes) {
+                this.length += length;
+                return;
+            }
+            flush();
+            this.partitionId = partitionId;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public Multimap<Integer, SourceFile> build()
+        {
+            flush();
+            return sourceFiles.build();
+        }
+
+        private void flush()
+        {
+            if (partitionId >= 0) {
+                sourceFiles.put(partitionId, new SourceFile(dataFilePath, offset, length, committedTaskAttempt.partitionId(), committedTaskAttempt.attemptId()));
+            }
+            partitionId = -1;
+        }
+    }
 }
@@ -41,6 +41,7 @@ public class FileSystemExchangeConfig
     private int exchangeSinkBufferPoolMinSize = 10;
     private int exchangeSinkBuffersPerPartition = 2;
     private DataSize exchangeSinkMaxFileSize = DataSize.of(1, GIGABYTE);
+    private boolean exchangeSinkCombinedFilesEnabled;
     private int exchangeSourceConcurrentReaders = 4;
     private int exchangeSourceMaxFilesPerReader = 25;
     private int maxOutputPartitionCount = 50;
@@ -127,6 +128,19 @@ public class FileSystemExchangeConfig
         return this;
     }
 
+    public boolean isExchangeSinkCombinedFilesEnabled()
+    {
+        return exchangeSinkCombinedFilesEnabled;
+    }
+
+    @Config("exchange.sink-combined-files-enabled")
+    @ConfigDescription("Write the data of all output partitions of a task into a single file, instead of a file per partition")
+    public FileSystemExchangeConfig setExchangeSinkCombinedFilesEnabled(boolean exchangeSinkCombinedFilesEnabled)
+    {
+        this.exchangeSinkCombinedFilesEnabled = exchangeSinkCombinedFilesEnabled;
+        return this;
+    }
+
     @Min(1)
     public int getExchangeSourceConcurrentReaders()
     {
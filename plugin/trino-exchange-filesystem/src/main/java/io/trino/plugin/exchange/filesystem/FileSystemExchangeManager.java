@@ -51,6 +51,7 @@ public class FileSystemExchangeManager
     private final int exchangeSinkBufferPoolMinSize;
     private final int exchangeSinkBuffersPerPartition;
     private final long exchangeSinkMaxFileSizeInBytes;
+    private final boolean exchangeSinkCombinedFilesEnabled;
     private final int exchangeSourceConcurrentReaders;
     private final int exchangeSourceMaxFilesPerReader;
     private final int maxOutputPartitionCount;
@@ -75,6 +76,7 @@ public class FileSystemExchangeManager
         this.exchangeSinkBufferPoolMinSize = fileSystemExchangeConfig.getExchangeSinkBufferPoolMinSize();
         this.exchangeSinkBuffersPerPartition = fileSystemExchangeConfig.getExchangeSinkBuffersPerPartition();
         this.exchangeSinkMaxFileSizeInBytes = fileSystemExchangeConfig.getExchangeSinkMaxFileSize().toBytes();
+        this.exchangeSinkCombinedFilesEnabled = fileSystemExchangeConfig.isExchangeSinkCombinedFilesEnabled();
         this.exchangeSourceConcurrentReaders = fileSystemExchangeConfig.getExchangeSourceConcurrentReaders();
         this.exchangeSourceMaxFilesPerReader = fileSystemExchangeConfig.getExchangeSourceMaxFilesPerReader();
         this.maxOutputPartitionCount = fileSystemExchangeConfig.getMaxOutputPartitionCount();
@@ -124,7 +126,9 @@ public class FileSystemExchangeManager
                 maxPageStorageSizeInBytes,
                 exchangeSinkBufferPoolMinSize,
                 exchangeSinkBuffersPerPartition,
-                exchangeSinkMaxFileSizeInBytes);
+                exchangeSinkMaxFileSizeInBytes,
+                // chunks of a partition in a combined file may be read in any order
+                exchangeSinkCombinedFilesEnabled && !instanceHandle.isPreserveOrderWithinPartition());
     }
 
     @Override
@@ -23,6 +23,9 @@ import io.trino.plugin.exchange.filesystem.local.LocalFileSystemExchangeStorage;
 import io.trino.plugin.exchange.filesystem.s3.ExchangeS3Config;
 import io.trino.plugin.exchange.filesystem.s3.S3FileSystemExchangeStorage;
 import io.trino.plugin.exchange.filesystem.s3.S3FileSystemExchangeStorageStats;
+import io.trino.plugin.exchange.filesystem.tiered.ExchangeTieredConfig;
+import io.trino.plugin.exchange.filesystem.tiered.ForRemoteExchangeStorage;
+import io.trino.plugin.exchange.filesystem.tiered.TieredFileSystemExchangeStorage;
 import io.trino.spi.TrinoException;
 
 import java.net.URI;
@@ -53,24 +56,34 @@ public class FileSystemExchangeModule
             return;
         }
         String scheme = baseDirectories.get(0).getScheme();
+        Class<? extends FileSystemExchangeStorage> storageClass;
         if (scheme == null || scheme.equals("file")) {
-            binder.bind(FileSystemExchangeStorage.class).to(LocalFileSystemExchangeStorage.class).in(Scopes.SINGLETON);
+            storageClass = LocalFileSystemExchangeStorage.class;
         }
         else if (ImmutableSet.of("s3", "gs").contains(scheme)) {
             binder.bind(S3FileSystemExchangeStorageStats.class).in(Scopes.SINGLETON);
             newExporter(binder).export(S3FileSystemExchangeStorageStats.class).withGeneratedName();
-            binder.bind(FileSystemExchangeStorage.class).to(S3FileSystemExchangeStorage.class).in(Scopes.SINGLETON);
+            storageClass = S3FileSystemExchangeStorage.class;
             configBinder(binder).bindConfig(ExchangeS3Config.class);
             S3FileSystemExchangeStorage.CompatibilityMode compatibilityMode = scheme.equals("gs") ? GCP : AWS;
             binder.bind(S3FileSystemExchangeStorage.CompatibilityMode.class).toInstance(compatibilityMode);
         }
         else if (ImmutableSet.of("abfs", "abfss").contains(scheme)) {
-            binder.bind(FileSystemExchangeStorage.class).to(AzureBlobFileSystemExchangeStorage.class).in(Scopes.SINGLETON);
+            storageClass = AzureBlobFileSystemExchangeStorage.class;
             configBinder(binder).bindConfig(ExchangeAzureConfig.class);
         }
         else {
             binder.addError(new TrinoException(NOT_SUPPORTED,
                     format("Scheme %s is not supported as exchange spooling storage in exchange manager type %s", scheme, FileSystemExchangeManagerFactory.FILESYSTEM)));
+            return;
+        }
+
+        if (buildConfigObject(ExchangeTieredConfig.class).getLocalDirectory().isPresent()) {
+            binder.bind(FileSystemExchangeStorage.class).annotatedWith(ForRemoteExchangeStorage.class).to(storageClass).in(Scopes.SINGLETON);
+            binder.bind(FileSystemExchangeStorage.class).to(TieredFileSystemExchangeStorage.class).in(Scopes.SINGLETON);
+        }
+        else {
+            binder.bind(FileSystemExchangeStorage.class).to(storageClass).in(Scopes.SINGLETON);
         }
     }
 }
@@ -19,6 +19,7 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.errorprone.annotations.ThreadSafe;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.SizeOf;
 import io.airlift.slice.Slice;
 import io.airlift.slice.SliceOutput;
@@ -32,6 +33,7 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -49,6 +51,7 @@ import static io.airlift.concurrent.MoreFutures.asVoid;
 import static io.airlift.concurrent.MoreFutures.toCompletableFuture;
 import static io.airlift.slice.SizeOf.estimatedSizeOf;
 import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOfObjectArray;
 import static io.airlift.units.DataSize.succinctBytes;
 import static io.trino.spi.StandardErrorCode.NOT_SUPPORTED;
 import static java.lang.Math.max;
@@ -64,6 +67,10 @@ public class FileSystemExchangeSink
 {
     public static final String COMMITTED_MARKER_FILE_NAME = "committed";
     public static final String DATA_FILE_SUFFIX = ".data";
+    public static final String COMBINED_DATA_FILE_NAME = "partitions.combined";
+    public static final String COMBINED_INDEX_FILE_NAME = "partitions.index";
+    // partition id, offset and length of a chunk of the combined data file
+    public static final int COMBINED_INDEX_ENTRY_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
 
     private static final int INSTANCE_SIZE = instanceSize(FileSystemExchangeSink.class);
 
@@ -75,6 +82,7 @@ public class FileSystemExchangeSink
     private final int maxPageStorageSizeInBytes;
     private final long maxFileSizeInBytes;
     private final BufferPool bufferPool;
+    private final CombinedStorageWriter combinedWriter;
 
     private final Map<Integer, BufferedStorageWriter> writersMap = new ConcurrentHashMap<>();
     private final AtomicReference<Throwable> failure = new AtomicReference<>();
@@ -89,10 +97,12 @@ public class FileSystemExchangeSink
             int maxPageStorageSizeInBytes,
             int exchangeSinkBufferPoolMinSize,
             int exchangeSinkBuffersPerPartition,
-            long maxFileSizeInBytes)
+            long maxFileSizeInBytes,
+            boolean combinedFilesEnabled)
     {
         checkArgument(maxPageStorageSizeInBytes <= maxFileSizeInBytes,
                 format("maxPageStorageSizeInBytes %s exceeded maxFileSizeInBytes %s", succinctBytes(maxPageStorageSizeInBytes), succinctBytes(maxFileSizeInBytes)));
+        checkArgument(!combinedFilesEnabled || !preserveOrderWithinPartition, "combined files cannot be used when order within partition must be preserved");
 
         this.exchangeStorage = requireNonNull(exchangeStorage, "exchangeStorage is null");
         this.stats = requireNonNull(stats, "stats is null");
@@ -103,6 +113,7 @@ public class FileSystemExchangeSink
         this.maxFileSizeInBytes = maxFileSizeInBytes;
         // buffer pooling to overlap computation and I/O
         this.bufferPool = new BufferPool(stats, max(outputPartitionCount * exchangeSinkBuffersPerPartition, exchangeSinkBufferPoolMinSize), exchangeStorage.getWriteBufferSize());
+        this.combinedWriter = combinedFilesEnabled ? new CombinedStorageWriter(exchangeStorage, stats, outputDirectory, outputPartitionCount, bufferPool, failure, maxPageStorageSizeInBytes) : null;
     }
 
     @Override
@@ -132,6 +143,11 @@ public class FileSystemExchangeSink
 
         checkArgument(partitionId < outputPartitionCount, "partition id is expected to be less than %s: %s", outputPartitionCount, partitionId);
 
+        if (combinedWriter != null) {
+            combinedWriter.write(partitionId, data);
+            return;
+        }
+
         // Ensure no new writers can be created after `closed` is set to true
         BufferedStorageWriter writer;
         synchronized (this) {
@@ -162,7 +178,8 @@ public class FileSystemExchangeSink
     {
         return INSTANCE_SIZE
                 + bufferPool.getRetainedSize()
-                + estimatedSizeOf(writersMap, SizeOf::sizeOf, BufferedStorageWriter::getRetainedSize);
+                + estimatedSizeOf(writersMap, SizeOf::sizeOf, BufferedStorageWriter::getRetainedSize)
+                + (combinedWriter == null ? 0 : combinedWriter.getRetainedSize());
     }
 
     @Override
@@ -172,8 +189,14 @@ public class FileSystemExchangeSink
             return failedFuture(new IllegalStateException("Exchange sink has already closed"));
         }
 
-        ListenableFuture<Void> finishFuture = asVoid(Futures.allAsList(
-                writersMap.values().stream().map(BufferedStorageWriter::finish).collect(toImmutableList())));
+        ListenableFuture<Void> finishFuture;
+        if (combinedWriter != null) {
+            finishFuture = combinedWriter.finish();
+        }
+        else {
+            finishFuture = asVoid(Futures.allAsList(
+                    writersMap.values().stream().map(BufferedStorageWriter::finish).collect(toImmutableList())));
+        }
         addSuccessCallback(finishFuture, this::destroy);
         finishFuture = Futures.transformAsync(
                 finishFuture,
@@ -205,8 +228,14 @@ public class FileSystemExchangeSink
         }
         closed = true;
 
-        ListenableFuture<Void> abortFuture = asVoid(Futures.allAsList(
-                writersMap.values().stream().map(BufferedStorageWriter::abort).collect(toImmutableList())));
+        ListenableFuture<Void> abortFuture;
+        if (combinedWriter != null) {
+            abortFuture = combinedWriter.abort();
+        }
+        else {
+            abortFuture = asVoid(Futures.allAsList(
+                    writersMap.values().stream().map(BufferedStorageWriter::abort).collect(toImmutableList())));
+        }
         addSuccessCallback(abortFuture, this::destroy);
 
         return stats.getExchangeSinkAbort().record(toCompletableFuture(Futures.transformAsync(
@@ -382,6 +411,272 @@ public class FileSystemExchangeSink
         }
     }
 
+    /**
+     * Writes the data of all output partitions into a single file, followed by an index file listing
+     * the chunks of the data file. Every chunk holds whole pages of a single partition, so each
+     * chunk can be read on its own with a ranged read.
+     * <p>
+     * The pages are copied into the buffer of their partition. When the storage accepts writes of any size,
+     * a full buffer is written as it is, without its unused tail. Otherwise, the chunks of several partitions
+     * are packed into a buffer, which is written once it is full, so that every write but the last one has
+     * the size of a buffer. The data file has no gaps in either case, so the index entries of consecutive
+     * chunks of the same partition describe a single range of the data file.
+     */
+    @ThreadSafe
+    private static class CombinedStorageWriter
+    {
+        private static final int INSTANCE_SIZE = instanceSize(CombinedStorageWriter.class);
+
+        private final FileSystemExchangeStorage exchangeStorage;
+        private final FileSystemExchangeStats stats;
+        private final URI outputDirectory;
+        private final BufferPool bufferPool;
+        private final AtomicReference<Throwable> failure;
+        private final int maxPageStorageSizeInBytes;
+
+        @GuardedBy("this")
+        private final SliceOutput[] partitionBuffers;
+        @GuardedBy("this")
+        private final SliceOutput index = new DynamicSliceOutput(0);
+        @GuardedBy("this")
+        private ExchangeStorageWriter dataWriter;
+        @GuardedBy("this")
+        private long dataFileSize;
+        // buffer holding the packed chunks which are not written yet, when writes must fill a buffer
+        @GuardedBy("this")
+        private SliceOutput packBuffer;
+        @GuardedBy("this")
+        private ExchangeStorageWriter indexWriter;
+        @GuardedBy("this")
+        private boolean closed;
+
+        public CombinedStorageWriter(
+                FileSystemExchangeStorage exchangeStorage,
+                FileSystemExchangeStats stats,
+                URI outputDirectory,
+                int outputPartitionCount,
+                BufferPool bufferPool,
+                AtomicReference<Throwable> failure,
+                int maxPageStorageSizeInBytes)
+        {
+            this.exchangeStorage = requireNonNull(exchangeStorage, "exchangeStorage is null");
+            this.stats = requireNonNull(stats, "stats is null");
+            this.outputDirectory = requireNonNull(outputDirectory, "outputDirectory is null");
+            this.bufferPool = requireNonNull(bufferPool, "bufferPool is null");
+            this.failure = requireNonNull(failure, "failure is null");
+            this.maxPageStorageSizeInBytes = maxPageStorageSizeInBytes;
+            this.partitionBuffers = new SliceOutput[outputPartitionCount];
+        }
+
+        public void write(int partitionId, Slice data)
+        {
+            int requiredPageStorageSize = Integer.BYTES + data.length();
+            if (requiredPageStorageSize > maxPageStorageSizeInBytes) {
+                throw new TrinoException(NOT_SUPPORTED, format("Max row size of %s exceeded: %s", succinctBytes(maxPageStorageSizeInBytes), succinctBytes(requiredPageStorageSize)));
+            }
+
+            if (requiredPageStorageSize > exchangeStorage.getWriteBufferSize()) {
+                // the page does not fit in a buffer, so it becomes a chunk of its own
+                Slice chunk = Slices.allocate(requiredPageStorageSize);
+                chunk.setInt(0, data.length());
+                chunk.setBytes(Integer.BYTES, data);
+                synchronized (this) {
+                    if (!closed) {
+                        writeLargeChunk(partitionId, chunk);
+                    }
+                }
+                return;
+            }
+
+            SliceOutput freeBuffer = null;
+            while (true) {
+                synchronized (this) {
+                    if (closed) {
+                        break;
+                    }
+                    SliceOutput buffer = partitionBuffers[partitionId];
+                    if (buffer != null && buffer.writableBytes() < requiredPageStorageSize) {
+                        flushPartition(partitionId);
+                        buffer = null;
+                    }
+                    if (buffer == null && freeBuffer != null) {
+                        buffer = freeBuffer;
+                        freeBuffer = null;
+                        partitionBuffers[partitionId] = buffer;
+                    }
+                    if (buffer != null) {
+                        buffer.writeInt(data.length());
+                        buffer.writeBytes(data);
+                        break;
+                    }
+                }
+                // the pool may wait for a buffer to be written, which must not block the other partitions
+                freeBuffer = bufferPool.take();
+                if (freeBuffer == null) {
+                    // buffer pool is closed
+                    return;
+                }
+            }
+            if (freeBuffer != null) {
+                bufferPool.offer(freeBuffer);
+            }
+        }
+
+        public synchronized ListenableFuture<Void> finish()
+        {
+            if (closed) {
+                return immediateFailedFuture(new IllegalStateException("CombinedStorageWriter has already closed"));
+            }
+
+            writeRemainingData();
+            if (dataWriter == null) {
+                // no data was written
+                return immediateVoidFuture();
+            }
+            stats.getFileSizeInBytes().add(dataFileSize);
+
+            // the index is written after the data file is complete, so that the presence of the index implies the presence of the data
+            return Futures.transformAsync(dataWriter.finish(), _ -> writeIndex(), directExecutor());
+        }
+
+        public synchronized ListenableFuture<Void> abort()
+        {
+            if (closed) {
+                return immediateVoidFuture();
+            }
+            closed = true;
+
+            ImmutableList.Builder<ListenableFuture<Void>> futures = ImmutableList.builder();
+            if (dataWriter != null) {
+                futures.add(dataWriter.abort());
+            }
+            if (indexWriter != null) {
+                futures.add(indexWriter.abort());
+            }
+            return asVoid(Futures.allAsList(futures.build()));
+        }
+
+        public synchronized long getRetainedSize()
+        {
+            return INSTANCE_SIZE
+                    + sizeOfObjectArray(partitionBuffers.length)
+                    + index.getRetainedSize()
+                    + (dataWriter == null ? 0 : dataWriter.getRetainedSize())
+                    + (indexWriter == null ? 0 : indexWriter.getRetainedSize());
+        }
+
+        private synchronized ListenableFuture<Void> writeIndex()
+        {
+            if (closed) {
+                return immediateVoidFuture();
+            }
+            indexWriter = exchangeStorage.createExchangeStorageWriter(outputDirectory.resolve(COMBINED_INDEX_FILE_NAME));
+            return Futures.transformAsync(indexWriter.write(index.slice()), _ -> indexWriter.finish(), directExecutor());
+        }
+
+        @GuardedBy("this")
+        private void flushPartition(int partitionId)
+        {
+            SliceOutput buffer = partitionBuffers[partitionId];
+            partitionBuffers[partitionId] = null;
+            addIndexEntry(partitionId, dataFileSize, buffer.size());
+            dataFileSize += buffer.size();
+            if (!exchangeStorage.isMinimumWriteSizeRequired()) {
+                writeData(buffer.slice(), Optional.of(buffer));
+                return;
+            }
+            pack(buffer);
+        }
+
+        /**
+         * Writes the data of the partitions which did not fill their buffers one after another.
+         */
+        @GuardedBy("this")
+        private void writeRemainingData()
+        {
+            for (int partitionId = 0; partitionId < partitionBuffers.length; partitionId++) {
+                if (partitionBuffers[partitionId] != null) {
+                    flushPartition(partitionId);
+                }
+            }
+            if (packBuffer != null && packBuffer.size() > 0) {
+                writeData(packBuffer.slice(), Optional.of(packBuffer));
+            }
+            else if (packBuffer != null) {
+                bufferPool.offer(packBuffer);
+            }
+            packBuffer = null;
+        }
+
+        /**
+         * Appends the data of the buffer to the pack buffer, and writes the pack buffer once it is full. The data is
+         * moved into buffers which were already copied, so a buffer is only copied again when another one is full.
+         */
+        @GuardedBy("this")
+        private void pack(SliceOutput buffer)
+        {
+            if (packBuffer == null) {
+                packBuffer = buffer;
+                return;
+            }
+
+            Slice data = buffer.slice();
+            int position = min(packBuffer.writableBytes(), data.length());
+            packBuffer.writeBytes(data, 0, position);
+            if (packBuffer.isWritable()) {
+                bufferPool.offer(buffer);
+                return;
+            }
+            writeData(packBuffer.slice(), Optional.of(packBuffer));
+            // the buffer is the next pack buffer, so its remaining data is moved to its beginning
+            Slice remaining = data.slice(position, data.length() - position);
+            buffer.reset();
+            buffer.writeBytes(remaining);
+            packBuffer = buffer;
+        }
+
+        /**
+         * Writes a chunk holding a page that does not fit in a buffer. The chunk is longer than a buffer, so it can
+         * be written on its own, after the packed data which precedes it in the data file.
+         */
+        @GuardedBy("this")
+        private void writeLargeChunk(int partitionId, Slice chunk)
+        {
+            addIndexEntry(partitionId, dataFileSize, chunk.length());
+            dataFileSize += chunk.length();
+            if (packBuffer != null) {
+                Slice data = Slices.allocate(packBuffer.size() + chunk.length());
+                data.setBytes(0, packBuffer.slice());
+                data.setBytes(packBuffer.size(), chunk);
+                bufferPool.offer(packBuffer);
+                packBuffer = null;
+                chunk = data;
+            }
+            writeData(chunk, Optional.empty());
+        }
+
+        @GuardedBy("this")
+        private void addIndexEntry(int partitionId, long offset, int length)
+        {
+            // every entry is framed like a page, so the index can be read with an exchange storage reader
+            index.writeInt(COMBINED_INDEX_ENTRY_SIZE);
+            index.writeInt(partitionId);
+            index.writeLong(offset);
+            index.writeInt(length);
+        }
+
+        @GuardedBy("this")
+        private void writeData(Slice slice, Optional<SliceOutput> buffer)
+        {
+            if (dataWriter == null) {
+                dataWriter = exchangeStorage.createExchangeStorageWriter(outputDirectory.resolve(COMBINED_DATA_FILE_NAME));
+            }
+            ListenableFuture<Void> writeFuture = dataWriter.write(slice);
+            buffer.ifPresent(output -> writeFuture.addListener(() -> bufferPool.offer(output), directExecutor()));
+            addExceptionCallback(writeFuture, throwable -> failure.compareAndSet(null, throwable));
+        }
+    }
+
     @ThreadSafe
     private static class BufferPool
     {
@@ -360,6 +360,7 @@ public class FileSystemExchangeSource
                 .flatMap(handle -> handle.getFiles().stream().map(sourceFile ->
                         new ExchangeSourceFile(
                                 URI.create(sourceFile.getFilePath()),
+                                sourceFile.getFileOffset(),
                                 sourceFile.getFileSize(),
                                 handle.getExchangeId(),
                                 sourceFile.getSourceTaskPartitionId(),
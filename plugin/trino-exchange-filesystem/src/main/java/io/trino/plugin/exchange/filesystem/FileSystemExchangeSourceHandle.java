@@ -96,18 +96,30 @@ public class FileSystemExchangeSourceHandle
         private static final int INSTANCE_SIZE = instanceSize(SourceFile.class);
 
         private final String filePath;
+        private final long fileOffset;
         private final long fileSize;
         private final int sourceTaskPartitionId;
         private final int sourceTaskAttemptId;
 
+        public SourceFile(String filePath, long fileSize, int sourceTaskPartitionId, int sourceTaskAttemptId)
+        {
+            this(filePath, 0, fileSize, sourceTaskPartitionId, sourceTaskAttemptId);
+        }
+
+        /**
+         * @param fileOffset offset of the data in the file, which is not zero for files combining the data of several partitions
+         * @param fileSize size of the data starting at the offset
+         */
         @JsonCreator
         public SourceFile(
                 @JsonProperty("filePath") String filePath,
+                @JsonProperty("fileOffset") long fileOffset,
                 @JsonProperty("fileSize") long fileSize,
                 @JsonProperty("sourceTaskPartitionId") int sourceTaskPartitionId,
                 @JsonProperty("sourceTaskAttemptId") int sourceTaskAttemptId)
         {
             this.filePath = requireNonNull(filePath, "filePath is null");
+            this.fileOffset = fileOffset;
             this.fileSize = fileSize;
             this.sourceTaskPartitionId = sourceTaskPartitionId;
             this.sourceTaskAttemptId = sourceTaskAttemptId;
@@ -119,6 +131,12 @@ public class FileSystemExchangeSourceHandle
             return filePath;
         }
 
+        @JsonProperty
+        public long getFileOffset()
+        {
+            return fileOffset;
+        }
+
         @JsonProperty
         public long getFileSize()
         {
@@ -147,13 +165,13 @@ public class FileSystemExchangeSourceHandle
                 return false;
             }
             SourceFile that = (SourceFile) o;
-            return fileSize == that.fileSize && sourceTaskPartitionId == that.sourceTaskPartitionId && sourceTaskAttemptId == that.sourceTaskAttemptId && Objects.equals(filePath, that.filePath);
+            return fileOffset == that.fileOffset && fileSize == that.fileSize && sourceTaskPartitionId == that.sourceTaskPartitionId && sourceTaskAttemptId == that.sourceTaskAttemptId && Objects.equals(filePath, that.filePath);
         }
 
         @Override
         public int hashCode()
         {
-            return Objects.hash(filePath, fileSize, sourceTaskPartitionId, sourceTaskAttemptId);
+            return Objects.hash(filePath, fileOffset, fileSize, sourceTaskPartitionId, sourceTaskAttemptId);
         }
 
         @Override
@@ -161,6 +179,7 @@ public class FileSystemExchangeSourceHandle
         {
             return toStringHelper(this)
                     .add("filePath", filePath)
+                    .add("fileOffset", fileOffset)
                     .add("fileSize", fileSize)
                     .add("sourceTaskPartitionId", sourceTaskPartitionId)
                     .add("sourceTaskAttemptId", sourceTaskAttemptId)
@@ -37,6 +37,12 @@ public interface FileSystemExchangeStorage
 
     int getWriteBufferSize();
 
+    /**
+     * Returns whether every write to a file but the last one must be at least {@link #getWriteBufferSize()} long,
+     * for example because each write is uploaded as a part of a multipart upload.
+     */
+    boolean isMinimumWriteSizeRequired();
+
     @Override
     void close()
             throws IOException;
@@ -216,6 +216,13 @@ public class AzureBlobFileSystemExchangeStorage
         return blockSize;
     }
 
+    @Override
+    public boolean isMinimumWriteSizeRequired()
+    {
+        // writes smaller than a block are uploaded directly, so only the last write of a file may be smaller
+        return true;
+    }
+
     @PreDestroy
     @Override
     public void close()
@@ -386,13 +393,13 @@ public class AzureBlobFileSystemExchangeStorage
         @GuardedBy("this")
         private void fillBuffer()
         {
-            if (currentFile == null || fileOffset == currentFile.getFileSize()) {
+            if (currentFile == null || fileOffset == currentFile.getFileOffset() + currentFile.getFileSize()) {
                 currentFile = sourceFiles.poll();
                 if (currentFile == null) {
                     close();
                     return;
                 }
-                fileOffset = 0;
+                fileOffset = currentFile.getFileOffset();
             }
 
             byte[] buffer = new byte[bufferSize];
@@ -405,11 +412,11 @@ public class AzureBlobFileSystemExchangeStorage
 
             ImmutableList.Builder<ListenableFuture<Void>> downloadFutures = ImmutableList.builder();
             while (true) {
-                long fileSize = currentFile.getFileSize();
+                long fileEnd = currentFile.getFileOffset() + currentFile.getFileSize();
                 // Make sure Azure Blob Storage read request byte ranges align with block sizes for best performance
                 int readableBlocks = (buffer.length - bufferFill) / blockSize;
                 if (readableBlocks == 0) {
-                    if (buffer.length - bufferFill >= fileSize - fileOffset) {
+                    if (buffer.length - bufferFill >= fileEnd - fileOffset) {
                         readableBlocks = 1;
                     }
                     else {
@@ -421,8 +428,8 @@ public class AzureBlobFileSystemExchangeStorage
                         .getBlobContainerAsyncClient(getContainerName(currentFile.getFileUri()))
                         .getBlobAsyncClient(getPath(currentFile.getFileUri()))
                         .getBlockBlobAsyncClient();
-                for (int i = 0; i < readableBlocks && fileOffset < fileSize; ++i) {
-                    int length = (int) min(blockSize, fileSize - fileOffset);
+                for (int i = 0; i < readableBlocks && fileOffset < fileEnd; ++i) {
+                    int length = (int) min(blockSize, fileEnd - fileOffset);
 
                     int finalBufferFill = bufferFill;
                     FluentFuture<Void> downloadFuture = FluentFuture.from(toListenableFuture(blockBlobAsyncClient.downloadStreamWithResponse(new BlobRange(fileOffset, (long) length), null, null, false).toFuture()))
@@ -446,13 +453,13 @@ public class AzureBlobFileSystemExchangeStorage
                     fileOffset += length;
                 }
 
-                if (fileOffset == fileSize) {
+                if (fileOffset == fileEnd) {
                     sourceFilesProcessedMetric.increment();
                     currentFile = sourceFiles.poll();
                     if (currentFile == null) {
                         break;
                     }
-                    fileOffset = 0;
+                    fileOffset = currentFile.getFileOffset();
                 }
             }
 
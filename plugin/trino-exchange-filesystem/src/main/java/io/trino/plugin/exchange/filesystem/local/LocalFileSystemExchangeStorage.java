@@ -14,6 +14,7 @@
 package io.trino.plugin.exchange.filesystem.local;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.MoreFiles;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.errorprone.annotations.ThreadSafe;
@@ -34,6 +35,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
@@ -130,6 +132,12 @@ public class LocalFileSystemExchangeStorage
         return BUFFER_SIZE_IN_BYTES;
     }
 
+    @Override
+    public boolean isMinimumWriteSizeRequired()
+    {
+        return false;
+    }
+
     @Override
     public void close()
     {
@@ -217,9 +225,13 @@ public class LocalFileSystemExchangeStorage
         }
 
         private InputStreamSliceInput getSliceInput(ExchangeSourceFile sourceFile)
-                throws FileNotFoundException
+                throws IOException
         {
-            return new InputStreamSliceInput(new FileInputStream(Paths.get(sourceFile.getFileUri()).toFile()), BUFFER_SIZE_IN_BYTES);
+            InputStream inputStream = new FileInputStream(Paths.get(sourceFile.getFileUri()).toFile());
+            if (sourceFile.getFileOffset() > 0) {
+                inputStream.skipNBytes(sourceFile.getFileOffset());
+            }
+            return new InputStreamSliceInput(ByteStreams.limit(inputStream, sourceFile.getFileSize()), BUFFER_SIZE_IN_BYTES);
         }
     }
 
@@ -343,6 +343,13 @@ public class S3FileSystemExchangeStorage
         return multiUploadPartSize;
     }
 
+    @Override
+    public boolean isMinimumWriteSizeRequired()
+    {
+        // writes smaller than a part are uploaded directly, so only the last write of a file may be smaller
+        return true;
+    }
+
     @PreDestroy
     @Override
     public void close()
@@ -627,13 +634,13 @@ public class S3FileSystemExchangeStorage
         @GuardedBy("this")
         private void fillBuffer()
         {
-            if (currentFile == null || fileOffset == currentFile.getFileSize()) {
+            if (currentFile == null || fileOffset == currentFile.getFileOffset() + currentFile.getFileSize()) {
                 currentFile = sourceFiles.poll();
                 if (currentFile == null) {
                     close();
                     return;
                 }
-                fileOffset = 0;
+                fileOffset = currentFile.getFileOffset();
             }
 
             byte[] buffer = new byte[bufferSize];
@@ -646,11 +653,11 @@ public class S3FileSystemExchangeStorage
 
             ImmutableList.Builder<ListenableFuture<GetObjectResponse>> getObjectFutures = ImmutableList.builder();
             while (true) {
-                long fileSize = currentFile.getFileSize();
+                long fileEnd = currentFile.getFileOffset() + currentFile.getFileSize();
                 // Make sure S3 read request byte ranges align with part sizes for best performance
                 int readableParts = (buffer.length - bufferFill) / partSize;
                 if (readableParts == 0) {
-                    if (buffer.length - bufferFill >= fileSize - fileOffset) {
+                    if (buffer.length - bufferFill >= fileEnd - fileOffset) {
                         readableParts = 1;
                     }
                     else {
@@ -660,8 +667,8 @@ public class S3FileSystemExchangeStorage
 
                 String key = keyFromUri(currentFile.getFileUri());
                 String bucketName = getBucketName(currentFile.getFileUri());
-                for (int i = 0; i < readableParts && fileOffset < fileSize; ++i) {
-                    int length = (int) min(partSize, fileSize - fileOffset);
+                for (int i = 0; i < readableParts && fileOffset < fileEnd; ++i) {
+                    int length = (int) min(partSize, fileEnd - fileOffset);
 
                     GetObjectRequest.Builder getObjectRequestBuilder = GetObjectRequest.builder()
                             .key(key)
@@ -678,13 +685,13 @@ public class S3FileSystemExchangeStorage
                     fileOffset += length;
                 }
 
-                if (fileOffset == fileSize) {
+                if (fileOffset == fileEnd) {
                     sourceFilesProcessedMetric.increment();
                     currentFile = sourceFiles.poll();
                     if (currentFile == null) {
                         break;
                     }
-                    fileOffset = 0;
+                    fileOffset = currentFile.getFileOffset();
                 }
             }
 
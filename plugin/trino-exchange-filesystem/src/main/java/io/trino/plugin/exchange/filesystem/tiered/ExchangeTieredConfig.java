@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.exchange.filesystem.tiered;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.airlift.units.MinDuration;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Optional;
+
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static java.util.concurrent.TimeUnit.HOURS;
+
+public class ExchangeTieredConfig
+{
+    private Optional<String> localDirectory = Optional.empty();
+    private DataSize localMaxSize = DataSize.of(10, GIGABYTE);
+    private Duration localFileMaxAge = new Duration(1, HOURS);
+    private int maxConcurrentUploads = 16;
+
+    public Optional<String> getLocalDirectory()
+    {
+        return localDirectory;
+    }
+
+    @Config("exchange.tiered.local-directory")
+    @ConfigDescription("Local directory where exchange data is written before it is uploaded to the base directories. Tiered storage is used when set")
+    public ExchangeTieredConfig setLocalDirectory(String localDirectory)
+    {
+        this.localDirectory = Optional.ofNullable(localDirectory);
+        return this;
+    }
+
+    @NotNull
+    public DataSize getLocalMaxSize()
+    {
+        return localMaxSize;
+    }
+
+    @Config("exchange.tiered.local-max-size")
+    @ConfigDescription("Maximum size of the exchange data in the local directory. The oldest local copies are deleted to make room for new data, which is written to the base directories only when no copy can be deleted")
+    public ExchangeTieredConfig setLocalMaxSize(DataSize localMaxSize)
+    {
+        this.localMaxSize = localMaxSize;
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("1m")
+    public Duration getLocalFileMaxAge()
+    {
+        return localFileMaxAge;
+    }
+
+    @Config("exchange.tiered.local-file-max-age")
+    @ConfigDescription("Time after which local copies of exchange data are deleted, unless deleted earlier with the exchange")
+    public ExchangeTieredConfig setLocalFileMaxAge(Duration localFileMaxAge)
+    {
+        this.localFileMaxAge = localFileMaxAge;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxConcurrentUploads()
+    {
+        return maxConcurrentUploads;
+    }
+
+    @Config("exchange.tiered.max-concurrent-uploads")
+    @ConfigDescription("Maximum number of parts of local exchange files uploaded concurrently by a node")
+    public ExchangeTieredConfig setMaxConcurrentUploads(int maxConcurrentUploads)
+    {
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        return this;
+    }
+}
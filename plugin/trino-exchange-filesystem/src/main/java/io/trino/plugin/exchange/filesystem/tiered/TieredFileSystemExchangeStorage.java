@@ -0,0 +1,614 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.exchange.filesystem.tiered;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multiset;
+import com.google.common.io.Closer;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.google.inject.Inject;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import io.trino.plugin.exchange.filesystem.ExchangeSourceFile;
+import io.trino.plugin.exchange.filesystem.ExchangeStorageReader;
+import io.trino.plugin.exchange.filesystem.ExchangeStorageWriter;
+import io.trino.plugin.exchange.filesystem.FileStatus;
+import io.trino.plugin.exchange.filesystem.FileSystemExchangeStorage;
+import io.trino.plugin.exchange.filesystem.MetricsBuilder;
+import io.trino.plugin.exchange.filesystem.local.LocalFileSystemExchangeStorage;
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.Futures.immediateFailedFuture;
+import static com.google.common.util.concurrent.Futures.immediateVoidFuture;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.concurrent.MoreFutures.addSuccessCallback;
+import static io.airlift.concurrent.MoreFutures.asVoid;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.Slices.EMPTY_SLICE;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Writes every buffer of the sink both to a local directory and, as one part, to the remote storage. A file is
+ * reported as finished only after all of its parts are uploaded, so committed exchange data is always durable in
+ * the remote storage. The local copies of finished files are kept until the exchange is deleted, until they are
+ * older than the configured maximum age, or until the space is needed for newer files, and readers on the same
+ * node read them instead of the remote copies. When the local directory cannot make room for a buffer, the rest
+ * of the file is written to the remote storage only.
+ */
+public class TieredFileSystemExchangeStorage
+        implements FileSystemExchangeStorage
+{
+    private static final Logger log = Logger.get(TieredFileSystemExchangeStorage.class);
+
+    private final FileSystemExchangeStorage remoteStorage;
+    private final FileSystemExchangeStorage localStorage = new LocalFileSystemExchangeStorage();
+    private final Path localDirectory;
+    private final long localMaxSizeInBytes;
+    private final long localFileMaxAgeMillis;
+    private final int maxConcurrentUploads;
+    private final AtomicLong localSizeInBytes = new AtomicLong();
+    // files being written or uploaded, which are not deleted by the cleanup
+    private final Set<Path> activeLocalFiles = ConcurrentHashMap.newKeySet();
+    // complete local copies of finished files, from the oldest to the newest
+    @GuardedBy("committedLocalFiles")
+    private final Map<Path, CommittedLocalFile> committedLocalFiles = new LinkedHashMap<>();
+    // committed files opened by readers, which are only deleted with their exchange
+    @GuardedBy("committedLocalFiles")
+    private final Multiset<Path> readLocalFiles = HashMultiset.create();
+    private final ExecutorService uploadExecutor;
+    private final ScheduledExecutorService cleanupExecutor;
+
+    @GuardedBy("this")
+    private final Queue<Runnable> pendingUploads = new ArrayDeque<>();
+    @GuardedBy("this")
+    private int runningUploads;
+
+    @Inject
+    public TieredFileSystemExchangeStorage(@ForRemoteExchangeStorage FileSystemExchangeStorage remoteStorage, ExchangeTieredConfig config)
+    {
+        this.remoteStorage = requireNonNull(remoteStorage, "remoteStorage is null");
+        Optional<String> localDirectory = config.getLocalDirectory();
+        checkArgument(localDirectory.isPresent(), "local directory is not set");
+        this.localDirectory = Paths.get(localDirectory.get()).toAbsolutePath();
+        this.localMaxSizeInBytes = config.getLocalMaxSize().toBytes();
+        this.localFileMaxAgeMillis = config.getLocalFileMaxAge().toMillis();
+        this.maxConcurrentUploads = config.getMaxConcurrentUploads();
+        this.uploadExecutor = newCachedThreadPool(daemonThreadsNamed("exchange-tiered-upload-%s"));
+        this.cleanupExecutor = newSingleThreadScheduledExecutor(daemonThreadsNamed("exchange-tiered-cleanup"));
+        cleanupExecutor.scheduleWithFixedDelay(this::deleteExpiredLocalFiles, 1, 1, MINUTES);
+    }
+
+    @Override
+    public void createDirectories(URI dir)
+            throws IOException
+    {
+        remoteStorage.createDirectories(dir);
+    }
+
+    @Override
+    public ExchangeStorageReader createExchangeStorageReader(List<ExchangeSourceFile> sourceFiles, int maxPageStorageSize, MetricsBuilder metricsBuilder)
+    {
+        List<Path> paths = sourceFiles.stream()
+                .map(sourceFile -> toLocal(sourceFile.getFileUri()))
+                .collect(toImmutableList());
+        synchronized (committedLocalFiles) {
+            for (int i = 0; i < sourceFiles.size(); i++) {
+                ExchangeSourceFile sourceFile = sourceFiles.get(i);
+                CommittedLocalFile localFile = committedLocalFiles.get(paths.get(i));
+                if (localFile == null || localFile.size() < sourceFile.getFileOffset() + sourceFile.getFileSize()) {
+                    return remoteStorage.createExchangeStorageReader(sourceFiles, maxPageStorageSize, metricsBuilder);
+                }
+            }
+            // the files are not deleted by the cleanup or to make room for new files until the reader is closed
+            readLocalFiles.addAll(paths);
+        }
+
+        ImmutableList.Builder<ExchangeSourceFile> localFiles = ImmutableList.builder();
+        for (int i = 0; i < sourceFiles.size(); i++) {
+            ExchangeSourceFile sourceFile = sourceFiles.get(i);
+            localFiles.add(new ExchangeSourceFile(
+                    paths.get(i).toUri(),
+                    sourceFile.getFileOffset(),
+                    sourceFile.getFileSize(),
+                    sourceFile.getExchangeId(),
+                    sourceFile.getSourceTaskPartitionId(),
+                    sourceFile.getSourceTaskAttemptId()));
+        }
+        try {
+            return new LocalExchangeStorageReader(localStorage.createExchangeStorageReader(localFiles.build(), maxPageStorageSize, metricsBuilder), paths);
+        }
+        catch (RuntimeException e) {
+            releaseLocalFiles(paths);
+            throw e;
+        }
+    }
+
+    @Override
+    public ExchangeStorageWriter createExchangeStorageWriter(URI file)
+    {
+        Path localFile = toLocal(file);
+        // the cleanup does not delete the directory of an active file
+        activeLocalFiles.add(localFile);
+        try {
+            synchronized (activeLocalFiles) {
+                Files.createDirectories(localFile.getParent());
+                return new TieredExchangeStorageWriter(file, localFile);
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            activeLocalFiles.remove(localFile);
+            throwIfUnchecked(e);
+            throw new UncheckedIOException((IOException) e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Void> createEmptyFile(URI file)
+    {
+        // only used for markers, which are looked up in the remote storage
+        return remoteStorage.createEmptyFile(file);
+    }
+
+    @Override
+    public ListenableFuture<Void> deleteRecursively(List<URI> directories)
+    {
+        List<Path> localPaths = directories.stream()
+                .map(this::toLocal)
+                .collect(toImmutableList());
+        synchronized (committedLocalFiles) {
+            Iterator<Map.Entry<Path, CommittedLocalFile>> iterator = committedLocalFiles.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Path, CommittedLocalFile> entry = iterator.next();
+                if (localPaths.stream().anyMatch(entry.getKey()::startsWith)) {
+                    iterator.remove();
+                    localSizeInBytes.addAndGet(-entry.getValue().size());
+                }
+            }
+        }
+        List<URI> localDirectories = localPaths.stream()
+                .filter(Files::exists)
+                .map(Path::toUri)
+                .collect(toImmutableList());
+        return asVoid(Futures.allAsList(
+                remoteStorage.deleteRecursively(directories),
+                localStorage.deleteRecursively(localDirectories)));
+    }
+
+    @Override
+    public ListenableFuture<List<FileStatus>> listFilesRecursively(URI dir)
+    {
+        return remoteStorage.listFilesRecursively(dir);
+    }
+
+    @Override
+    public int getWriteBufferSize()
+    {
+        return remoteStorage.getWriteBufferSize();
+    }
+
+    @Override
+    public boolean isMinimumWriteSizeRequired()
+    {
+        return remoteStorage.isMinimumWriteSizeRequired();
+    }
+
+    @PreDestroy
+    @Override
+    public void close()
+            throws IOException
+    {
+        // the remote storage is closed on its own by the lifecycle manager
+        try (Closer closer = Closer.create()) {
+            closer.register(localStorage::close);
+            closer.register(uploadExecutor::shutdownNow);
+            closer.register(cleanupExecutor::shutdownNow);
+        }
+    }
+
+    private Path toLocal(URI uri)
+    {
+        Path path = localDirectory;
+        if (uri.getAuthority() != null) {
+            path = path.resolve(uri.getAuthority());
+        }
+        String relativePath = uri.getPath().replaceFirst("^/+", "");
+        return relativePath.isEmpty() ? path : path.resolve(relativePath);
+    }
+
+    private void releaseLocalFiles(List<Path> paths)
+    {
+        synchronized (committedLocalFiles) {
+            paths.forEach(readLocalFiles::remove);
+        }
+    }
+
+    private void commitLocalFile(Path localFile, long size)
+    {
+        synchronized (committedLocalFiles) {
+            committedLocalFiles.put(localFile, new CommittedLocalFile(size, System.currentTimeMillis()));
+        }
+        activeLocalFiles.remove(localFile);
+    }
+
+    private boolean reserveLocalSpace(long bytes)
+    {
+        while (localSizeInBytes.addAndGet(bytes) > localMaxSizeInBytes) {
+            localSizeInBytes.addAndGet(-bytes);
+            if (!evictOldestLocalFile()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the oldest committed local file that is not being read, to make room for new files.
+     */
+    private boolean evictOldestLocalFile()
+    {
+        synchronized (committedLocalFiles) {
+            Iterator<Map.Entry<Path, CommittedLocalFile>> iterator = committedLocalFiles.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Path, CommittedLocalFile> entry = iterator.next();
+                if (!readLocalFiles.contains(entry.getKey())) {
+                    iterator.remove();
+                    deleteCommittedLocalFile(entry.getKey(), entry.getValue());
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @GuardedBy("committedLocalFiles")
+    private void deleteCommittedLocalFile(Path localFile, CommittedLocalFile committedFile)
+    {
+        try {
+            Files.deleteIfExists(localFile);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to delete local exchange file %s", localFile);
+        }
+        localSizeInBytes.addAndGet(-committedFile.size());
+    }
+
+    /**
+     * Starts the upload when fewer than the maximum number of uploads are running, or queues it otherwise.
+     */
+    private ListenableFuture<Void> submitUpload(Supplier<ListenableFuture<Void>> upload)
+    {
+        SettableFuture<Void> result = SettableFuture.create();
+        Runnable task = () -> {
+            ListenableFuture<Void> uploadFuture;
+            try {
+                uploadFuture = upload.get();
+            }
+            catch (RuntimeException e) {
+                uploadFuture = immediateFailedFuture(e);
+            }
+            uploadFuture.addListener(this::uploadFinished, directExecutor());
+            result.setFuture(uploadFuture);
+        };
+        synchronized (this) {
+            if (runningUploads >= maxConcurrentUploads) {
+                pendingUploads.add(task);
+                return result;
+            }
+            runningUploads++;
+        }
+        uploadExecutor.execute(task);
+        return result;
+    }
+
+    private void uploadFinished()
+    {
+        Runnable next;
+        synchronized (this) {
+            next = pendingUploads.poll();
+            if (next == null) {
+                runningUploads--;
+                return;
+            }
+        }
+        uploadExecutor.execute(next);
+    }
+
+    private void deleteExpiredLocalFiles()
+    {
+        if (!Files.isDirectory(localDirectory)) {
+            return;
+        }
+        long expirationTime = System.currentTimeMillis() - localFileMaxAgeMillis;
+        synchronized (committedLocalFiles) {
+            Iterator<Map.Entry<Path, CommittedLocalFile>> iterator = committedLocalFiles.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Path, CommittedLocalFile> entry = iterator.next();
+                if (entry.getValue().commitTimeMillis() >= expirationTime) {
+                    // the files are ordered by commit time
+                    break;
+                }
+                if (!readLocalFiles.contains(entry.getKey())) {
+                    iterator.remove();
+                    deleteCommittedLocalFile(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        // files left over, for example, by a restart of the node
+        try (Stream<Path> files = Files.walk(localDirectory)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(toImmutableList())) {
+                if (activeLocalFiles.contains(file) || Files.getLastModifiedTime(file).toMillis() >= expirationTime) {
+                    continue;
+                }
+                synchronized (committedLocalFiles) {
+                    if (!committedLocalFiles.containsKey(file)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            log.warn(e, "Failed to delete expired exchange files in %s", localDirectory);
+        }
+        deleteEmptyDirectories();
+    }
+
+    private void deleteEmptyDirectories()
+    {
+        List<Path> directories;
+        try (Stream<Path> paths = Files.walk(localDirectory)) {
+            // children are listed after their parents, so they are deleted first
+            directories = paths.filter(Files::isDirectory)
+                    .filter(directory -> !directory.equals(localDirectory))
+                    .collect(toImmutableList())
+                    .reverse();
+        }
+        catch (IOException | RuntimeException e) {
+            log.warn(e, "Failed to list exchange directories in %s", localDirectory);
+            return;
+        }
+        for (Path directory : directories) {
+            synchronized (activeLocalFiles) {
+                if (activeLocalFiles.stream().anyMatch(file -> file.startsWith(directory))) {
+                    continue;
+                }
+                synchronized (committedLocalFiles) {
+                    if (committedLocalFiles.keySet().stream().anyMatch(file -> file.startsWith(directory))) {
+                        continue;
+                    }
+                }
+                try (Stream<Path> children = Files.list(directory)) {
+                    if (children.findAny().isPresent()) {
+                        continue;
+                    }
+                    Files.deleteIfExists(directory);
+                }
+                catch (IOException | RuntimeException e) {
+                    log.debug(e, "Failed to delete exchange directory %s", directory);
+                }
+            }
+        }
+    }
+
+    @ThreadSafe
+    private class TieredExchangeStorageWriter
+            implements ExchangeStorageWriter
+    {
+        private static final int INSTANCE_SIZE = instanceSize(TieredExchangeStorageWriter.class);
+
+        private final Path localFile;
+        private final ExchangeStorageWriter localWriter;
+        private final ExchangeStorageWriter remoteWriter;
+
+        @GuardedBy("this")
+        private long localFileSize;
+        @GuardedBy("this")
+        private boolean written;
+        @GuardedBy("this")
+        private boolean remoteOnly;
+        // the parts of a file are uploaded one at a time and in order
+        @GuardedBy("this")
+        private ListenableFuture<Void> lastPartUpload = immediateVoidFuture();
+        private volatile boolean aborted;
+
+        public TieredExchangeStorageWriter(URI file, Path localFile)
+        {
+            this.localFile = requireNonNull(localFile, "localFile is null");
+            this.localWriter = localStorage.createExchangeStorageWriter(localFile.toUri());
+            this.remoteWriter = remoteStorage.createExchangeStorageWriter(file);
+        }
+
+        @Override
+        public synchronized ListenableFuture<Void> write(Slice slice)
+        {
+            if (aborted) {
+                return immediateVoidFuture();
+            }
+            written = true;
+            // the part is uploaded from the buffer, so the buffer is released only once it is uploaded
+            ListenableFuture<Void> upload = uploadPart(() -> remoteWriter.write(slice));
+            if (remoteOnly || !reserveLocalSpace(slice.length())) {
+                // the rest of the file is not written locally, as the local copy would be incomplete
+                remoteOnly = true;
+                return upload;
+            }
+            localFileSize += slice.length();
+            return asVoid(Futures.allAsList(localWriter.write(slice), upload));
+        }
+
+        @Override
+        public synchronized ListenableFuture<Void> finish()
+        {
+            if (aborted) {
+                return immediateFailedFuture(new IllegalStateException("Writer has been aborted"));
+            }
+            ListenableFuture<Void> localFinish = localWriter.finish();
+            if (!written) {
+                // the remote file is created even when no data was written
+                uploadPart(() -> remoteWriter.write(EMPTY_SLICE));
+            }
+            ListenableFuture<Void> finishFuture = Futures.transformAsync(
+                    Futures.allAsList(localFinish, lastPartUpload),
+                    _ -> remoteWriter.finish(),
+                    directExecutor());
+            addSuccessCallback(finishFuture, () -> {
+                synchronized (this) {
+                    if (remoteOnly || aborted) {
+                        deleteLocalFile();
+                    }
+                    else {
+                        // the local copy is complete, so it is kept for readers on this node
+                        commitLocalFile(localFile, localFileSize);
+                    }
+                }
+            });
+            return finishFuture;
+        }
+
+        @Override
+        public synchronized ListenableFuture<Void> abort()
+        {
+            aborted = true;
+            ListenableFuture<Void> abortFuture = asVoid(Futures.allAsList(localWriter.abort(), remoteWriter.abort()));
+            deleteLocalFile();
+            return abortFuture;
+        }
+
+        @Override
+        public long getRetainedSize()
+        {
+            return INSTANCE_SIZE + localWriter.getRetainedSize() + remoteWriter.getRetainedSize();
+        }
+
+        @GuardedBy("this")
+        private ListenableFuture<Void> uploadPart(Supplier<ListenableFuture<Void>> upload)
+        {
+            ListenableFuture<Void> partUpload = Futures.transformAsync(
+                    lastPartUpload,
+                    _ -> submitUpload(() -> {
+                        if (aborted) {
+                            return immediateFailedFuture(new IllegalStateException("Writer has been aborted"));
+                        }
+                        return upload.get();
+                    }),
+                    directExecutor());
+            lastPartUpload = partUpload;
+            return partUpload;
+        }
+
+        private synchronized void deleteLocalFile()
+        {
+            if (!activeLocalFiles.remove(localFile)) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(localFile);
+            }
+            catch (IOException e) {
+                log.warn(e, "Failed to delete local exchange file %s", localFile);
+            }
+            localSizeInBytes.addAndGet(-localFileSize);
+        }
+    }
+
+    @ThreadSafe
+    private class LocalExchangeStorageReader
+            implements ExchangeStorageReader
+    {
+        private static final int INSTANCE_SIZE = instanceSize(LocalExchangeStorageReader.class);
+
+        private final ExchangeStorageReader delegate;
+        private final List<Path> localFiles;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        public LocalExchangeStorageReader(ExchangeStorageReader delegate, List<Path> localFiles)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+            this.localFiles = ImmutableList.copyOf(requireNonNull(localFiles, "localFiles is null"));
+        }
+
+        @Override
+        public Slice read()
+                throws IOException
+        {
+            return delegate.read();
+        }
+
+        @Override
+        public ListenableFuture<Void> isBlocked()
+        {
+            return delegate.isBlocked();
+        }
+
+        @Override
+        public long getRetainedSize()
+        {
+            return INSTANCE_SIZE + delegate.getRetainedSize();
+        }
+
+        @Override
+        public boolean isFinished()
+        {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public void close()
+        {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    delegate.close();
+                }
+                finally {
+                    releaseLocalFiles(localFiles);
+                }
+            }
+        }
+    }
+
+    private record CommittedLocalFile(long size, long commitTimeMillis) {}
+}
@@ -36,6 +36,7 @@ public class TestFileSystemExchangeConfig
                 .setExchangeSinkBufferPoolMinSize(10)
                 .setExchangeSinkBuffersPerPartition(2)
                 .setExchangeSinkMaxFileSize(DataSize.of(1, GIGABYTE))
+                .setExchangeSinkCombinedFilesEnabled(false)
                 .setExchangeSourceConcurrentReaders(4)
                 .setExchangeSourceMaxFilesPerReader(25)
                 .setMaxOutputPartitionCount(50)
@@ -52,6 +53,7 @@ public class TestFileSystemExchangeConfig
                 .put("exchange.sink-buffer-pool-min-size", "20")
                 .put("exchange.sink-buffers-per-partition", "3")
                 .put("exchange.sink-max-file-size", "2GB")
+                .put("exchange.sink-combined-files-enabled", "true")
                 .put("exchange.source-concurrent-readers", "10")
                 .put("exchange.source-max-files-per-reader", "111")
                 .put("exchange.max-output-partition-count", "53")
@@ -65,6 +67,7 @@ public class TestFileSystemExchangeConfig
                 .setExchangeSinkBufferPoolMinSize(20)
                 .setExchangeSinkBuffersPerPartition(3)
                 .setExchangeSinkMaxFileSize(DataSize.of(2, GIGABYTE))
+                .setExchangeSinkCombinedFilesEnabled(true)
                 .setExchangeSourceConcurrentReaders(10)
                 .setExchangeSourceMaxFilesPerReader(111)
                 .setMaxOutputPartitionCount(53)
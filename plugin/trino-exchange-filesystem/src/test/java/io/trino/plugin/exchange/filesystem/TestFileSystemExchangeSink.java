@@ -0,0 +1,213 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.exchange.filesystem;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import io.trino.plugin.exchange.filesystem.local.LocalFileSystemExchangeStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.trino.plugin.exchange.filesystem.FileSystemExchangeSink.COMBINED_DATA_FILE_NAME;
+import static io.trino.plugin.exchange.filesystem.FileSystemExchangeSink.COMBINED_INDEX_ENTRY_SIZE;
+import static io.trino.plugin.exchange.filesystem.FileSystemExchangeSink.COMBINED_INDEX_FILE_NAME;
+import static java.lang.Math.toIntExact;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestFileSystemExchangeSink
+{
+    private static final int WRITE_BUFFER_SIZE = 64;
+    private static final int PARTITION_COUNT = 3;
+
+    private Path outputDirectory;
+
+    @BeforeEach
+    public void setUp()
+            throws IOException
+    {
+        outputDirectory = Files.createTempDirectory("trino-exchange-sink");
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(outputDirectory, ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testCombinedFilesWithExactWrites()
+            throws IOException
+    {
+        List<Integer> writeSizes = writeCombinedFiles(false);
+        // the partition buffers are written without their unused tails
+        assertThat(writeSizes).anyMatch(size -> size < WRITE_BUFFER_SIZE);
+    }
+
+    @Test
+    public void testCombinedFilesWithMinimumWriteSize()
+            throws IOException
+    {
+        List<Integer> writeSizes = writeCombinedFiles(true);
+        // the chunks of the partitions are packed, so that only the last write is smaller than a buffer
+        assertThat(writeSizes.subList(0, writeSizes.size() - 1)).allMatch(size -> size >= WRITE_BUFFER_SIZE);
+    }
+
+    private List<Integer> writeCombinedFiles(boolean minimumWriteSizeRequired)
+            throws IOException
+    {
+        RecordingExchangeStorage storage = new RecordingExchangeStorage(minimumWriteSizeRequired);
+        URI directory = outputDirectory.toUri();
+        storage.createDirectories(directory);
+        FileSystemExchangeSink sink = new FileSystemExchangeSink(
+                storage,
+                new FileSystemExchangeStats(),
+                directory,
+                PARTITION_COUNT,
+                false,
+                1024,
+                4,
+                2,
+                1024 * 1024,
+                true);
+
+        // the chunks of a partition may be written in any order
+        SetMultimap<Integer, String> expected = HashMultimap.create();
+        for (int i = 0; i < 50; i++) {
+            int partitionId = i % PARTITION_COUNT == 2 ? 2 : i % 2;
+            String value = "page-" + partitionId + "-" + i;
+            sink.add(partitionId, Slices.utf8Slice(value));
+            expected.put(partitionId, value);
+        }
+        // a page larger than a buffer is a chunk of its own
+        String largeValue = "large-" + "x".repeat(2 * WRITE_BUFFER_SIZE);
+        sink.add(1, Slices.utf8Slice(largeValue));
+        expected.put(1, largeValue);
+        sink.finish().join();
+
+        assertThat(readCombinedFiles()).isEqualTo(expected);
+        return storage.getDataWriteSizes();
+    }
+
+    private SetMultimap<Integer, String> readCombinedFiles()
+            throws IOException
+    {
+        Slice index = Slices.wrappedBuffer(Files.readAllBytes(outputDirectory.resolve(COMBINED_INDEX_FILE_NAME)));
+        Slice data = Slices.wrappedBuffer(Files.readAllBytes(outputDirectory.resolve(COMBINED_DATA_FILE_NAME)));
+        SetMultimap<Integer, String> values = HashMultimap.create();
+        long expectedOffset = 0;
+        for (int position = 0; position < index.length(); position += Integer.BYTES + COMBINED_INDEX_ENTRY_SIZE) {
+            assertThat(index.getInt(position)).isEqualTo(COMBINED_INDEX_ENTRY_SIZE);
+            int partitionId = index.getInt(position + Integer.BYTES);
+            long offset = index.getLong(position + 2 * Integer.BYTES);
+            int length = index.getInt(position + 2 * Integer.BYTES + Long.BYTES);
+            // the chunks are written without gaps
+            assertThat(offset).isEqualTo(expectedOffset);
+            expectedOffset += length;
+
+            Slice chunk = data.slice(toIntExact(offset), length);
+            int pagePosition = 0;
+            while (pagePosition < chunk.length()) {
+                int pageLength = chunk.getInt(pagePosition);
+                values.put(partitionId, chunk.slice(pagePosition + Integer.BYTES, pageLength).toStringUtf8());
+                pagePosition += Integer.BYTES + pageLength;
+            }
+            assertThat(pagePosition).isEqualTo(chunk.length());
+        }
+        assertThat(expectedOffset).isEqualTo(data.length());
+        return values;
+    }
+
+    private static class RecordingExchangeStorage
+            extends LocalFileSystemExchangeStorage
+    {
+        private final boolean minimumWriteSizeRequired;
+        private final List<Integer> dataWriteSizes = new ArrayList<>();
+
+        public RecordingExchangeStorage(boolean minimumWriteSizeRequired)
+        {
+            this.minimumWriteSizeRequired = minimumWriteSizeRequired;
+        }
+
+        @Override
+        public ExchangeStorageWriter createExchangeStorageWriter(URI file)
+        {
+            ExchangeStorageWriter delegate = super.createExchangeStorageWriter(file);
+            if (!file.getPath().endsWith(COMBINED_DATA_FILE_NAME)) {
+                return delegate;
+            }
+            return new ExchangeStorageWriter()
+            {
+                @Override
+                public ListenableFuture<Void> write(Slice slice)
+                {
+                    synchronized (dataWriteSizes) {
+                        dataWriteSizes.add(slice.length());
+                    }
+                    return delegate.write(slice);
+                }
+
+                @Override
+                public ListenableFuture<Void> finish()
+                {
+                    return delegate.finish();
+                }
+
+                @Override
+                public ListenableFuture<Void> abort()
+                {
+                    return delegate.abort();
+                }
+
+                @Override
+                public long getRetainedSize()
+                {
+                    return delegate.getRetainedSize();
+                }
+            };
+        }
+
+        @Override
+        public int getWriteBufferSize()
+        {
+            return WRITE_BUFFER_SIZE;
+        }
+
+        @Override
+        public boolean isMinimumWriteSizeRequired()
+        {
+            return minimumWriteSizeRequired;
+        }
+
+        public List<Integer> getDataWriteSizes()
+        {
+            synchronized (dataWriteSizes) {
+                return new ArrayList<>(dataWriteSizes);
+            }
+        }
+    }
+}
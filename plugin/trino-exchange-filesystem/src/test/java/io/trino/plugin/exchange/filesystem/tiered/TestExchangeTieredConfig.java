@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.exchange.filesystem.tiered;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
+import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
+import static io.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+public class TestExchangeTieredConfig
+{
+    @Test
+    public void testDefaults()
+    {
+        assertRecordedDefaults(recordDefaults(ExchangeTieredConfig.class)
+                .setLocalDirectory(null)
+                .setLocalMaxSize(DataSize.of(10, GIGABYTE))
+                .setLocalFileMaxAge(new Duration(1, HOURS))
+                .setMaxConcurrentUploads(16));
+    }
+
+    @Test
+    public void testExplicitPropertyMappings()
+    {
+        Map<String, String> properties = ImmutableMap.<String, String>builder()
+                .put("exchange.tiered.local-directory", "/mnt/nvme/exchange")
+                .put("exchange.tiered.local-max-size", "100GB")
+                .put("exchange.tiered.local-file-max-age", "30m")
+                .put("exchange.tiered.max-concurrent-uploads", "4")
+                .buildOrThrow();
+
+        ExchangeTieredConfig expected = new ExchangeTieredConfig()
+                .setLocalDirectory("/mnt/nvme/exchange")
+                .setLocalMaxSize(DataSize.of(100, GIGABYTE))
+                .setLocalFileMaxAge(new Duration(30, MINUTES))
+                .setMaxConcurrentUploads(4);
+
+        assertFullMapping(properties, expected);
+    }
+}
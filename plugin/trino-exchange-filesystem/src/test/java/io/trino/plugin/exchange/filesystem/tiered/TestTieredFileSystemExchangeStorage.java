@@ -0,0 +1,236 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.exchange.filesystem.tiered;
+
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import io.airlift.units.DataSize;
+import io.trino.plugin.exchange.filesystem.ExchangeSourceFile;
+import io.trino.plugin.exchange.filesystem.ExchangeStorageReader;
+import io.trino.plugin.exchange.filesystem.ExchangeStorageWriter;
+import io.trino.plugin.exchange.filesystem.MetricsBuilder;
+import io.trino.plugin.exchange.filesystem.local.LocalFileSystemExchangeStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.trino.spi.exchange.ExchangeId.createRandomExchangeId;
+import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestTieredFileSystemExchangeStorage
+{
+    private Path remoteDirectory;
+    private Path localDirectory;
+
+    @BeforeEach
+    public void setUp()
+            throws IOException
+    {
+        remoteDirectory = Files.createTempDirectory("trino-tiered-exchange-remote");
+        localDirectory = Files.createTempDirectory("trino-tiered-exchange-local");
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(remoteDirectory, ALLOW_INSECURE);
+        deleteRecursively(localDirectory, ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testReadLocalCopy()
+            throws IOException
+    {
+        try (TieredFileSystemExchangeStorage storage = createStorage(DataSize.of(1, MEGABYTE))) {
+            URI file = createFile(storage);
+            long length = writeFile(storage, file, "first", "second");
+
+            assertThat(Path.of(file)).hasSize(length);
+            assertThat(localCopy(file)).hasSize(length);
+
+            // a reader on the node that wrote the file reads the local copy
+            Files.write(Path.of(file), new byte[toIntExact(length)]);
+            assertThat(readFile(storage, file, length)).containsExactly("first", "second");
+
+            // the local copy is deleted with the exchange
+            getFutureValue(storage.deleteRecursively(List.of(remoteDirectory.resolve("exchange").toUri())));
+            assertThat(localCopy(file)).doesNotExist();
+        }
+    }
+
+    @Test
+    public void testReadFromRemoteWhenLocalCopyIsNotCommitted()
+            throws IOException
+    {
+        URI file;
+        long length;
+        try (TieredFileSystemExchangeStorage storage = createStorage(DataSize.of(1, MEGABYTE))) {
+            file = createFile(storage);
+            length = writeFile(storage, file, "first", "second");
+        }
+
+        // a local copy left, for example, by a restart of the node, is not read, as it may be incomplete
+        byte[] data = Files.readAllBytes(Path.of(file));
+        Files.write(localCopy(file), Arrays.copyOf(data, data.length - 1));
+        try (TieredFileSystemExchangeStorage storage = createStorage(DataSize.of(1, MEGABYTE))) {
+            assertThat(readFile(storage, file, length)).containsExactly("first", "second");
+        }
+    }
+
+    @Test
+    public void testOldestLocalCopyDeletedToMakeRoom()
+            throws IOException
+    {
+        long fileLength = page("first").length() + page("second").length();
+        try (TieredFileSystemExchangeStorage storage = createStorage(DataSize.of(fileLength, BYTE))) {
+            URI first = createFile(storage, "0_0.data");
+            writeFile(storage, first, "first", "second");
+
+            // a local copy that is being read is not deleted
+            ExchangeStorageReader reader = storage.createExchangeStorageReader(
+                    List.of(new ExchangeSourceFile(first, 0, fileLength, createRandomExchangeId(), 0, 0)),
+                    1024,
+                    new MetricsBuilder());
+            URI second = createFile(storage, "1_0.data");
+            writeFile(storage, second, "first", "second");
+            // so the second file is only written to the remote storage
+            assertThat(localCopy(first)).hasSize(fileLength);
+            assertThat(localCopy(second)).doesNotExist();
+            reader.close();
+
+            URI third = createFile(storage, "2_0.data");
+            writeFile(storage, third, "first", "second");
+            assertThat(localCopy(first)).doesNotExist();
+            assertThat(localCopy(third)).hasSize(fileLength);
+            assertThat(readFile(storage, first, fileLength)).containsExactly("first", "second");
+            assertThat(readFile(storage, third, fileLength)).containsExactly("first", "second");
+        }
+    }
+
+    @Test
+    public void testWriteToRemoteWhenLocalDirectoryIsFull()
+            throws IOException
+    {
+        try (TieredFileSystemExchangeStorage storage = createStorage(DataSize.of(1, BYTE))) {
+            URI file = createFile(storage);
+            ExchangeStorageWriter writer = storage.createExchangeStorageWriter(file);
+            getFutureValue(writer.write(page("first")));
+            getFutureValue(writer.write(page("second")));
+
+            // the data is not written locally when it does not fit in the local directory
+            assertThat(localCopy(file)).isEmptyFile();
+
+            getFutureValue(writer.finish());
+            assertThat(localCopy(file)).doesNotExist();
+            assertThat(readFile(storage, file, page("first").length() + page("second").length())).containsExactly("first", "second");
+        }
+    }
+
+    @Test
+    public void testFinishAfterAbort()
+            throws IOException
+    {
+        try (TieredFileSystemExchangeStorage storage = createStorage(DataSize.of(1, MEGABYTE))) {
+            URI file = createFile(storage);
+            ExchangeStorageWriter writer = storage.createExchangeStorageWriter(file);
+            getFutureValue(writer.write(page("first")));
+            getFutureValue(writer.abort());
+
+            assertThat(localCopy(file)).doesNotExist();
+            assertThatThrownBy(() -> getFutureValue(writer.finish()))
+                    .hasMessageContaining("aborted");
+        }
+    }
+
+    private TieredFileSystemExchangeStorage createStorage(DataSize localMaxSize)
+    {
+        return new TieredFileSystemExchangeStorage(
+                new LocalFileSystemExchangeStorage(),
+                new ExchangeTieredConfig()
+                        .setLocalDirectory(localDirectory.toString())
+                        .setLocalMaxSize(localMaxSize)
+                        .setMaxConcurrentUploads(1));
+    }
+
+    private Path localCopy(URI file)
+    {
+        return localDirectory.resolve(file.getPath().replaceFirst("^/+", ""));
+    }
+
+    private URI createFile(TieredFileSystemExchangeStorage storage)
+            throws IOException
+    {
+        return createFile(storage, "0_0.data");
+    }
+
+    private URI createFile(TieredFileSystemExchangeStorage storage, String name)
+            throws IOException
+    {
+        Path directory = remoteDirectory.resolve("exchange");
+        storage.createDirectories(directory.toUri());
+        return directory.resolve(name).toUri();
+    }
+
+    private static long writeFile(TieredFileSystemExchangeStorage storage, URI file, String... values)
+    {
+        ExchangeStorageWriter writer = storage.createExchangeStorageWriter(file);
+        long length = 0;
+        for (String value : values) {
+            Slice page = page(value);
+            getFutureValue(writer.write(page));
+            length += page.length();
+        }
+        getFutureValue(writer.finish());
+        return length;
+    }
+
+    private static List<String> readFile(TieredFileSystemExchangeStorage storage, URI file, long length)
+            throws IOException
+    {
+        ExchangeSourceFile sourceFile = new ExchangeSourceFile(file, 0, length, createRandomExchangeId(), 0, 0);
+        try (ExchangeStorageReader reader = storage.createExchangeStorageReader(List.of(sourceFile), 1024, new MetricsBuilder())) {
+            List<String> values = new ArrayList<>();
+            for (Slice slice = reader.read(); slice != null; slice = reader.read()) {
+                values.add(slice.toStringUtf8());
+            }
+            return values;
+        }
+    }
+
+    private static Slice page(String value)
+    {
+        byte[] bytes = value.getBytes(UTF_8);
+        Slice page = Slices.allocate(Integer.BYTES + bytes.length);
+        page.setInt(0, bytes.length);
+        page.setBytes(Integer.BYTES, bytes);
+        return page;
+    }
+}
@@ -45,6 +45,7 @@ import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.trino.plugin.hive.HiveSessionProperties.InsertExistingPartitionsBehavior.APPEND;
 import static io.trino.plugin.hive.HiveSessionProperties.InsertExistingPartitionsBehavior.ERROR;
 import static java.util.Locale.ENGLISH;
+import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 
 @DefunctConfig({
@@ -78,6 +79,7 @@ public class HiveConfig
     private int maxSplitIteratorThreads = 1_000;
     private int minPartitionBatchSize = 10;
     private int maxPartitionBatchSize = 100;
+    private int maxPartitionBatchPrefetch = 4;
     private int maxInitialSplits = 200;
     private int splitLoaderConcurrency = 64;
     private Integer maxSplitsPerSecond;
@@ -110,6 +112,7 @@ public class HiveConfig
     private boolean parallelPartitionedBucketedWrites = true;
 
     private DataSize textMaxLineLength = DataSize.of(100, MEGABYTE);
+    private boolean textBackgroundDecompressionEnabled;
 
     private String orcLegacyTimeZone = TimeZone.getDefault().getID();
 
@@ -140,6 +143,9 @@ public class HiveConfig
     private boolean delegateTransactionalManagedTableLocationToMetastore;
 
     private Duration fileStatusCacheExpireAfterWrite = new Duration(1, MINUTES);
+    private Optional<String> fileStatusCachePersistentDirectory = Optional.empty();
+    private Duration fileStatusCachePersistentExpireAfterWrite = new Duration(1, HOURS);
+    private DataSize fileStatusCachePersistentMaxSize = DataSize.of(1, GIGABYTE);
     private DataSize fileStatusCacheMaxRetainedSize = DataSize.of(1, GIGABYTE);
     private List<String> fileStatusCacheTables = ImmutableList.of();
     private DataSize perTransactionFileStatusCacheMaxRetainedSize = DataSize.of(100, MEGABYTE);
@@ -494,6 +500,20 @@ public class HiveConfig
         return this;
     }
 
+    @Min(0)
+    public int getMaxPartitionBatchPrefetch()
+    {
+        return maxPartitionBatchPrefetch;
+    }
+
+    @Config("hive.metastore.partition-batch-prefetch.max")
+    @ConfigDescription("Maximum number of partition batches fetched from the metastore ahead of the split loaders, 0 to fetch them on demand")
+    public HiveConfig setMaxPartitionBatchPrefetch(int maxPartitionBatchPrefetch)
+    {
+        this.maxPartitionBatchPrefetch = maxPartitionBatchPrefetch;
+        return this;
+    }
+
     public HiveStorageFormat getHiveStorageFormat()
     {
         return hiveStorageFormat;
@@ -694,6 +714,19 @@ public class HiveConfig
         return this;
     }
 
+    public boolean isTextBackgroundDecompressionEnabled()
+    {
+        return textBackgroundDecompressionEnabled;
+    }
+
+    @Config("hive.text.background-decompression.enabled")
+    @ConfigDescription("Decompress compressed text files on a background thread while parsing")
+    public HiveConfig setTextBackgroundDecompressionEnabled(boolean textBackgroundDecompressionEnabled)
+    {
+        this.textBackgroundDecompressionEnabled = textBackgroundDecompressionEnabled;
+        return this;
+    }
+
     public DateTimeZone getOrcLegacyDateTimeZone()
     {
         TimeZone timeZone = TimeZone.getTimeZone(ZoneId.of(orcLegacyTimeZone));
@@ -872,6 +905,46 @@ public class HiveConfig
         return this;
     }
 
+    public Optional<String> getFileStatusCachePersistentDirectory()
+    {
+        return fileStatusCachePersistentDirectory;
+    }
+
+    @Config("hive.file-status-cache.persistent-directory")
+    @ConfigDescription("Local directory where cached file listings are kept across restarts")
+    public HiveConfig setFileStatusCachePersistentDirectory(String fileStatusCachePersistentDirectory)
+    {
+        this.fileStatusCachePersistentDirectory = Optional.ofNullable(fileStatusCachePersistentDirectory);
+        return this;
+    }
+
+    public Duration getFileStatusCachePersistentExpireAfterWrite()
+    {
+        return fileStatusCachePersistentExpireAfterWrite;
+    }
+
+    @Config("hive.file-status-cache.persistent-expire-time")
+    @ConfigDescription("How long a file listing kept in the persistent directory is considered valid")
+    public HiveConfig setFileStatusCachePersistentExpireAfterWrite(Duration fileStatusCachePersistentExpireAfterWrite)
+    {
+        this.fileStatusCachePersistentExpireAfterWrite = fileStatusCachePersistentExpireAfterWrite;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getFileStatusCachePersistentMaxSize()
+    {
+        return fileStatusCachePersistentMaxSize;
+    }
+
+    @Config("hive.file-status-cache.persistent-max-size")
+    @ConfigDescription("Maximum size of the file listings kept in the persistent directory")
+    public HiveConfig setFileStatusCachePersistentMaxSize(DataSize fileStatusCachePersistentMaxSize)
+    {
+        this.fileStatusCachePersistentMaxSize = fileStatusCachePersistentMaxSize;
+        return this;
+    }
+
     public boolean isSkipDeletionForAlter()
     {
         return skipDeletionForAlter;
@@ -68,6 +68,7 @@ import static io.airlift.configuration.ConfigBinder.configBinder;
 import static io.airlift.json.JsonCodecBinder.jsonCodecBinder;
 import static io.trino.plugin.base.ClosingBinder.closingBinder;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static org.weakref.jmx.guice.ExportBinder.newExporter;
 
@@ -155,6 +156,8 @@ public class HiveModule
 
         closingBinder(binder).registerExecutor(ExecutorService.class);
         closingBinder(binder).registerExecutor(Key.get(ScheduledExecutorService.class, ForHiveTransactionHeartbeats.class));
+        closingBinder(binder).registerExecutor(Key.get(ExecutorService.class, ForHiveSortMerge.class));
+        closingBinder(binder).registerExecutor(Key.get(ExecutorService.class, ForHivePartitionPrefetch.class));
     }
 
     @Singleton
@@ -174,6 +177,25 @@ public class HiveModule
                 daemonThreadsNamed("hive-heartbeat-" + catalogName + "-%s"));
     }
 
+    @ForHivePartitionPrefetch
+    @Singleton
+    @Provides
+    public ExecutorService createHivePartitionPrefetchExecutor(CatalogName catalogName)
+    {
+        // each split source has at most hive.metastore.partition-batch-prefetch.max batches in flight
+        return newCachedThreadPool(daemonThreadsNamed("hive-partition-prefetch-" + catalogName + "-%s"));
+    }
+
+    @ForHiveSortMerge
+    @Singleton
+    @Provides
+    public ExecutorService createHiveSortMergeExecutor(CatalogName catalogName, SortingFileWriterConfig sortingFileWriterConfig)
+    {
+        return newFixedThreadPool(
+                sortingFileWriterConfig.getSortMergeParallelism(),
+                daemonThreadsNamed("hive-sort-merge-" + catalogName + "-%s"));
+    }
+
     @TranslateHiveViews
     @Singleton
     @Provides
@@ -282,6 +282,16 @@ public class HiveSplit
                 + splitWeight.getRetainedSizeInBytes();
     }
 
+    @Override
+    public Optional<String> getSplitIdentity()
+    {
+        // the deleted rows of transactional tables and the bucket conversion are not part of the identity of the file
+        if (acidInfo.isPresent() || bucketConversion.isPresent() || bucketValidation.isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(String.join(":", path, String.valueOf(start), String.valueOf(length), String.valueOf(estimatedFileSize), String.valueOf(fileModifiedTime), partitionName));
+    }
+
     @Override
     public Map<String, String> getSplitInfo()
     {
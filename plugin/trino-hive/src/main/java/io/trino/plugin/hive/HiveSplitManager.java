@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Streams;
+import com.google.common.io.Closer;
 import com.google.inject.Inject;
 import io.airlift.concurrent.BoundedExecutor;
 import io.airlift.stats.CounterStat;
@@ -36,6 +37,7 @@ import io.trino.metastore.Table;
 import io.trino.plugin.hive.metastore.SemiTransactionalHiveMetastore;
 import io.trino.plugin.hive.util.HiveBucketing.HiveBucketFilter;
 import io.trino.plugin.hive.util.HiveUtil;
+import io.trino.plugin.hive.util.PrefetchingIterator;
 import io.trino.spi.TrinoException;
 import io.trino.spi.VersionEmbedder;
 import io.trino.spi.connector.ColumnHandle;
@@ -55,6 +57,8 @@ import jakarta.annotation.Nullable;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -64,6 +68,7 @@ import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -112,10 +117,12 @@ public class HiveSplitManager
     private final HivePartitionManager partitionManager;
     private final TrinoFileSystemFactory fileSystemFactory;
     private final Executor executor;
+    private final Executor partitionPrefetchExecutor;
     private final int maxOutstandingSplits;
     private final DataSize maxOutstandingSplitsSize;
     private final int minPartitionBatchSize;
     private final int maxPartitionBatchSize;
+    private final int maxPartitionBatchPrefetch;
     private final int maxInitialSplits;
     private final int splitLoaderConcurrency;
     private final int maxSplitsPerSecond;
@@ -132,6 +139,7 @@ public class HiveSplitManager
             HivePartitionManager partitionManager,
             TrinoFileSystemFactory fileSystemFactory,
             ExecutorService executorService,
+            @ForHivePartitionPrefetch ExecutorService partitionPrefetchExecutor,
             VersionEmbedder versionEmbedder,
             TypeManager typeManager,
             CachingHostAddressProvider cachingHostAddressProvider)
@@ -141,11 +149,13 @@ public class HiveSplitManager
                 partitionManager,
                 fileSystemFactory,
                 versionEmbedder.embedVersion(new BoundedExecutor(executorService, hiveConfig.getMaxSplitIteratorThreads())),
+                versionEmbedder.embedVersion(partitionPrefetchExecutor),
                 new CounterStat(),
                 hiveConfig.getMaxOutstandingSplits(),
                 hiveConfig.getMaxOutstandingSplitsSize(),
                 hiveConfig.getMinPartitionBatchSize(),
                 hiveConfig.getMaxPartitionBatchSize(),
+                hiveConfig.getMaxPartitionBatchPrefetch(),
                 hiveConfig.getMaxInitialSplits(),
                 hiveConfig.getSplitLoaderConcurrency(),
                 hiveConfig.getMaxSplitsPerSecond(),
@@ -160,11 +170,13 @@ public class HiveSplitManager
             HivePartitionManager partitionManager,
             TrinoFileSystemFactory fileSystemFactory,
             Executor executor,
+            Executor partitionPrefetchExecutor,
             CounterStat highMemorySplitSourceCounter,
             int maxOutstandingSplits,
             DataSize maxOutstandingSplitsSize,
             int minPartitionBatchSize,
             int maxPartitionBatchSize,
+            int maxPartitionBatchPrefetch,
             int maxInitialSplits,
             int splitLoaderConcurrency,
             @Nullable Integer maxSplitsPerSecond,
@@ -177,12 +189,14 @@ public class HiveSplitManager
         this.partitionManager = requireNonNull(partitionManager, "partitionManager is null");
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
         this.executor = new ErrorCodedExecutor(executor);
+        this.partitionPrefetchExecutor = new ErrorCodedExecutor(partitionPrefetchExecutor);
         this.highMemorySplitSourceCounter = requireNonNull(highMemorySplitSourceCounter, "highMemorySplitSourceCounter is null");
         checkArgument(maxOutstandingSplits >= 1, "maxOutstandingSplits must be at least 1");
         this.maxOutstandingSplits = maxOutstandingSplits;
         this.maxOutstandingSplitsSize = maxOutstandingSplitsSize;
         this.minPartitionBatchSize = minPartitionBatchSize;
         this.maxPartitionBatchSize = maxPartitionBatchSize;
+        this.maxPartitionBatchPrefetch = maxPartitionBatchPrefetch;
         this.maxInitialSplits = maxInitialSplits;
         this.splitLoaderConcurrency = splitLoaderConcurrency;
         this.maxSplitsPerSecond = firstNonNull(maxSplitsPerSecond, Integer.MAX_VALUE);
@@ -249,6 +263,7 @@ public class HiveSplitManager
                 .map(columnName -> columnName.toLowerCase(ENGLISH))
                 .collect(toImmutableSet());
 
+        Closer partitionLoading = Closer.create();
         Iterator<HivePartitionMetadata> hivePartitions = getPartitionMetadata(
                 session,
                 metastore,
@@ -257,9 +272,10 @@ public class HiveSplitManager
                 bucketHandle.map(HiveBucketHandle::toTableBucketProperty),
                 neededColumnNames,
                 dynamicFilter,
-                hiveTable);
+                hiveTable,
+                partitionLoading);
 
-        HiveSplitLoader hiveSplitLoader = new BackgroundHiveSplitLoader(
+        HiveSplitLoader backgroundSplitLoader = new BackgroundHiveSplitLoader(
                 table,
                 hivePartitions,
                 hiveTable.getCompactEffectivePredicate(),
@@ -278,6 +294,27 @@ public class HiveSplitManager
                         .map(value -> value.getTableValidWriteIdList(table.getDatabaseName() + "." + table.getTableName())),
                 hiveTable.getMaxScannedFileSize(),
                 maxPartitionsPerScan);
+        HiveSplitLoader hiveSplitLoader = new HiveSplitLoader()
+        {
+            @Override
+            public void start(HiveSplitSource splitSource)
+            {
+                backgroundSplitLoader.start(splitSource);
+            }
+
+            @Override
+            public void stop()
+            {
+                backgroundSplitLoader.stop();
+                // cancel the partition batches still being fetched from the metastore
+                try {
+                    partitionLoading.close();
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
 
         HiveSplitSource splitSource = HiveSplitSource.allAtOnce(
                 session,
@@ -312,7 +349,8 @@ public class HiveSplitManager
             Optional<HiveBucketProperty> bucketProperty,
             Set<String> neededColumnNames,
             DynamicFilter dynamicFilter,
-            HiveTableHandle tableHandle)
+            HiveTableHandle tableHandle,
+            Closer closer)
     {
         if (!hivePartitions.hasNext()) {
             return emptyIterator();
@@ -330,7 +368,7 @@ public class HiveSplitManager
         boolean usePartitionColumnNames = isPartitionUsesColumnNames(session, getHiveStorageFormat(table.getStorage().getStorageFormat()));
 
         Iterator<List<HivePartition>> partitionNameBatches = partitionExponentially(hivePartitions, minPartitionBatchSize, maxPartitionBatchSize);
-        Iterator<List<HivePartitionMetadata>> partitionBatches = transform(partitionNameBatches, partitionBatch -> {
+        Function<List<HivePartition>, List<HivePartitionMetadata>> loadPartitionBatch = partitionBatch -> {
             // Use dynamic filters to reduce the partitions listed by getPartitionsByNames
             TupleDomain<ColumnHandle> currentDynamicFilter = dynamicFilter.getCurrentPredicate();
             if (!currentDynamicFilter.isAll()) {
@@ -372,7 +410,18 @@ public class HiveSplitManager
             }
 
             return results.build();
-        });
+        };
+        // Fetch the next batches from the metastore while the split loaders list the partitions of the current one.
+        // The batches are pruned with the dynamic filter when they are fetched, so only fetch ahead once it is complete.
+        // The prefetch uses a dedicated executor, as the split loaders waiting for the batches may occupy the split executor.
+        Iterator<List<HivePartitionMetadata>> partitionBatches = maxPartitionBatchPrefetch == 0
+                ? transform(partitionNameBatches, loadPartitionBatch::apply)
+                : closer.register(new PrefetchingIterator<>(
+                        partitionNameBatches,
+                        loadPartitionBatch,
+                        partitionPrefetchExecutor,
+                        maxPartitionBatchPrefetch,
+                        () -> !dynamicFilter.isAwaitable()));
         return stream(partitionBatches)
                 .flatMap(Collection::stream)
                 .iterator();
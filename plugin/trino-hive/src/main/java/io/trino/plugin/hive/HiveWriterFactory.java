@@ -61,6 +61,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -140,6 +141,8 @@ public class HiveWriterFactory
     private final Table table;
     private final DataSize sortBufferSize;
     private final int maxOpenSortFiles;
+    private final Executor sortMergeExecutor;
+    private final int sortMergeParallelism;
     private final boolean sortedWritingTempStagingPathEnabled;
     private final String sortedWritingTempStagingPath;
     private final InsertExistingPartitionsBehavior insertExistingPartitionsBehavior;
@@ -177,6 +180,8 @@ public class HiveWriterFactory
             PageSorter pageSorter,
             DataSize sortBufferSize,
             int maxOpenSortFiles,
+            Executor sortMergeExecutor,
+            int sortMergeParallelism,
             ConnectorSession session,
             NodeManager nodeManager,
             EventClient eventClient,
@@ -205,6 +210,8 @@ public class HiveWriterFactory
         this.pageSorter = requireNonNull(pageSorter, "pageSorter is null");
         this.sortBufferSize = requireNonNull(sortBufferSize, "sortBufferSize is null");
         this.maxOpenSortFiles = maxOpenSortFiles;
+        this.sortMergeExecutor = requireNonNull(sortMergeExecutor, "sortMergeExecutor is null");
+        this.sortMergeParallelism = sortMergeParallelism;
         this.sortedWritingTempStagingPathEnabled = sortedWritingTempStagingPathEnabled;
         this.sortedWritingTempStagingPath = requireNonNull(sortedWritingTempStagingPath, "sortedWritingTempStagingPath is null");
         this.insertExistingPartitionsBehavior = getInsertExistingPartitionsBehavior(session);
@@ -577,7 +584,9 @@ public class HiveWriterFactory
                     sortOrders,
                     pageSorter,
                     typeManager.getTypeOperators(),
-                    OrcFileWriterFactory::createOrcDataSink);
+                    OrcFileWriterFactory::createOrcDataSink,
+                    sortMergeExecutor,
+                    sortMergeParallelism);
         }
 
         return new HiveWriter(
@@ -618,7 +627,9 @@ public class HiveWriterFactory
                 sortOrders,
                 pageSorter,
                 typeManager.getTypeOperators(),
-                OrcFileWriterFactory::createOrcDataSink);
+                OrcFileWriterFactory::createOrcDataSink,
+                sortMergeExecutor,
+                sortMergeParallelism);
     }
 
     private void validateSchema(Optional<String> partitionName, Map<String, String> schema)
@@ -13,8 +13,10 @@
  */
 package io.trino.plugin.hive;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Closer;
+import io.airlift.concurrent.BoundedExecutor;
 import io.airlift.log.Logger;
 import io.airlift.units.DataSize;
 import io.trino.filesystem.Location;
@@ -43,15 +45,23 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static com.google.common.util.concurrent.Uninterruptibles.getUninterruptibly;
 import static io.airlift.slice.SizeOf.instanceSize;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_WRITER_CLOSE_ERROR;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_WRITER_DATA_ERROR;
@@ -78,6 +88,10 @@ public final class SortingFileWriter
     private final Queue<TempFile> tempFiles = new PriorityQueue<>(comparing(TempFile::size));
     private final AtomicLong nextFileId = new AtomicLong();
     private final TypeOperators typeOperators;
+    private final Executor readAheadExecutor;
+    private final Executor mergeExecutor;
+    private final int mergeParallelism;
+    private final AtomicLong mergeBufferedBytes = new AtomicLong();
 
     private boolean flushed;
     private long tempFilesWrittenBytes;
@@ -94,6 +108,37 @@ public final class SortingFileWriter
             PageSorter pageSorter,
             TypeOperators typeOperators,
             TempFileSinkFactory tempFileSinkFactory)
+    {
+        this(
+                fileSystem,
+                tempFilePrefix,
+                outputWriter,
+                maxMemory,
+                maxOpenTempFiles,
+                types,
+                sortFields,
+                sortOrders,
+                pageSorter,
+                typeOperators,
+                tempFileSinkFactory,
+                directExecutor(),
+                1);
+    }
+
+    public SortingFileWriter(
+            TrinoFileSystem fileSystem,
+            Location tempFilePrefix,
+            FileWriter outputWriter,
+            DataSize maxMemory,
+            int maxOpenTempFiles,
+            List<Type> types,
+            List<Integer> sortFields,
+            List<SortOrder> sortOrders,
+            PageSorter pageSorter,
+            TypeOperators typeOperators,
+            TempFileSinkFactory tempFileSinkFactory,
+            Executor mergeExecutor,
+            int mergeParallelism)
     {
         checkArgument(maxOpenTempFiles >= 2, "maxOpenTempFiles must be at least two");
         this.fileSystem = requireNonNull(fileSystem, "fileSystem is null");
@@ -106,6 +151,12 @@ public final class SortingFileWriter
         this.sortBuffer = new SortBuffer(maxMemory, types, sortFields, sortOrders, pageSorter);
         this.tempFileSinkFactory = requireNonNull(tempFileSinkFactory, "tempFileSinkFactory is null");
         this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
+        checkArgument(mergeParallelism >= 1, "mergeParallelism must be at least one");
+        // the merge executor is shared by all writers, and only the final pass, which runs on the
+        // writer thread, reads ahead with it, so that a merge never waits for a task queued behind it
+        this.readAheadExecutor = requireNonNull(mergeExecutor, "mergeExecutor is null");
+        this.mergeExecutor = new BoundedExecutor(mergeExecutor, mergeParallelism);
+        this.mergeParallelism = mergeParallelism;
     }
 
     @Override
@@ -124,7 +175,7 @@ public final class SortingFileWriter
     @Override
     public long getMemoryUsage()
     {
-        return INSTANCE_SIZE + sortBuffer.getRetainedBytes();
+        return INSTANCE_SIZE + sortBuffer.getRetainedBytes() + mergeBufferedBytes.get();
     }
 
     @Override
@@ -203,7 +254,13 @@ public final class SortingFileWriter
 
     private void flushToTempFile()
     {
-        writeTempFile(writer -> sortBuffer.flushTo(writer::writePage));
+        addTempFile(writeTempFile(writer -> sortBuffer.flushTo(writer::writePage)));
+    }
+
+    private void addTempFile(TempFile tempFile)
+    {
+        tempFiles.add(tempFile);
+        tempFilesWrittenBytes += tempFile.size();
     }
 
     // TODO: change connector SPI to make this resumable and have memory tracking
@@ -211,23 +268,97 @@ public final class SortingFileWriter
     {
         combineFiles();
 
-        mergeFiles(tempFiles, outputWriter::appendRows);
+        mergeFiles(tempFiles, outputWriter::appendRows, Optional.of(readAheadExecutor));
     }
 
     private void combineFiles()
     {
         while (tempFiles.size() > maxOpenTempFiles) {
-            int count = min(maxOpenTempFiles, tempFiles.size() - (maxOpenTempFiles - 1));
-
-            List<TempFile> smallestFiles = IntStream.range(0, count)
-                    .mapToObj(i -> tempFiles.poll())
-                    .collect(toImmutableList());
+            // Merge up to mergeParallelism independent groups of the smallest files at once. Each group
+            // replaces its files with one, so stop as soon as the final pass can read all remaining files.
+            List<List<TempFile>> groups = new ArrayList<>();
+            int excessFiles = tempFiles.size() - maxOpenTempFiles;
+            while (groups.size() < mergeParallelism && excessFiles > 0 && tempFiles.size() >= 2) {
+                int count = min(min(maxOpenTempFiles, excessFiles + 1), tempFiles.size());
+                groups.add(IntStream.range(0, count)
+                        .mapToObj(i -> tempFiles.poll())
+                        .collect(toImmutableList()));
+                excessFiles -= count - 1;
+            }
+            mergeGroups(groups);
+        }
+    }
 
-            writeTempFile(writer -> mergeFiles(smallestFiles, writer::writePage));
+    private void mergeGroups(List<List<TempFile>> groups)
+    {
+        // merges are not interrupted in the middle of writing their files, but the ones not started yet are skipped
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<FutureTask<Optional<TempFile>>> merges = groups.stream()
+                .map(group -> new FutureTask<>(() -> {
+                    if (cancelled.get()) {
+                        return Optional.<TempFile>empty();
+                    }
+                    return Optional.of(writeTempFile(writer -> mergeFiles(group, writer::writePage, Optional.empty())));
+                }))
+                .collect(toImmutableList());
+        merges.forEach(mergeExecutor::execute);
+
+        InterruptedException interruption = null;
+        Throwable failure = null;
+        for (int i = 0; i < merges.size(); i++) {
+            try {
+                Optional<TempFile> mergedFile;
+                if (interruption == null) {
+                    try {
+                        mergedFile = merges.get(i).get();
+                    }
+                    catch (InterruptedException e) {
+                        interruption = e;
+                        cancelled.set(true);
+                        mergedFile = getUninterruptibly(merges.get(i));
+                    }
+                }
+                else {
+                    mergedFile = getUninterruptibly(merges.get(i));
+                }
+
+                if (mergedFile.isEmpty()) {
+                    // keep the files of the skipped merge, so that they are removed on rollback
+                    tempFiles.addAll(groups.get(i));
+                }
+                else if (interruption != null) {
+                    cleanupFile(fileSystem, mergedFile.get().location());
+                }
+                else {
+                    addTempFile(mergedFile.get());
+                }
+            }
+            catch (ExecutionException e) {
+                // keep the files of the failed merge, so that they are removed on rollback
+                tempFiles.addAll(groups.get(i));
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+                else if (failure != e.getCause()) {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+        if (interruption != null) {
+            Thread.currentThread().interrupt();
+            TrinoException exception = new TrinoException(HIVE_WRITER_DATA_ERROR, "Interrupted while merging temporary files", interruption);
+            if (failure != null) {
+                exception.addSuppressed(failure);
+            }
+            throw exception;
+        }
+        if (failure != null) {
+            throwIfUnchecked(failure);
+            throw new RuntimeException(failure);
         }
     }
 
-    private void mergeFiles(Iterable<TempFile> files, Consumer<Page> consumer)
+    private void mergeFiles(Iterable<TempFile> files, Consumer<Page> consumer, Optional<Executor> readAheadExecutor)
     {
         try (Closer closer = Closer.create()) {
             Collection<Iterator<Page>> iterators = new ArrayList<>();
@@ -241,7 +372,8 @@ public final class SortingFileWriter
                         inputFile,
                         new FileFormatDataSourceStats());
                 closer.register(dataSource);
-                iterators.add(new TempFileReader(types, dataSource));
+                // registered after the data source, so that the pending read completes before the data source is closed
+                iterators.add(closer.register(new TempFilePageIterator(new TempFileReader(types, dataSource), readAheadExecutor, mergeBufferedBytes)));
             }
 
             new MergingPageIterator(iterators, types, sortFields, sortOrders, typeOperators)
@@ -256,15 +388,14 @@ public final class SortingFileWriter
         }
     }
 
-    private void writeTempFile(Consumer<TempFileWriter> consumer)
+    private TempFile writeTempFile(Consumer<TempFileWriter> consumer)
     {
         Location tempFile = getTempFileName();
 
         try (TempFileWriter writer = new TempFileWriter(types, tempFileSinkFactory.createSink(fileSystem, tempFile))) {
             consumer.accept(writer);
             writer.close();
-            tempFiles.add(new TempFile(tempFile, writer.getWrittenBytes()));
-            tempFilesWrittenBytes += writer.getWrittenBytes();
+            return new TempFile(tempFile, writer.getWrittenBytes());
         }
         catch (IOException | UncheckedIOException e) {
             cleanupFile(fileSystem, tempFile);
@@ -296,6 +427,111 @@ public final class SortingFileWriter
         }
     }
 
+    /**
+     * Reads the pages of a temporary file, optionally reading the next page in the background while
+     * the current one is being merged. The pages held by the iterator are counted in the buffered bytes.
+     */
+    private static class TempFilePageIterator
+            extends AbstractIterator<Page>
+            implements Closeable
+    {
+        private final Iterator<Page> delegate;
+        private final Optional<Executor> readAheadExecutor;
+        private final AtomicLong bufferedBytes;
+        private long currentPageBytes;
+        private FutureTask<Optional<Page>> nextPage;
+
+        public TempFilePageIterator(Iterator<Page> delegate, Optional<Executor> readAheadExecutor, AtomicLong bufferedBytes)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+            this.readAheadExecutor = requireNonNull(readAheadExecutor, "readAheadExecutor is null");
+            this.bufferedBytes = requireNonNull(bufferedBytes, "bufferedBytes is null");
+        }
+
+        @Override
+        protected Page computeNext()
+        {
+            // the previous page has been consumed by the merge
+            releaseCurrentPage();
+
+            Optional<Page> page;
+            if (readAheadExecutor.isEmpty()) {
+                page = readPage();
+            }
+            else {
+                if (nextPage == null) {
+                    nextPage = readNextPage(readAheadExecutor.get());
+                }
+                page = getNextPage();
+                if (page.isPresent()) {
+                    nextPage = readNextPage(readAheadExecutor.get());
+                }
+            }
+            if (page.isEmpty()) {
+                return endOfData();
+            }
+            currentPageBytes = page.get().getRetainedSizeInBytes();
+            return page.get();
+        }
+
+        private Optional<Page> getNextPage()
+        {
+            try {
+                return nextPage.get();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TrinoException(HIVE_WRITER_DATA_ERROR, "Interrupted while reading temporary file", e);
+            }
+            catch (ExecutionException e) {
+                throwIfUnchecked(e.getCause());
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        private FutureTask<Optional<Page>> readNextPage(Executor executor)
+        {
+            FutureTask<Optional<Page>> task = new FutureTask<>(this::readPage);
+            executor.execute(task);
+            return task;
+        }
+
+        private Optional<Page> readPage()
+        {
+            if (!delegate.hasNext()) {
+                return Optional.empty();
+            }
+            Page page = delegate.next();
+            bufferedBytes.addAndGet(page.getRetainedSizeInBytes());
+            return Optional.of(page);
+        }
+
+        private void releaseCurrentPage()
+        {
+            bufferedBytes.addAndGet(-currentPageBytes);
+            currentPageBytes = 0;
+        }
+
+        @Override
+        public void close()
+        {
+            releaseCurrentPage();
+            if (nextPage == null) {
+                return;
+            }
+            try {
+                nextPage.get().ifPresent(page -> bufferedBytes.addAndGet(-page.getRetainedSizeInBytes()));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            catch (ExecutionException ignored) {
+                // the failure is reported by computeNext
+            }
+            nextPage = null;
+        }
+    }
+
     public interface TempFileSinkFactory
     {
         OrcDataSink createSink(TrinoFileSystem fileSystem, Location location)
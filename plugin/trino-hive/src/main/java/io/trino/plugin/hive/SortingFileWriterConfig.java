@@ -27,6 +27,7 @@ public class SortingFileWriterConfig
 {
     private DataSize writerSortBufferSize = DataSize.of(64, MEGABYTE);
     private int maxOpenSortFiles = 50;
+    private int sortMergeParallelism = 4;
 
     @MinDataSize("1MB")
     @MaxDataSize("1GB")
@@ -56,4 +57,18 @@ public class SortingFileWriterConfig
         this.maxOpenSortFiles = maxOpenSortFiles;
         return this;
     }
+
+    @Min(1)
+    public int getSortMergeParallelism()
+    {
+        return sortMergeParallelism;
+    }
+
+    @Config("writer-sort-merge-parallelism")
+    @ConfigDescription("Maximum number of groups of writer temporary files merged concurrently by a writer, and number of merge threads on a worker")
+    public SortingFileWriterConfig setSortMergeParallelism(int sortMergeParallelism)
+    {
+        this.sortMergeParallelism = sortMergeParallelism;
+        return this;
+    }
 }
@@ -17,6 +17,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.Weigher;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
+import io.airlift.stats.CounterStat;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.trino.cache.EvictableCacheBuilder;
@@ -30,8 +31,10 @@ import io.trino.plugin.hive.HiveConfig;
 import io.trino.spi.connector.SchemaTableName;
 import io.trino.spi.connector.SchemaTablePrefix;
 import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -54,6 +57,8 @@ public class CachingDirectoryLister
     private final Cache<Location, ValueHolder> cache;
     private final Predicate<SchemaTableName> tablePredicate;
     private final Predicate<FileEntry> filterPredicate;
+    private final Optional<PersistentDirectoryListingStore> persistentStore;
+    private final CounterStat persistentStoreHits = new CounterStat();
 
     @Inject
     public CachingDirectoryLister(HiveConfig hiveClientConfig)
@@ -62,7 +67,12 @@ public class CachingDirectoryLister
                 hiveClientConfig.getFileStatusCacheExpireAfterWrite(),
                 hiveClientConfig.getFileStatusCacheMaxRetainedSize(),
                 hiveClientConfig.getFileStatusCacheTables(),
-                hiveClientConfig.getS3StorageClassFilter().toFileEntryPredicate());
+                hiveClientConfig.getS3StorageClassFilter().toFileEntryPredicate(),
+                hiveClientConfig.getFileStatusCachePersistentDirectory().map(directory -> new PersistentDirectoryListingStore(
+                        Path.of(directory),
+                        hiveClientConfig.getFileStatusCachePersistentExpireAfterWrite(),
+                        hiveClientConfig.getFileStatusCachePersistentMaxSize(),
+                        hiveClientConfig.getS3StorageClassFilter().name())));
     }
 
     public CachingDirectoryLister(
@@ -70,6 +80,16 @@ public class CachingDirectoryLister
             DataSize maxSize,
             List<String> tables,
             Predicate<FileEntry> filterPredicate)
+    {
+        this(expireAfterWrite, maxSize, tables, filterPredicate, Optional.empty());
+    }
+
+    public CachingDirectoryLister(
+            Duration expireAfterWrite,
+            DataSize maxSize,
+            List<String> tables,
+            Predicate<FileEntry> filterPredicate,
+            Optional<PersistentDirectoryListingStore> persistentStore)
     {
         requireNonNull(expireAfterWrite, "expireAfterWrite is null");
         requireNonNull(maxSize, "maxSize is null");
@@ -84,6 +104,7 @@ public class CachingDirectoryLister
                 .build();
         this.tablePredicate = matches(tables);
         this.filterPredicate = filterPredicate;
+        this.persistentStore = requireNonNull(persistentStore, "persistentStore is null");
     }
 
     private static Predicate<SchemaTableName> matches(List<String> tables)
@@ -129,7 +150,19 @@ public class CachingDirectoryLister
             return new SimpleRemoteIterator(cachedValueHolder.getFiles().get().iterator());
         }
 
-        return cachingRemoteIterator(cachedValueHolder, createListingRemoteIterator(fs, location, filterPredicate), location);
+        Optional<Long> modificationTime = Optional.empty();
+        if (persistentStore.isPresent()) {
+            Optional<List<TrinoFileStatus>> persistedFiles = persistentStore.get().get(fs, location);
+            if (persistedFiles.isPresent()) {
+                persistentStoreHits.update(1);
+                cache.asMap().replace(location, cachedValueHolder, new ValueHolder(persistedFiles.get()));
+                return new SimpleRemoteIterator(persistedFiles.get().iterator());
+            }
+            // taken before the listing, so that files added while listing invalidate the stored listing
+            modificationTime = PersistentDirectoryListingStore.getModificationTime(fs, location);
+        }
+
+        return cachingRemoteIterator(cachedValueHolder, createListingRemoteIterator(fs, location, filterPredicate), fs, location, modificationTime);
     }
 
     private static RemoteIterator<TrinoFileStatus> createListingRemoteIterator(TrinoFileSystem fs, Location location, Predicate<FileEntry> filterPredicate)
@@ -142,6 +175,7 @@ public class CachingDirectoryLister
     public void invalidate(Location location)
     {
         cache.invalidate(location);
+        persistentStore.ifPresent(store -> store.invalidate(location));
     }
 
     @Override
@@ -149,11 +183,11 @@ public class CachingDirectoryLister
     {
         if (isCacheEnabledFor(table.getSchemaTableName()) && isLocationPresent(table.getStorage())) {
             if (table.getPartitionColumns().isEmpty()) {
-                cache.invalidate(Location.of(table.getStorage().getLocation()));
+                invalidate(Location.of(table.getStorage().getLocation()));
             }
             else {
                 // a partitioned table can have multiple paths in cache
-                cache.invalidateAll();
+                invalidateAll();
             }
         }
     }
@@ -162,7 +196,7 @@ public class CachingDirectoryLister
     public void invalidate(Partition partition)
     {
         if (isCacheEnabledFor(partition.getSchemaTableName()) && isLocationPresent(partition.getStorage())) {
-            cache.invalidate(Location.of(partition.getStorage().getLocation()));
+            invalidate(Location.of(partition.getStorage().getLocation()));
         }
     }
 
@@ -170,9 +204,10 @@ public class CachingDirectoryLister
     public void invalidateAll()
     {
         cache.invalidateAll();
+        persistentStore.ifPresent(PersistentDirectoryListingStore::invalidateAll);
     }
 
-    private RemoteIterator<TrinoFileStatus> cachingRemoteIterator(ValueHolder cachedValueHolder, RemoteIterator<TrinoFileStatus> iterator, Location location)
+    private RemoteIterator<TrinoFileStatus> cachingRemoteIterator(ValueHolder cachedValueHolder, RemoteIterator<TrinoFileStatus> iterator, TrinoFileSystem fs, Location location, Optional<Long> modificationTime)
     {
         return new RemoteIterator<>()
         {
@@ -186,7 +221,16 @@ public class CachingDirectoryLister
                 if (!hasNext) {
                     // The cachedValueHolder acts as an invalidation guard. If a cache invalidation happens while this iterator goes over
                     // the files from the specified path, the eventually outdated file listing will not be added anymore to the cache.
-                    cache.asMap().replace(location, cachedValueHolder, new ValueHolder(files));
+                    ValueHolder listedValueHolder = new ValueHolder(files);
+                    if (cache.asMap().replace(location, cachedValueHolder, listedValueHolder)) {
+                        persistentStore.ifPresent(store -> {
+                            store.put(fs, location, modificationTime, listedValueHolder.getFiles().orElseThrow());
+                            // the listing could have been invalidated while it was being stored
+                            if (cache.getIfPresent(location) != listedValueHolder) {
+                                store.invalidate(location);
+                            }
+                        });
+                    }
                 }
                 return hasNext;
             }
@@ -205,7 +249,7 @@ public class CachingDirectoryLister
     @Managed
     public void flushCache()
     {
-        cache.invalidateAll();
+        invalidateAll();
     }
 
     @Managed
@@ -238,6 +282,13 @@ public class CachingDirectoryLister
         return cache.stats().requestCount();
     }
 
+    @Managed
+    @Nested
+    public CounterStat getPersistentStoreHits()
+    {
+        return persistentStoreHits;
+    }
+
     @Override
     public boolean isCached(Location location)
     {
@@ -0,0 +1,422 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.fs;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.log.Logger;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.trino.filesystem.FileEntry.Block;
+import io.trino.filesystem.Location;
+import io.trino.filesystem.TrinoFileSystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.hash.Hashing.sha256;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Keeps directory listings in local files, so that they survive restarts of the coordinator.
+ * Each listing is stored in its own file, named after the hash of the listed location and of the
+ * filter applied to the listing, together with the time it was listed at and the modification
+ * times of the listed directories. Listings are ignored when they are older than
+ * {@code expireAfterWrite}, or when one of the directories was modified since, and listings of
+ * locations written to by Trino are removed through {@link #invalidate}. File systems without
+ * directory modification times, like object stores, only rely on the expiration. Expired listings,
+ * and the oldest listings beyond {@code maxSize}, are removed periodically in the background.
+ */
+public class PersistentDirectoryListingStore
+{
+    private static final Logger log = Logger.get(PersistentDirectoryListingStore.class);
+
+    private static final int FORMAT_VERSION = 3;
+    private static final String FILE_SUFFIX = ".listing";
+    private static final long CLEANUP_INTERVAL_MILLIS = MINUTES.toMillis(1);
+    // validating more directories on every read costs about as much as listing them again
+    private static final int MAX_VALIDATED_DIRECTORIES = 100;
+    private static final ExecutorService CLEANUP_EXECUTOR = newCachedThreadPool(daemonThreadsNamed("persistent-directory-listing-cleanup-%s"));
+
+    private final Path directory;
+    private final long expireAfterWriteMillis;
+    private final long maxSizeInBytes;
+    private final String listingFilter;
+    private final Executor cleanupExecutor;
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicBoolean cleanupRunning = new AtomicBoolean();
+    private volatile long lastCleanupMillis;
+
+    /**
+     * @param listingFilter identifies the filter applied to the stored listings, so that listings
+     * stored with a different filter, for example before a configuration change, are not used
+     */
+    public PersistentDirectoryListingStore(Path directory, Duration expireAfterWrite, DataSize maxSize, String listingFilter)
+    {
+        this(directory, expireAfterWrite, maxSize, listingFilter, CLEANUP_EXECUTOR);
+    }
+
+    @VisibleForTesting
+    PersistentDirectoryListingStore(Path directory, Duration expireAfterWrite, DataSize maxSize, String listingFilter, Executor cleanupExecutor)
+    {
+        this.directory = requireNonNull(directory, "directory is null");
+        this.expireAfterWriteMillis = expireAfterWrite.toMillis();
+        this.maxSizeInBytes = maxSize.toBytes();
+        this.listingFilter = requireNonNull(listingFilter, "listingFilter is null");
+        this.cleanupExecutor = requireNonNull(cleanupExecutor, "cleanupExecutor is null");
+        try {
+            Files.createDirectories(directory);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to create directory listing cache directory: " + directory, e);
+        }
+        scheduleCleanup();
+    }
+
+    /**
+     * Returns the listing of the location, unless it expired or one of the listed directories was modified since.
+     */
+    public Optional<List<TrinoFileStatus>> get(TrinoFileSystem fileSystem, Location location)
+    {
+        Path file = getFile(location);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != FORMAT_VERSION || !readString(input).equals(listingFilter) || !readString(input).equals(location.toString())) {
+                // hash collision, or a file written by a different version
+                return Optional.empty();
+            }
+            if (isExpired(input.readLong())) {
+                delete(file);
+                return Optional.empty();
+            }
+            int directoryCount = input.readInt();
+            for (int i = 0; i < directoryCount; i++) {
+                Location listedDirectory = Location.of(readString(input));
+                long modificationTime = input.readLong();
+                if (!getModificationTime(fileSystem, listedDirectory).equals(Optional.of(modificationTime))) {
+                    // the directory was modified, or removed, after it was listed
+                    delete(file);
+                    return Optional.empty();
+                }
+            }
+            int fileCount = input.readInt();
+            ImmutableList.Builder<TrinoFileStatus> files = ImmutableList.builderWithExpectedSize(fileCount);
+            for (int i = 0; i < fileCount; i++) {
+                files.add(readFileStatus(input));
+            }
+            return Optional.of(files.build());
+        }
+        catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        catch (IOException | RuntimeException e) {
+            log.warn(e, "Failed to read cached directory listing of %s", location);
+            delete(file);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the listing of the location, together with the modification times of the listed directories.
+     *
+     * @param modificationTime the modification time of the location before it was listed, so that files
+     * added while the location was listed invalidate the listing
+     */
+    public void put(TrinoFileSystem fileSystem, Location location, Optional<Long> modificationTime, List<TrinoFileStatus> files)
+    {
+        Optional<Map<Location, Long>> modificationTimes = getDirectoryModificationTimes(fileSystem, location, modificationTime, files);
+        if (modificationTimes.isEmpty()) {
+            return;
+        }
+        Map<Location, Long> directoryModificationTimes = modificationTimes.get();
+
+        // write to a temporary file first, so that readers never see a partially written listing
+        Path temporaryFile = directory.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            long size;
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(FORMAT_VERSION);
+                writeString(output, listingFilter);
+                writeString(output, location.toString());
+                output.writeLong(System.currentTimeMillis());
+                output.writeInt(directoryModificationTimes.size());
+                for (Map.Entry<Location, Long> entry : directoryModificationTimes.entrySet()) {
+                    writeString(output, entry.getKey().toString());
+                    output.writeLong(entry.getValue());
+                }
+                output.writeInt(files.size());
+                for (TrinoFileStatus file : files) {
+                    writeFileStatus(output, file);
+                }
+                output.flush();
+                size = output.size();
+            }
+            Files.move(temporaryFile, getFile(location), ATOMIC_MOVE, REPLACE_EXISTING);
+            // replaced listings are still counted, until the next cleanup recomputes the size
+            storedBytes.addAndGet(size);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to store directory listing of %s", location);
+            delete(temporaryFile);
+        }
+
+        if (storedBytes.get() > maxSizeInBytes || System.currentTimeMillis() - lastCleanupMillis >= CLEANUP_INTERVAL_MILLIS) {
+            scheduleCleanup();
+        }
+    }
+
+    /**
+     * Returns the modification time of the directory, or empty if the file system does not keep one.
+     */
+    static Optional<Long> getModificationTime(TrinoFileSystem fileSystem, Location directory)
+    {
+        try {
+            return Optional.of(fileSystem.newInputFile(directory).lastModified().toEpochMilli());
+        }
+        catch (IOException | RuntimeException e) {
+            // object stores have no directories, and the location may not be a valid file location
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return empty if the listing cannot be validated, and should not be stored
+     */
+    private static Optional<Map<Location, Long>> getDirectoryModificationTimes(TrinoFileSystem fileSystem, Location location, Optional<Long> modificationTime, List<TrinoFileStatus> files)
+    {
+        if (modificationTime.isEmpty()) {
+            // the file system does not keep directory modification times
+            return Optional.of(ImmutableMap.of());
+        }
+        Map<Location, Long> modificationTimes = new LinkedHashMap<>();
+        modificationTimes.put(location, modificationTime.get());
+        // the listing is recursive, so the files added to the subdirectories are missed by the listed location
+        String listedPath = location.toString().replaceFirst("/+$", "");
+        for (TrinoFileStatus file : files) {
+            Location parent = Location.of(file.getPath()).parentDirectory();
+            if (parent.toString().equals(listedPath) || modificationTimes.containsKey(parent)) {
+                continue;
+            }
+            Optional<Long> parentModificationTime = getModificationTime(fileSystem, parent);
+            if (parentModificationTime.isEmpty() || modificationTimes.size() >= MAX_VALIDATED_DIRECTORIES) {
+                // the directory was removed after it was listed, or there are too many directories to validate
+                return Optional.empty();
+            }
+            modificationTimes.put(parent, parentModificationTime.get());
+        }
+        return Optional.of(modificationTimes);
+    }
+
+    public void invalidate(Location location)
+    {
+        delete(getFile(location));
+    }
+
+    public void invalidateAll()
+    {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            files.forEach(PersistentDirectoryListingStore::delete);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to clear directory listing cache directory %s", directory);
+        }
+        storedBytes.set(0);
+    }
+
+    @VisibleForTesting
+    long getStoredBytes()
+    {
+        return storedBytes.get();
+    }
+
+    private void scheduleCleanup()
+    {
+        if (!cleanupRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            cleanupExecutor.execute(() -> {
+                try {
+                    cleanup();
+                }
+                finally {
+                    cleanupRunning.set(false);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            cleanupRunning.set(false);
+        }
+    }
+
+    @VisibleForTesting
+    void cleanup()
+    {
+        long now = System.currentTimeMillis();
+        lastCleanupMillis = now;
+        List<StoredListing> listings = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                }
+                catch (NoSuchFileException e) {
+                    continue;
+                }
+                // listings keep the modification time of their temporary file, which is the time they were written at
+                long writeTimeMillis = attributes.lastModifiedTime().toMillis();
+                if (!file.getFileName().toString().endsWith(FILE_SUFFIX)) {
+                    // left behind by an interrupted write, unless the write is still in progress
+                    if (now - writeTimeMillis >= CLEANUP_INTERVAL_MILLIS) {
+                        delete(file);
+                    }
+                }
+                else if (isExpired(writeTimeMillis)) {
+                    delete(file);
+                }
+                else {
+                    listings.add(new StoredListing(file, attributes.size(), writeTimeMillis));
+                }
+            }
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to remove expired directory listings from %s", directory);
+            return;
+        }
+
+        // remove the oldest listings beyond the size limit
+        listings.sort(comparingLong(StoredListing::writeTimeMillis));
+        long totalBytes = listings.stream()
+                .mapToLong(StoredListing::size)
+                .sum();
+        for (StoredListing listing : listings) {
+            if (totalBytes <= maxSizeInBytes) {
+                break;
+            }
+            delete(listing.file());
+            totalBytes -= listing.size();
+        }
+        storedBytes.set(totalBytes);
+    }
+
+    private boolean isExpired(long writeTimeMillis)
+    {
+        return System.currentTimeMillis() - writeTimeMillis >= expireAfterWriteMillis;
+    }
+
+    private Path getFile(Location location)
+    {
+        return directory.resolve(sha256().newHasher()
+                .putString(listingFilter, UTF_8)
+                .putByte((byte) 0)
+                .putString(location.toString(), UTF_8)
+                .hash() + FILE_SUFFIX);
+    }
+
+    private static void delete(Path file)
+    {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to delete cached directory listing %s", file);
+        }
+    }
+
+    private record StoredListing(Path file, long size, long writeTimeMillis) {}
+
+    private static void writeFileStatus(DataOutputStream output, TrinoFileStatus file)
+            throws IOException
+    {
+        writeString(output, file.getPath());
+        output.writeBoolean(file.isDirectory());
+        output.writeLong(file.getLength());
+        output.writeLong(file.getModificationTime());
+        output.writeInt(file.getBlockLocations().size());
+        for (BlockLocation blockLocation : file.getBlockLocations()) {
+            output.writeLong(blockLocation.getOffset());
+            output.writeLong(blockLocation.getLength());
+            output.writeInt(blockLocation.getHosts().size());
+            for (String host : blockLocation.getHosts()) {
+                writeString(output, host);
+            }
+        }
+    }
+
+    private static TrinoFileStatus readFileStatus(DataInputStream input)
+            throws IOException
+    {
+        String path = readString(input);
+        boolean isDirectory = input.readBoolean();
+        long length = input.readLong();
+        long modificationTime = input.readLong();
+        int blockCount = input.readInt();
+        ImmutableList.Builder<BlockLocation> blockLocations = ImmutableList.builderWithExpectedSize(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            long offset = input.readLong();
+            long blockLength = input.readLong();
+            int hostCount = input.readInt();
+            ImmutableList.Builder<String> hosts = ImmutableList.builderWithExpectedSize(hostCount);
+            for (int j = 0; j < hostCount; j++) {
+                hosts.add(readString(input));
+            }
+            blockLocations.add(new BlockLocation(new Block(hosts.build(), offset, blockLength)));
+        }
+        return new TrinoFileStatus(blockLocations.build(), path, isDirectory, length, modificationTime);
+    }
+
+    private static void writeString(DataOutputStream output, String value)
+            throws IOException
+    {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input)
+            throws IOException
+    {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
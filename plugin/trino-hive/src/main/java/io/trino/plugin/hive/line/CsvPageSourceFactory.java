@@ -16,19 +16,18 @@ package io.trino.plugin.hive.line;
 import com.google.inject.Inject;
 import io.trino.filesystem.TrinoFileSystemFactory;
 import io.trino.hive.formats.line.csv.CsvDeserializerFactory;
-import io.trino.hive.formats.line.text.TextLineReaderFactory;
 import io.trino.plugin.hive.HiveConfig;
 
-import static java.lang.Math.toIntExact;
+import java.util.concurrent.ExecutorService;
 
 public class CsvPageSourceFactory
         extends LinePageSourceFactory
 {
     @Inject
-    public CsvPageSourceFactory(TrinoFileSystemFactory trinoFileSystemFactory, HiveConfig config)
+    public CsvPageSourceFactory(TrinoFileSystemFactory trinoFileSystemFactory, HiveConfig config, ExecutorService executor)
     {
         super(trinoFileSystemFactory,
                 new CsvDeserializerFactory(),
-                new TextLineReaderFactory(1024, 1024, toIntExact(config.getTextMaxLineLength().toBytes())));
+                createTextLineReaderFactory(config, executor));
     }
 }
@@ -26,8 +26,10 @@ import io.trino.hive.formats.line.LineDeserializer;
 import io.trino.hive.formats.line.LineDeserializerFactory;
 import io.trino.hive.formats.line.LineReader;
 import io.trino.hive.formats.line.LineReaderFactory;
+import io.trino.hive.formats.line.text.TextLineReaderFactory;
 import io.trino.plugin.hive.AcidInfo;
 import io.trino.plugin.hive.HiveColumnHandle;
+import io.trino.plugin.hive.HiveConfig;
 import io.trino.plugin.hive.HivePageSourceFactory;
 import io.trino.plugin.hive.ReaderColumns;
 import io.trino.plugin.hive.ReaderPageSource;
@@ -42,6 +44,7 @@ import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -53,6 +56,7 @@ import static io.trino.plugin.hive.ReaderPageSource.noProjectionAdaptation;
 import static io.trino.plugin.hive.util.HiveUtil.getFooterCount;
 import static io.trino.plugin.hive.util.HiveUtil.getHeaderCount;
 import static io.trino.plugin.hive.util.HiveUtil.splitError;
+import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
 public abstract class LinePageSourceFactory
@@ -74,6 +78,15 @@ public abstract class LinePageSourceFactory
         this.lineReaderFactory = requireNonNull(lineReaderFactory, "lineReaderFactory is null");
     }
 
+    protected static TextLineReaderFactory createTextLineReaderFactory(HiveConfig config, ExecutorService executor)
+    {
+        return new TextLineReaderFactory(
+                1024,
+                1024,
+                toIntExact(config.getTextMaxLineLength().toBytes()),
+                config.isTextBackgroundDecompressionEnabled() ? Optional.of(executor) : Optional.empty());
+    }
+
     @Override
     public Optional<ReaderPageSource> createPageSource(
             ConnectorSession session,
@@ -16,19 +16,18 @@ package io.trino.plugin.hive.line;
 import com.google.inject.Inject;
 import io.trino.filesystem.TrinoFileSystemFactory;
 import io.trino.hive.formats.line.simple.SimpleDeserializerFactory;
-import io.trino.hive.formats.line.text.TextLineReaderFactory;
 import io.trino.plugin.hive.HiveConfig;
 
-import static java.lang.Math.toIntExact;
+import java.util.concurrent.ExecutorService;
 
 public class SimpleTextFilePageSourceFactory
         extends LinePageSourceFactory
 {
     @Inject
-    public SimpleTextFilePageSourceFactory(TrinoFileSystemFactory trinoFileSystemFactory, HiveConfig config)
+    public SimpleTextFilePageSourceFactory(TrinoFileSystemFactory trinoFileSystemFactory, HiveConfig config, ExecutorService executor)
     {
         super(trinoFileSystemFactory,
                 new SimpleDeserializerFactory(),
-                new TextLineReaderFactory(1024, 1024, toIntExact(config.getTextMaxLineLength().toBytes())));
+                createTextLineReaderFactory(config, executor));
     }
 }
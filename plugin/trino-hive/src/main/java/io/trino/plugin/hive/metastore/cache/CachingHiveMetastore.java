@@ -24,6 +24,8 @@ import com.google.common.collect.Sets.SetView;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.errorprone.annotations.ThreadSafe;
+import io.airlift.log.Logger;
+import io.airlift.stats.CounterStat;
 import io.airlift.units.Duration;
 import io.trino.cache.CacheStatsMBean;
 import io.trino.cache.EvictableCacheBuilder;
@@ -66,6 +68,8 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
@@ -73,6 +77,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Throwables.throwIfInstanceOf;
@@ -130,6 +135,14 @@ public final class CachingHiveMetastore
     private final LoadingCache<String, Set<String>> rolesCache;
     private final LoadingCache<HivePrincipal, Set<RoleGrant>> roleGrantsCache;
     private final LoadingCache<String, Optional<String>> configValuesCache;
+    private final CoalescingBulkLoader<HivePartitionName, Optional<Partition>> partitionLoader = new CoalescingBulkLoader<>();
+    private final OptionalLong partitionRefreshNanos;
+    private final Optional<Executor> partitionRefreshExecutor;
+    private final Optional<Cache<HiveTableName, PartitionCacheTableStats>> partitionCacheTableStats;
+
+    private static final Logger log = Logger.get(CachingHiveMetastore.class);
+
+    private static final int MAX_TABLES_WITH_PARTITION_CACHE_STATS = 1000;
 
     public static CachingHiveMetastore createPerTransactionCache(HiveMetastore delegate, long maximumSize)
     {
@@ -214,6 +227,19 @@ public final class CachingHiveMetastore
         partitionStatisticsCache = partitionStatsCacheFactory.buildBulkCache();
         partitionFilterCache = partitionCacheFactory.buildCache(this::loadPartitionNamesByFilter);
         partitionCache = partitionCacheFactory.buildBulkCache();
+        partitionRefreshNanos = partitionCacheFactory.bulkRefreshMillis().stream()
+                .map(MILLISECONDS::toNanos)
+                .findAny();
+        partitionRefreshExecutor = partitionCacheFactory.refreshExecutor();
+        if (partitionCacheFactory.statsRecording() == StatsRecording.ENABLED) {
+            Cache<HiveTableName, PartitionCacheTableStats> tableStats = EvictableCacheBuilder.newBuilder()
+                    .maximumSize(MAX_TABLES_WITH_PARTITION_CACHE_STATS)
+                    .build();
+            partitionCacheTableStats = Optional.of(tableStats);
+        }
+        else {
+            partitionCacheTableStats = Optional.empty();
+        }
     }
 
     @Managed
@@ -224,6 +250,7 @@ public final class CachingHiveMetastore
         databaseCache.invalidateAll();
         tableCache.invalidateAll();
         partitionCache.invalidateAll();
+        partitionLoader.invalidateAll();
         partitionFilterCache.invalidateAll();
         tablePrivilegesCache.invalidateAll();
         tableColumnStatisticsCache.invalidateAll();
@@ -290,9 +317,9 @@ public final class CachingHiveMetastore
         }
     }
 
-    private static <K, V> V getWithValueHolder(Cache<K, AtomicReference<V>> cache, K key, Supplier<V> loader)
+    private static <K, V> V getWithValueHolder(Cache<K, AtomicReference<V>> cache, K key, Supplier<AtomicReference<V>> valueHolderFactory, Supplier<V> loader)
     {
-        AtomicReference<V> valueHolder = uncheckedCacheGet(cache, key, AtomicReference::new);
+        AtomicReference<V> valueHolder = uncheckedCacheGet(cache, key, valueHolderFactory::get);
         V value = valueHolder.get();
         if (value != null) {
             return value;
@@ -331,13 +358,17 @@ public final class CachingHiveMetastore
         return merged;
     }
 
-    private static <K, V> Map<K, V> getAll(Cache<K, AtomicReference<V>> cache, Iterable<K> keys, Function<Set<K>, Map<K, V>> bulkLoader)
+    private static <K, V> Map<K, V> getAll(
+            Cache<K, AtomicReference<V>> cache,
+            Iterable<K> keys,
+            Supplier<AtomicReference<V>> valueHolderFactory,
+            Function<Set<K>, Map<K, V>> bulkLoader)
     {
         ImmutableMap.Builder<K, V> result = ImmutableMap.builder();
         ImmutableMap.Builder<K, AtomicReference<V>> toLoadBuilder = ImmutableMap.builder();
 
         for (K key : keys) {
-            AtomicReference<V> valueHolder = uncheckedCacheGet(cache, key, AtomicReference::new);
+            AtomicReference<V> valueHolder = uncheckedCacheGet(cache, key, valueHolderFactory::get);
             V value = valueHolder.get();
             if (value != null) {
                 result.put(key, value);
@@ -551,6 +582,7 @@ public final class CachingHiveMetastore
                 // basic stats are stored as partition properties
                 partitionCache.invalidate(hivePartitionName);
             });
+            partitionLoader.invalidateAll();
         }
     }
 
@@ -741,7 +773,7 @@ public final class CachingHiveMetastore
     @Override
     public Optional<Partition> getPartition(Table table, List<String> partitionValues)
     {
-        return getWithValueHolder(partitionCache, hivePartitionName(hiveTableName(table.getDatabaseName(), table.getTableName()), partitionValues), () -> delegate.getPartition(table, partitionValues));
+        return getWithValueHolder(partitionCache, hivePartitionName(hiveTableName(table.getDatabaseName(), table.getTableName()), partitionValues), PartitionValueHolder::new, () -> delegate.getPartition(table, partitionValues));
     }
 
     @Override
@@ -766,14 +798,24 @@ public final class CachingHiveMetastore
     @Override
     public Map<String, Optional<Partition>> getPartitionsByNames(Table table, List<String> partitionNames)
     {
+        HiveTableName hiveTableName = hiveTableName(table.getDatabaseName(), table.getTableName());
         List<HivePartitionName> names = partitionNames.stream()
-                .map(name -> hivePartitionName(hiveTableName(table.getDatabaseName(), table.getTableName()), name))
+                .map(name -> hivePartitionName(hiveTableName, name))
                 .collect(toImmutableList());
 
+        Optional<PartitionCacheTableStats> tableStats = partitionCacheTableStats.map(stats -> uncheckedCacheGet(stats, hiveTableName, PartitionCacheTableStats::new));
         Map<HivePartitionName, Optional<Partition>> all = getAll(
                 partitionCache,
                 names,
-                namesToLoad -> loadPartitionsByNames(table, namesToLoad));
+                PartitionValueHolder::new,
+                namesToLoad -> {
+                    tableStats.ifPresent(stats -> stats.recordMisses(namesToLoad.size()));
+                    // concurrent requests for the same partitions share a single metastore call
+                    return partitionLoader.load(namesToLoad, keys -> loadPartitionsByNames(table, keys));
+                });
+        tableStats.ifPresent(stats -> stats.recordRequests(names.size()));
+        refreshPartitionsAhead(table, names, tableStats);
+
         ImmutableMap.Builder<String, Optional<Partition>> partitionsByName = ImmutableMap.builder();
         for (Entry<HivePartitionName, Optional<Partition>> entry : all.entrySet()) {
             partitionsByName.put(entry.getKey().getPartitionName().orElseThrow(), entry.getValue());
@@ -781,6 +823,43 @@ public final class CachingHiveMetastore
         return partitionsByName.buildOrThrow();
     }
 
+    /**
+     * Reloads the cached partitions which are due for a refresh in the background, so that hot partitions
+     * are not evicted and loaded again on the query path. Partitions are only refreshed when they are
+     * requested, so the partitions of tables which are no longer queried still expire.
+     */
+    private void refreshPartitionsAhead(Table table, List<HivePartitionName> names, Optional<PartitionCacheTableStats> tableStats)
+    {
+        if (partitionRefreshNanos.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Map<HivePartitionName, PartitionValueHolder> toRefresh = new HashMap<>();
+        for (HivePartitionName name : names) {
+            if (partitionCache.getIfPresent(name) instanceof PartitionValueHolder valueHolder && valueHolder.startRefreshIfDue(now, partitionRefreshNanos.getAsLong())) {
+                toRefresh.put(name, valueHolder);
+            }
+        }
+        if (toRefresh.isEmpty()) {
+            return;
+        }
+        tableStats.ifPresent(stats -> stats.recordRefreshes(toRefresh.size()));
+
+        partitionRefreshExecutor.orElseThrow().execute(() -> {
+            Map<HivePartitionName, Optional<Partition>> partitions;
+            try {
+                partitions = partitionLoader.load(toRefresh.keySet(), keys -> loadPartitionsByNames(table, keys));
+            }
+            catch (RuntimeException e) {
+                log.warn(e, "Failed to refresh partitions of table %s", table.getSchemaTableName());
+                toRefresh.values().forEach(PartitionValueHolder::refreshFailed);
+                return;
+            }
+            // the partitions invalidated in the meantime are not replaced, as their value holder is no longer cached
+            toRefresh.forEach((name, valueHolder) -> partitionCache.asMap().replace(name, valueHolder, new PartitionValueHolder(partitions.get(name))));
+        });
+    }
+
     private Map<HivePartitionName, Optional<Partition>> loadPartitionsByNames(Table table, Iterable<? extends HivePartitionName> partitionNames)
     {
         requireNonNull(partitionNames, "partitionNames is null");
@@ -917,6 +996,8 @@ public final class CachingHiveMetastore
                 partitionPredicate.test(partitionName.getPartitionName());
 
         invalidateAllIf(partitionCache, hivePartitionPredicate);
+        // partitions loaded before the invalidation must not be returned to later requests
+        partitionLoader.invalidateAll();
         invalidateAllIf(partitionFilterCache, partitionFilter -> partitionFilter.getHiveTableName().equals(hiveTableName));
         invalidateAllIf(partitionStatisticsCache, hivePartitionPredicate);
     }
@@ -1222,6 +1303,22 @@ public final class CachingHiveMetastore
         return new CacheStatsMBean(partitionCache);
     }
 
+    @Managed
+    @Nested
+    public CounterStat getPartitionCoalescedLoads()
+    {
+        return partitionLoader.getCoalescedLoads();
+    }
+
+    @Managed(description = "Partition cache statistics of a table")
+    public String getPartitionCacheTableStats(String databaseName, String tableName)
+    {
+        return partitionCacheTableStats
+                .map(stats -> stats.getIfPresent(hiveTableName(databaseName, tableName)))
+                .map(PartitionCacheTableStats::toString)
+                .orElse("");
+    }
+
     @Managed
     @Nested
     public CacheStatsMBean getPartitionFilterStats()
@@ -1320,6 +1417,65 @@ public final class CachingHiveMetastore
         return configValuesCache;
     }
 
+    /**
+     * Partition value holder which remembers when it was cached, so that the partition can be refreshed ahead of its expiration.
+     */
+    private static class PartitionValueHolder
+            extends AtomicReference<Optional<Partition>>
+    {
+        private final long createdNanos = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        public PartitionValueHolder() {}
+
+        public PartitionValueHolder(Optional<Partition> partition)
+        {
+            super(requireNonNull(partition, "partition is null"));
+        }
+
+        public boolean startRefreshIfDue(long now, long refreshNanos)
+        {
+            return get() != null && now - createdNanos >= refreshNanos && refreshing.compareAndSet(false, true);
+        }
+
+        public void refreshFailed()
+        {
+            refreshing.set(false);
+        }
+    }
+
+    private static class PartitionCacheTableStats
+    {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong refreshes = new AtomicLong();
+
+        public void recordRequests(long count)
+        {
+            requests.addAndGet(count);
+        }
+
+        public void recordMisses(long count)
+        {
+            misses.addAndGet(count);
+        }
+
+        public void recordRefreshes(long count)
+        {
+            refreshes.addAndGet(count);
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .add("requests", requests.get())
+                    .add("misses", misses.get())
+                    .add("refreshes", refreshes.get())
+                    .toString();
+        }
+    }
+
     private record CacheFactory(
             OptionalLong expiresAfterWriteMillis,
             OptionalLong refreshMillis,
@@ -1371,6 +1527,17 @@ public final class CachingHiveMetastore
             return CachingHiveMetastore.buildCache(expiresAfterWriteMillis, refreshMillis, refreshExecutor, maximumSize, statsRecording, cacheLoader);
         }
 
+        /**
+         * Bulk caches cannot be refreshed by the cache itself, the refresh interval is returned so that they can be refreshed ahead explicitly.
+         */
+        public OptionalLong bulkRefreshMillis()
+        {
+            if (refreshMillis.isPresent() && (expiresAfterWriteMillis.isEmpty() || expiresAfterWriteMillis.getAsLong() > refreshMillis.getAsLong())) {
+                return refreshMillis;
+            }
+            return OptionalLong.empty();
+        }
+
         public <K, V> Cache<K, AtomicReference<V>> buildBulkCache()
         {
             // disable refresh since it can't use the bulk loading and causes too many requests
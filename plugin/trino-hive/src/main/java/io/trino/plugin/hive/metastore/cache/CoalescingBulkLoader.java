@@ -0,0 +1,102 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.metastore.cache;
+
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.SettableFuture;
+import io.airlift.stats.CounterStat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+
+/**
+ * Loads values in bulk, making sure that a key is not loaded by several threads at the same time.
+ * Keys which are already being loaded by a concurrent call are not passed to the bulk loader,
+ * and their values are taken from the load in progress instead. Loads started before a call to
+ * {@link #invalidateAll()} are not shared with later calls, as they may return stale values.
+ */
+final class CoalescingBulkLoader<K, V>
+{
+    private final ConcurrentMap<LoadKey<K>, SettableFuture<V>> loadsInProgress = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final CounterStat coalescedLoads = new CounterStat();
+
+    public void invalidateAll()
+    {
+        generation.incrementAndGet();
+    }
+
+    public Map<K, V> load(Set<K> keys, Function<Set<K>, Map<K, V>> bulkLoader)
+    {
+        long currentGeneration = generation.get();
+        Map<LoadKey<K>, SettableFuture<V>> ownLoads = new HashMap<>();
+        Map<K, SettableFuture<V>> concurrentLoads = new HashMap<>();
+        for (K key : keys) {
+            LoadKey<K> loadKey = new LoadKey<>(key, currentGeneration);
+            SettableFuture<V> future = SettableFuture.create();
+            SettableFuture<V> existing = loadsInProgress.putIfAbsent(loadKey, future);
+            if (existing == null) {
+                ownLoads.put(loadKey, future);
+            }
+            else {
+                concurrentLoads.put(key, existing);
+            }
+        }
+        coalescedLoads.update(concurrentLoads.size());
+
+        ImmutableMap.Builder<K, V> result = ImmutableMap.builderWithExpectedSize(keys.size());
+        if (!ownLoads.isEmpty()) {
+            try {
+                Map<K, V> loaded = bulkLoader.apply(ownLoads.keySet().stream()
+                        .map(LoadKey::key)
+                        .collect(toImmutableSet()));
+                ownLoads.forEach((loadKey, future) -> {
+                    V value = loaded.get(loadKey.key());
+                    if (value == null) {
+                        future.setException(new InvalidCacheLoadException("Failed to return a value for " + loadKey.key()));
+                    }
+                    else {
+                        future.set(value);
+                    }
+                });
+            }
+            catch (Throwable t) {
+                ownLoads.values().forEach(future -> future.setException(t));
+                throw t;
+            }
+            finally {
+                ownLoads.forEach(loadsInProgress::remove);
+            }
+            ownLoads.forEach((loadKey, future) -> result.put(loadKey.key(), getFutureValue(future)));
+        }
+        concurrentLoads.forEach((key, future) -> result.put(key, getFutureValue(future)));
+        return result.buildOrThrow();
+    }
+
+    public CounterStat getCoalescedLoads()
+    {
+        return coalescedLoads;
+    }
+
+    private record LoadKey<K>(K key, long generation) {}
+}
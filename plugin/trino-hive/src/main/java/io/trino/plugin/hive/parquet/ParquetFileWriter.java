@@ -39,6 +39,7 @@ import java.lang.management.ThreadMXBean;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -76,7 +77,8 @@ public final class ParquetFileWriter
             CompressionCodec compressionCodec,
             String trinoVersion,
             Optional<DateTimeZone> parquetTimeZone,
-            Optional<Supplier<ParquetDataSource>> validationInputFactory)
+            Optional<Supplier<ParquetDataSource>> validationInputFactory,
+            Optional<Executor> columnWriterExecutor)
             throws IOException
     {
         this.memoryContext = newSimpleAggregatedMemoryContext();
@@ -94,7 +96,8 @@ public final class ParquetFileWriter
                 parquetTimeZone,
                 validationInputFactory.isPresent()
                         ? Optional.of(new ParquetWriteValidationBuilder(fileColumnTypes, fileColumnNames))
-                        : Optional.empty());
+                        : Optional.empty(),
+                columnWriterExecutor);
 
         this.rollbackAction = requireNonNull(rollbackAction, "rollbackAction is null");
         this.fileInputColumnIndexes = requireNonNull(fileInputColumnIndexes, "fileInputColumnIndexes is null");
@@ -158,7 +158,8 @@ public class ParquetFileWriterFactory
                             .orElseThrow(() -> new IllegalArgumentException("Unsupported compression codec for Parquet: " + compressionCodec)),
                     nodeVersion.toString(),
                     Optional.of(parquetTimeZone),
-                    validationInputFactory));
+                    validationInputFactory,
+                    Optional.empty()));
         }
         catch (IOException e) {
             throw new TrinoException(HIVE_WRITER_OPEN_ERROR, "Error creating Parquet file", e);
@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.util;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Applies a slow (for example remote) function to the elements of an iterator in the background,
+ * so that the results are already available when they are requested. The results are returned in
+ * the order of the source elements.
+ * <p>
+ * The number of elements loaded ahead starts at one and is doubled, up to {@code maxPrefetch},
+ * every time the consumer has to wait for a result, so that it adapts to the latency of the loads.
+ * While {@code prefetchAllowed} returns false, elements are only loaded when they are requested.
+ * The source iterator is only accessed by the thread consuming this iterator. Closing the iterator
+ * cancels the loads in flight.
+ */
+public class PrefetchingIterator<T, R>
+        extends AbstractIterator<R>
+        implements Closeable
+{
+    private final Iterator<T> source;
+    private final Function<T, R> loader;
+    private final Executor executor;
+    private final int maxPrefetch;
+    private final BooleanSupplier prefetchAllowed;
+    @GuardedBy("this")
+    private final Deque<ListenableFuture<R>> pending = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private int prefetch = 1;
+    @GuardedBy("this")
+    private boolean closed;
+
+    public PrefetchingIterator(Iterator<T> source, Function<T, R> loader, Executor executor, int maxPrefetch)
+    {
+        this(source, loader, executor, maxPrefetch, () -> true);
+    }
+
+    public PrefetchingIterator(Iterator<T> source, Function<T, R> loader, Executor executor, int maxPrefetch, BooleanSupplier prefetchAllowed)
+    {
+        this.source = requireNonNull(source, "source is null");
+        this.loader = requireNonNull(loader, "loader is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        checkArgument(maxPrefetch > 0, "maxPrefetch must be positive");
+        this.maxPrefetch = maxPrefetch;
+        this.prefetchAllowed = requireNonNull(prefetchAllowed, "prefetchAllowed is null");
+    }
+
+    @Override
+    protected R computeNext()
+    {
+        ListenableFuture<R> next;
+        synchronized (this) {
+            fill(1);
+            next = pending.poll();
+            // a closed iterator has no more elements
+            if (next == null) {
+                return endOfData();
+            }
+            if (!next.isDone()) {
+                // the loads are slower than the consumer, so keep more of them in flight
+                prefetch = min(prefetch * 2, maxPrefetch);
+            }
+            fillAhead();
+        }
+        // wait outside the lock, so that the iterator can be closed meanwhile
+        R result = getFutureValue(next);
+        synchronized (this) {
+            fillAhead();
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        closed = true;
+        pending.forEach(future -> future.cancel(true));
+        pending.clear();
+    }
+
+    @GuardedBy("this")
+    private void fillAhead()
+    {
+        if (prefetchAllowed.getAsBoolean()) {
+            fill(prefetch);
+        }
+    }
+
+    @GuardedBy("this")
+    private void fill(int count)
+    {
+        while (!closed && pending.size() < count && source.hasNext()) {
+            T element = source.next();
+            ListenableFutureTask<R> task = ListenableFutureTask.create(() -> loader.apply(element));
+            executor.execute(task);
+            pending.add(task);
+        }
+    }
+}
@@ -87,14 +87,17 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.trino.spi.block.ArrayValueBuilder.buildArrayValue;
 import static io.trino.spi.block.MapValueBuilder.buildMapValue;
 import static io.trino.spi.block.RowValueBuilder.buildRowValue;
 import static io.trino.spi.type.UuidType.javaUuidToTrinoUuid;
 import static io.trino.type.InternalTypeManager.TESTING_TYPE_MANAGER;
 import static io.trino.util.StructuralTestUtil.appendToBlockBuilder;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 
 public final class HiveTestUtils
 {
@@ -123,6 +126,8 @@ public final class HiveTestUtils
     public static final TrinoHdfsFileSystemStats HDFS_FILE_SYSTEM_STATS = new TrinoHdfsFileSystemStats();
     public static final HdfsFileSystemFactory HDFS_FILE_SYSTEM_FACTORY = new HdfsFileSystemFactory(HDFS_ENVIRONMENT, HDFS_FILE_SYSTEM_STATS);
 
+    public static final ExecutorService TEXT_DECOMPRESSION_EXECUTOR = newCachedThreadPool(daemonThreadsNamed("hive-test-text-decompression-%s"));
+
     public static final PageSorter PAGE_SORTER = new PagesIndexPageSorter(new PagesIndex.TestingFactory(false));
 
     public static ConnectorSession getHiveSession(HiveConfig hiveConfig)
@@ -178,11 +183,11 @@ public final class HiveTestUtils
     {
         FileFormatDataSourceStats stats = new FileFormatDataSourceStats();
         return ImmutableSet.<HivePageSourceFactory>builder()
-                .add(new CsvPageSourceFactory(fileSystemFactory, hiveConfig))
-                .add(new JsonPageSourceFactory(fileSystemFactory, hiveConfig))
-                .add(new OpenXJsonPageSourceFactory(fileSystemFactory, hiveConfig))
-                .add(new RegexPageSourceFactory(fileSystemFactory, hiveConfig))
-                .add(new SimpleTextFilePageSourceFactory(fileSystemFactory, hiveConfig))
+                .add(new CsvPageSourceFactory(fileSystemFactory, hiveConfig, TEXT_DECOMPRESSION_EXECUTOR))
+                .add(new JsonPageSourceFactory(fileSystemFactory, hiveConfig, TEXT_DECOMPRESSION_EXECUTOR))
+                .add(new OpenXJsonPageSourceFactory(fileSystemFactory, hiveConfig, TEXT_DECOMPRESSION_EXECUTOR))
+                .add(new RegexPageSourceFactory(fileSystemFactory, hiveConfig, TEXT_DECOMPRESSION_EXECUTOR))
+                .add(new SimpleTextFilePageSourceFactory(fileSystemFactory, hiveConfig, TEXT_DECOMPRESSION_EXECUTOR))
                 .add(new SimpleSequenceFilePageSourceFactory(fileSystemFactory, hiveConfig))
                 .add(new AvroPageSourceFactory(fileSystemFactory))
                 .add(new RcFilePageSourceFactory(fileSystemFactory, hiveConfig))
@@ -50,6 +50,7 @@ public class TestHiveConfig
                 .setPerTransactionMetastoreCacheMaximumSize(1000)
                 .setMinPartitionBatchSize(10)
                 .setMaxPartitionBatchSize(100)
+                .setMaxPartitionBatchPrefetch(4)
                 .setMaxInitialSplits(200)
                 .setMaxInitialSplitSize(DataSize.of(32, Unit.MEGABYTE))
                 .setSplitLoaderConcurrency(64)
@@ -78,6 +79,7 @@ public class TestHiveConfig
                 .setValidateBucketing(true)
                 .setParallelPartitionedBucketedWrites(true)
                 .setTextMaxLineLength(DataSize.of(100, Unit.MEGABYTE))
+                .setTextBackgroundDecompressionEnabled(false)
                 .setOrcLegacyTimeZone(TimeZone.getDefault().getID())
                 .setParquetTimeZone(TimeZone.getDefault().getID())
                 .setUseParquetColumnNames(true)
@@ -97,6 +99,9 @@ public class TestHiveConfig
                 .setTemporaryStagingDirectoryPath("/tmp/presto-${USER}")
                 .setDelegateTransactionalManagedTableLocationToMetastore(false)
                 .setFileStatusCacheExpireAfterWrite(new Duration(1, TimeUnit.MINUTES))
+                .setFileStatusCachePersistentDirectory(null)
+                .setFileStatusCachePersistentExpireAfterWrite(new Duration(1, TimeUnit.HOURS))
+                .setFileStatusCachePersistentMaxSize(DataSize.of(1, GIGABYTE))
                 .setFileStatusCacheMaxRetainedSize(DataSize.of(1, GIGABYTE))
                 .setFileStatusCacheTables(ImmutableList.of())
                 .setPerTransactionFileStatusCacheMaxRetainedSize(DataSize.of(100, MEGABYTE))
@@ -135,6 +140,7 @@ public class TestHiveConfig
                 .put("hive.per-transaction-metastore-cache-maximum-size", "500")
                 .put("hive.metastore.partition-batch-size.min", "1")
                 .put("hive.metastore.partition-batch-size.max", "1000")
+                .put("hive.metastore.partition-batch-prefetch.max", "8")
                 .put("hive.max-initial-splits", "10")
                 .put("hive.max-initial-split-size", "16MB")
                 .put("hive.split-loader-concurrency", "1")
@@ -161,6 +167,7 @@ public class TestHiveConfig
                 .put("hive.max-concurrent-metastore-updates", "100")
                 .put("hive.max-partition-drops-per-query", "1000")
                 .put("hive.text.max-line-length", "13MB")
+                .put("hive.text.background-decompression.enabled", "true")
                 .put("hive.orc.time-zone", nonDefaultTimeZone().getID())
                 .put("hive.parquet.time-zone", nonDefaultTimeZone().getID())
                 .put("hive.parquet.use-column-names", "false")
@@ -184,6 +191,9 @@ public class TestHiveConfig
                 .put("hive.file-status-cache-tables", "foo.bar1, foo.bar2")
                 .put("hive.file-status-cache.max-retained-size", "1000B")
                 .put("hive.file-status-cache-expire-time", "30m")
+                .put("hive.file-status-cache.persistent-directory", "/var/cache/trino/listings")
+                .put("hive.file-status-cache.persistent-expire-time", "6h")
+                .put("hive.file-status-cache.persistent-max-size", "10GB")
                 .put("hive.per-transaction-file-status-cache.max-retained-size", "42B")
                 .put("hive.hive-views.enabled", "true")
                 .put("hive.hive-views.legacy-translation", "true")
@@ -217,6 +227,7 @@ public class TestHiveConfig
                 .setPerTransactionMetastoreCacheMaximumSize(500)
                 .setMinPartitionBatchSize(1)
                 .setMaxPartitionBatchSize(1000)
+                .setMaxPartitionBatchPrefetch(8)
                 .setMaxInitialSplits(10)
                 .setMaxInitialSplitSize(DataSize.of(16, Unit.MEGABYTE))
                 .setSplitLoaderConcurrency(1)
@@ -243,6 +254,7 @@ public class TestHiveConfig
                 .setValidateBucketing(false)
                 .setParallelPartitionedBucketedWrites(false)
                 .setTextMaxLineLength(DataSize.of(13, Unit.MEGABYTE))
+                .setTextBackgroundDecompressionEnabled(true)
                 .setOrcLegacyTimeZone(nonDefaultTimeZone().getID())
                 .setParquetTimeZone(nonDefaultTimeZone().getID())
                 .setUseParquetColumnNames(false)
@@ -266,6 +278,9 @@ public class TestHiveConfig
                 .setFileStatusCacheTables(ImmutableList.of("foo.bar1", "foo.bar2"))
                 .setFileStatusCacheMaxRetainedSize(DataSize.ofBytes(1000))
                 .setFileStatusCacheExpireAfterWrite(new Duration(30, TimeUnit.MINUTES))
+                .setFileStatusCachePersistentDirectory("/var/cache/trino/listings")
+                .setFileStatusCachePersistentExpireAfterWrite(new Duration(6, TimeUnit.HOURS))
+                .setFileStatusCachePersistentMaxSize(DataSize.of(10, GIGABYTE))
                 .setPerTransactionFileStatusCacheMaxRetainedSize(DataSize.ofBytes(42))
                 .setTranslateHiveViews(true)
                 .setLegacyHiveViewTranslation(true)
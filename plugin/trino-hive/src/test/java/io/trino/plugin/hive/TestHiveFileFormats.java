@@ -149,6 +149,7 @@ import static io.trino.plugin.hive.HiveStorageFormat.RCTEXT;
 import static io.trino.plugin.hive.HiveStorageFormat.SEQUENCEFILE;
 import static io.trino.plugin.hive.HiveStorageFormat.TEXTFILE;
 import static io.trino.plugin.hive.HiveTestUtils.SESSION;
+import static io.trino.plugin.hive.HiveTestUtils.TEXT_DECOMPRESSION_EXECUTOR;
 import static io.trino.plugin.hive.HiveTestUtils.getHiveSession;
 import static io.trino.plugin.hive.HiveTestUtils.mapType;
 import static io.trino.plugin.hive.acid.AcidTransaction.NO_ACID_TRANSACTION;
@@ -263,7 +264,7 @@ public final class TestHiveFileFormats
                 .withRowsCount(rowCount)
                 .withFileSizePadding(fileSizePadding)
                 .withFileWriterFactory(fileSystemFactory -> new SimpleTextFileWriterFactory(fileSystemFactory, TESTING_TYPE_MANAGER))
-                .isReadableByPageSource(fileSystemFactory -> new SimpleTextFilePageSourceFactory(fileSystemFactory, new HiveConfig()));
+                .isReadableByPageSource(fileSystemFactory -> new SimpleTextFilePageSourceFactory(fileSystemFactory, new HiveConfig(), TEXT_DECOMPRESSION_EXECUTOR));
     }
 
     @Test(dataProvider = "validRowAndFileSizePadding")
@@ -299,7 +300,7 @@ public final class TestHiveFileFormats
                 .withRowsCount(rowCount)
                 .withFileSizePadding(fileSizePadding)
                 .withFileWriterFactory(fileSystemFactory -> new CsvFileWriterFactory(fileSystemFactory, TESTING_TYPE_MANAGER))
-                .isReadableByPageSource(fileSystemFactory -> new CsvPageSourceFactory(fileSystemFactory, new HiveConfig()));
+                .isReadableByPageSource(fileSystemFactory -> new CsvPageSourceFactory(fileSystemFactory, new HiveConfig(), TEXT_DECOMPRESSION_EXECUTOR));
     }
 
     @Test
@@ -312,7 +313,7 @@ public final class TestHiveFileFormats
                         new TestColumn("t_string", VARCHAR, "test", utf8Slice("test"))))
                 .withRowsCount(2)
                 .withFileWriterFactory(fileSystemFactory -> new CsvFileWriterFactory(fileSystemFactory, TESTING_TYPE_MANAGER))
-                .isReadableByPageSource(fileSystemFactory -> new CsvPageSourceFactory(fileSystemFactory, new HiveConfig()));
+                .isReadableByPageSource(fileSystemFactory -> new CsvPageSourceFactory(fileSystemFactory, new HiveConfig(), TEXT_DECOMPRESSION_EXECUTOR));
     }
 
     @Test(dataProvider = "validRowAndFileSizePadding")
@@ -342,7 +343,7 @@ public final class TestHiveFileFormats
                 .withRowsCount(rowCount)
                 .withFileSizePadding(fileSizePadding)
                 .withFileWriterFactory(fileSystemFactory -> new JsonFileWriterFactory(fileSystemFactory, TESTING_TYPE_MANAGER))
-                .isReadableByPageSource(fileSystemFactory -> new JsonPageSourceFactory(fileSystemFactory, new HiveConfig()));
+                .isReadableByPageSource(fileSystemFactory -> new JsonPageSourceFactory(fileSystemFactory, new HiveConfig(), TEXT_DECOMPRESSION_EXECUTOR));
     }
 
     @Test(dataProvider = "validRowAndFileSizePadding")
@@ -361,7 +362,7 @@ public final class TestHiveFileFormats
                 // openx serde is not available for testing
                 .withSkipGenericWriterTest()
                 .withFileWriterFactory(fileSystemFactory -> new OpenXJsonFileWriterFactory(fileSystemFactory, TESTING_TYPE_MANAGER))
-                .isReadableByPageSource(fileSystemFactory -> new OpenXJsonPageSourceFactory(fileSystemFactory, new HiveConfig()));
+                .isReadableByPageSource(fileSystemFactory -> new OpenXJsonPageSourceFactory(fileSystemFactory, new HiveConfig(), TEXT_DECOMPRESSION_EXECUTOR));
     }
 
     @Test(dataProvider = "validRowAndFileSizePadding")
@@ -687,7 +688,7 @@ public final class TestHiveFileFormats
                 .withWriteColumns(ImmutableList.of(writeColumn))
                 .withReadColumns(ImmutableList.of(readColumn))
                 .withFileWriterFactory(fileSystemFactory -> new SimpleTextFileWriterFactory(fileSystemFactory, TESTING_TYPE_MANAGER))
-                .isReadableByPageSource(fileSystemFactory -> new SimpleTextFilePageSourceFactory(fileSystemFactory, new HiveConfig()));
+                .isReadableByPageSource(fileSystemFactory -> new SimpleTextFilePageSourceFactory(fileSystemFactory, new HiveConfig(), TEXT_DECOMPRESSION_EXECUTOR));
     }
 
     @Test(dataProvider = "rowCount")
@@ -828,7 +829,7 @@ public final class TestHiveFileFormats
                 .withReadColumns(readColumns)
                 .withRowsCount(rowCount)
                 .withFileWriterFactory(fileSystemFactory -> new SimpleTextFileWriterFactory(fileSystemFactory, TESTING_TYPE_MANAGER))
-                .isReadableByPageSource(fileSystemFactory -> new SimpleTextFilePageSourceFactory(fileSystemFactory, new HiveConfig()));
+                .isReadableByPageSource(fileSystemFactory -> new SimpleTextFilePageSourceFactory(fileSystemFactory, new HiveConfig(), TEXT_DECOMPRESSION_EXECUTOR));
     }
 
     @Test(dataProvider = "rowCount")
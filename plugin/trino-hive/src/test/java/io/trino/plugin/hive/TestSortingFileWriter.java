@@ -0,0 +1,178 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import io.trino.filesystem.FileIterator;
+import io.trino.filesystem.Location;
+import io.trino.filesystem.TrinoFileSystem;
+import io.trino.filesystem.memory.MemoryFileSystemFactory;
+import io.trino.plugin.hive.orc.OrcFileWriterFactory;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.type.TypeOperators;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongSupplier;
+
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.trino.plugin.hive.HiveTestUtils.PAGE_SORTER;
+import static io.trino.spi.connector.SortOrder.ASC_NULLS_FIRST;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.testing.TestingConnectorSession.SESSION;
+import static java.lang.Math.max;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+public class TestSortingFileWriter
+{
+    // fewer threads than the merge parallelism, like a merge executor shared by several writers
+    private final ExecutorService executor = newFixedThreadPool(2, daemonThreadsNamed("test-sorting-file-writer-%s"));
+
+    @AfterAll
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSequentialMerge()
+            throws IOException
+    {
+        testSortedOutput(1);
+    }
+
+    @Test
+    public void testParallelMerge()
+            throws IOException
+    {
+        testSortedOutput(4);
+    }
+
+    private void testSortedOutput(int mergeParallelism)
+            throws IOException
+    {
+        TrinoFileSystem fileSystem = new MemoryFileSystemFactory().create(SESSION);
+        CollectingFileWriter outputWriter = new CollectingFileWriter();
+        // the tiny buffer spills every page to its own temporary file, which requires several merge passes
+        SortingFileWriter writer = new SortingFileWriter(
+                fileSystem,
+                Location.of("memory:///tmp/sort"),
+                outputWriter,
+                DataSize.ofBytes(1),
+                3,
+                ImmutableList.of(BIGINT),
+                ImmutableList.of(0),
+                ImmutableList.of(ASC_NULLS_FIRST),
+                PAGE_SORTER,
+                new TypeOperators(),
+                OrcFileWriterFactory::createOrcDataSink,
+                executor,
+                mergeParallelism);
+        outputWriter.setMemoryUsageSupplier(writer::getMemoryUsage);
+
+        Random random = new Random(42);
+        List<Long> expected = new ArrayList<>();
+        for (int page = 0; page < 25; page++) {
+            BlockBuilder blockBuilder = BIGINT.createFixedSizeBlockBuilder(100);
+            for (int position = 0; position < 100; position++) {
+                long value = random.nextLong();
+                BIGINT.writeLong(blockBuilder, value);
+                expected.add(value);
+            }
+            writer.appendRows(new Page(blockBuilder.build()));
+        }
+        writer.commit();
+
+        // the pages held by the temporary file readers are accounted while merging, and released afterwards
+        assertThat(outputWriter.getPeakMemoryUsage()).isGreaterThan(writer.getMemoryUsage());
+        assertThat(outputWriter.getValues()).isSortedAccordingTo(Long::compare)
+                .containsExactlyInAnyOrderElementsOf(expected);
+        // all temporary files are removed once merged
+        FileIterator files = fileSystem.listFiles(Location.of("memory:///tmp"));
+        assertThat(files.hasNext()).isFalse();
+    }
+
+    private static class CollectingFileWriter
+            implements FileWriter
+    {
+        private final List<Long> values = new ArrayList<>();
+        private LongSupplier memoryUsageSupplier = () -> 0;
+        private long peakMemoryUsage;
+
+        public List<Long> getValues()
+        {
+            return values;
+        }
+
+        public void setMemoryUsageSupplier(LongSupplier memoryUsageSupplier)
+        {
+            this.memoryUsageSupplier = memoryUsageSupplier;
+        }
+
+        public long getPeakMemoryUsage()
+        {
+            return peakMemoryUsage;
+        }
+
+        @Override
+        public long getWrittenBytes()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getMemoryUsage()
+        {
+            return 0;
+        }
+
+        @Override
+        public void appendRows(Page dataPage)
+        {
+            peakMemoryUsage = max(peakMemoryUsage, memoryUsageSupplier.getAsLong());
+            Block block = dataPage.getBlock(0);
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                values.add(BIGINT.getLong(block, position));
+            }
+        }
+
+        @Override
+        public Closeable commit()
+        {
+            return () -> {};
+        }
+
+        @Override
+        public void rollback() {}
+
+        @Override
+        public long getValidationCpuNanos()
+        {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.fs;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.trino.filesystem.FileEntry.Block;
+import io.trino.filesystem.Location;
+import io.trino.filesystem.TrinoFileSystem;
+import io.trino.filesystem.local.LocalFileSystem;
+import io.trino.filesystem.memory.MemoryFileSystemFactory;
+import io.trino.metastore.Column;
+import io.trino.metastore.Table;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.trino.metastore.HiveType.HIVE_STRING;
+import static io.trino.plugin.hive.HiveStorageFormat.ORC;
+import static io.trino.plugin.hive.S3StorageClassFilter.READ_ALL;
+import static io.trino.plugin.hive.S3StorageClassFilter.READ_NON_GLACIER;
+import static io.trino.plugin.hive.TableType.MANAGED_TABLE;
+import static io.trino.testing.TestingConnectorSession.SESSION;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+public class TestPersistentDirectoryListingStore
+{
+    private static final Location LOCATION = Location.of("s3://bucket/table/part=1");
+    // the memory file system has no directory modification times, so the listings are only validated by their expiration
+    private static final TrinoFileSystem FILE_SYSTEM = new MemoryFileSystemFactory().create(SESSION);
+    private static final List<TrinoFileStatus> FILES = ImmutableList.of(
+            new TrinoFileStatus(ImmutableList.of(new BlockLocation(new Block(ImmutableList.of("host1", "host2"), 0, 100))), "s3://bucket/table/part=1/a", false, 100, 1000),
+            new TrinoFileStatus(ImmutableList.of(), "s3://bucket/table/part=1/b", false, 0, 2000));
+
+    private final Path tempDir;
+
+    public TestPersistentDirectoryListingStore()
+            throws IOException
+    {
+        tempDir = createTempDirectory("test");
+    }
+
+    @AfterAll
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(tempDir, ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testRoundTrip()
+    {
+        Path directory = tempDir.resolve("round-trip");
+        createStore(directory, new Duration(10, MINUTES)).put(FILE_SYSTEM, LOCATION, Optional.empty(), FILES);
+
+        // listings are visible to a new store, as after a restart
+        PersistentDirectoryListingStore store = createStore(directory, new Duration(10, MINUTES));
+        assertThat(store.get(FILE_SYSTEM, LOCATION)).hasValue(FILES);
+        assertThat(store.get(FILE_SYSTEM, Location.of("s3://bucket/table/part=2"))).isEmpty();
+    }
+
+    @Test
+    public void testInvalidate()
+    {
+        PersistentDirectoryListingStore store = createStore(tempDir.resolve("invalidate"), new Duration(10, MINUTES));
+        Location otherLocation = Location.of("s3://bucket/table/part=2");
+        store.put(FILE_SYSTEM, LOCATION, Optional.empty(), FILES);
+        store.put(FILE_SYSTEM, otherLocation, Optional.empty(), FILES);
+
+        store.invalidate(LOCATION);
+        assertThat(store.get(FILE_SYSTEM, LOCATION)).isEmpty();
+        assertThat(store.get(FILE_SYSTEM, otherLocation)).hasValue(FILES);
+
+        store.invalidateAll();
+        assertThat(store.get(FILE_SYSTEM, otherLocation)).isEmpty();
+    }
+
+    @Test
+    public void testExpiration()
+            throws Exception
+    {
+        PersistentDirectoryListingStore store = createStore(tempDir.resolve("expiration"), new Duration(1, MILLISECONDS));
+        store.put(FILE_SYSTEM, LOCATION, Optional.empty(), FILES);
+        Thread.sleep(10);
+        assertThat(store.get(FILE_SYSTEM, LOCATION)).isEmpty();
+    }
+
+    @Test
+    public void testListingFilter()
+    {
+        Path directory = tempDir.resolve("listing-filter");
+        createStore(directory, new Duration(10, MINUTES)).put(FILE_SYSTEM, LOCATION, Optional.empty(), FILES);
+
+        // listings stored with a different filter are not used
+        assertThat(new PersistentDirectoryListingStore(directory, new Duration(10, MINUTES), DataSize.of(1, MEGABYTE), READ_NON_GLACIER.name(), directExecutor()).get(FILE_SYSTEM, LOCATION)).isEmpty();
+        assertThat(createStore(directory, new Duration(10, MINUTES)).get(FILE_SYSTEM, LOCATION)).hasValue(FILES);
+    }
+
+    @Test
+    public void testMaxSize()
+            throws Exception
+    {
+        Path directory = tempDir.resolve("max-size");
+        PersistentDirectoryListingStore store = createStore(directory, new Duration(10, MINUTES));
+        store.put(FILE_SYSTEM, LOCATION, Optional.empty(), FILES);
+        long listingSize = store.getStoredBytes();
+
+        // a store with room for two listings keeps the two most recent ones
+        store = new PersistentDirectoryListingStore(directory, new Duration(10, MINUTES), DataSize.ofBytes(listingSize * 2), READ_ALL.name(), directExecutor());
+        for (int partition = 2; partition <= 3; partition++) {
+            // the listings are ordered by their modification time
+            Thread.sleep(10);
+            store.put(FILE_SYSTEM, Location.of("s3://bucket/table/part=" + partition), Optional.empty(), FILES);
+        }
+        assertThat(store.getStoredBytes()).isLessThanOrEqualTo(listingSize * 2);
+        assertThat(store.get(FILE_SYSTEM, LOCATION)).isEmpty();
+        assertThat(store.get(FILE_SYSTEM, Location.of("s3://bucket/table/part=2"))).hasValue(FILES);
+        assertThat(store.get(FILE_SYSTEM, Location.of("s3://bucket/table/part=3"))).hasValue(FILES);
+    }
+
+    @Test
+    public void testCachingDirectoryListerRestart()
+            throws IOException
+    {
+        Path directory = tempDir.resolve("lister-restart");
+        TrinoFileSystem fileSystem = new MemoryFileSystemFactory().create(SESSION);
+        Location tableLocation = Location.of("memory:///table");
+        Location dataFile = tableLocation.appendPath("data");
+        fileSystem.newOutputFile(dataFile).createOrOverwrite(new byte[] {1, 2, 3});
+        Table table = createTable(tableLocation);
+
+        assertThat(listFiles(createLister(directory), fileSystem, table, tableLocation)).containsExactly(dataFile.toString());
+
+        // a new lister, as after a restart, reads the listing from disk rather than from the file system
+        fileSystem.deleteFile(dataFile);
+        CachingDirectoryLister restartedLister = createLister(directory);
+        assertThat(listFiles(restartedLister, fileSystem, table, tableLocation)).containsExactly(dataFile.toString());
+        assertThat(restartedLister.getPersistentStoreHits().getTotalCount()).isEqualTo(1);
+
+        // invalidating the location removes the listing from disk
+        restartedLister.invalidate(tableLocation);
+        assertThat(listFiles(createLister(directory), fileSystem, table, tableLocation)).isEmpty();
+    }
+
+    @Test
+    public void testModifiedDirectory()
+            throws IOException
+    {
+        Path directory = tempDir.resolve("modified-directory");
+        Path root = Files.createDirectories(tempDir.resolve("modified-directory-data"));
+        TrinoFileSystem fileSystem = new LocalFileSystem(root);
+        Location tableLocation = Location.of("local:///table");
+        Location partitionLocation = tableLocation.appendPath("part=1");
+        fileSystem.newOutputFile(tableLocation.appendPath("a")).createOrOverwrite(new byte[] {1});
+        fileSystem.newOutputFile(partitionLocation.appendPath("b")).createOrOverwrite(new byte[] {1});
+        Table table = createTable(tableLocation);
+
+        assertThat(listFiles(createLister(directory), fileSystem, table, tableLocation))
+                .containsExactlyInAnyOrder(tableLocation.appendPath("a").toString(), partitionLocation.appendPath("b").toString());
+        CachingDirectoryLister lister = createLister(directory);
+        assertThat(listFiles(lister, fileSystem, table, tableLocation)).hasSize(2);
+        assertThat(lister.getPersistentStoreHits().getTotalCount()).isEqualTo(1);
+
+        // a file added to a subdirectory of the listed location is not missed
+        fileSystem.newOutputFile(partitionLocation.appendPath("c")).createOrOverwrite(new byte[] {1});
+        setModificationTime(root.resolve("table/part=1"), 1000);
+        lister = createLister(directory);
+        assertThat(listFiles(lister, fileSystem, table, tableLocation)).hasSize(3);
+        assertThat(lister.getPersistentStoreHits().getTotalCount()).isEqualTo(0);
+
+        // a file removed from the listed location is not returned
+        fileSystem.deleteFile(tableLocation.appendPath("a"));
+        setModificationTime(root.resolve("table"), 1000);
+        lister = createLister(directory);
+        assertThat(listFiles(lister, fileSystem, table, tableLocation))
+                .containsExactlyInAnyOrder(partitionLocation.appendPath("b").toString(), partitionLocation.appendPath("c").toString());
+        assertThat(lister.getPersistentStoreHits().getTotalCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCleanupInBackground()
+    {
+        Path directory = tempDir.resolve("background-cleanup");
+        List<Runnable> cleanups = new ArrayList<>();
+        PersistentDirectoryListingStore store = new PersistentDirectoryListingStore(directory, new Duration(10, MINUTES), DataSize.ofBytes(1), READ_ALL.name(), cleanups::add);
+        assertThat(cleanups).hasSize(1);
+
+        // storing listings beyond the size limit does not scan the directory, and only one cleanup is pending at a time
+        store.put(FILE_SYSTEM, LOCATION, Optional.empty(), FILES);
+        store.put(FILE_SYSTEM, Location.of("s3://bucket/table/part=2"), Optional.empty(), FILES);
+        assertThat(store.get(FILE_SYSTEM, LOCATION)).hasValue(FILES);
+        assertThat(cleanups).hasSize(1);
+
+        cleanups.getFirst().run();
+        assertThat(store.get(FILE_SYSTEM, LOCATION)).isEmpty();
+        assertThat(store.getStoredBytes()).isEqualTo(0);
+
+        store.put(FILE_SYSTEM, LOCATION, Optional.empty(), FILES);
+        assertThat(cleanups).hasSize(2);
+    }
+
+    private static void setModificationTime(Path directory, long modificationTimeMillis)
+            throws IOException
+    {
+        // the files may be written within the same millisecond as the listing, which would leave the modification time unchanged
+        Files.setLastModifiedTime(directory, FileTime.fromMillis(modificationTimeMillis));
+    }
+
+    private static CachingDirectoryLister createLister(Path directory)
+    {
+        return new CachingDirectoryLister(
+                new Duration(10, MINUTES),
+                DataSize.of(1, MEGABYTE),
+                ImmutableList.of("*"),
+                READ_ALL.toFileEntryPredicate(),
+                Optional.of(createStore(directory, new Duration(10, MINUTES))));
+    }
+
+    private static Table createTable(Location location)
+    {
+        return Table.builder()
+                .setDatabaseName("schema")
+                .setTableName("table")
+                .setOwner(Optional.empty())
+                .setTableType(MANAGED_TABLE.name())
+                .setDataColumns(ImmutableList.of(new Column("col", HIVE_STRING, Optional.empty(), ImmutableMap.of())))
+                .withStorage(storage -> storage
+                        .setStorageFormat(ORC.toStorageFormat())
+                        .setLocation(location.toString()))
+                .build();
+    }
+
+    private static List<String> listFiles(DirectoryLister lister, TrinoFileSystem fileSystem, Table table, Location location)
+            throws IOException
+    {
+        RemoteIterator<TrinoFileStatus> iterator = lister.listFilesRecursively(fileSystem, table, location);
+        ImmutableList.Builder<String> paths = ImmutableList.builder();
+        while (iterator.hasNext()) {
+            paths.add(iterator.next().getPath());
+        }
+        return paths.build();
+    }
+
+    private static PersistentDirectoryListingStore createStore(Path directory, Duration expireAfterWrite)
+    {
+        return new PersistentDirectoryListingStore(directory, expireAfterWrite, DataSize.of(1, MEGABYTE), READ_ALL.name(), directExecutor());
+    }
+
+    @Test
+    public void testCorruptedListing()
+            throws IOException
+    {
+        Path directory = tempDir.resolve("corrupted");
+        PersistentDirectoryListingStore store = createStore(directory, new Duration(10, MINUTES));
+        store.put(FILE_SYSTEM, LOCATION, Optional.empty(), FILES);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.write(file, new byte[] {0, 0, 0, 1, 0});
+            }
+        }
+
+        assertThat(store.get(FILE_SYSTEM, LOCATION)).isEqualTo(Optional.empty());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
@@ -95,6 +95,7 @@ import static io.trino.plugin.hive.metastore.thrift.MockThriftMetastoreClient.TE
 import static io.trino.spi.predicate.TupleDomain.withColumnDomains;
 import static io.trino.spi.security.PrincipalType.USER;
 import static io.trino.spi.type.VarcharType.VARCHAR;
+import static io.trino.testing.assertions.Assert.assertEventually;
 import static java.lang.String.format;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -459,6 +460,32 @@ public class TestCachingHiveMetastore
         assertThat(mockClient.getAccessCount()).isEqualTo(4);
     }
 
+    @Test
+    public void testGetPartitionsByNamesRefreshAhead()
+            throws Exception
+    {
+        CachingHiveMetastore metastore = CachingHiveMetastore.createCachingHiveMetastore(
+                new BridgingHiveMetastore(thriftHiveMetastore),
+                CACHE_TTL,
+                CACHE_TTL,
+                Optional.of(new Duration(1, TimeUnit.MILLISECONDS)),
+                executor,
+                1000,
+                CachingHiveMetastore.StatsRecording.ENABLED,
+                true,
+                ImmutableSet.copyOf(CachingHiveMetastore.ObjectType.values()));
+        Table table = metastore.getTable(TEST_DATABASE, TEST_TABLE).orElseThrow();
+        assertThat(metastore.getPartitionsByNames(table, ImmutableList.of(TEST_PARTITION1, TEST_PARTITION2))).hasSize(2);
+        assertThat(mockClient.getAccessCount()).isEqualTo(2);
+
+        Thread.sleep(10);
+        // the cached partitions are returned, and reloaded in a single batch in the background
+        assertThat(metastore.getPartitionsByNames(table, ImmutableList.of(TEST_PARTITION1, TEST_PARTITION2))).hasSize(2);
+        assertEventually(() -> assertThat(mockClient.getAccessCount()).isEqualTo(3));
+        assertEventually(() -> assertThat(metastore.getPartitionCacheTableStats(TEST_DATABASE, TEST_TABLE))
+                .isEqualTo("PartitionCacheTableStats{requests=4, misses=2, refreshes=2}"));
+    }
+
     @Test
     public void testListRoles()
     {
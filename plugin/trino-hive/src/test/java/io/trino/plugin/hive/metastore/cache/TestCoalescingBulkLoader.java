@@ -0,0 +1,131 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.metastore.cache;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestCoalescingBulkLoader
+{
+    @Test
+    public void testConcurrentLoadsAreCoalesced()
+            throws Exception
+    {
+        CoalescingBulkLoader<String, Integer> loader = new CoalescingBulkLoader<>();
+        List<Set<String>> loadedKeys = new CopyOnWriteArrayList<>();
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch secondLoadRegistered = new CountDownLatch(1);
+
+        ExecutorService executor = newCachedThreadPool();
+        try {
+            Future<Map<String, Integer>> first = executor.submit(() -> loader.load(ImmutableSet.of("a", "b"), keys -> {
+                loadedKeys.add(ImmutableSet.copyOf(keys));
+                firstLoadStarted.countDown();
+                await(secondLoadRegistered);
+                return load(keys);
+            }));
+            await(firstLoadStarted);
+            Map<String, Integer> second = loader.load(ImmutableSet.of("b", "c"), keys -> {
+                loadedKeys.add(ImmutableSet.copyOf(keys));
+                secondLoadRegistered.countDown();
+                return load(keys);
+            });
+
+            assertThat(first.get(10, SECONDS)).isEqualTo(ImmutableMap.of("a", 1, "b", 1));
+            assertThat(second).isEqualTo(ImmutableMap.of("b", 1, "c", 1));
+            // "b" is only loaded by the first request
+            assertThat(loadedKeys).containsExactly(ImmutableSet.of("a", "b"), ImmutableSet.of("c"));
+            assertThat(loader.getCoalescedLoads().getTotalCount()).isEqualTo(1);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadsAreNotCoalescedAcrossInvalidation()
+            throws Exception
+    {
+        CoalescingBulkLoader<String, Integer> loader = new CoalescingBulkLoader<>();
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch secondLoadFinished = new CountDownLatch(1);
+
+        ExecutorService executor = newCachedThreadPool();
+        try {
+            Future<Map<String, Integer>> first = executor.submit(() -> loader.load(ImmutableSet.of("a"), keys -> {
+                firstLoadStarted.countDown();
+                await(secondLoadFinished);
+                return load(keys);
+            }));
+            await(firstLoadStarted);
+            loader.invalidateAll();
+
+            // the load started before the invalidation may return a stale value, so it is not shared
+            Map<String, Integer> second = loader.load(ImmutableSet.of("a"), keys -> keys.stream().collect(toImmutableMap(key -> key, _ -> 2)));
+            secondLoadFinished.countDown();
+
+            assertThat(second).isEqualTo(ImmutableMap.of("a", 2));
+            assertThat(first.get(10, SECONDS)).isEqualTo(ImmutableMap.of("a", 1));
+            assertThat(loader.getCoalescedLoads().getTotalCount()).isEqualTo(0);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailure()
+    {
+        CoalescingBulkLoader<String, Integer> loader = new CoalescingBulkLoader<>();
+        assertThatThrownBy(() -> loader.load(ImmutableSet.of("a"), _ -> {
+            throw new IllegalStateException("load failed");
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("load failed");
+
+        // the failed load is not reused
+        assertThat(loader.load(ImmutableSet.of("a"), TestCoalescingBulkLoader::load)).isEqualTo(ImmutableMap.of("a", 1));
+    }
+
+    private static Map<String, Integer> load(Set<String> keys)
+    {
+        return keys.stream().collect(toImmutableMap(key -> key, _ -> 1));
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try {
+            assertThat(latch.await(10, SECONDS)).isTrue();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
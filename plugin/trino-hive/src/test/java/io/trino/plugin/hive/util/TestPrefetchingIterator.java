@@ -0,0 +1,185 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.util;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.TrinoException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.trino.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+public class TestPrefetchingIterator
+{
+    private final ExecutorService executor = newCachedThreadPool(daemonThreadsNamed("test-prefetching-iterator-%s"));
+
+    @AfterAll
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOrder()
+    {
+        List<Integer> source = IntStream.range(0, 100).boxed().collect(toImmutableList());
+        Iterator<String> iterator = new PrefetchingIterator<>(source.iterator(), value -> "value-" + value, executor, 4);
+
+        assertThat(ImmutableList.copyOf(iterator))
+                .isEqualTo(source.stream().map(value -> "value-" + value).collect(toImmutableList()));
+    }
+
+    @Test
+    public void testPrefetch()
+            throws InterruptedException
+    {
+        CountDownLatch loaded = new CountDownLatch(2);
+        Iterator<Integer> iterator = new PrefetchingIterator<>(
+                IntStream.range(0, 10).iterator(),
+                value -> {
+                    loaded.countDown();
+                    return value;
+                },
+                executor,
+                4);
+
+        assertThat(iterator.next()).isEqualTo(0);
+        // the next element is loaded before it is requested
+        assertThat(loaded.await(10, SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testPrefetchLimit()
+    {
+        AtomicInteger requested = new AtomicInteger();
+        Iterator<Integer> source = new Iterator<>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return true;
+            }
+
+            @Override
+            public Integer next()
+            {
+                return requested.incrementAndGet();
+            }
+        };
+        Iterator<Integer> iterator = new PrefetchingIterator<>(source, value -> value, executor, 3);
+
+        for (int i = 0; i < 100; i++) {
+            iterator.next();
+        }
+        assertThat(requested.get()).isBetween(100, 103);
+    }
+
+    @Test
+    public void testPrefetchNotAllowed()
+    {
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicBoolean prefetchAllowed = new AtomicBoolean();
+        Iterator<Integer> iterator = new PrefetchingIterator<>(
+                IntStream.range(0, 10).iterator(),
+                value -> {
+                    loaded.incrementAndGet();
+                    return value;
+                },
+                directExecutor(),
+                4,
+                prefetchAllowed::get);
+
+        // elements are only loaded on demand
+        assertThat(iterator.next()).isEqualTo(0);
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThat(loaded.get()).isEqualTo(2);
+
+        prefetchAllowed.set(true);
+        assertThat(iterator.next()).isEqualTo(2);
+        assertThat(loaded.get()).isGreaterThan(3);
+    }
+
+    @Test
+    public void testClose()
+            throws InterruptedException
+    {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        PrefetchingIterator<Integer, Integer> iterator = new PrefetchingIterator<>(
+                IntStream.range(0, 10).iterator(),
+                value -> {
+                    if (value == 0) {
+                        return value;
+                    }
+                    started.countDown();
+                    try {
+                        Thread.sleep(SECONDS.toMillis(60));
+                    }
+                    catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return value;
+                },
+                executor,
+                1);
+
+        assertThat(iterator.next()).isEqualTo(0);
+        assertThat(started.await(10, SECONDS)).isTrue();
+
+        // the load in flight is cancelled, and no more elements are returned
+        iterator.close();
+        assertThat(interrupted.await(10, SECONDS)).isTrue();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testFailure()
+    {
+        Iterator<Integer> iterator = new PrefetchingIterator<>(
+                IntStream.range(0, 10).iterator(),
+                value -> {
+                    if (value == 3) {
+                        throw new TrinoException(GENERIC_INTERNAL_ERROR, "load failed");
+                    }
+                    return value;
+                },
+                executor,
+                4);
+
+        assertThat(iterator.next()).isEqualTo(0);
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThat(iterator.next()).isEqualTo(2);
+        assertThatThrownBy(iterator::next)
+                .isInstanceOf(TrinoException.class)
+                .hasMessage("load failed");
+    }
+}
@@ -85,6 +85,8 @@ public class IcebergConfig
     private boolean queryPartitionFilterRequired;
     private Set<String> queryPartitionFilterRequiredSchemas = ImmutableSet.of();
     private int splitManagerThreads = Runtime.getRuntime().availableProcessors() * 2;
+    private int parquetWriterThreads;
+    private DataSize positionDeleteCacheMaxSize = DataSize.ofBytes(0);
     private boolean incrementalRefreshEnabled = true;
     private boolean metadataCacheEnabled = true;
 
@@ -466,6 +468,34 @@ public class IcebergConfig
         return this;
     }
 
+    @Min(0)
+    public int getParquetWriterThreads()
+    {
+        return parquetWriterThreads;
+    }
+
+    @Config("iceberg.parquet-writer-threads")
+    @ConfigDescription("Number of threads shared by the Parquet writers for encoding and compressing columns concurrently. When 0, each writer encodes its columns serially")
+    public IcebergConfig setParquetWriterThreads(int parquetWriterThreads)
+    {
+        this.parquetWriterThreads = parquetWriterThreads;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getPositionDeleteCacheMaxSize()
+    {
+        return positionDeleteCacheMaxSize;
+    }
+
+    @Config("iceberg.position-delete-cache.max-size")
+    @ConfigDescription("Maximum size of the worker cache of decoded position deletes per data file split. When 0, the cache is disabled")
+    public IcebergConfig setPositionDeleteCacheMaxSize(DataSize positionDeleteCacheMaxSize)
+    {
+        this.positionDeleteCacheMaxSize = positionDeleteCacheMaxSize;
+        return this;
+    }
+
     public boolean isIncrementalRefreshEnabled()
     {
         return incrementalRefreshEnabled;
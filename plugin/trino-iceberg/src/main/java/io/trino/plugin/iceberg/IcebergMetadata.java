@@ -3157,6 +3157,16 @@ public class IcebergMetadata
                 originalHandle.getProjectedColumns());
     }
 
+    @Override
+    public Optional<String> getDataVersion(ConnectorSession session, ConnectorTableHandle tableHandle)
+    {
+        if (!(tableHandle instanceof IcebergTableHandle table) || table.getTableType() != DATA) {
+            return Optional.empty();
+        }
+        // snapshot ids are unique within a table, and a table without snapshots has no data
+        return Optional.of(table.getSnapshotId().map(String::valueOf).orElse("none"));
+    }
+
     @Override
     public void setTableAuthorization(ConnectorSession session, SchemaTableName tableName, TrinoPrincipal principal)
     {
@@ -33,6 +33,7 @@ import io.trino.plugin.hive.parquet.ParquetReaderConfig;
 import io.trino.plugin.hive.parquet.ParquetWriterConfig;
 import io.trino.plugin.iceberg.cache.IcebergCacheKeyProvider;
 import io.trino.plugin.iceberg.catalog.rest.DefaultIcebergFileSystemFactory;
+import io.trino.plugin.iceberg.delete.PositionDeleteCache;
 import io.trino.plugin.iceberg.functions.IcebergFunctionProvider;
 import io.trino.plugin.iceberg.functions.tablechanges.TableChangesFunctionProcessorProviderFactory;
 import io.trino.plugin.iceberg.functions.tablechanges.TableChangesFunctionProvider;
@@ -64,6 +65,7 @@ import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.configuration.ConfigBinder.configBinder;
 import static io.airlift.json.JsonCodecBinder.jsonCodecBinder;
 import static io.trino.plugin.base.ClosingBinder.closingBinder;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.weakref.jmx.guice.ExportBinder.newExporter;
 
@@ -86,6 +88,8 @@ public class IcebergModule
         binder.bind(ConnectorSplitManager.class).to(IcebergSplitManager.class).in(Scopes.SINGLETON);
         newOptionalBinder(binder, ConnectorPageSourceProviderFactory.class).setDefault().to(IcebergPageSourceProviderFactory.class).in(Scopes.SINGLETON);
         binder.bind(IcebergPageSourceProviderFactory.class).in(Scopes.SINGLETON);
+        binder.bind(PositionDeleteCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(PositionDeleteCache.class).withGeneratedName();
         binder.bind(ConnectorPageSinkProvider.class).to(IcebergPageSinkProvider.class).in(Scopes.SINGLETON);
         binder.bind(ConnectorNodePartitioningProvider.class).to(IcebergNodePartitioningProvider.class).in(Scopes.SINGLETON);
 
@@ -128,6 +132,9 @@ public class IcebergModule
         newOptionalBinder(binder, CacheKeyProvider.class).setBinding().to(IcebergCacheKeyProvider.class).in(Scopes.SINGLETON);
 
         closingBinder(binder).registerExecutor(Key.get(ExecutorService.class, ForIcebergSplitManager.class));
+        closingBinder(binder).registerExecutor(Key.get(ExecutorService.class, ForIcebergSplitSource.class));
+        closingBinder(binder).registerExecutor(Key.get(ExecutorService.class, ForIcebergParquetWriter.class));
+        closingBinder(binder).registerExecutor(Key.get(ExecutorService.class, ForIcebergSortMerge.class));
     }
 
     @Provides
@@ -142,4 +149,37 @@ public class IcebergModule
                 config.getSplitManagerThreads(),
                 daemonThreadsNamed("iceberg-split-manager-" + catalogName + "-%s"));
     }
+
+    @Provides
+    @Singleton
+    @ForIcebergSplitSource
+    public ExecutorService createSplitSourceExecutor(CatalogName catalogName)
+    {
+        // each split source waits for at most one file scan task at a time, and must not
+        // use the split manager threads, which plan the scans it waits for
+        return newCachedThreadPool(daemonThreadsNamed("iceberg-split-source-" + catalogName + "-%s"));
+    }
+
+    @Provides
+    @Singleton
+    @ForIcebergParquetWriter
+    public ExecutorService createParquetWriterExecutor(CatalogName catalogName, IcebergConfig config)
+    {
+        if (config.getParquetWriterThreads() == 0) {
+            return newDirectExecutorService();
+        }
+        return newFixedThreadPool(
+                config.getParquetWriterThreads(),
+                daemonThreadsNamed("iceberg-parquet-writer-" + catalogName + "-%s"));
+    }
+
+    @Provides
+    @Singleton
+    @ForIcebergSortMerge
+    public ExecutorService createSortMergeExecutor(CatalogName catalogName, SortingFileWriterConfig sortingFileWriterConfig)
+    {
+        return newFixedThreadPool(
+                sortingFileWriterConfig.getSortMergeParallelism(),
+                daemonThreadsNamed("iceberg-sort-merge-" + catalogName + "-%s"));
+    }
 }
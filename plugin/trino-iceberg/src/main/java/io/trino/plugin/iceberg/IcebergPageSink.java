@@ -55,6 +55,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -116,6 +117,8 @@ public class IcebergPageSink
     private final boolean sortedWritingEnabled;
     private final DataSize sortingFileWriterBufferSize;
     private final Integer sortingFileWriterMaxOpenFiles;
+    private final Executor sortingFileWriterMergeExecutor;
+    private final int sortingFileWriterMergeParallelism;
     private final Location tempDirectory;
     private final TypeManager typeManager;
     private final PageSorter pageSorter;
@@ -149,6 +152,8 @@ public class IcebergPageSink
             List<TrinoSortField> sortOrder,
             DataSize sortingFileWriterBufferSize,
             int sortingFileWriterMaxOpenFiles,
+            Executor sortingFileWriterMergeExecutor,
+            int sortingFileWriterMergeParallelism,
             TypeManager typeManager,
             PageSorter pageSorter)
     {
@@ -171,6 +176,8 @@ public class IcebergPageSink
         this.sortedWritingEnabled = isSortedWritingEnabled(session);
         this.sortingFileWriterBufferSize = requireNonNull(sortingFileWriterBufferSize, "sortingFileWriterBufferSize is null");
         this.sortingFileWriterMaxOpenFiles = sortingFileWriterMaxOpenFiles;
+        this.sortingFileWriterMergeExecutor = requireNonNull(sortingFileWriterMergeExecutor, "sortingFileWriterMergeExecutor is null");
+        this.sortingFileWriterMergeParallelism = sortingFileWriterMergeParallelism;
         this.tempDirectory = Location.of(locationProvider.newDataLocation("trino-tmp-files"));
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.pageSorter = requireNonNull(pageSorter, "pageSorter is null");
@@ -368,7 +375,9 @@ public class IcebergPageSink
                         sortColumnIndexes,
                         sortOrders,
                         pageSorter,
-                        typeManager.getTypeOperators());
+                        typeManager.getTypeOperators(),
+                        sortingFileWriterMergeExecutor,
+                        sortingFileWriterMergeParallelism);
                 writer = new WriteContext(sortedFileWriter, outputPath, partitionData);
             }
             else {
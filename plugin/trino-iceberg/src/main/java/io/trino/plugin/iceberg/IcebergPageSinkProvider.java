@@ -39,6 +39,7 @@ import org.apache.iceberg.SchemaParser;
 import org.apache.iceberg.io.LocationProvider;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.collect.Maps.transformValues;
 import static io.trino.plugin.iceberg.IcebergUtil.getLocationProvider;
@@ -54,6 +55,8 @@ public class IcebergPageSinkProvider
     private final int maxOpenPartitions;
     private final DataSize sortingFileWriterBufferSize;
     private final int sortingFileWriterMaxOpenFiles;
+    private final int sortingFileWriterMergeParallelism;
+    private final ExecutorService sortingFileWriterMergeExecutor;
     private final TypeManager typeManager;
     private final PageSorter pageSorter;
 
@@ -66,7 +69,8 @@ public class IcebergPageSinkProvider
             IcebergConfig config,
             SortingFileWriterConfig sortingFileWriterConfig,
             TypeManager typeManager,
-            PageSorter pageSorter)
+            PageSorter pageSorter,
+            @ForIcebergSortMerge ExecutorService sortingFileWriterMergeExecutor)
     {
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
         this.jsonCodec = requireNonNull(jsonCodec, "jsonCodec is null");
@@ -75,6 +79,8 @@ public class IcebergPageSinkProvider
         this.maxOpenPartitions = config.getMaxPartitionsPerWriter();
         this.sortingFileWriterBufferSize = sortingFileWriterConfig.getWriterSortBufferSize();
         this.sortingFileWriterMaxOpenFiles = sortingFileWriterConfig.getMaxOpenSortFiles();
+        this.sortingFileWriterMergeParallelism = sortingFileWriterConfig.getSortMergeParallelism();
+        this.sortingFileWriterMergeExecutor = requireNonNull(sortingFileWriterMergeExecutor, "sortingFileWriterMergeExecutor is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.pageSorter = requireNonNull(pageSorter, "pageSorter is null");
     }
@@ -113,6 +119,8 @@ public class IcebergPageSinkProvider
                 tableHandle.sortOrder(),
                 sortingFileWriterBufferSize,
                 sortingFileWriterMaxOpenFiles,
+                sortingFileWriterMergeExecutor,
+                sortingFileWriterMergeParallelism,
                 typeManager,
                 pageSorter);
     }
@@ -144,6 +152,8 @@ public class IcebergPageSinkProvider
                         optimizeHandle.sortOrder(),
                         sortingFileWriterBufferSize,
                         sortingFileWriterMaxOpenFiles,
+                        sortingFileWriterMergeExecutor,
+                        sortingFileWriterMergeParallelism,
                         typeManager,
                         pageSorter);
             case DROP_EXTENDED_STATS:
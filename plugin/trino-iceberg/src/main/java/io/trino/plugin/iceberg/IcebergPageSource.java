@@ -15,6 +15,7 @@ package io.trino.plugin.iceberg;
 
 import com.google.common.collect.ImmutableMap;
 import io.trino.plugin.hive.ReaderProjectionsAdapter;
+import io.trino.plugin.iceberg.delete.DeleteManager;
 import io.trino.plugin.iceberg.delete.RowPredicate;
 import io.trino.spi.Page;
 import io.trino.spi.TrinoException;
@@ -46,6 +47,9 @@ public class IcebergPageSource
     private final ConnectorPageSource delegate;
     private final Optional<ReaderProjectionsAdapter> projectionsAdapter;
     private final Supplier<Optional<RowPredicate>> deletePredicate;
+    private final Supplier<DeleteManager> deleteManager;
+    // the delete manager of a split with deletes, set once its delete predicate is loaded
+    private Optional<DeleteManager> loadedDeleteManager = Optional.empty();
     // An array with one element per field in the $row_id column. The value in the array points to the
     // channel where the data can be read from.
     private int[] rowIdChildColumnIndexes = new int[0];
@@ -58,7 +62,8 @@ public class IcebergPageSource
             List<IcebergColumnHandle> requiredColumns,
             ConnectorPageSource delegate,
             Optional<ReaderProjectionsAdapter> projectionsAdapter,
-            Supplier<Optional<RowPredicate>> deletePredicate)
+            Supplier<Optional<RowPredicate>> deletePredicate,
+            Supplier<DeleteManager> deleteManager)
     {
         // expectedColumns should contain columns which should be in the final Page
         // requiredColumns should include all expectedColumns as well as any columns needed by the DeleteFilter
@@ -86,6 +91,7 @@ public class IcebergPageSource
         this.delegate = requireNonNull(delegate, "delegate is null");
         this.projectionsAdapter = requireNonNull(projectionsAdapter, "projectionsAdapter is null");
         this.deletePredicate = requireNonNull(deletePredicate, "deletePredicate is null");
+        this.deleteManager = requireNonNull(deleteManager, "deleteManager is null");
     }
 
     @Override
@@ -129,6 +135,9 @@ public class IcebergPageSource
 
             Optional<RowPredicate> deleteFilterPredicate = deletePredicate.get();
             if (deleteFilterPredicate.isPresent()) {
+                if (loadedDeleteManager.isEmpty()) {
+                    loadedDeleteManager = Optional.of(deleteManager.get());
+                }
                 dataPage = deleteFilterPredicate.get().filterPage(dataPage);
             }
 
@@ -188,6 +197,9 @@ public class IcebergPageSource
         catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        finally {
+            loadedDeleteManager.ifPresent(manager -> manager.releaseEqualityDeletesMemory(this));
+        }
     }
 
     @Override
@@ -199,7 +211,7 @@ public class IcebergPageSource
     @Override
     public long getMemoryUsage()
     {
-        return delegate.getMemoryUsage();
+        return delegate.getMemoryUsage() + loadedDeleteManager.map(manager -> manager.getEqualityDeletesMemoryUsage(this)).orElse(0L);
     }
 
     @Override
@@ -55,6 +55,8 @@ import io.trino.plugin.hive.parquet.ParquetPageSource;
 import io.trino.plugin.iceberg.IcebergParquetColumnIOConverter.FieldContext;
 import io.trino.plugin.iceberg.delete.DeleteFile;
 import io.trino.plugin.iceberg.delete.DeleteManager;
+import io.trino.plugin.iceberg.delete.DeleteManagerCache;
+import io.trino.plugin.iceberg.delete.DeleteManagerCache.TableSnapshot;
 import io.trino.plugin.iceberg.delete.RowPredicate;
 import io.trino.plugin.iceberg.fileio.ForwardingInputFile;
 import io.trino.spi.Page;
@@ -208,23 +210,24 @@ public class IcebergPageSourceProvider
     private final OrcReaderOptions orcReaderOptions;
     private final ParquetReaderOptions parquetReaderOptions;
     private final TypeManager typeManager;
-    private final DeleteManager unpartitionedTableDeleteManager;
+    private final DeleteManagerCache deleteManagerCache;
     private final Map<Integer, Function<PartitionData, PartitionKey>> partitionKeyFactories = new ConcurrentHashMap<>();
-    private final Map<PartitionKey, DeleteManager> partitionedDeleteManagers = new ConcurrentHashMap<>();
+    private final Map<PartitionKey, DeleteManager> deleteManagers = new ConcurrentHashMap<>();
 
     public IcebergPageSourceProvider(
             IcebergFileSystemFactory fileSystemFactory,
             FileFormatDataSourceStats fileFormatDataSourceStats,
             OrcReaderOptions orcReaderOptions,
             ParquetReaderOptions parquetReaderOptions,
-            TypeManager typeManager)
+            TypeManager typeManager,
+            DeleteManagerCache deleteManagerCache)
     {
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
         this.fileFormatDataSourceStats = requireNonNull(fileFormatDataSourceStats, "fileFormatDataSourceStats is null");
         this.orcReaderOptions = requireNonNull(orcReaderOptions, "orcReaderOptions is null");
         this.parquetReaderOptions = requireNonNull(parquetReaderOptions, "parquetReaderOptions is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
-        this.unpartitionedTableDeleteManager = new DeleteManager(typeManager);
+        this.deleteManagerCache = requireNonNull(deleteManagerCache, "deleteManagerCache is null");
     }
 
     @Override
@@ -254,6 +257,7 @@ public class IcebergPageSourceProvider
                 partitionSpec,
                 PartitionData.fromJson(split.getPartitionDataJson(), partitionColumnTypes),
                 split.getDeletes(),
+                tableHandle.getSnapshotId().map(snapshotId -> new TableSnapshot(tableHandle.getTableLocation(), snapshotId)),
                 dynamicFilter,
                 tableHandle.getUnenforcedPredicate(),
                 split.getFileStatisticsDomain(),
@@ -276,6 +280,7 @@ public class IcebergPageSourceProvider
             PartitionSpec partitionSpec,
             PartitionData partitionData,
             List<DeleteFile> deletes,
+            Optional<TableSnapshot> tableSnapshot,
             DynamicFilter dynamicFilter,
             TupleDomain<IcebergColumnHandle> unenforcedPredicate,
             TupleDomain<IcebergColumnHandle> fileStatisticsDomain,
@@ -384,7 +389,8 @@ public class IcebergPageSourceProvider
                 .map(readerColumns -> readerColumns.get().stream().map(IcebergColumnHandle.class::cast).collect(toList()))
                 .orElse(requiredColumns);
 
-        Supplier<Optional<RowPredicate>> deletePredicate = memoize(() -> getDeleteManager(partitionSpec, partitionData)
+        Supplier<DeleteManager> deleteManager = memoize(() -> getDeleteManager(tableSnapshot, partitionSpec, partitionData));
+        Supplier<Optional<RowPredicate>> deletePredicate = memoize(() -> deleteManager.get()
                 .getDeletePredicate(
                         path,
                         dataSequenceNumber,
@@ -399,30 +405,35 @@ public class IcebergPageSourceProvider
                 requiredColumns,
                 dataPageSource.get(),
                 projectionsAdapter,
-                deletePredicate);
+                deletePredicate,
+                deleteManager);
     }
 
-    private DeleteManager getDeleteManager(PartitionSpec partitionSpec, PartitionData partitionData)
+    private DeleteManager getDeleteManager(Optional<TableSnapshot> tableSnapshot, PartitionSpec partitionSpec, PartitionData partitionData)
     {
+        PartitionKey partitionKey;
         if (partitionSpec.isUnpartitioned()) {
-            return unpartitionedTableDeleteManager;
+            partitionKey = new PartitionKey(partitionSpec.specId(), Optional.empty());
+        }
+        else {
+            Types.StructType structType = partitionSpec.partitionType();
+            partitionKey = partitionKeyFactories.computeIfAbsent(
+                    partitionSpec.specId(),
+                    key -> {
+                        // creating the template wrapper is expensive, reuse it for all partitions of the same spec
+                        // reuse is only safe because we only use the copyFor method which is thread safe
+                        StructLikeWrapper templateWrapper = StructLikeWrapper.forType(structType);
+                        return data -> new PartitionKey(key, Optional.of(templateWrapper.copyFor(data)));
+                    })
+                    .apply(partitionData);
         }
 
-        Types.StructType structType = partitionSpec.partitionType();
-        PartitionKey partitionKey = partitionKeyFactories.computeIfAbsent(
-                partitionSpec.specId(),
-                key -> {
-                    // creating the template wrapper is expensive, reuse it for all partitions of the same spec
-                    // reuse is only safe because we only use the copyFor method which is thread safe
-                    StructLikeWrapper templateWrapper = StructLikeWrapper.forType(structType);
-                    return data -> new PartitionKey(key, templateWrapper.copyFor(data));
-                })
-                .apply(partitionData);
-
-        return partitionedDeleteManagers.computeIfAbsent(partitionKey, ignored -> new DeleteManager(typeManager));
+        // the delete managers of a snapshot are shared with the other scans on this node, and this
+        // map keeps them alive for the lifetime of this provider
+        return deleteManagers.computeIfAbsent(partitionKey, key -> deleteManagerCache.getDeleteManager(tableSnapshot, key.specId(), key.partitionData()));
     }
 
-    private record PartitionKey(int specId, StructLikeWrapper partitionData) {}
+    private record PartitionKey(int specId, Optional<StructLikeWrapper> partitionData) {}
 
     private TupleDomain<IcebergColumnHandle> getUnenforcedPredicate(
             Schema tableSchema,
@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import static io.trino.parquet.reader.MetadataReader.createParquetMetadata;
@@ -58,7 +59,8 @@ public final class IcebergParquetFileWriter
             ParquetWriterOptions parquetWriterOptions,
             int[] fileInputColumnIndexes,
             CompressionCodec compressionCodec,
-            String trinoVersion)
+            String trinoVersion,
+            Optional<Executor> columnWriterExecutor)
             throws IOException
     {
         this.parquetFileWriter = new ParquetFileWriter(
@@ -73,7 +75,8 @@ public final class IcebergParquetFileWriter
                 compressionCodec,
                 trinoVersion,
                 Optional.empty(),
-                Optional.empty());
+                Optional.empty(),
+                columnWriterExecutor);
         this.location = outputFile.location();
         this.metricsConfig = requireNonNull(metricsConfig, "metricsConfig is null");
     }
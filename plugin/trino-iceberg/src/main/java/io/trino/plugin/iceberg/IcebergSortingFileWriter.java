@@ -26,6 +26,7 @@ import io.trino.spi.type.TypeOperators;
 
 import java.io.Closeable;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static java.util.Objects.requireNonNull;
 
@@ -45,7 +46,9 @@ public final class IcebergSortingFileWriter
             List<Integer> sortFields,
             List<SortOrder> sortOrders,
             PageSorter pageSorter,
-            TypeOperators typeOperators)
+            TypeOperators typeOperators,
+            Executor mergeExecutor,
+            int mergeParallelism)
     {
         this.outputWriter = requireNonNull(outputWriter, "outputWriter is null");
         this.sortingFileWriter = new SortingFileWriter(
@@ -59,7 +62,9 @@ public final class IcebergSortingFileWriter
                 sortOrders,
                 pageSorter,
                 typeOperators,
-                OrcFileWriterFactory::createOrcDataSink);
+                OrcFileWriterFactory::createOrcDataSink,
+                mergeExecutor,
+                mergeParallelism);
     }
 
     @Override
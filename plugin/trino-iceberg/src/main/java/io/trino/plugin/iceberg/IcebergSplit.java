@@ -28,6 +28,7 @@ import io.trino.spi.predicate.TupleDomain;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static io.airlift.slice.SizeOf.estimatedSizeOf;
@@ -205,6 +206,13 @@ public class IcebergSplit
         return dataSequenceNumber;
     }
 
+    @Override
+    public Optional<String> getSplitIdentity()
+    {
+        // the delete files are determined by the snapshot of the table handle
+        return Optional.of(String.join(":", path, String.valueOf(start), String.valueOf(length), String.valueOf(fileSize), String.valueOf(dataSequenceNumber)));
+    }
+
     @Override
     public Map<String, String> getSplitInfo()
     {
@@ -55,6 +55,7 @@ public class IcebergSplitManager
     private final IcebergFileSystemFactory fileSystemFactory;
     private final ExecutorService executor;
     private final CachingHostAddressProvider cachingHostAddressProvider;
+    private final ExecutorService splitSourceExecutor;
 
     @Inject
     public IcebergSplitManager(
@@ -62,13 +63,15 @@ public class IcebergSplitManager
             TypeManager typeManager,
             IcebergFileSystemFactory fileSystemFactory,
             @ForIcebergSplitManager ExecutorService executor,
-            CachingHostAddressProvider cachingHostAddressProvider)
+            CachingHostAddressProvider cachingHostAddressProvider,
+            @ForIcebergSplitSource ExecutorService splitSourceExecutor)
     {
         this.transactionManager = requireNonNull(transactionManager, "transactionManager is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
         this.executor = requireNonNull(executor, "executor is null");
         this.cachingHostAddressProvider = requireNonNull(cachingHostAddressProvider, "cachingHostAddressProvider is null");
+        this.splitSourceExecutor = requireNonNull(splitSourceExecutor, "splitSourceExecutor is null");
     }
 
     @Override
@@ -107,7 +110,8 @@ public class IcebergSplitManager
                 typeManager,
                 table.isRecordScannedFiles(),
                 getMinimumAssignedSplitWeight(session),
-                cachingHostAddressProvider);
+                cachingHostAddressProvider,
+                splitSourceExecutor);
 
         return new ClassLoaderSafeConnectorSplitSource(splitSource, IcebergSplitManager.class.getClassLoader());
     }
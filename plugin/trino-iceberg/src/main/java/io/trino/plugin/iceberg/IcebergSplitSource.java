@@ -65,6 +65,9 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -72,6 +75,7 @@ import java.util.stream.Stream;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
@@ -97,10 +101,12 @@ import static io.trino.plugin.iceberg.TypeConverter.toIcebergType;
 import static io.trino.spi.type.DateTimeEncoding.packDateTimeWithZone;
 import static io.trino.spi.type.TimeZoneKey.UTC_KEY;
 import static java.lang.Math.clamp;
+import static java.lang.Math.max;
 import static java.util.Collections.emptyIterator;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.iceberg.FileContent.EQUALITY_DELETES;
 import static org.apache.iceberg.FileContent.POSITION_DELETES;
@@ -111,6 +117,9 @@ public class IcebergSplitSource
 {
     private static final ConnectorSplitBatch EMPTY_BATCH = new ConnectorSplitBatch(ImmutableList.of(), false);
     private static final ConnectorSplitBatch NO_MORE_SPLITS_BATCH = new ConnectorSplitBatch(ImmutableList.of(), true);
+    // Maximum time spent filling a batch once it contains splits. The manifests are read in
+    // parallel by the scan planning, and waiting for a full batch delays scheduling.
+    private static final long MAX_BATCH_FILL_MILLIS = 100;
 
     private final IcebergFileSystemFactory fileSystemFactory;
     private final ConnectorSession session;
@@ -144,6 +153,11 @@ public class IcebergSplitSource
     private final ImmutableSet.Builder<DataFileWithDeleteFiles> scannedFiles = ImmutableSet.builder();
     private long outputRowsLowerBound;
     private final CachingHostAddressProvider cachingHostAddressProvider;
+    private final Executor fileScanExecutor;
+    // pending or completed result of fileScanIterator.hasNext(), reset when the next file task is taken
+    private CompletableFuture<Boolean> fileScanHasNext;
+    // the task running the pending call, which uses fileScanIterator on the executor
+    private CompletableFuture<Void> fileScanHasNextTask = completedFuture(null);
 
     public IcebergSplitSource(
             IcebergFileSystemFactory fileSystemFactory,
@@ -158,7 +172,8 @@ public class IcebergSplitSource
             TypeManager typeManager,
             boolean recordScannedFiles,
             double minimumAssignedSplitWeight,
-            CachingHostAddressProvider cachingHostAddressProvider)
+            CachingHostAddressProvider cachingHostAddressProvider,
+            Executor fileScanExecutor)
     {
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
         this.session = requireNonNull(session, "session is null");
@@ -193,6 +208,7 @@ public class IcebergSplitSource
                 .collect(toImmutableSet());
         this.fileModifiedTimeDomain = getFileModifiedTimePathDomain(tableHandle.getEnforcedPredicate());
         this.cachingHostAddressProvider = requireNonNull(cachingHostAddressProvider, "cachingHostAddressProvider is null");
+        this.fileScanExecutor = requireNonNull(fileScanExecutor, "fileScanExecutor is null");
     }
 
     @Override
@@ -245,6 +261,7 @@ public class IcebergSplitSource
                     .map(DataSize::toBytes)
                     .orElseGet(tableScan::targetSplitSize);
             this.fileScanIterator = closer.register(fileScanIterable.iterator());
+            this.fileScanHasNext = null;
             this.fileTasksIterator = emptyIterator();
         }
 
@@ -256,12 +273,27 @@ public class IcebergSplitSource
         }
 
         List<ConnectorSplit> splits = new ArrayList<>(maxSize);
-        while (splits.size() < maxSize && (fileTasksIterator.hasNext() || fileScanIterator.hasNext())) {
+        Stopwatch batchStopwatch = Stopwatch.createStarted();
+        while (splits.size() < maxSize) {
             if (!fileTasksIterator.hasNext()) {
+                // the next file task may have to wait for a manifest to be read, so stop waiting
+                // once the batch fill time has passed, and return the splits found so far
+                long remainingMillis = max(MAX_BATCH_FILL_MILLIS - batchStopwatch.elapsed(MILLISECONDS), 0);
+                Optional<Boolean> hasNextFileScanTask = fileScanIteratorHasNext(remainingMillis);
+                if (hasNextFileScanTask.isEmpty()) {
+                    if (splits.isEmpty()) {
+                        return fileScanHasNext.handle((_, _) -> EMPTY_BATCH);
+                    }
+                    return completedFuture(new ConnectorSplitBatch(splits, false));
+                }
+                if (!hasNextFileScanTask.get()) {
+                    break;
+                }
                 if (limit.isPresent() && limit.getAsLong() <= outputRowsLowerBound) {
                     finish();
                     break;
                 }
+                fileScanHasNext = null;
                 FileScanTask wholeFileTask = fileScanIterator.next();
                 boolean fileHasNoDeletions = wholeFileTask.deletes().isEmpty();
 
@@ -304,6 +336,46 @@ public class IcebergSplitSource
         return completedFuture(new ConnectorSplitBatch(splits, isFinished()));
     }
 
+    /**
+     * Returns the result of {@code fileScanIterator.hasNext()} if it is available within the timeout.
+     * The call can block while the scan planning reads manifests, so it runs on the executor, and a
+     * call that is still pending is used by the next batch.
+     */
+    private Optional<Boolean> fileScanIteratorHasNext(long timeoutMillis)
+    {
+        if (fileScanHasNext == null) {
+            CloseableIterator<FileScanTask> iterator = fileScanIterator;
+            CompletableFuture<Boolean> hasNext = new CompletableFuture<>();
+            fileScanHasNextTask = runAsync(() -> {
+                // skip the call when the split source was closed before the task started
+                if (hasNext.isDone()) {
+                    return;
+                }
+                try {
+                    hasNext.complete(iterator.hasNext());
+                }
+                catch (Throwable t) {
+                    hasNext.completeExceptionally(t);
+                }
+            }, fileScanExecutor);
+            fileScanHasNext = hasNext;
+        }
+        try {
+            return Optional.of(fileScanHasNext.get(timeoutMillis, MILLISECONDS));
+        }
+        catch (TimeoutException e) {
+            return Optional.empty();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     private boolean pruneFileScanTask(FileScanTask fileScanTask, boolean fileHasNoDeletions, TupleDomain<IcebergColumnHandle> dynamicFilterPredicate, TupleDomain<IcebergColumnHandle> fileStatisticsDomain)
     {
         if (fileHasNoDeletions &&
@@ -360,13 +432,19 @@ public class IcebergSplitSource
         close();
         this.fileScanIterable = CloseableIterable.empty();
         this.fileScanIterator = CloseableIterator.empty();
+        this.fileScanHasNext = completedFuture(false);
         this.fileTasksIterator = emptyIterator();
     }
 
     @Override
     public boolean isFinished()
     {
-        return fileScanIterator != null && !fileScanIterator.hasNext() && !fileTasksIterator.hasNext();
+        if (fileScanIterator == null || fileTasksIterator.hasNext()) {
+            return false;
+        }
+        // only use a completed call, as checking the state must not start reading manifests
+        CompletableFuture<Boolean> hasNext = fileScanHasNext;
+        return hasNext != null && hasNext.isDone() && !hasNext.isCompletedExceptionally() && !hasNext.join();
     }
 
     @Override
@@ -382,6 +460,11 @@ public class IcebergSplitSource
     @Override
     public void close()
     {
+        if (fileScanHasNext != null) {
+            fileScanHasNext.cancel(true);
+        }
+        // the scan iterator must not be closed while the pending call is still using it
+        fileScanHasNextTask.join();
         try {
             closer.close();
         }
@@ -29,9 +29,10 @@ import io.trino.spi.predicate.NullableValue;
 import io.trino.spi.predicate.Range;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.predicate.ValueSet;
+import io.trino.spi.type.Type;
 import io.trino.spi.type.TypeManager;
 import org.apache.iceberg.Schema;
-import org.roaringbitmap.longlong.LongBitmapDataProvider;
+import org.roaringbitmap.longlong.ImmutableLongBitmapDataProvider;
 import org.roaringbitmap.longlong.Roaring64Bitmap;
 
 import java.io.IOException;
@@ -44,6 +45,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -61,11 +63,16 @@ import static org.apache.iceberg.MetadataColumns.DELETE_FILE_POS;
 public class DeleteManager
 {
     private final TypeManager typeManager;
-    private final Map<List<Integer>, EqualityDeleteFilterBuilder> equalityDeleteFiltersBySchema = new ConcurrentHashMap<>();
+    private final PositionDeleteCache positionDeleteCache;
+    private final Map<EqualityDeleteSchema, EqualityDeleteFilterBuilder> equalityDeleteFiltersBySchema = new ConcurrentHashMap<>();
+    // the equality deletes are shared by the page sources using this manager, so their memory is
+    // reported by one of them at a time, which hands it over to the next one when it is closed
+    private final AtomicReference<Object> equalityDeletesMemoryOwner = new AtomicReference<>();
 
-    public DeleteManager(TypeManager typeManager)
+    public DeleteManager(TypeManager typeManager, PositionDeleteCache positionDeleteCache)
     {
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
+        this.positionDeleteCache = requireNonNull(positionDeleteCache, "positionDeleteCache is null");
     }
 
     public Optional<RowPredicate> getDeletePredicate(
@@ -105,6 +112,26 @@ public class DeleteManager
                 .or(() -> positionDeletes);
     }
 
+    /**
+     * Returns the memory used by the equality deletes of this manager, if the page source is the one
+     * reporting it, or zero otherwise.
+     */
+    public long getEqualityDeletesMemoryUsage(Object pageSource)
+    {
+        Object owner = equalityDeletesMemoryOwner.compareAndExchange(null, pageSource);
+        if (owner != null && owner != pageSource) {
+            return 0;
+        }
+        return equalityDeleteFiltersBySchema.values().stream()
+                .mapToLong(EqualityDeleteFilterBuilder::getRetainedSizeInBytes)
+                .sum();
+    }
+
+    public void releaseEqualityDeletesMemory(Object pageSource)
+    {
+        equalityDeletesMemoryOwner.compareAndSet(pageSource, null);
+    }
+
     public interface DeletePageSourceProvider
     {
         ConnectorPageSource openDeletes(
@@ -124,38 +151,61 @@ public class DeleteManager
         }
 
         Slice targetPath = utf8Slice(dataFilePath);
-
-        Optional<Long> startRowPosition = readerPageSourceWithRowPositions.startRowPosition();
-        Optional<Long> endRowPosition = readerPageSourceWithRowPositions.endRowPosition();
-        verify(startRowPosition.isPresent() == endRowPosition.isPresent(), "startRowPosition and endRowPosition must be specified together");
         IcebergColumnHandle deleteFilePath = getColumnHandle(DELETE_FILE_PATH, typeManager);
         IcebergColumnHandle deleteFilePos = getColumnHandle(DELETE_FILE_POS, typeManager);
         List<IcebergColumnHandle> deleteColumns = ImmutableList.of(deleteFilePath, deleteFilePos);
         TupleDomain<IcebergColumnHandle> deleteDomain = TupleDomain.fromFixedValues(ImmutableMap.of(deleteFilePath, NullableValue.of(VARCHAR, targetPath)));
+
+        Optional<Long> startRowPosition = readerPageSourceWithRowPositions.startRowPosition();
+        Optional<Long> endRowPosition = readerPageSourceWithRowPositions.endRowPosition();
+        verify(startRowPosition.isPresent() == endRowPosition.isPresent(), "startRowPosition and endRowPosition must be specified together");
         if (startRowPosition.isPresent()) {
             Range positionRange = Range.range(deleteFilePos.getType(), startRowPosition.get(), true, endRowPosition.get(), true);
             TupleDomain<IcebergColumnHandle> positionDomain = TupleDomain.withColumnDomains(ImmutableMap.of(deleteFilePos, Domain.create(ValueSet.ofRanges(positionRange), false)));
             deleteDomain = deleteDomain.intersect(positionDomain);
         }
-
-        LongBitmapDataProvider deletedRows = new Roaring64Bitmap();
-        for (DeleteFile deleteFile : positionDeleteFiles) {
-            if (shouldLoadPositionDeleteFile(deleteFile, startRowPosition, endRowPosition)) {
-                try (ConnectorPageSource pageSource = deletePageSourceProvider.openDeletes(deleteFile, deleteColumns, deleteDomain)) {
-                    readPositionDeletes(pageSource, targetPath, deletedRows);
-                }
-                catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                }
-            }
+        List<DeleteFile> overlappingDeleteFiles = positionDeleteFiles.stream()
+                .filter(deleteFile -> shouldLoadPositionDeleteFile(deleteFile, startRowPosition, endRowPosition))
+                .collect(toImmutableList());
+        if (overlappingDeleteFiles.isEmpty()) {
+            return Optional.empty();
         }
 
+        // the cached positions are only those of the split row range, so they are shared by scans of the same split
+        TupleDomain<IcebergColumnHandle> splitDeleteDomain = deleteDomain;
+        ImmutableLongBitmapDataProvider deletedRows = positionDeleteCache.get(
+                dataFilePath,
+                overlappingDeleteFiles,
+                startRowPosition,
+                endRowPosition,
+                () -> readDeletedRows(overlappingDeleteFiles, targetPath, deleteColumns, splitDeleteDomain, deletePageSourceProvider));
+
         if (deletedRows.isEmpty()) {
             return Optional.empty();
         }
         return Optional.of(new PositionDeleteFilter(deletedRows));
     }
 
+    private static ImmutableLongBitmapDataProvider readDeletedRows(
+            List<DeleteFile> positionDeleteFiles,
+            Slice targetPath,
+            List<IcebergColumnHandle> deleteColumns,
+            TupleDomain<IcebergColumnHandle> deleteDomain,
+            DeletePageSourceProvider deletePageSourceProvider)
+    {
+        Roaring64Bitmap deletedRows = new Roaring64Bitmap();
+        for (DeleteFile deleteFile : positionDeleteFiles) {
+            try (ConnectorPageSource pageSource = deletePageSourceProvider.openDeletes(deleteFile, deleteColumns, deleteDomain)) {
+                readPositionDeletes(pageSource, targetPath, deletedRows);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        deletedRows.runOptimize();
+        return deletedRows;
+    }
+
     private static boolean shouldLoadPositionDeleteFile(DeleteFile deleteFile, Optional<Long> startRowPosition, Optional<Long> endRowPosition)
     {
         if (startRowPosition.isEmpty()) {
@@ -184,9 +234,17 @@ public class DeleteManager
             List<IcebergColumnHandle> deleteColumns = fieldIds.stream()
                     .map(id -> getColumnHandle(schema.findField(id), typeManager))
                     .collect(toImmutableList());
+            List<Type> deleteTypes = deleteColumns.stream()
+                    .map(IcebergColumnHandle::getType)
+                    .collect(toImmutableList());
 
-            // each file can have a different set of columns for the equality delete, so we need to create a new builder for each set of columns
-            EqualityDeleteFilterBuilder builder = equalityDeleteFiltersBySchema.computeIfAbsent(fieldIds, _ -> EqualityDeleteFilter.builder(schemaFromHandles(deleteColumns)));
+            // each file can have a different set of columns for the equality delete, so we need to create a new builder for each set of columns.
+            // The manager is shared by the scans of a snapshot, which can read the columns with different types after a schema change,
+            // so the builders are also keyed by the column types.
+            EqualityDeleteFilterBuilder builder = equalityDeleteFiltersBySchema.computeIfAbsent(new EqualityDeleteSchema(fieldIds, deleteTypes), _ -> EqualityDeleteFilter.builder(
+                    schemaFromHandles(deleteColumns),
+                    deleteTypes,
+                    typeManager.getTypeOperators()));
             deleteFilters.add(builder);
 
             ListenableFuture<?> loadFuture = builder.readEqualityDeletes(deleteFile, deleteColumns, deletePageSourceProvider);
@@ -212,4 +270,13 @@ public class DeleteManager
                 .map(EqualityDeleteFilterBuilder::build)
                 .toList();
     }
+
+    private record EqualityDeleteSchema(List<Integer> fieldIds, List<Type> types)
+    {
+        private EqualityDeleteSchema
+        {
+            fieldIds = ImmutableList.copyOf(requireNonNull(fieldIds, "fieldIds is null"));
+            types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
+        }
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import io.trino.spi.type.TypeManager;
+import org.apache.iceberg.util.StructLikeWrapper;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shares the delete managers of a table snapshot between the queries running on this node,
+ * so that concurrent scans of the same snapshot load the equality deletes only once.
+ * The managers are weakly referenced, and are only retained while a scan is using them.
+ */
+@ThreadSafe
+public final class DeleteManagerCache
+{
+    private final TypeManager typeManager;
+    private final PositionDeleteCache positionDeleteCache;
+    private final ConcurrentMap<CacheKey, DeleteManagerReference> deleteManagers = new ConcurrentHashMap<>();
+    private final ReferenceQueue<DeleteManager> collectedDeleteManagers = new ReferenceQueue<>();
+
+    public DeleteManagerCache(TypeManager typeManager, PositionDeleteCache positionDeleteCache)
+    {
+        this.typeManager = requireNonNull(typeManager, "typeManager is null");
+        this.positionDeleteCache = requireNonNull(positionDeleteCache, "positionDeleteCache is null");
+    }
+
+    public DeleteManager getDeleteManager(Optional<TableSnapshot> tableSnapshot, int partitionSpecId, Optional<StructLikeWrapper> partitionData)
+    {
+        if (tableSnapshot.isEmpty()) {
+            // without a snapshot, the equality deletes cannot be shared
+            return new DeleteManager(typeManager, positionDeleteCache);
+        }
+
+        removeCollectedEntries();
+
+        CacheKey key = new CacheKey(tableSnapshot.get(), partitionSpecId, partitionData);
+        // hold a strong reference, as the manager could be collected as soon as the map is updated
+        DeleteManager[] deleteManager = new DeleteManager[1];
+        deleteManagers.compute(key, (_, reference) -> {
+            deleteManager[0] = reference == null ? null : reference.get();
+            if (deleteManager[0] == null) {
+                deleteManager[0] = new DeleteManager(typeManager, positionDeleteCache);
+                return new DeleteManagerReference(key, deleteManager[0], collectedDeleteManagers);
+            }
+            return reference;
+        });
+        return deleteManager[0];
+    }
+
+    private void removeCollectedEntries()
+    {
+        DeleteManagerReference reference = (DeleteManagerReference) collectedDeleteManagers.poll();
+        while (reference != null) {
+            deleteManagers.remove(reference.key, reference);
+            reference = (DeleteManagerReference) collectedDeleteManagers.poll();
+        }
+    }
+
+    public record TableSnapshot(String tableLocation, long snapshotId)
+    {
+        public TableSnapshot
+        {
+            requireNonNull(tableLocation, "tableLocation is null");
+        }
+    }
+
+    private record CacheKey(TableSnapshot tableSnapshot, int partitionSpecId, Optional<StructLikeWrapper> partitionData)
+    {
+        private CacheKey
+        {
+            requireNonNull(tableSnapshot, "tableSnapshot is null");
+            requireNonNull(partitionData, "partitionData is null");
+        }
+    }
+
+    private static class DeleteManagerReference
+            extends WeakReference<DeleteManager>
+    {
+        private final CacheKey key;
+
+        public DeleteManagerReference(CacheKey key, DeleteManager deleteManager, ReferenceQueue<DeleteManager> queue)
+        {
+            super(deleteManager, queue);
+            this.key = requireNonNull(key, "key is null");
+        }
+    }
+}
@@ -13,10 +13,10 @@
  */
 package io.trino.plugin.iceberg.delete;
 
-import com.amazonaws.annotation.ThreadSafe;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.errorprone.annotations.ThreadSafe;
 import io.trino.plugin.iceberg.IcebergColumnHandle;
 import io.trino.plugin.iceberg.delete.DeleteManager.DeletePageSourceProvider;
 import io.trino.spi.Page;
@@ -24,28 +24,27 @@ import io.trino.spi.TrinoException;
 import io.trino.spi.connector.ConnectorPageSource;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
 import org.apache.iceberg.Schema;
-import org.apache.iceberg.util.StructLikeWrapper;
-import org.apache.iceberg.util.StructProjection;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import static com.google.common.base.Verify.verify;
 import static io.trino.plugin.iceberg.IcebergErrorCode.ICEBERG_CANNOT_OPEN_SPLIT;
-import static io.trino.plugin.iceberg.IcebergUtil.schemaFromHandles;
 import static java.util.Objects.requireNonNull;
 
 public final class EqualityDeleteFilter
         implements DeleteFilter
 {
     private final Schema deleteSchema;
-    private final Map<StructLikeWrapper, DataSequenceNumber> deletedRows;
+    private final EqualityDeleteSet deletedRows;
 
-    private EqualityDeleteFilter(Schema deleteSchema, Map<StructLikeWrapper, DataSequenceNumber> deletedRows)
+    private EqualityDeleteFilter(Schema deleteSchema, EqualityDeleteSet deletedRows)
     {
         this.deleteSchema = requireNonNull(deleteSchema, "deleteSchema is null");
         this.deletedRows = requireNonNull(deletedRows, "deletedRows is null");
@@ -54,42 +53,54 @@ public final class EqualityDeleteFilter
     @Override
     public RowPredicate createPredicate(List<IcebergColumnHandle> columns, long splitDataSequenceNumber)
     {
-        Schema fileSchema = schemaFromHandles(columns);
-        if (deleteSchema.columns().stream().anyMatch(column -> fileSchema.findField(column.fieldId()) == null)) {
-            throw new TrinoException(ICEBERG_CANNOT_OPEN_SPLIT, "columns list doesn't contain all equality delete columns");
+        // map the delete columns to the channels of the data page
+        int[] channels = new int[deleteSchema.columns().size()];
+        for (int i = 0; i < channels.length; i++) {
+            int fieldId = deleteSchema.columns().get(i).fieldId();
+            channels[i] = IntStream.range(0, columns.size())
+                    .filter(channel -> columns.get(channel).isBaseColumn() && columns.get(channel).getId() == fieldId)
+                    .findFirst()
+                    .orElseThrow(() -> new TrinoException(ICEBERG_CANNOT_OPEN_SPLIT, "columns list doesn't contain all equality delete columns"));
         }
 
-        StructLikeWrapper structLikeWrapper = StructLikeWrapper.forType(deleteSchema.asStruct());
-        StructProjection projection = StructProjection.create(fileSchema, deleteSchema);
-        Type[] types = columns.stream()
-                .map(IcebergColumnHandle::getType)
-                .toArray(Type[]::new);
-
-        return (page, position) -> {
-            StructProjection row = projection.wrap(new LazyTrinoRow(types, page, position));
-            DataSequenceNumber maxDeleteVersion = deletedRows.get(structLikeWrapper.set(row));
-            // clear reference to avoid memory leak
-            structLikeWrapper.set(null);
-            return maxDeleteVersion == null || maxDeleteVersion.dataSequenceNumber() <= splitDataSequenceNumber;
+        return new RowPredicate()
+        {
+            @Override
+            public boolean test(Page page, int position)
+            {
+                return !deletedRows.isDeleted(page, channels, position, splitDataSequenceNumber);
+            }
+
+            @Override
+            public Page filterPage(Page page)
+            {
+                int positionCount = page.getPositionCount();
+                int[] retained = new int[positionCount];
+                int retainedCount = deletedRows.findRetainedPositions(page, channels, splitDataSequenceNumber, retained);
+                if (retainedCount == positionCount) {
+                    return page;
+                }
+                return page.getPositions(retained, 0, retainedCount);
+            }
         };
     }
 
-    public static EqualityDeleteFilterBuilder builder(Schema deleteSchema)
+    public static EqualityDeleteFilterBuilder builder(Schema deleteSchema, List<Type> deleteTypes, TypeOperators typeOperators)
     {
-        return new EqualityDeleteFilterBuilder(deleteSchema);
+        return new EqualityDeleteFilterBuilder(deleteSchema, deleteTypes, typeOperators);
     }
 
     @ThreadSafe
     public static class EqualityDeleteFilterBuilder
     {
         private final Schema deleteSchema;
-        private final Map<StructLikeWrapper, DataSequenceNumber> deletedRows;
+        private final EqualityDeleteSet deletedRows;
         private final Map<String, ListenableFutureTask<?>> loadingFiles = new ConcurrentHashMap<>();
 
-        private EqualityDeleteFilterBuilder(Schema deleteSchema)
+        private EqualityDeleteFilterBuilder(Schema deleteSchema, List<Type> deleteTypes, TypeOperators typeOperators)
         {
             this.deleteSchema = requireNonNull(deleteSchema, "deleteSchema is null");
-            this.deletedRows = new ConcurrentHashMap<>();
+            this.deletedRows = new EqualityDeleteSet(deleteTypes, typeOperators);
         }
 
         public ListenableFuture<?> readEqualityDeletes(DeleteFile deleteFile, List<IcebergColumnHandle> deleteColumns, DeletePageSourceProvider deletePageSourceProvider)
@@ -104,30 +115,20 @@ public final class EqualityDeleteFilter
             return Futures.nonCancellationPropagating(futureTask);
         }
 
+        public long getRetainedSizeInBytes()
+        {
+            return deletedRows.getRetainedSizeInBytes();
+        }
+
         private void readEqualityDeletesInternal(DeleteFile deleteFile, List<IcebergColumnHandle> deleteColumns, DeletePageSourceProvider deletePageSourceProvider)
         {
-            DataSequenceNumber sequenceNumber = new DataSequenceNumber(deleteFile.dataSequenceNumber());
             try (ConnectorPageSource pageSource = deletePageSourceProvider.openDeletes(deleteFile, deleteColumns, TupleDomain.all())) {
-                Type[] types = deleteColumns.stream()
-                        .map(IcebergColumnHandle::getType)
-                        .toArray(Type[]::new);
-
-                StructLikeWrapper wrapper = StructLikeWrapper.forType(deleteSchema.asStruct());
                 while (!pageSource.isFinished()) {
                     Page page = pageSource.getNextPage();
                     if (page == null) {
                         continue;
                     }
-
-                    for (int position = 0; position < page.getPositionCount(); position++) {
-                        TrinoRow row = new TrinoRow(types, page, position);
-                        deletedRows.merge(wrapper.copyFor(row), sequenceNumber, (existing, newValue) -> {
-                            if (existing.dataSequenceNumber() > newValue.dataSequenceNumber()) {
-                                return existing;
-                            }
-                            return newValue;
-                        });
-                    }
+                    deletedRows.add(page, deleteFile.dataSequenceNumber());
                 }
             }
             catch (IOException e) {
@@ -144,6 +145,4 @@ public final class EqualityDeleteFilter
             return new EqualityDeleteFilter(deleteSchema, deletedRows);
         }
     }
-
-    private record DataSequenceNumber(long dataSequenceNumber) {}
 }
@@ -0,0 +1,361 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.airlift.slice.XxHash64;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION;
+import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION_NOT_NULL;
+import static io.trino.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
+import static io.trino.spi.function.InvocationConvention.simpleConvention;
+import static io.trino.spi.type.TypeUtils.NULL_HASH_CODE;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Set of equality delete keys, each mapped to the highest data sequence number of the
+ * delete files containing the key. The keys are kept in compacted pages, and the hash
+ * table only stores primitive entry addresses, hashes and sequence numbers, so no
+ * objects are allocated per deleted key. Keys are compared using the identical operator
+ * of the key types, which treats nulls as equal to each other.
+ */
+@ThreadSafe
+final class EqualityDeleteSet
+{
+    private static final int INSTANCE_SIZE = instanceSize(EqualityDeleteSet.class);
+    private static final int EMPTY_SLOT = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final float FILL_RATIO = 0.75f;
+
+    private final List<Type> types;
+    private final MethodHandle[] hashOperators;
+    private final MethodHandle[] identicalOperators;
+    private final int[] keyChannels;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @GuardedBy("lock")
+    private final List<Page> keyPages = new ArrayList<>();
+    @GuardedBy("lock")
+    private long keyPagesRetainedSizeInBytes;
+
+    // entry data, addresses are the page index in the high bits and the position in the low bits
+    @GuardedBy("lock")
+    private long[] entryAddresses = new long[0];
+    @GuardedBy("lock")
+    private long[] entryHashes = new long[0];
+    @GuardedBy("lock")
+    private long[] entryDataSequenceNumbers = new long[0];
+    @GuardedBy("lock")
+    private int size;
+
+    // open addressing table of entry ids
+    @GuardedBy("lock")
+    private int[] slots;
+    @GuardedBy("lock")
+    private int mask;
+    @GuardedBy("lock")
+    private int maxFill;
+
+    EqualityDeleteSet(List<Type> types, TypeOperators typeOperators)
+    {
+        this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
+        checkArgument(!types.isEmpty(), "types is empty");
+        requireNonNull(typeOperators, "typeOperators is null");
+
+        hashOperators = new MethodHandle[types.size()];
+        identicalOperators = new MethodHandle[types.size()];
+        keyChannels = new int[types.size()];
+        for (int i = 0; i < types.size(); i++) {
+            Type type = types.get(i);
+            hashOperators[i] = typeOperators.getXxHash64Operator(type, simpleConvention(FAIL_ON_NULL, BLOCK_POSITION_NOT_NULL));
+            identicalOperators[i] = typeOperators.getIdenticalOperator(type, simpleConvention(FAIL_ON_NULL, BLOCK_POSITION, BLOCK_POSITION));
+            keyChannels[i] = i;
+        }
+
+        slots = new int[INITIAL_CAPACITY];
+        Arrays.fill(slots, EMPTY_SLOT);
+        mask = INITIAL_CAPACITY - 1;
+        maxFill = (int) (INITIAL_CAPACITY * FILL_RATIO);
+    }
+
+    /**
+     * Adds all rows of the page, which must contain exactly the key columns.
+     */
+    public void add(Page keys, long dataSequenceNumber)
+    {
+        checkArgument(keys.getChannelCount() == types.size(), "Expected %s key channels, but got %s", types.size(), keys.getChannelCount());
+        int positionCount = keys.getPositionCount();
+        if (positionCount == 0) {
+            return;
+        }
+        Page page = keys.getLoadedPage();
+        long[] hashes = hashPositions(page, keyChannels);
+
+        lock.writeLock().lock();
+        try {
+            // update the keys that are already present, and copy only the new keys
+            int[] newPositions = new int[positionCount];
+            int newPositionCount = 0;
+            for (int position = 0; position < positionCount; position++) {
+                int entry = findEntry(page, keyChannels, position, hashes[position]);
+                if (entry == EMPTY_SLOT) {
+                    newPositions[newPositionCount] = position;
+                    newPositionCount++;
+                }
+                else {
+                    entryDataSequenceNumbers[entry] = max(entryDataSequenceNumbers[entry], dataSequenceNumber);
+                }
+            }
+            if (newPositionCount == 0) {
+                return;
+            }
+
+            Page newKeys = page.copyPositions(newPositions, 0, newPositionCount);
+            int pageIndex = keyPages.size();
+            keyPages.add(newKeys);
+            keyPagesRetainedSizeInBytes += newKeys.getRetainedSizeInBytes();
+
+            for (int position = 0; position < newPositionCount; position++) {
+                long hash = hashes[newPositions[position]];
+                // the same key can appear more than once in a delete file
+                int entry = findEntry(newKeys, keyChannels, position, hash);
+                if (entry == EMPTY_SLOT) {
+                    insertEntry(((long) pageIndex << 32) | position, hash, dataSequenceNumber);
+                }
+                else {
+                    entryDataSequenceNumbers[entry] = max(entryDataSequenceNumbers[entry], dataSequenceNumber);
+                }
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns true if the row is deleted by a delete file with a data sequence number
+     * greater than the specified data sequence number.
+     */
+    public boolean isDeleted(Page page, int[] channels, int position, long dataSequenceNumber)
+    {
+        long hash = 0;
+        for (int i = 0; i < channels.length; i++) {
+            hash = combineHash(hash, hashPosition(i, page.getBlock(channels[i]), position));
+        }
+
+        lock.readLock().lock();
+        try {
+            int entry = findEntry(page, channels, position, hash);
+            return entry != EMPTY_SLOT && entryDataSequenceNumbers[entry] > dataSequenceNumber;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the positions of the page that are not deleted by a delete file with a data
+     * sequence number greater than the specified data sequence number in {@code retainedPositions}.
+     *
+     * @return the number of retained positions
+     */
+    public int findRetainedPositions(Page page, int[] channels, long dataSequenceNumber, int[] retainedPositions)
+    {
+        int positionCount = page.getPositionCount();
+        long[] hashes = hashPositions(page, channels);
+
+        lock.readLock().lock();
+        try {
+            int retainedCount = 0;
+            for (int position = 0; position < positionCount; position++) {
+                int entry = findEntry(page, channels, position, hashes[position]);
+                if (entry == EMPTY_SLOT || entryDataSequenceNumbers[entry] <= dataSequenceNumber) {
+                    retainedPositions[retainedCount] = position;
+                    retainedCount++;
+                }
+            }
+            return retainedCount;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size()
+    {
+        lock.readLock().lock();
+        try {
+            return size;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        lock.readLock().lock();
+        try {
+            return INSTANCE_SIZE +
+                    keyPagesRetainedSizeInBytes +
+                    sizeOf(entryAddresses) +
+                    sizeOf(entryHashes) +
+                    sizeOf(entryDataSequenceNumbers) +
+                    sizeOf(slots);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // hash the key columns one at a time over the whole page
+    private long[] hashPositions(Page page, int[] channels)
+    {
+        int positionCount = page.getPositionCount();
+        long[] hashes = new long[positionCount];
+        for (int i = 0; i < channels.length; i++) {
+            Block block = page.getBlock(channels[i]).getLoadedBlock();
+            for (int position = 0; position < positionCount; position++) {
+                hashes[position] = combineHash(hashes[position], hashPosition(i, block, position));
+            }
+        }
+        return hashes;
+    }
+
+    private long hashPosition(int keyIndex, Block block, int position)
+    {
+        if (block.isNull(position)) {
+            return NULL_HASH_CODE;
+        }
+        try {
+            return (long) hashOperators[keyIndex].invokeExact(block, position);
+        }
+        catch (Throwable throwable) {
+            throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    private static long combineHash(long previousHash, long valueHash)
+    {
+        return (31 * previousHash) + valueHash;
+    }
+
+    @GuardedBy("lock")
+    private int findEntry(Page page, int[] channels, int position, long hash)
+    {
+        int slot = slotIndex(hash);
+        while (true) {
+            int entry = slots[slot];
+            if (entry == EMPTY_SLOT) {
+                return EMPTY_SLOT;
+            }
+            if (entryHashes[entry] == hash && keyIdentical(entry, page, channels, position)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean keyIdentical(int entry, Page page, int[] channels, int position)
+    {
+        long address = entryAddresses[entry];
+        Page keyPage = keyPages.get(toIntExact(address >>> 32));
+        int keyPosition = (int) address;
+        try {
+            for (int i = 0; i < channels.length; i++) {
+                if (!(boolean) identicalOperators[i].invokeExact(keyPage.getBlock(i), keyPosition, page.getBlock(channels[i]), position)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        catch (Throwable throwable) {
+            throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    @GuardedBy("lock")
+    private void insertEntry(long address, long hash, long dataSequenceNumber)
+    {
+        if (size == entryAddresses.length) {
+            int newCapacity = max(INITIAL_CAPACITY, size * 2);
+            entryAddresses = Arrays.copyOf(entryAddresses, newCapacity);
+            entryHashes = Arrays.copyOf(entryHashes, newCapacity);
+            entryDataSequenceNumbers = Arrays.copyOf(entryDataSequenceNumbers, newCapacity);
+        }
+        int entry = size;
+        entryAddresses[entry] = address;
+        entryHashes[entry] = hash;
+        entryDataSequenceNumbers[entry] = dataSequenceNumber;
+        size++;
+
+        insertSlot(entry);
+        if (size > maxFill) {
+            rehash();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void insertSlot(int entry)
+    {
+        int slot = slotIndex(entryHashes[entry]);
+        while (slots[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = entry;
+    }
+
+    @GuardedBy("lock")
+    private void rehash()
+    {
+        int newCapacity = toIntExact(slots.length * 2L);
+        slots = new int[newCapacity];
+        Arrays.fill(slots, EMPTY_SLOT);
+        mask = newCapacity - 1;
+        maxFill = (int) (newCapacity * FILL_RATIO);
+        for (int entry = 0; entry < size; entry++) {
+            insertSlot(entry);
+        }
+    }
+
+    @GuardedBy("lock")
+    private int slotIndex(long hash)
+    {
+        // the combined hash is not well distributed in the low bits
+        return (int) XxHash64.hash(hash) & mask;
+    }
+}
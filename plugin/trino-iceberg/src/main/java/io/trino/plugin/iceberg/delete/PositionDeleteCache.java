@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.google.inject.Inject;
+import io.airlift.slice.SizeOf;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.plugin.iceberg.IcebergConfig;
+import org.roaringbitmap.longlong.ImmutableLongBitmapDataProvider;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.SizeOf.estimatedSizeOf;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.trino.cache.CacheUtils.uncheckedCacheGet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Worker cache of the decoded position deletes of a data file split. Delete files are immutable,
+ * so the deleted positions are fully determined by the data file, the row range of the split and
+ * the set of delete files that apply to it.
+ */
+public class PositionDeleteCache
+{
+    // a single entry may only use a small part of the cache, so that it does not evict most other entries
+    private static final int MAX_ENTRY_SIZE_FRACTION = 10;
+
+    private final boolean enabled;
+    private final long maxEntrySize;
+    private final Cache<CacheKey, ImmutableLongBitmapDataProvider> cache;
+
+    @Inject
+    public PositionDeleteCache(IcebergConfig config)
+    {
+        long maxSize = config.getPositionDeleteCacheMaxSize().toBytes();
+        this.enabled = maxSize > 0;
+        this.maxEntrySize = maxSize / MAX_ENTRY_SIZE_FRACTION;
+        this.cache = EvictableCacheBuilder.newBuilder()
+                .weigher((Weigher<CacheKey, ImmutableLongBitmapDataProvider>) PositionDeleteCache::weigh)
+                .maximumWeight(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public ImmutableLongBitmapDataProvider get(
+            String dataFilePath,
+            List<DeleteFile> deleteFiles,
+            Optional<Long> startRowPosition,
+            Optional<Long> endRowPosition,
+            Supplier<ImmutableLongBitmapDataProvider> loader)
+    {
+        if (!enabled) {
+            return loader.get();
+        }
+        CacheKey key = new CacheKey(
+                dataFilePath,
+                deleteFiles.stream()
+                        .map(DeleteFile::path)
+                        .sorted()
+                        .collect(toImmutableList()),
+                startRowPosition,
+                endRowPosition);
+        ImmutableLongBitmapDataProvider cachedRows = cache.getIfPresent(key);
+        if (cachedRows != null) {
+            return cachedRows;
+        }
+        ImmutableLongBitmapDataProvider deletedRows = loader.get();
+        if (weigh(key, deletedRows) > maxEntrySize) {
+            return deletedRows;
+        }
+        // keeps the entry of a concurrent load of the same split, if there is one
+        return uncheckedCacheGet(cache, key, () -> deletedRows);
+    }
+
+    private static int weigh(CacheKey key, ImmutableLongBitmapDataProvider deletedRows)
+    {
+        return Ints.saturatedCast(key.getRetainedSizeInBytes() + deletedRows.getLongSizeInBytes());
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return new CacheStatsMBean(cache);
+    }
+
+    @Managed
+    public long getRetainedSizeInBytes()
+    {
+        return cache.asMap().entrySet().stream()
+                .mapToLong(entry -> entry.getKey().getRetainedSizeInBytes() + entry.getValue().getLongSizeInBytes())
+                .sum();
+    }
+
+    private record CacheKey(String dataFilePath, List<String> deleteFilePaths, Optional<Long> startRowPosition, Optional<Long> endRowPosition)
+    {
+        private static final int INSTANCE_SIZE = instanceSize(CacheKey.class);
+
+        private CacheKey
+        {
+            requireNonNull(dataFilePath, "dataFilePath is null");
+            deleteFilePaths = ImmutableList.copyOf(requireNonNull(deleteFilePaths, "deleteFilePaths is null"));
+            requireNonNull(startRowPosition, "startRowPosition is null");
+            requireNonNull(endRowPosition, "endRowPosition is null");
+        }
+
+        public long getRetainedSizeInBytes()
+        {
+            return INSTANCE_SIZE +
+                    estimatedSizeOf(dataFilePath) +
+                    estimatedSizeOf(deleteFilePaths, SizeOf::estimatedSizeOf) +
+                    sizeOf(startRowPosition, SizeOf::sizeOf) +
+                    sizeOf(endRowPosition, SizeOf::sizeOf);
+        }
+    }
+}
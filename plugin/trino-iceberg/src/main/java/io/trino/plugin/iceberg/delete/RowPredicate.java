@@ -26,7 +26,22 @@ public interface RowPredicate
     default RowPredicate and(RowPredicate other)
     {
         requireNonNull(other, "other is null");
-        return (page, position) -> test(page, position) && other.test(page, position);
+        RowPredicate first = this;
+        return new RowPredicate()
+        {
+            @Override
+            public boolean test(Page page, int position)
+            {
+                return first.test(page, position) && other.test(page, position);
+            }
+
+            @Override
+            public Page filterPage(Page page)
+            {
+                // keep the page level filtering of both predicates
+                return other.filterPage(first.filterPage(page));
+            }
+        };
     }
 
     default Page filterPage(Page page)
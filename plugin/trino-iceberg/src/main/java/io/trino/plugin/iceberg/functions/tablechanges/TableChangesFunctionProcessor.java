@@ -118,6 +118,7 @@ public class TableChangesFunctionProcessor
                 partitionSpec,
                 PartitionData.fromJson(split.partitionDataJson(), partitionColumnTypes),
                 ImmutableList.of(),
+                Optional.empty(),
                 DynamicFilter.EMPTY,
                 TupleDomain.all(),
                 TupleDomain.all(),
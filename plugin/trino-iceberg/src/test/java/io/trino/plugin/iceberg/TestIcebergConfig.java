@@ -71,6 +71,8 @@ public class TestIcebergConfig
                 .setQueryPartitionFilterRequired(false)
                 .setQueryPartitionFilterRequiredSchemas(ImmutableSet.of())
                 .setSplitManagerThreads(Runtime.getRuntime().availableProcessors() * 2)
+                .setParquetWriterThreads(0)
+                .setPositionDeleteCacheMaxSize(DataSize.ofBytes(0))
                 .setIncrementalRefreshEnabled(true)
                 .setMetadataCacheEnabled(true));
     }
@@ -106,6 +108,8 @@ public class TestIcebergConfig
                 .put("iceberg.query-partition-filter-required", "true")
                 .put("iceberg.query-partition-filter-required-schemas", "bronze,silver")
                 .put("iceberg.split-manager-threads", "42")
+                .put("iceberg.parquet-writer-threads", "8")
+                .put("iceberg.position-delete-cache.max-size", "16MB")
                 .put("iceberg.incremental-refresh-enabled", "false")
                 .put("iceberg.metadata-cache.enabled", "false")
                 .buildOrThrow();
@@ -138,6 +142,8 @@ public class TestIcebergConfig
                 .setQueryPartitionFilterRequired(true)
                 .setQueryPartitionFilterRequiredSchemas(ImmutableSet.of("bronze", "silver"))
                 .setSplitManagerThreads(42)
+                .setParquetWriterThreads(8)
+                .setPositionDeleteCacheMaxSize(DataSize.of(16, MEGABYTE))
                 .setIncrementalRefreshEnabled(false)
                 .setMetadataCacheEnabled(false);
 
@@ -37,6 +37,7 @@ import io.trino.spi.catalog.CatalogName;
 import io.trino.spi.connector.CatalogHandle;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.connector.ConnectorSplitSource.ConnectorSplitBatch;
 import io.trino.spi.connector.DynamicFilter;
 import io.trino.spi.connector.SchemaTableName;
 import io.trino.spi.predicate.Domain;
@@ -77,12 +78,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static com.google.common.io.MoreFiles.deleteRecursively;
 import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.trino.plugin.hive.metastore.cache.CachingHiveMetastore.createPerTransactionCache;
 import static io.trino.plugin.iceberg.IcebergQueryRunner.ICEBERG_CATALOG;
 import static io.trino.plugin.iceberg.IcebergSplitSource.createFileStatisticsDomain;
@@ -91,6 +96,7 @@ import static io.trino.plugin.iceberg.util.EqualityDeleteUtils.writeEqualityDele
 import static io.trino.spi.connector.Constraint.alwaysTrue;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.tpch.TpchTable.NATION;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
@@ -208,7 +214,8 @@ public class TestIcebergSplitSource
                 new TestingTypeManager(),
                 false,
                 new IcebergConfig().getMinimumAssignedSplitWeight(),
-                new DefaultCachingHostAddressProvider())) {
+                new DefaultCachingHostAddressProvider(),
+                directExecutor())) {
             ImmutableList.Builder<IcebergSplit> splits = ImmutableList.builder();
             while (!splitSource.isFinished()) {
                 splitSource.getNextBatch(100).get()
@@ -228,6 +235,102 @@ public class TestIcebergSplitSource
         }
     }
 
+    @Test
+    @Timeout(30)
+    public void testPartialBatchWhileWaitingForFileScanTask()
+            throws Exception
+    {
+        assertUpdate("CREATE TABLE test_partial_batch (x bigint)");
+        assertUpdate("INSERT INTO test_partial_batch VALUES 1", 1);
+        assertUpdate("INSERT INTO test_partial_batch VALUES 2", 1);
+
+        SchemaTableName schemaTableName = new SchemaTableName("tpch", "test_partial_batch");
+        Table table = catalog.loadTable(SESSION, schemaTableName);
+        IcebergTableHandle tableHandle = createTableHandle(schemaTableName, table, TupleDomain.all());
+
+        // every wait for the next file scan task takes longer than the batch fill time
+        ScheduledExecutorService scheduledExecutor = newSingleThreadScheduledExecutor();
+        try (IcebergSplitSource splitSource = new IcebergSplitSource(
+                new DefaultIcebergFileSystemFactory(fileSystemFactory),
+                SESSION,
+                tableHandle,
+                ImmutableMap.of(),
+                table.newScan(),
+                Optional.empty(),
+                DynamicFilter.EMPTY,
+                new Duration(0, SECONDS),
+                alwaysTrue(),
+                new TestingTypeManager(),
+                false,
+                0,
+                new DefaultCachingHostAddressProvider(),
+                command -> scheduledExecutor.schedule(command, 1, SECONDS))) {
+            // no split is available before the first file scan task
+            ConnectorSplitBatch batch = splitSource.getNextBatch(100).get();
+            assertThat(batch.getSplits()).isEmpty();
+            assertThat(batch.isNoMoreSplits()).isFalse();
+
+            // the split of the first file is returned without waiting for the second file
+            batch = splitSource.getNextBatch(100).get();
+            assertThat(batch.getSplits()).hasSize(1);
+            assertThat(batch.isNoMoreSplits()).isFalse();
+
+            int splitCount = batch.getSplits().size();
+            while (!splitSource.isFinished()) {
+                splitCount += splitSource.getNextBatch(100).get().getSplits().size();
+            }
+            assertThat(splitCount).isEqualTo(2);
+        }
+        finally {
+            scheduledExecutor.shutdownNow();
+            assertUpdate("DROP TABLE test_partial_batch");
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    public void testIsFinishedDoesNotStartFileScan()
+            throws Exception
+    {
+        assertUpdate("CREATE TABLE test_is_finished_file_scan (x bigint)");
+        assertUpdate("INSERT INTO test_is_finished_file_scan VALUES 1", 1);
+
+        SchemaTableName schemaTableName = new SchemaTableName("tpch", "test_is_finished_file_scan");
+        Table table = catalog.loadTable(SESSION, schemaTableName);
+        IcebergTableHandle tableHandle = createTableHandle(schemaTableName, table, TupleDomain.all());
+
+        Queue<Runnable> fileScanTasks = new ConcurrentLinkedQueue<>();
+        try (IcebergSplitSource splitSource = new IcebergSplitSource(
+                new DefaultIcebergFileSystemFactory(fileSystemFactory),
+                SESSION,
+                tableHandle,
+                ImmutableMap.of(),
+                table.newScan(),
+                Optional.empty(),
+                DynamicFilter.EMPTY,
+                new Duration(0, SECONDS),
+                alwaysTrue(),
+                new TestingTypeManager(),
+                false,
+                0,
+                new DefaultCachingHostAddressProvider(),
+                fileScanTasks::add)) {
+            assertThat(splitSource.isFinished()).isFalse();
+            CompletableFuture<ConnectorSplitBatch> batch = splitSource.getNextBatch(100);
+            assertThat(fileScanTasks).hasSize(1);
+
+            // the pending call is not completed, so the state is not known yet, and no other call is started
+            assertThat(splitSource.isFinished()).isFalse();
+            assertThat(fileScanTasks).hasSize(1);
+
+            fileScanTasks.poll().run();
+            assertThat(batch.get().getSplits()).isEmpty();
+        }
+        finally {
+            assertUpdate("DROP TABLE test_is_finished_file_scan");
+        }
+    }
+
     @Test
     public void testFileStatisticsDomain()
             throws Exception
@@ -452,7 +555,8 @@ public class TestIcebergSplitSource
                 new TestingTypeManager(),
                 false,
                 0,
-                new DefaultCachingHostAddressProvider())) {
+                new DefaultCachingHostAddressProvider(),
+                directExecutor())) {
             ImmutableList.Builder<IcebergSplit> builder = ImmutableList.builder();
             while (!splitSource.isFinished()) {
                 splitSource.getNextBatch(100).get()
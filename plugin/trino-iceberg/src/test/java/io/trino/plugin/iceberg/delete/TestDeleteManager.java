@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.plugin.hive.ReaderPageSource;
+import io.trino.plugin.iceberg.IcebergColumnHandle;
+import io.trino.plugin.iceberg.IcebergConfig;
+import io.trino.plugin.iceberg.IcebergPageSourceProvider.ReaderPageSourceWithRowPositions;
+import io.trino.spi.Page;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.connector.EmptyPageSource;
+import io.trino.spi.connector.FixedPageSource;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static io.trino.plugin.iceberg.IcebergUtil.getColumnHandle;
+import static io.trino.type.InternalTypeManager.TESTING_TYPE_MANAGER;
+import static org.apache.iceberg.FileContent.EQUALITY_DELETES;
+import static org.apache.iceberg.FileFormat.PARQUET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDeleteManager
+{
+    private static final Schema SCHEMA = new Schema(Types.NestedField.required(1, "x", Types.LongType.get()));
+
+    @Test
+    public void testEqualityDeletesMemoryReportedOnce()
+    {
+        DeleteManager deleteManager = new DeleteManager(TESTING_TYPE_MANAGER, new PositionDeleteCache(new IcebergConfig()));
+        Object firstPageSource = new Object();
+        Object secondPageSource = new Object();
+        assertThat(deleteManager.getEqualityDeletesMemoryUsage(firstPageSource)).isEqualTo(0);
+
+        loadEqualityDeletes(deleteManager);
+        long memoryUsage = deleteManager.getEqualityDeletesMemoryUsage(firstPageSource);
+        assertThat(memoryUsage).isPositive();
+
+        // the deletes are shared, so only one of the page sources using them reports their memory
+        assertThat(deleteManager.getEqualityDeletesMemoryUsage(secondPageSource)).isEqualTo(0);
+        assertThat(deleteManager.getEqualityDeletesMemoryUsage(firstPageSource)).isEqualTo(memoryUsage);
+
+        // it is handed over when the reporting page source is closed
+        deleteManager.releaseEqualityDeletesMemory(secondPageSource);
+        assertThat(deleteManager.getEqualityDeletesMemoryUsage(secondPageSource)).isEqualTo(0);
+        deleteManager.releaseEqualityDeletesMemory(firstPageSource);
+        assertThat(deleteManager.getEqualityDeletesMemoryUsage(secondPageSource)).isEqualTo(memoryUsage);
+        assertThat(deleteManager.getEqualityDeletesMemoryUsage(firstPageSource)).isEqualTo(0);
+    }
+
+    private static void loadEqualityDeletes(DeleteManager deleteManager)
+    {
+        List<IcebergColumnHandle> readColumns = ImmutableList.of(getColumnHandle(SCHEMA.findField(1), TESTING_TYPE_MANAGER));
+        DeleteFile deleteFile = new DeleteFile(EQUALITY_DELETES, "delete", PARQUET, 3, 100, ImmutableList.of(1), Optional.empty(), Optional.empty(), 1);
+        Optional<RowPredicate> predicate = deleteManager.getDeletePredicate(
+                "data",
+                0,
+                ImmutableList.of(deleteFile),
+                readColumns,
+                SCHEMA,
+                new ReaderPageSourceWithRowPositions(new ReaderPageSource(new EmptyPageSource(), Optional.empty()), Optional.empty(), Optional.empty()),
+                (_, _, _) -> new FixedPageSource(ImmutableList.of(new Page(new LongArrayBlock(3, Optional.empty(), new long[] {1, 2, 3})))));
+        assertThat(predicate).isPresent();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.type.TypeOperators;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestEqualityDeleteSet
+{
+    private static final TypeOperators TYPE_OPERATORS = new TypeOperators();
+
+    @Test
+    public void testSequenceNumbers()
+    {
+        EqualityDeleteSet deleteSet = new EqualityDeleteSet(ImmutableList.of(BIGINT, VARCHAR), TYPE_OPERATORS);
+        deleteSet.add(page(new Long[] {1L, 2L, null}, new String[] {"a", "b", "c"}), 5);
+        deleteSet.add(page(new Long[] {2L, 3L, 2L}, new String[] {"b", "c", "b"}), 8);
+        deleteSet.add(page(new Long[] {1L}, new String[] {"a"}), 3);
+        assertThat(deleteSet.size()).isEqualTo(4);
+
+        // the data page has the key columns in the reverse order, with an unrelated column in between
+        Page data = new Page(
+                varcharBlock("a", "b", "c", "c", "a", "b"),
+                bigintBlock(0L, 0L, 0L, 0L, 0L, 0L),
+                bigintBlock(1L, 2L, null, 3L, 2L, null));
+        int[] channels = {2, 0};
+
+        assertRetained(deleteSet, data, channels, 0, 4, 5);
+        assertRetained(deleteSet, data, channels, 5, 0, 2, 4, 5);
+        assertRetained(deleteSet, data, channels, 8, 0, 1, 2, 3, 4, 5);
+
+        assertThat(deleteSet.isDeleted(data, channels, 0, 4)).isTrue();
+        assertThat(deleteSet.isDeleted(data, channels, 0, 5)).isFalse();
+        assertThat(deleteSet.isDeleted(data, channels, 1, 7)).isTrue();
+        assertThat(deleteSet.isDeleted(data, channels, 4, 0)).isFalse();
+    }
+
+    @Test
+    public void testManyKeys()
+    {
+        EqualityDeleteSet deleteSet = new EqualityDeleteSet(ImmutableList.of(BIGINT), TYPE_OPERATORS);
+        for (long start = 0; start < 100_000; start += 10_000) {
+            Long[] values = new Long[10_000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (start + i) * 2;
+            }
+            deleteSet.add(new Page(bigintBlock(values)), 1);
+        }
+        assertThat(deleteSet.size()).isEqualTo(100_000);
+
+        Long[] values = new Long[200_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) i;
+        }
+        Page data = new Page(bigintBlock(values));
+        int[] retained = new int[values.length];
+        int retainedCount = deleteSet.findRetainedPositions(data, new int[] {0}, 0, retained);
+        assertThat(retainedCount).isEqualTo(100_000);
+        for (int i = 0; i < retainedCount; i++) {
+            assertThat(retained[i]).isEqualTo(i * 2 + 1);
+        }
+    }
+
+    @Test
+    public void testRetainedSize()
+    {
+        EqualityDeleteSet deleteSet = new EqualityDeleteSet(ImmutableList.of(BIGINT), TYPE_OPERATORS);
+        long emptySize = deleteSet.getRetainedSizeInBytes();
+        assertThat(emptySize).isPositive();
+
+        Page keys = new Page(bigintBlock(1L, 2L, 3L));
+        deleteSet.add(keys, 1);
+        long retainedSize = deleteSet.getRetainedSizeInBytes();
+        assertThat(retainedSize).isGreaterThanOrEqualTo(emptySize + keys.getRetainedSizeInBytes());
+
+        // keys that are already present are not copied again
+        deleteSet.add(keys, 2);
+        assertThat(deleteSet.getRetainedSizeInBytes()).isEqualTo(retainedSize);
+    }
+
+    private static void assertRetained(EqualityDeleteSet deleteSet, Page page, int[] channels, long dataSequenceNumber, int... expectedPositions)
+    {
+        int[] retained = new int[page.getPositionCount()];
+        int retainedCount = deleteSet.findRetainedPositions(page, channels, dataSequenceNumber, retained);
+        assertThat(Arrays.copyOf(retained, retainedCount)).isEqualTo(expectedPositions);
+    }
+
+    private static Page page(Long[] bigints, String[] varchars)
+    {
+        return new Page(bigintBlock(bigints), varcharBlock(varchars));
+    }
+
+    private static Block bigintBlock(Long... values)
+    {
+        BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, values.length);
+        for (Long value : values) {
+            if (value == null) {
+                blockBuilder.appendNull();
+            }
+            else {
+                BIGINT.writeLong(blockBuilder, value);
+            }
+        }
+        return blockBuilder.build();
+    }
+
+    private static Block varcharBlock(String... values)
+    {
+        BlockBuilder blockBuilder = VARCHAR.createBlockBuilder(null, values.length);
+        for (String value : values) {
+            VARCHAR.writeSlice(blockBuilder, utf8Slice(value));
+        }
+        return blockBuilder.build();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import io.trino.plugin.iceberg.IcebergConfig;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.ImmutableLongBitmapDataProvider;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static org.apache.iceberg.FileContent.POSITION_DELETES;
+import static org.apache.iceberg.FileFormat.PARQUET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPositionDeleteCache
+{
+    @Test
+    public void testCache()
+    {
+        PositionDeleteCache cache = new PositionDeleteCache(new IcebergConfig().setPositionDeleteCacheMaxSize(DataSize.of(1, MEGABYTE)));
+        assertThat(cache.isEnabled()).isTrue();
+
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ImmutableLongBitmapDataProvider> loader = () -> {
+            loads.incrementAndGet();
+            return Roaring64Bitmap.bitmapOf(1, 5, 7);
+        };
+
+        ImmutableLongBitmapDataProvider first = cache.get("data", ImmutableList.of(deleteFile("a"), deleteFile("b")), Optional.empty(), Optional.empty(), loader);
+        assertThat(first.contains(5)).isTrue();
+        // the order of the delete files does not matter
+        assertThat(cache.get("data", ImmutableList.of(deleteFile("b"), deleteFile("a")), Optional.empty(), Optional.empty(), loader)).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+
+        cache.get("data", ImmutableList.of(deleteFile("a")), Optional.empty(), Optional.empty(), loader);
+        cache.get("other", ImmutableList.of(deleteFile("a"), deleteFile("b")), Optional.empty(), Optional.empty(), loader);
+        assertThat(loads.get()).isEqualTo(3);
+
+        // the deletes of a split only contain the positions of its row range
+        ImmutableLongBitmapDataProvider split = cache.get("data", ImmutableList.of(deleteFile("a")), Optional.of(0L), Optional.of(99L), loader);
+        assertThat(cache.get("data", ImmutableList.of(deleteFile("a")), Optional.of(0L), Optional.of(99L), loader)).isSameAs(split);
+        cache.get("data", ImmutableList.of(deleteFile("a")), Optional.of(100L), Optional.of(199L), loader);
+        assertThat(loads.get()).isEqualTo(5);
+
+        assertThat(cache.getCacheStats().size()).isEqualTo(5);
+        assertThat(cache.getRetainedSizeInBytes()).isPositive();
+    }
+
+    @Test
+    public void testEntryTooLarge()
+    {
+        PositionDeleteCache cache = new PositionDeleteCache(new IcebergConfig().setPositionDeleteCacheMaxSize(DataSize.of(1, MEGABYTE)));
+
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ImmutableLongBitmapDataProvider> loader = () -> {
+            loads.incrementAndGet();
+            Roaring64Bitmap deletedRows = new Roaring64Bitmap();
+            // sparse positions, so each one uses a separate container
+            for (long position = 0; position < 100_000; position++) {
+                deletedRows.addLong(position << 20);
+            }
+            return deletedRows;
+        };
+
+        ImmutableLongBitmapDataProvider deletedRows = cache.get("data", ImmutableList.of(deleteFile("a")), Optional.empty(), Optional.empty(), loader);
+        assertThat(deletedRows.getLongSizeInBytes()).isGreaterThan(DataSize.of(1, MEGABYTE).toBytes() / 10);
+        assertThat(deletedRows.contains(1L << 20)).isTrue();
+        assertThat(cache.getCacheStats().size()).isEqualTo(0);
+
+        cache.get("data", ImmutableList.of(deleteFile("a")), Optional.empty(), Optional.empty(), loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDisabled()
+    {
+        PositionDeleteCache cache = new PositionDeleteCache(new IcebergConfig().setPositionDeleteCacheMaxSize(DataSize.ofBytes(0)));
+        assertThat(cache.isEnabled()).isFalse();
+
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ImmutableLongBitmapDataProvider> loader = () -> {
+            loads.incrementAndGet();
+            return new Roaring64Bitmap();
+        };
+        cache.get("data", ImmutableList.of(deleteFile("a")), Optional.empty(), Optional.empty(), loader);
+        cache.get("data", ImmutableList.of(deleteFile("a")), Optional.empty(), Optional.empty(), loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private static DeleteFile deleteFile(String path)
+    {
+        return new DeleteFile(POSITION_DELETES, path, PARQUET, 3, 100, ImmutableList.of(), Optional.empty(), Optional.empty(), 1);
+    }
+}
@@ -291,6 +291,13 @@ public class TpchMetadata
                 .orElse(TableStatistics.empty());
     }
 
+    @Override
+    public Optional<String> getDataVersion(ConnectorSession session, ConnectorTableHandle tableHandle)
+    {
+        // the generated data depends only on the table and the scale factor, which are part of the handle
+        return Optional.of("generated");
+    }
+
     private Map<TpchColumn<?>, List<Object>> getColumnValuesRestrictions(TpchTable<?> tpchTable, TupleDomain<ColumnHandle> constraintSummary)
     {
         if (constraintSummary.isAll()) {
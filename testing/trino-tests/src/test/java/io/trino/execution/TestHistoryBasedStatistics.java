@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import io.trino.Session;
+import io.trino.plugin.tpch.TpchPlugin;
+import io.trino.sql.planner.Plan;
+import io.trino.sql.planner.plan.FilterNode;
+import io.trino.sql.planner.plan.PlanNode;
+import io.trino.testing.DistributedQueryRunner;
+import io.trino.testing.QueryRunner;
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.Test;
+
+import static io.trino.SystemSessionProperties.USE_HISTORY_BASED_STATISTICS;
+import static io.trino.sql.planner.optimizations.PlanNodeSearcher.searchFrom;
+import static io.trino.testing.TestingSession.testSessionBuilder;
+import static io.trino.testing.assertions.Assert.assertEventually;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestHistoryBasedStatistics
+{
+    @Test
+    public void testRecordedStatisticsUsedByPlanner()
+            throws Exception
+    {
+        Session session = testSessionBuilder()
+                .setCatalog("tpch")
+                .setSchema("tiny")
+                .setSystemProperty(USE_HISTORY_BASED_STATISTICS, "true")
+                .build();
+        try (QueryRunner queryRunner = DistributedQueryRunner.builder(session).setWorkerCount(1).build()) {
+            queryRunner.installPlugin(new TpchPlugin());
+            queryRunner.createCatalog("tpch", "tpch");
+
+            // the selectivity of LIKE is not estimated
+            @Language("SQL") String query = "SELECT * FROM nation WHERE name LIKE 'A%'";
+            assertThat(getFilterOutputRowCount(queryRunner, session, query)).isNotEqualTo(2);
+
+            assertThat(queryRunner.execute(session, query).getRowCount()).isEqualTo(2);
+
+            // the hash of the filter recorded from the fragmented plan matches the hash computed during planning
+            assertEventually(() -> assertThat(getFilterOutputRowCount(queryRunner, session, query)).isEqualTo(2));
+        }
+    }
+
+    private static double getFilterOutputRowCount(QueryRunner queryRunner, Session session, @Language("SQL") String query)
+    {
+        Plan plan = queryRunner.inTransaction(session, transactionSession -> queryRunner.createPlan(transactionSession, query));
+        PlanNode filter = searchFrom(plan.getRoot())
+                .whereIsInstanceOfAny(FilterNode.class)
+                .findOnlyElement();
+        return plan.getStatsAndCosts().getStats().get(filter.getId()).getOutputRowCount();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Key;
+import io.trino.Session;
+import io.trino.connector.MockConnectorFactory;
+import io.trino.connector.MockConnectorPlugin;
+import io.trino.spi.connector.ColumnMetadata;
+import io.trino.testing.DistributedQueryRunner;
+import io.trino.testing.LocalSpoolingManager.LocalSpoolingPlugin;
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.trino.SystemSessionProperties.QUERY_RESULT_CACHE_ENABLED;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.testing.TestingSession.testSessionBuilder;
+import static io.trino.testing.assertions.Assert.assertEventually;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
+
+@TestInstance(PER_CLASS)
+@Execution(SAME_THREAD)
+public class TestQueryResultCache
+{
+    private static final Session SESSION = testSessionBuilder()
+            .setCatalog("mock")
+            .setSchema("default")
+            .setSystemProperty(QUERY_RESULT_CACHE_ENABLED, "true")
+            .build();
+
+    private final AtomicReference<String> dataVersion = new AtomicReference<>();
+    private final AtomicReference<Long> value = new AtomicReference<>();
+
+    private DistributedQueryRunner queryRunner;
+    private QueryResultCache cache;
+
+    @BeforeAll
+    public void setUp()
+            throws Exception
+    {
+        queryRunner = DistributedQueryRunner.builder(SESSION).setWorkerCount(1).build();
+        queryRunner.installPlugin(new LocalSpoolingPlugin());
+        queryRunner.loadSpoolingManager("test-local", Map.of());
+        queryRunner.installPlugin(new MockConnectorPlugin(MockConnectorFactory.builder()
+                .withGetColumns(table -> List.of(new ColumnMetadata("value", BIGINT)))
+                .withData(table -> List.of(List.of(value.get())))
+                .withGetDataVersion(table -> table.getTableName().equals("versioned") ? Optional.of(dataVersion.get()) : Optional.empty())
+                .build()));
+        queryRunner.createCatalog("mock", "mock", ImmutableMap.of());
+        cache = queryRunner.getCoordinator().getInstance(Key.get(QueryResultCache.class));
+    }
+
+    @AfterAll
+    public void tearDown()
+    {
+        queryRunner.close();
+        queryRunner = null;
+        cache = null;
+    }
+
+    @BeforeEach
+    public void reset()
+    {
+        cache.invalidateAll();
+        dataVersion.set("1");
+        value.set(1L);
+    }
+
+    @Test
+    public void testCachedResult()
+    {
+        assertThat(query("SELECT value FROM versioned")).isEqualTo(1L);
+        awaitStoredResult();
+
+        // the table has the same version, so the changed data is not read
+        value.set(2L);
+        long hits = cache.getHitCount();
+        assertThat(query("SELECT value FROM versioned")).isEqualTo(1L);
+        assertThat(cache.getHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    public void testDifferentQuery()
+    {
+        assertThat(query("SELECT value FROM versioned")).isEqualTo(1L);
+        awaitStoredResult();
+
+        value.set(2L);
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        assertThat(query("SELECT value + 1 FROM versioned")).isEqualTo(3L);
+        assertThat(cache.getHitCount()).isEqualTo(hits);
+        assertThat(cache.getMissCount()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    public void testDataVersionChange()
+    {
+        assertThat(query("SELECT value FROM versioned")).isEqualTo(1L);
+        awaitStoredResult();
+
+        value.set(2L);
+        dataVersion.set("2");
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        assertThat(query("SELECT value FROM versioned")).isEqualTo(2L);
+        assertThat(cache.getHitCount()).isEqualTo(hits);
+        assertThat(cache.getMissCount()).isEqualTo(misses + 1);
+        assertEventually(() -> assertThat(cache.getCacheStats().size()).isEqualTo(2));
+    }
+
+    @Test
+    public void testUncacheableQueries()
+    {
+        long requests = cache.getHitCount() + cache.getMissCount();
+
+        assertThat(query("SELECT value FROM versioned WHERE random() >= 0")).isEqualTo(1L);
+        value.set(2L);
+        assertThat(query("SELECT value FROM versioned WHERE random() >= 0")).isEqualTo(2L);
+
+        // the connector does not report a data version for the table
+        assertThat(query("SELECT value FROM unversioned")).isEqualTo(2L);
+
+        assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(requests);
+        assertThat(cache.getCacheStats().size()).isEqualTo(0);
+    }
+
+    private Object query(@Language("SQL") String sql)
+    {
+        return queryRunner.execute(SESSION, sql).getOnlyValue();
+    }
+
+    private void awaitStoredResult()
+    {
+        assertEventually(() -> {
+            assertThat(cache.getCacheStats().size()).isEqualTo(1);
+            // the collected pages are released once they are stored
+            assertThat(cache.getCollectedSizeInBytes()).isEqualTo(0);
+        });
+    }
+}